@@ -0,0 +1,201 @@
+package com.mycompany.myapp;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares the JMH results of {@code target/jmh-result.json} with the recorded baseline, and fails when a benchmark
+ * regresses beyond the threshold.
+ * <p>
+ * The baseline is {@code src/jmh/baseline.json}, keyed by benchmark and parameters. It is recorded on the reference
+ * machine with {@code -Djmh.update-baseline=true}, which merges the scores of the benchmarks run into the baseline and
+ * keeps the others: scores from other machines are not comparable. The check also fails when there is no baseline file,
+ * or when a benchmark run has no score in the baseline, or one recorded in another mode or unit, so that a benchmark is
+ * never left out of the comparison unnoticed.
+ * <p>
+ * Arguments: the results file, the baseline file, the report file, the regression threshold (e.g. {@code 0.10}) and
+ * whether the baseline is to be updated.
+ */
+public final class BenchmarkBaselineCheck {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private BenchmarkBaselineCheck() {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 5) {
+            System.err.println("Usage: BenchmarkBaselineCheck <results> <baseline> <report> <threshold> <update-baseline>");
+            System.exit(2);
+        }
+        Path resultsFile = Paths.get(args[0]);
+        Path baselineFile = Paths.get(args[1]);
+        Path reportFile = Paths.get(args[2]);
+        double threshold = Double.parseDouble(args[3]);
+        boolean updateBaseline = Boolean.parseBoolean(args[4]);
+
+        if (!Files.exists(resultsFile)) {
+            System.out.println("No JMH results in " + resultsFile + ", skipping the baseline check");
+            return;
+        }
+        Map<String, Score> results = readResults(OBJECT_MAPPER.readTree(resultsFile.toFile()));
+        if (updateBaseline) {
+            writeBaseline(baselineFile, results);
+            System.out.println("Recorded the baseline of " + results.size() + " benchmarks in " + baselineFile);
+            return;
+        }
+        if (!Files.exists(baselineFile)) {
+            System.err.println("No baseline in " + baselineFile + ", record one with -Djmh.update-baseline=true");
+            System.exit(1);
+        }
+        Map<String, Score> baseline = readBaseline(OBJECT_MAPPER.readTree(baselineFile.toFile()));
+
+        StringBuilder report = new StringBuilder("# JMH comparison\n\n");
+        report.append(String.format(Locale.ROOT, "Regression threshold: %.0f%%%n%n", threshold * 100));
+        report.append("| Benchmark | Mode | Baseline | Score | Change | |\n");
+        report.append("|---|---|---:|---:|---:|---|\n");
+        int regressions = 0;
+        int missing = 0;
+        for (Map.Entry<String, Score> entry : results.entrySet()) {
+            Score score = entry.getValue();
+            Score reference = baseline.get(entry.getKey());
+            if (reference == null || !reference.mode.equals(score.mode) || !reference.unit.equals(score.unit)) {
+                missing++;
+                report.append(row(entry.getKey(), score, null, "", "**no baseline**"));
+                continue;
+            }
+            // A positive change is an improvement: higher throughput, or lower time per operation
+            double change = score.higherIsBetter()
+                ? (score.value - reference.value) / reference.value
+                : (reference.value - score.value) / reference.value;
+            String status = "";
+            if (change < -threshold) {
+                regressions++;
+                status = "**regression**";
+            }
+            report.append(row(entry.getKey(), score, reference, String.format(Locale.ROOT, "%+.1f%%", change * 100), status));
+        }
+        report.append(
+            String.format(
+                Locale.ROOT,
+                "%n%d regression(s) and %d benchmark(s) without baseline out of %d benchmark(s)%n",
+                regressions,
+                missing,
+                results.size()
+            )
+        );
+
+        Files.createDirectories(reportFile.toAbsolutePath().getParent());
+        Files.writeString(reportFile, report, StandardCharsets.UTF_8);
+        System.out.println(report);
+        if (missing > 0) {
+            System.err.println(
+                missing + " benchmark(s) have no baseline, record their scores on the reference machine with -Djmh.update-baseline=true"
+            );
+        }
+        if (regressions > 0) {
+            System.err.println(regressions + " benchmark(s) regressed by more than the threshold, see " + reportFile);
+        }
+        if (missing > 0 || regressions > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static String row(String key, Score score, Score reference, String change, String status) {
+        return String.format(
+            Locale.ROOT,
+            "| %s | %s | %s | %.3f %s | %s | %s |%n",
+            key,
+            score.mode,
+            reference == null ? "" : String.format(Locale.ROOT, "%.3f", reference.value),
+            score.value,
+            score.unit,
+            change,
+            status
+        );
+    }
+
+    private static Map<String, Score> readResults(JsonNode results) {
+        Map<String, Score> scores = new TreeMap<>();
+        for (JsonNode result : results) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText());
+            JsonNode params = result.path("params");
+            if (params.isObject()) {
+                // Sorted, so that the key does not depend on the order of the parameters in the results
+                Map<String, String> sorted = new TreeMap<>();
+                params.fields().forEachRemaining(param -> sorted.put(param.getKey(), param.getValue().asText()));
+                sorted.forEach((name, value) -> key.append(':').append(name).append('=').append(value));
+            }
+            JsonNode metric = result.path("primaryMetric");
+            scores.put(
+                key.toString(),
+                new Score(result.path("mode").asText(), metric.path("score").asDouble(), metric.path("scoreUnit").asText())
+            );
+        }
+        return scores;
+    }
+
+    private static Map<String, Score> readBaseline(JsonNode baseline) {
+        Map<String, Score> scores = new TreeMap<>();
+        Iterator<Map.Entry<String, JsonNode>> benchmarks = baseline.path("benchmarks").fields();
+        while (benchmarks.hasNext()) {
+            Map.Entry<String, JsonNode> benchmark = benchmarks.next();
+            JsonNode score = benchmark.getValue();
+            scores.put(
+                benchmark.getKey(),
+                new Score(score.path("mode").asText(), score.path("score").asDouble(), score.path("unit").asText())
+            );
+        }
+        return scores;
+    }
+
+    private static void writeBaseline(Path baselineFile, Map<String, Score> results) throws IOException {
+        ObjectNode baseline = Files.exists(baselineFile)
+            ? (ObjectNode) OBJECT_MAPPER.readTree(baselineFile.toFile())
+            : OBJECT_MAPPER.createObjectNode();
+        // The benchmarks which were not run, for instance when selected with jmh.include, keep their recorded score
+        Map<String, JsonNode> scores = new TreeMap<>();
+        baseline.path("benchmarks").fields().forEachRemaining(benchmark -> scores.put(benchmark.getKey(), benchmark.getValue()));
+        results.forEach((key, score) -> {
+            ObjectNode node = OBJECT_MAPPER.createObjectNode();
+            node.put("mode", score.mode);
+            node.put("score", score.value);
+            node.put("unit", score.unit);
+            scores.put(key, node);
+        });
+        baseline.remove("benchmarks");
+        ObjectNode benchmarks = baseline.putObject("benchmarks");
+        scores.forEach(benchmarks::set);
+        Files.createDirectories(baselineFile.toAbsolutePath().getParent());
+        OBJECT_MAPPER.writeValue(baselineFile.toFile(), baseline);
+    }
+
+    private static final class Score {
+
+        private final String mode;
+
+        private final double value;
+
+        private final String unit;
+
+        private Score(String mode, double value, String unit) {
+            this.mode = mode;
+            this.value = value;
+            this.unit = unit;
+        }
+
+        boolean higherIsBetter() {
+            return "thrpt".equals(mode);
+        }
+    }
+}
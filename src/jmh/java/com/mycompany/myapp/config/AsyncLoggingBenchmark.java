@@ -0,0 +1,154 @@
+package com.mycompany.myapp.config;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.mycompany.myapp.management.LoggingMetersService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import net.logstash.logback.appender.listener.TcpAppenderListener;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the time a thread spends in a {@code log.info} call, as an event loop does, with the JSON console appender
+ * written synchronously and behind the ring buffer of {@link AsyncLoggingAppenders}, dropping the events when it is full.
+ * <p>
+ * The console is a sink whose flush takes {@code flushNanos}, standing for a slow terminal or a log shipper applying
+ * back pressure. Run with {@code -Djmh.include=AsyncLoggingBenchmark}, and compare the {@code dropped} secondary
+ * result, the events dropped during each iteration, with the number of calls.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class AsyncLoggingBenchmark {
+
+    @Param({ "sync", "async" })
+    public String appender;
+
+    @Param({ "0", "20000" })
+    public long flushNanos;
+
+    private LoggerContext context;
+
+    private Logger logger;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = new LoggerContext();
+        context.start();
+        Map<String, String> customFields = Map.of("app_name", "gateway", "app_port", "8080");
+
+        OutputStreamAppender<ILoggingEvent> console = new OutputStreamAppender<>();
+        console.setContext(context);
+        console.setName("CONSOLE");
+        console.setEncoder(AsyncLoggingAppenders.logstashEncoder(context, customFields));
+        console.getEncoder().start();
+        console.setOutputStream(new SlowOutputStream(flushNanos));
+        console.start();
+
+        Logger rootLogger = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        rootLogger.setLevel(ch.qos.logback.classic.Level.INFO);
+        rootLogger.addAppender(console);
+
+        if ("async".equals(appender)) {
+            ApplicationProperties.AsyncLogging properties = new ApplicationProperties.AsyncLogging();
+            properties.setEnabled(true);
+            TcpAppenderListener<ILoggingEvent> metersListener = new LoggingMetersService(new SimpleMeterRegistry()).droppedEventsListener();
+            AsyncLoggingAppenders.addAsyncConsoleAppender(
+                context,
+                customFields,
+                false,
+                properties,
+                new TcpAppenderListener<>() {
+                    @Override
+                    public void eventAppendFailed(Appender<ILoggingEvent> appender, ILoggingEvent event, Throwable reason) {
+                        metersListener.eventAppendFailed(appender, event, reason);
+                        // The event is dropped by the thread logging it
+                        DroppedEvents droppedEvents = DroppedEvents.CURRENT.get();
+                        if (droppedEvents != null) {
+                            droppedEvents.dropped++;
+                        }
+                    }
+                }
+            );
+        }
+        logger = context.getLogger(AsyncLoggingBenchmark.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.stop();
+    }
+
+    @Benchmark
+    public void logInfo(DroppedEvents droppedEvents) {
+        logger.info("Request to get Personne : {}", "62f0c4a2b8e5a1d3c4f5e6a7");
+    }
+
+    /**
+     * The events dropped by each benchmark thread, summed by JMH into the {@code dropped} secondary result.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class DroppedEvents {
+
+        static final ThreadLocal<DroppedEvents> CURRENT = new ThreadLocal<>();
+
+        public long dropped;
+
+        @Setup(Level.Iteration)
+        public void setup() {
+            dropped = 0;
+            CURRENT.set(this);
+        }
+    }
+
+    private static final class SlowOutputStream extends OutputStream {
+
+        private final long flushNanos;
+
+        SlowOutputStream(long flushNanos) {
+            this.flushNanos = flushNanos;
+        }
+
+        @Override
+        public void write(int b) {
+            // Discarded
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            // Discarded
+        }
+
+        @Override
+        public void flush() {
+            long end = System.nanoTime() + flushNanos;
+            while (System.nanoTime() < end) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+}
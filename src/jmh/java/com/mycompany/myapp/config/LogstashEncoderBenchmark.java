@@ -0,0 +1,77 @@
+package com.mycompany.myapp.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import net.logstash.logback.encoder.LogstashEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the JSON encoding of a log event with the custom fields of the JHipster appenders, a JSON document written
+ * again for each event, against the {@link PreEncodedFieldsJsonProvider} of the asynchronous appenders.
+ * <p>
+ * Run with {@code -Djmh.include=LogstashEncoderBenchmark}. Add {@code -prof gc} to the JMH arguments to compare the
+ * allocations per event.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LogstashEncoderBenchmark {
+
+    private static final Map<String, String> CUSTOM_FIELDS = Map.of("app_name", "gateway", "app_port", "8080", "version", "0.0.1");
+
+    private LogstashEncoder customFieldsEncoder;
+
+    private LogstashEncoder preEncodedFieldsEncoder;
+
+    private LoggingEvent event;
+
+    @Setup
+    public void setup() {
+        LoggerContext context = new LoggerContext();
+
+        customFieldsEncoder = new LogstashEncoder();
+        customFieldsEncoder.setContext(context);
+        customFieldsEncoder.setCustomFields("{\"app_name\":\"gateway\",\"app_port\":\"8080\",\"version\":\"0.0.1\"}");
+        customFieldsEncoder.start();
+
+        preEncodedFieldsEncoder = AsyncLoggingAppenders.logstashEncoder(context, CUSTOM_FIELDS);
+        preEncodedFieldsEncoder.start();
+
+        Logger logger = context.getLogger(LogstashEncoderBenchmark.class);
+        event =
+            new LoggingEvent(
+                Logger.class.getName(),
+                logger,
+                Level.INFO,
+                "Request to get Personne : {}",
+                null,
+                new Object[] { "62f0c4a2b8e5a1d3c4f5e6a7" }
+            );
+    }
+
+    @Benchmark
+    public byte[] customFields() {
+        return customFieldsEncoder.encode(event);
+    }
+
+    @Benchmark
+    public byte[] preEncodedFields() {
+        return preEncodedFieldsEncoder.encode(event);
+    }
+}
@@ -0,0 +1,74 @@
+package com.mycompany.myapp.config;
+
+import static com.mycompany.myapp.management.ReactorCheckpoints.checkpoint;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Mono;
+
+/**
+ * Measures the overhead of each {@code application.reactor-debug.mode} on a request assembling and running a pipeline
+ * shaped like the ones of the services and the gateway filters, which succeeds or fails.
+ * <p>
+ * Each mode runs in its own fork, as {@link ReactorConfiguration} applies it to the whole JVM. Run with
+ * {@code -Djmh.include=ReactorDebugBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReactorDebugBenchmark {
+
+    @Param({ "none", "checkpoints", "agent", "operator-debug" })
+    public String mode;
+
+    @Setup
+    public void setup() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        String modeName = mode.toUpperCase(Locale.ROOT).replace('-', '_');
+        applicationProperties.getReactorDebug().setMode(ApplicationProperties.ReactorDebug.Mode.valueOf(modeName));
+        new ReactorConfiguration(applicationProperties);
+    }
+
+    @Benchmark
+    public Integer success() {
+        return filter(findOne("62f0c4a2b8e5a1d3c4f5e6a7")).block();
+    }
+
+    @Benchmark
+    public Integer error() {
+        return filter(findOne(" ")).onErrorReturn(-1).block();
+    }
+
+    private static Mono<Integer> findOne(String id) {
+        return Mono
+            .just(id)
+            .map(String::trim)
+            .filter(trimmed -> !trimmed.isEmpty())
+            .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("Invalid id")))
+            .flatMap(trimmed -> Mono.fromCallable(trimmed::length))
+            .map(length -> length * 2)
+            .transform(publisher -> checkpoint(publisher, "PersonneService.findOne"));
+    }
+
+    private static Mono<Integer> filter(Mono<Integer> routed) {
+        return Mono
+            .defer(() -> routed)
+            .doOnNext(value -> {})
+            .doFinally(signal -> {})
+            .transform(publisher -> checkpoint(publisher, "RouteMetricsFilter"));
+    }
+}
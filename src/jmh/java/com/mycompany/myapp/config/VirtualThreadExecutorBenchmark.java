@@ -0,0 +1,94 @@
+package com.mycompany.myapp.config;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Compares the {@code @Async} executor of {@link AsyncConfiguration} on platform threads, with its default pool
+ * settings, against virtual threads, for a burst of tasks which block the way a call to a remote service does.
+ * <p>
+ * Run with {@code -Djmh.include=VirtualThreadExecutorBenchmark} on Java 21. Add {@code -prof gc} to the JMH arguments
+ * to compare the allocation rate and memory footprint.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VirtualThreadExecutorBenchmark {
+
+    @Param({ "platform", "virtual" })
+    public String threads;
+
+    @Param({ "1000" })
+    public int tasks;
+
+    @Param({ "10" })
+    public int blockingMillis;
+
+    private Executor executor;
+
+    private ThreadPoolTaskExecutor platformExecutor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        if ("virtual".equals(threads)) {
+            ThreadFactory threadFactory = VirtualThreadSupport.threadFactory("benchmark-virtual-");
+            if (threadFactory == null) {
+                throw new IllegalStateException("Virtual threads require Java 21");
+            }
+            executor = new SimpleAsyncTaskExecutor(threadFactory);
+        } else {
+            // Same settings as spring.task.execution.pool in application.yml
+            platformExecutor = new ThreadPoolTaskExecutor();
+            platformExecutor.setCorePoolSize(2);
+            platformExecutor.setMaxPoolSize(50);
+            platformExecutor.setQueueCapacity(10000);
+            platformExecutor.setThreadNamePrefix("benchmark-platform-");
+            platformExecutor.initialize();
+            executor = platformExecutor;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (platformExecutor != null) {
+            platformExecutor.shutdown();
+        }
+    }
+
+    @Benchmark
+    public void burstOfBlockingTasks() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(tasks);
+        for (int i = 0; i < tasks; i++) {
+            executor.execute(() -> {
+                try {
+                    Thread.sleep(blockingMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+    }
+}
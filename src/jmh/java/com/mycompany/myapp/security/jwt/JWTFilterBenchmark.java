@@ -0,0 +1,62 @@
+package com.mycompany.myapp.security.jwt;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.WebFilterChain;
+
+/**
+ * Measures {@link JWTFilter} on requests with a valid token, an invalid one and none, the chain resolving the
+ * authentication as the authorization of the secured routes does.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JWTFilterBenchmark {
+
+    @Param({ "valid", "invalid", "none" })
+    public String token;
+
+    private JWTFilter jwtFilter;
+
+    private String authorization;
+
+    private final WebFilterChain chain = exchange -> ReactiveSecurityContextHolder.getContext().then();
+
+    @Setup
+    public void setup() {
+        TokenProvider tokenProvider = TokenProviderBenchmark.tokenProvider();
+        jwtFilter = new JWTFilter(tokenProvider);
+        String validToken = tokenProvider.createToken(TokenProviderBenchmark.authentication(), false);
+        if ("valid".equals(token)) {
+            authorization = "Bearer " + validToken;
+        } else if ("invalid".equals(token)) {
+            // Same claims, tampered signature
+            authorization = "Bearer " + validToken.substring(0, validToken.length() - 4) + "AAAA";
+        }
+    }
+
+    @Benchmark
+    public Void filter() {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get("/api/personnes");
+        if (authorization != null) {
+            request.header(JWTFilter.AUTHORIZATION_HEADER, authorization);
+        }
+        return jwtFilter.filter(MockServerWebExchange.from(request), chain).block();
+    }
+}
@@ -0,0 +1,80 @@
+package com.mycompany.myapp.security.jwt;
+
+import com.mycompany.myapp.management.SecurityMetersService;
+import com.mycompany.myapp.security.AuthoritiesConstants;
+import com.mycompany.myapp.security.GrantedAuthorities;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Measures issuing a token at login, and the validation and parsing of the token of each authenticated request.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TokenProviderBenchmark {
+
+    /** The secret of the test configuration, a 512 bits key as used in production. */
+    static final String BASE64_SECRET =
+        "YzQ0MjJiNTI2NWZiODkyZGVjMTYzNzRiYjRiMTI0ZTI2YmEzMDk4NWJkNmMzMmEwNDRhYWI4YTA4Zjk3ZmYyYmEzY2RlNGQzNGZkMzE1YTg0YjUxNGY4MTQ0MmEzM2ZlMTUyOTcxYWQ4ODM4MzUzMjc4ZWEzZjU1NDg3ZWQ5M2U=";
+
+    private TokenProvider tokenProvider;
+
+    private Authentication authentication;
+
+    private String token;
+
+    @Setup
+    public void setup() {
+        tokenProvider = tokenProvider();
+        authentication = authentication();
+        token = tokenProvider.createToken(authentication, false);
+    }
+
+    static TokenProvider tokenProvider() {
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getSecurity().getAuthentication().getJwt().setBase64Secret(BASE64_SECRET);
+        jHipsterProperties.getSecurity().getAuthentication().getJwt().setTokenValidityInSeconds(86400);
+        return new TokenProvider(jHipsterProperties, new SecurityMetersService(new SimpleMeterRegistry()));
+    }
+
+    static Authentication authentication() {
+        return new UsernamePasswordAuthenticationToken(
+            "john.doe",
+            "",
+            GrantedAuthorities.of(List.of(AuthoritiesConstants.ADMIN, AuthoritiesConstants.USER))
+        );
+    }
+
+    @Benchmark
+    public String createToken() {
+        return tokenProvider.createToken(authentication, false);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return tokenProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public Authentication getAuthentication() {
+        return tokenProvider.getAuthentication(token);
+    }
+}
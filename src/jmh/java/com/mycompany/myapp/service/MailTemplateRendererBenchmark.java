@@ -0,0 +1,115 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.domain.User;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.autoconfigure.thymeleaf.ThymeleafProperties;
+import org.springframework.context.support.ReloadableResourceBundleMessageSource;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Compares rendering the mail templates with a new context and message lookup per email, as {@link MailService} used
+ * to, against {@link MailTemplateRenderer}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MailTemplateRendererBenchmark {
+
+    private static final Map<String, String> TITLE_KEYS = Map.of(
+        "mail/activationEmail",
+        "email.activation.title",
+        "mail/creationEmail",
+        "email.activation.title",
+        "mail/passwordResetEmail",
+        "email.reset.title"
+    );
+
+    @Param({ "mail/activationEmail", "mail/creationEmail", "mail/passwordResetEmail" })
+    public String templateName;
+
+    @Param({ "fr", "en" })
+    public String langKey;
+
+    private SpringTemplateEngine templateEngine;
+
+    private ReloadableResourceBundleMessageSource messageSource;
+
+    private MailTemplateRenderer mailTemplateRenderer;
+
+    private String baseUrl;
+
+    private String titleKey;
+
+    private User user;
+
+    @Setup
+    public void setup() {
+        ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
+        templateResolver.setPrefix("templates/");
+        templateResolver.setSuffix(".html");
+        templateResolver.setTemplateMode(TemplateMode.HTML);
+        templateResolver.setCharacterEncoding("UTF-8");
+        templateResolver.setCacheable(true);
+
+        // The test classpath shadows the application bundles with the test ones, read the real ones from the sources
+        messageSource = new ReloadableResourceBundleMessageSource();
+        messageSource.setBasename("file:src/main/resources/i18n/messages");
+        messageSource.setDefaultEncoding("UTF-8");
+        messageSource.setFallbackToSystemLocale(false);
+
+        templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(templateResolver);
+        templateEngine.setMessageSource(messageSource);
+
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getMail().setBaseUrl("http://127.0.0.1:8080");
+        baseUrl = jHipsterProperties.getMail().getBaseUrl();
+        mailTemplateRenderer = new MailTemplateRenderer(templateEngine, messageSource, jHipsterProperties, new ThymeleafProperties());
+        mailTemplateRenderer.precompile();
+
+        titleKey = TITLE_KEYS.get(templateName);
+        user = new User();
+        user.setLogin("john.doe");
+        user.setEmail("john.doe@example.com");
+        user.setLangKey(langKey);
+        user.setActivationKey("12345678901234567890");
+        user.setResetKey("12345678901234567890");
+    }
+
+    @Benchmark
+    public void perEmailContext(Blackhole blackhole) {
+        Locale locale = Locale.forLanguageTag(user.getLangKey());
+        Context context = new Context(locale);
+        context.setVariable("user", user);
+        context.setVariable("baseUrl", baseUrl);
+        blackhole.consume(templateEngine.process(templateName, context));
+        blackhole.consume(messageSource.getMessage(titleKey, null, locale));
+    }
+
+    @Benchmark
+    public void mailTemplateRenderer(Blackhole blackhole) {
+        blackhole.consume(mailTemplateRenderer.render(templateName, user));
+        blackhole.consume(mailTemplateRenderer.subject(titleKey, user.getLangKey()));
+    }
+}
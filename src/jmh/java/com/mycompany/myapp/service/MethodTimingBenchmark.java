@@ -0,0 +1,71 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.aop.logging.LoggingAspect;
+import com.mycompany.myapp.aop.timing.MethodTimingAspect;
+import com.mycompany.myapp.management.MethodTimingMetersService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Measures the overhead of the method instrumentation on a service returning a {@link Mono}: without instrumentation,
+ * as when {@code application.method-timing.enabled} is not set and nothing advises the service, with the
+ * {@link LoggingAspect} at the info level, and with the {@link MethodTimingAspect}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MethodTimingBenchmark {
+
+    @Param({ "none", "logging", "timing" })
+    public String instrumentation;
+
+    private EchoService echoService;
+
+    @Setup
+    public void setup() {
+        EchoService target = new EchoService();
+        if ("none".equals(instrumentation)) {
+            echoService = target;
+            return;
+        }
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(target);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(
+            "logging".equals(instrumentation)
+                ? new LoggingAspect(new StandardEnvironment())
+                : new MethodTimingAspect(new MethodTimingMetersService(new SimpleMeterRegistry()))
+        );
+        echoService = proxyFactory.getProxy();
+    }
+
+    @Benchmark
+    public String call() {
+        return echoService.echo("benchmark").block();
+    }
+
+    @Service
+    public static class EchoService {
+
+        public Mono<String> echo(String value) {
+            return Mono.just(value).map(String::toUpperCase);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.mycompany.myapp.service.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.security.AuthoritiesConstants;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Measures the Jackson serialization of the list endpoint pages of {@link PersonneDTO} and {@link AdminUserDTO}, and
+ * the deserialization of a request body, with an {@link ObjectMapper} configured as the application's.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DtoSerializationBenchmark {
+
+    private static final TypeReference<List<PersonneDTO>> PERSONNES = new TypeReference<>() {};
+
+    @Param({ "20" })
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+
+    private List<PersonneDTO> personnes;
+
+    private List<AdminUserDTO> users;
+
+    private byte[] personnesJson;
+
+    private byte[] userJson;
+
+    @Setup
+    public void setup() throws JsonProcessingException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().modules(new JavaTimeModule(), new Jdk8Module()).build();
+        personnes = new ArrayList<>(pageSize);
+        users = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            PersonneDTO personne = new PersonneDTO();
+            personne.setId(String.format("65f1c2a9e4b0a1b2c3d4%04x", i));
+            personne.setPrenom("Prenom" + i);
+            personne.setNom("Nomdefamille" + i);
+            personne.setTelephone(i % 12);
+            personne.setVersion((long) i);
+            personnes.add(personne);
+            users.add(new AdminUserDTO(user(i)));
+        }
+        personnesJson = objectMapper.writeValueAsBytes(personnes);
+        userJson = objectMapper.writeValueAsBytes(users.get(0));
+    }
+
+    private static User user(int index) {
+        User user = new User();
+        user.setId(String.format("65f1c2a9e4b0a1b2c3d5%04x", index));
+        user.setLogin("user" + index);
+        user.setFirstName("Firstname" + index);
+        user.setLastName("Lastname" + index);
+        user.setEmail("user" + index + "@example.com");
+        user.setImageUrl("https://example.com/avatars/user" + index + ".png");
+        user.setActivated(true);
+        user.setLangKey("fr");
+        user.setCreatedBy("system");
+        user.setCreatedDate(Instant.parse("2024-03-13T10:15:30Z"));
+        user.setLastModifiedBy("admin");
+        user.setLastModifiedDate(Instant.parse("2024-03-14T08:00:00Z"));
+        user.setAuthorities(Set.of(AuthoritiesConstants.USER));
+        user.setVersion((long) index);
+        return user;
+    }
+
+    @Benchmark
+    public byte[] writePersonnes() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(personnes);
+    }
+
+    @Benchmark
+    public byte[] writeUsers() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(users);
+    }
+
+    @Benchmark
+    public List<PersonneDTO> readPersonnes() throws IOException {
+        return objectMapper.readValue(personnesJson, PERSONNES);
+    }
+
+    @Benchmark
+    public AdminUserDTO readUser() throws IOException {
+        return objectMapper.readValue(userJson, AdminUserDTO.class);
+    }
+}
@@ -0,0 +1,69 @@
+package com.mycompany.myapp.service.mapper;
+
+import com.mycompany.myapp.domain.Personne;
+import com.mycompany.myapp.service.dto.PersonneDTO;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link PersonneMapper} on a page of personnes, as mapped by the list endpoints, and on the single entity
+ * of the create and update endpoints.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PersonneMapperBenchmark {
+
+    @Param({ "20" })
+    public int pageSize;
+
+    private PersonneMapper personneMapper;
+
+    private List<Personne> personnes;
+
+    private PersonneDTO personneDTO;
+
+    @Setup
+    public void setup() {
+        personneMapper = new PersonneMapperImpl();
+        personnes = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            personnes.add(personne(i));
+        }
+        personneDTO = personneMapper.toDto(personnes.get(0));
+    }
+
+    static Personne personne(int index) {
+        return new Personne()
+            .id(String.format("65f1c2a9e4b0a1b2c3d4%04x", index))
+            .prenom("Prenom" + index)
+            .nom("Nomdefamille" + index)
+            .telephone(index % 12)
+            .version((long) index);
+    }
+
+    @Benchmark
+    public List<PersonneDTO> toDtoPage() {
+        return personneMapper.toDto(personnes);
+    }
+
+    @Benchmark
+    public Personne toEntity() {
+        return personneMapper.toEntity(personneDTO);
+    }
+}
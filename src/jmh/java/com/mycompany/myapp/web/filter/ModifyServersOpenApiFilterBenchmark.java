@@ -0,0 +1,128 @@
+package com.mycompany.myapp.web.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import reactor.core.publisher.Flux;
+
+/**
+ * Measures the rewriting of the OpenAPI documents of the microservices by {@link ModifyServersOpenApiFilter}, for a
+ * document the size of a generated microservice API, split into 8 KB buffers as it comes from the route.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ModifyServersOpenApiFilterBenchmark {
+
+    private static final String PATH = "/services/microservice/v3/api-docs";
+
+    private static final int BUFFER_SIZE = 8192;
+
+    @Param({ "20", "200" })
+    public int operations;
+
+    @Param({ "false", "true" })
+    public boolean gzip;
+
+    private final ModifyServersOpenApiFilter filter = new ModifyServersOpenApiFilter();
+
+    private final DefaultDataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+
+    private byte[] body;
+
+    @Setup
+    public void setup() throws IOException {
+        byte[] json = openApiDocument(operations).getBytes(StandardCharsets.UTF_8);
+        body = gzip ? gzip(json) : json;
+    }
+
+    @Benchmark
+    public String rewriteServers() {
+        MockServerHttpResponse response = new MockServerHttpResponse();
+        if (gzip) {
+            response.getHeaders().set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        ModifyServersOpenApiFilter.ModifyServersOpenApiInterceptor interceptor = filter.createModifyServersOpenApiInterceptor(
+            PATH,
+            response,
+            bufferFactory
+        );
+        interceptor.writeWith(Flux.range(0, (body.length + BUFFER_SIZE - 1) / BUFFER_SIZE).map(this::buffer)).block();
+        return interceptor.getRewritedBody();
+    }
+
+    private DataBuffer buffer(int index) {
+        int offset = index * BUFFER_SIZE;
+        byte[] chunk = new byte[Math.min(BUFFER_SIZE, body.length - offset)];
+        System.arraycopy(body, offset, chunk, 0, chunk.length);
+        return bufferFactory.wrap(chunk);
+    }
+
+    private static String openApiDocument(int operations) {
+        ObjectMapper mapper = new ObjectMapper();
+        ObjectNode document = mapper.createObjectNode().put("openapi", "3.0.1");
+        document.putObject("info").put("title", "microservice API").put("version", "0.0.1");
+        document.putArray("servers").addObject().put("url", "http://10.0.0.12:8081").put("description", "Generated server url");
+        ObjectNode paths = document.putObject("paths");
+        for (int i = 0; i < operations; i++) {
+            ObjectNode operation = paths.putObject("/api/entities-" + i + "/{id}").putObject("get");
+            operation.putArray("tags").add("entity-" + i + "-resource");
+            operation.put("operationId", "getEntity" + i);
+            operation
+                .putArray("parameters")
+                .addObject()
+                .put("name", "id")
+                .put("in", "path")
+                .put("required", true)
+                .putObject("schema")
+                .put("type", "integer")
+                .put("format", "int64");
+            operation
+                .putObject("responses")
+                .putObject("200")
+                .put("description", "OK")
+                .putObject("content")
+                .putObject("*/*")
+                .putObject("schema")
+                .put("$ref", "#/components/schemas/Entity" + i + "DTO");
+        }
+        ObjectNode schemas = document.putObject("components").putObject("schemas");
+        for (int i = 0; i < operations; i++) {
+            ObjectNode properties = schemas.putObject("Entity" + i + "DTO").put("type", "object").putObject("properties");
+            properties.putObject("id").put("type", "integer").put("format", "int64");
+            properties.putObject("name").put("type", "string").put("maxLength", 50);
+            properties.putObject("createdDate").put("type", "string").put("format", "date-time");
+        }
+        return document.toString();
+    }
+
+    private static byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(content.length);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(content);
+        }
+        return bytes.toByteArray();
+    }
+}
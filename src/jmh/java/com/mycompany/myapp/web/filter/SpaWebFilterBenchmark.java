@@ -0,0 +1,48 @@
+package com.mycompany.myapp.web.filter;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Measures {@link SpaWebFilter}, which runs on every request, for an API call, a client route forwarded to
+ * {@code index.html}, and a static resource.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SpaWebFilterBenchmark {
+
+    @Param({ "/api/personnes", "/admin/user-management/john.doe/view", "/content/main.5d3b7c1e.js" })
+    public String path;
+
+    private SpaWebFilter spaWebFilter;
+
+    private final WebFilterChain chain = exchange -> Mono.empty();
+
+    @Setup
+    public void setup() {
+        spaWebFilter = new SpaWebFilter();
+    }
+
+    @Benchmark
+    public Void filter() {
+        return spaWebFilter.filter(MockServerWebExchange.from(MockServerHttpRequest.get(path)), chain).block();
+    }
+}
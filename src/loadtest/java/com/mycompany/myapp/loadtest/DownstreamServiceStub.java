@@ -0,0 +1,48 @@
+package com.mycompany.myapp.loadtest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * Stand-in for a microservice behind the gateway: answers every request with the same small JSON document after a
+ * fixed latency, so that the {@code /services/**} scenario measures the routing and not the service.
+ */
+final class DownstreamServiceStub {
+
+    private static final byte[] BODY = "{\"id\":\"65f1c2a9e4b0a1b2c3d40001\",\"name\":\"stub\",\"status\":\"UP\"}".getBytes(
+            StandardCharsets.UTF_8
+        );
+
+    private final DisposableServer server;
+
+    private DownstreamServiceStub(DisposableServer server) {
+        this.server = server;
+    }
+
+    static DownstreamServiceStub start(Duration latency) {
+        DisposableServer server = HttpServer
+            .create()
+            .host("localhost")
+            .port(0)
+            .handle((request, response) ->
+                response
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .sendByteArray(latency.isZero() ? Mono.just(BODY) : Mono.delay(latency).thenReturn(BODY))
+            )
+            .bindNow();
+        return new DownstreamServiceStub(server);
+    }
+
+    String getBaseUrl() {
+        return "http://localhost:" + server.port();
+    }
+
+    void stop() {
+        server.disposeNow();
+    }
+}
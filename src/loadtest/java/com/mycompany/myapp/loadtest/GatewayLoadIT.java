@@ -0,0 +1,204 @@
+package com.mycompany.myapp.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.myapp.MyApp1App;
+import com.mycompany.myapp.config.EmbeddedKafka;
+import com.mycompany.myapp.config.EmbeddedMongo;
+import com.mycompany.myapp.domain.Personne;
+import com.mycompany.myapp.repository.PersonneRepository;
+import com.mycompany.myapp.repository.search.PersonneSearchRepository;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.ByteBufFlux;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * End-to-end load test of the gateway, run with {@code ./mvnw -Pload-tests verify}.
+ * <p>
+ * The application is started on a random port against the MongoDB and Kafka test containers, with a stub service
+ * routed under {@code /services/stub/**}. Elasticsearch is stood in for by the mock search repository, answering from
+ * MongoDB. Each scenario drives an open model load through real HTTP connections, and the latency percentiles,
+ * throughput and allocation rate of every scenario are written to {@code target/load-tests/report.md}, with the full
+ * latency distributions next to it.
+ * <p>
+ * The load is configured with the {@code loadtest.*} system properties, see the {@code load-tests} Maven profile.
+ */
+@SpringBootTest(classes = MyApp1App.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@EmbeddedMongo
+@EmbeddedKafka
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class GatewayLoadIT {
+
+    private static final Logger log = LoggerFactory.getLogger(GatewayLoadIT.class);
+
+    private static final int PERSONNES = 1000;
+
+    private static final int RATE = Integer.getInteger("loadtest.rate", 200);
+
+    private static final int AUTHENTICATE_RATE = Integer.getInteger("loadtest.authenticate-rate", 20);
+
+    private static final Duration WARMUP = Duration.parse(System.getProperty("loadtest.warmup", "PT10S"));
+
+    private static final Duration DURATION = Duration.parse(System.getProperty("loadtest.duration", "PT30S"));
+
+    private static final Path REPORT_DIRECTORY = Paths.get(System.getProperty("loadtest.report-directory", "target/load-tests"));
+
+    private static final DownstreamServiceStub DOWNSTREAM = DownstreamServiceStub.start(
+        Duration.parse(System.getProperty("loadtest.downstream-latency", "PT0.005S"))
+    );
+
+    private static final String CREDENTIALS = "{\"username\":\"admin\",\"password\":\"admin\"}";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private PersonneRepository personneRepository;
+
+    @Autowired
+    private PersonneSearchRepository mockPersonneSearchRepository;
+
+    private final List<ScenarioResult> results = new ArrayList<>();
+
+    private ConnectionProvider connectionProvider;
+
+    private HttpClient httpClient;
+
+    private String authorization;
+
+    @DynamicPropertySource
+    static void routeToDownstreamService(DynamicPropertyRegistry registry) {
+        registry.add("spring.cloud.gateway.routes[0].id", () -> "stub");
+        registry.add("spring.cloud.gateway.routes[0].uri", DOWNSTREAM::getBaseUrl);
+        registry.add("spring.cloud.gateway.routes[0].predicates[0]", () -> "Path=/services/stub/**");
+        registry.add("spring.cloud.gateway.routes[0].filters[0]", () -> "RewritePath=/services/stub/(?<remaining>.*), /$\\{remaining}");
+    }
+
+    @BeforeAll
+    void setUp() {
+        connectionProvider =
+            ConnectionProvider.builder("load-test").maxConnections(OpenModelLoad.MAX_IN_FLIGHT).pendingAcquireMaxCount(-1).build();
+        httpClient = HttpClient.create(connectionProvider).baseUrl("http://localhost:" + port);
+
+        personneRepository.deleteAll().block();
+        personneRepository
+            .saveAll(Flux.range(0, PERSONNES).map(i -> new Personne().prenom("Prenom" + i).nom("Nom" + i).telephone(i % 12).version(0L)))
+            .blockLast();
+
+        authorization =
+            httpClient
+                .headers(headers -> headers.set(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE))
+                .post()
+                .uri("/api/authenticate")
+                .send(ByteBufFlux.fromString(Mono.just(CREDENTIALS)))
+                .responseSingle((response, body) -> Mono.justOrEmpty(response.responseHeaders().get(HttpHeaders.AUTHORIZATION)))
+                .block(Duration.ofSeconds(30));
+        assertThat(authorization).startsWith("Bearer ");
+    }
+
+    @BeforeEach
+    void standInForElasticsearch() {
+        // The mock is reset after each test
+        when(mockPersonneSearchRepository.count()).thenAnswer(invocation -> personneRepository.count());
+        when(mockPersonneSearchRepository.search(anyString(), any(Pageable.class)))
+            .thenAnswer(invocation -> personneRepository.findAllBy(invocation.getArgument(1)));
+        when(mockPersonneSearchRepository.search(anyString(), any(Pageable.class), anyCollection()))
+            .thenAnswer(invocation -> personneRepository.findAllBy(invocation.getArgument(1)));
+    }
+
+    @AfterAll
+    void writeReport() throws IOException {
+        StringBuilder report = new StringBuilder("# Gateway load test\n\n");
+        report.append("Warmup: ").append(WARMUP).append(", duration: ").append(DURATION).append("\n\n");
+        report.append(ScenarioResult.MARKDOWN_HEADER);
+        for (ScenarioResult result : results) {
+            report.append(result.toMarkdownRow());
+            result.writeHistogram(REPORT_DIRECTORY);
+        }
+        Files.createDirectories(REPORT_DIRECTORY);
+        Files.writeString(REPORT_DIRECTORY.resolve("report.md"), report, StandardCharsets.UTF_8);
+        log.info("Load test report:\n{}", report);
+
+        connectionProvider.disposeLater().block();
+        DOWNSTREAM.stop();
+    }
+
+    @Test
+    void listPersonnes() {
+        run("personnes-list", RATE, () -> get("/api/personnes?page=0&size=20"));
+    }
+
+    @Test
+    void searchPersonnes() {
+        run("personnes-search", RATE, () -> get("/api/_search/personnes?query=nom:Nom1*&page=0&size=20"));
+    }
+
+    @Test
+    void authenticate() {
+        run(
+            "authenticate",
+            AUTHENTICATE_RATE,
+            () ->
+                httpClient
+                    .headers(headers -> headers.set(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE))
+                    .post()
+                    .uri("/api/authenticate")
+                    .send(ByteBufFlux.fromString(Mono.just(CREDENTIALS)))
+                    .response((response, body) -> body.then(Mono.just(response.status().code())))
+                    .single()
+        );
+    }
+
+    @Test
+    void routeToService() {
+        run("services-routing", RATE, () -> get("/services/stub/api/status"));
+    }
+
+    private void run(String scenario, int rate, Supplier<Mono<Integer>> request) {
+        ScenarioResult result = new OpenModelLoad(scenario, rate, request).run(WARMUP, DURATION);
+        results.add(result);
+        log.info("{}: {} requests, {} errors, {} dropped", scenario, result.getCompleted(), result.getErrors(), result.getDropped());
+
+        assertThat(result.getCompleted()).isPositive();
+        assertThat(result.getErrors()).isZero();
+    }
+
+    private Mono<Integer> get(String uri) {
+        return httpClient
+            .headers(headers -> headers.set(HttpHeaders.AUTHORIZATION, authorization))
+            .get()
+            .uri(uri)
+            .response((response, body) -> body.then(Mono.just(response.status().code())))
+            .single();
+    }
+}
@@ -0,0 +1,117 @@
+package com.mycompany.myapp.loadtest;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Open model load: the requests arrive at a constant rate whatever the response times, as the requests of independent
+ * users do, instead of being sent by a fixed pool of users each waiting for its previous response.
+ * <p>
+ * The latencies are measured from the time at which each request was due, not from the time at which it was sent, so
+ * that a stalled server is charged with the requests queued behind it (no coordinated omission). The arrivals which
+ * cannot be sent because {@link #MAX_IN_FLIGHT} requests are already pending are counted as dropped.
+ */
+final class OpenModelLoad {
+
+    static final int MAX_IN_FLIGHT = 2048;
+
+    private static final long HIGHEST_TRACKABLE_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final String scenario;
+
+    private final int rate;
+
+    private final Supplier<Mono<Integer>> request;
+
+    /**
+     * @param scenario the name of the scenario, used in the report.
+     * @param rate the number of requests arriving per second.
+     * @param request the request, emitting the status code of its response.
+     */
+    OpenModelLoad(String scenario, int rate, Supplier<Mono<Integer>> request) {
+        this.scenario = scenario;
+        this.rate = rate;
+        this.request = request;
+    }
+
+    /**
+     * Run the warmup, then the measured load.
+     *
+     * @param warmup the duration of the warmup, whose latencies are discarded.
+     * @param duration the duration of the measured load.
+     * @return the result of the measured load.
+     */
+    ScenarioResult run(Duration warmup, Duration duration) {
+        drive(warmup, newHistogram(), new LongAdder(), new LongAdder());
+
+        Histogram histogram = newHistogram();
+        LongAdder errors = new LongAdder();
+        LongAdder dropped = new LongAdder();
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        drive(duration, histogram, errors, dropped);
+        long elapsed = System.nanoTime() - start;
+        long allocated = allocatedBytes() - allocatedBefore;
+        return new ScenarioResult(scenario, rate, histogram, errors.sum(), dropped.sum(), elapsed, allocated);
+    }
+
+    private void drive(Duration duration, Histogram histogram, LongAdder errors, LongAdder dropped) {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long arrivals = duration.toNanos() / intervalNanos;
+        Flux
+            .defer(() -> {
+                long start = System.nanoTime();
+                return Flux
+                    .interval(Duration.ofNanos(intervalNanos))
+                    .take(arrivals)
+                    .onBackpressureDrop(arrival -> dropped.increment())
+                    .flatMap(arrival -> send(start + (arrival + 1) * intervalNanos, histogram, errors), MAX_IN_FLIGHT);
+            })
+            .blockLast(duration.plus(Duration.ofMinutes(1)));
+    }
+
+    private Mono<Integer> send(long dueTime, Histogram histogram, LongAdder errors) {
+        return request
+            .get()
+            .doOnNext(status -> {
+                if (status >= 400) {
+                    errors.increment();
+                }
+            })
+            .onErrorResume(e -> {
+                errors.increment();
+                return Mono.empty();
+            })
+            .doFinally(signal ->
+                histogram.recordValue(
+                    Math.min(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - dueTime), HIGHEST_TRACKABLE_LATENCY_MICROS)
+                )
+            );
+    }
+
+    private static Histogram newHistogram() {
+        return new ConcurrentHistogram(HIGHEST_TRACKABLE_LATENCY_MICROS, 3);
+    }
+
+    /**
+     * The application runs in the JVM of the load driver, so this covers the allocations of both, the driver's being
+     * a small and constant share of them.
+     */
+    private static long allocatedBytes() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long total = 0;
+        for (long allocated : threads.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+            if (allocated > 0) {
+                total += allocated;
+            }
+        }
+        return total;
+    }
+}
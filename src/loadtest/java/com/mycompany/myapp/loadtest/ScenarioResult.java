@@ -0,0 +1,108 @@
+package com.mycompany.myapp.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.HdrHistogram.Histogram;
+
+/**
+ * The latencies, throughput and allocation rate of a load test scenario.
+ */
+final class ScenarioResult {
+
+    static final String MARKDOWN_HEADER =
+        "| Scenario | Rate (req/s) | Throughput (req/s) | Errors | Dropped " +
+        "| p50 (ms) | p99 (ms) | p99.9 (ms) | Max (ms) | Allocation (MB/s) |\n" +
+        "|---|---:|---:|---:|---:|---:|---:|---:|---:|---:|\n";
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final String scenario;
+
+    private final int rate;
+
+    private final Histogram histogram;
+
+    private final long errors;
+
+    private final long dropped;
+
+    private final long elapsedNanos;
+
+    private final long allocatedBytes;
+
+    ScenarioResult(String scenario, int rate, Histogram histogram, long errors, long dropped, long elapsedNanos, long allocatedBytes) {
+        this.scenario = scenario;
+        this.rate = rate;
+        this.histogram = histogram;
+        this.errors = errors;
+        this.dropped = dropped;
+        this.elapsedNanos = elapsedNanos;
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    String getScenario() {
+        return scenario;
+    }
+
+    long getCompleted() {
+        return histogram.getTotalCount();
+    }
+
+    long getErrors() {
+        return errors;
+    }
+
+    long getDropped() {
+        return dropped;
+    }
+
+    double getThroughput() {
+        return getCompleted() / seconds();
+    }
+
+    double getAllocationRate() {
+        return allocatedBytes / (1024.0 * 1024.0) / seconds();
+    }
+
+    double getLatencyAtPercentile(double percentile) {
+        return histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+    }
+
+    String toMarkdownRow() {
+        return String.format(
+            Locale.ROOT,
+            "| %s | %d | %.1f | %d | %d | %.2f | %.2f | %.2f | %.2f | %.1f |%n",
+            scenario,
+            rate,
+            getThroughput(),
+            errors,
+            dropped,
+            getLatencyAtPercentile(50),
+            getLatencyAtPercentile(99),
+            getLatencyAtPercentile(99.9),
+            histogram.getMaxValue() / MICROS_PER_MILLI,
+            getAllocationRate()
+        );
+    }
+
+    /**
+     * Write the full latency distribution, in milliseconds, in the HdrHistogram percentile format which can be plotted
+     * with the HdrHistogram plotter.
+     */
+    void writeHistogram(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve(scenario + ".hgrm");
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file), false, StandardCharsets.UTF_8)) {
+            histogram.outputPercentileDistribution(out, MICROS_PER_MILLI);
+        }
+    }
+
+    private double seconds() {
+        return elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1);
+    }
+}
@@ -11,12 +11,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.Profiles;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import tech.jhipster.config.JHipsterConstants;
 
 /**
  * Aspect for logging execution of service and repository Spring components.
  *
- * By default, it only runs with the "dev" profile.
+ * By default, it only runs with the "dev" profile. The methods are timed by {@link com.mycompany.myapp.aop.timing.MethodTimingAspect}.
  */
 @Aspect
 public class LoggingAspect {
@@ -104,7 +106,15 @@ public class LoggingAspect {
         try {
             Object result = joinPoint.proceed();
             if (log.isDebugEnabled()) {
-                log.debug("Exit: {}() with result = {}", joinPoint.getSignature().getName(), result);
+                String methodName = joinPoint.getSignature().getName();
+                // The publishers only run once subscribed: their exit is logged on their terminal signal
+                if (result instanceof Mono) {
+                    return ((Mono<?>) result).doFinally(signal -> log.debug("Exit: {}() with signal = {}", methodName, signal));
+                }
+                if (result instanceof Flux) {
+                    return ((Flux<?>) result).doFinally(signal -> log.debug("Exit: {}() with signal = {}", methodName, signal));
+                }
+                log.debug("Exit: {}() with result = {}", methodName, result);
             }
             return result;
         } catch (IllegalArgumentException e) {
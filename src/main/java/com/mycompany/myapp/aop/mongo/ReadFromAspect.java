@@ -0,0 +1,29 @@
+package com.mycompany.myapp.aop.mongo;
+
+import com.mycompany.myapp.repository.ReadFrom;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+/**
+ * Aspect putting the read route of the {@link ReadFrom} methods in the Reactor context of the publishers they return,
+ * where the database factory picks it up.
+ */
+@Aspect
+public class ReadFromAspect {
+
+    @Around("@annotation(readFrom)")
+    public Object routeReads(ProceedingJoinPoint joinPoint, ReadFrom readFrom) throws Throwable {
+        Object result = joinPoint.proceed();
+        if (result instanceof Mono) {
+            return ((Mono<?>) result).contextWrite(Context.of(ReadFrom.CONTEXT_KEY, readFrom.value()));
+        }
+        if (result instanceof Flux) {
+            return ((Flux<?>) result).contextWrite(Context.of(ReadFrom.CONTEXT_KEY, readFrom.value()));
+        }
+        return result;
+    }
+}
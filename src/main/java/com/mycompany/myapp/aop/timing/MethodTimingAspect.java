@@ -0,0 +1,156 @@
+package com.mycompany.myapp.aop.timing;
+
+import com.mycompany.myapp.management.MethodTimingMetersService;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.util.ClassUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Aspect timing the repository, service and REST methods.
+ * <p>
+ * The {@link Mono} and {@link Flux} returned by the methods are timed from each subscription to its terminal signal,
+ * which is when their work is done, rather than during their assembly by the method call. The timers are tagged by
+ * class, method and outcome only, and looked up once per class and method.
+ * <p>
+ * It only runs when {@code application.method-timing.enabled} is set.
+ */
+@Aspect
+public class MethodTimingAspect {
+
+    private final MethodTimingMetersService methodTimingMetersService;
+
+    private final Map<Class<?>, ClassTimers> timers = new ConcurrentHashMap<>();
+
+    public MethodTimingAspect(MethodTimingMetersService methodTimingMetersService) {
+        this.methodTimingMetersService = methodTimingMetersService;
+    }
+
+    /**
+     * Pointcut that matches all repositories, services and Web REST endpoints.
+     */
+    @Pointcut(
+        "within(@org.springframework.stereotype.Repository *)" +
+        " || within(@org.springframework.stereotype.Service *)" +
+        " || within(@org.springframework.web.bind.annotation.RestController *)"
+    )
+    public void springBeanPointcut() {
+        // Method is empty as this is just a Pointcut, the implementations are in the advices.
+    }
+
+    /**
+     * Pointcut that matches all Spring beans in the application's main packages.
+     */
+    @Pointcut(
+        "within(com.mycompany.myapp.repository..*)" +
+        " || within(com.mycompany.myapp.service..*)" +
+        " || within(com.mycompany.myapp.web.rest..*)"
+    )
+    public void applicationPackagePointcut() {
+        // Method is empty as this is just a Pointcut, the implementations are in the advices.
+    }
+
+    /**
+     * Advice that times a method, or the publisher it returns.
+     *
+     * @param joinPoint join point for advice.
+     * @return result, timed when subscribed if it is a {@link Mono} or a {@link Flux}.
+     * @throws Throwable the exception thrown by the method.
+     */
+    @Around("applicationPackagePointcut() && springBeanPointcut()")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodTimers methodTimers = timers(joinPoint);
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            methodTimers.record(SignalType.ON_ERROR, start);
+            throw e;
+        }
+        if (result instanceof Mono) {
+            Mono<?> mono = (Mono<?>) result;
+            return Mono.defer(() -> {
+                long subscribed = System.nanoTime();
+                return mono.doFinally(signal -> methodTimers.record(signal, subscribed));
+            });
+        }
+        if (result instanceof Flux) {
+            Flux<?> flux = (Flux<?>) result;
+            return Flux.defer(() -> {
+                long subscribed = System.nanoTime();
+                return flux.doFinally(signal -> methodTimers.record(signal, subscribed));
+            });
+        }
+        methodTimers.record(SignalType.ON_COMPLETE, start);
+        return result;
+    }
+
+    private MethodTimers timers(ProceedingJoinPoint joinPoint) {
+        Object target = joinPoint.getTarget();
+        ClassTimers classTimers = timers.get(target.getClass());
+        if (classTimers == null) {
+            classTimers = timers.computeIfAbsent(target.getClass(), type -> new ClassTimers(methodTimingMetersService, target));
+        }
+        return classTimers.timers(((MethodSignature) joinPoint.getSignature()).getMethod());
+    }
+
+    /**
+     * The timers of the methods of a bean, tagged with the name of its class, or of its repository interface: the
+     * methods inherited from the Spring Data interfaces are shared by all the repositories, but timed per repository.
+     */
+    private static final class ClassTimers {
+
+        private final MethodTimingMetersService methodTimingMetersService;
+
+        private final String className;
+
+        private final Map<Method, MethodTimers> timers = new ConcurrentHashMap<>();
+
+        ClassTimers(MethodTimingMetersService methodTimingMetersService, Object target) {
+            this.methodTimingMetersService = methodTimingMetersService;
+            Class<?>[] interfaces = AopUtils.isJdkDynamicProxy(target) ? AopProxyUtils.proxiedUserInterfaces(target) : new Class<?>[0];
+            this.className = interfaces.length > 0 ? interfaces[0].getSimpleName() : ClassUtils.getUserClass(target).getSimpleName();
+        }
+
+        MethodTimers timers(Method method) {
+            MethodTimers methodTimers = timers.get(method);
+            if (methodTimers == null) {
+                methodTimers = timers.computeIfAbsent(method, m -> new MethodTimers(methodTimingMetersService, className, m.getName()));
+            }
+            return methodTimers;
+        }
+    }
+
+    private static final class MethodTimers {
+
+        private final Timer success;
+
+        private final Timer error;
+
+        private final Timer cancelled;
+
+        MethodTimers(MethodTimingMetersService methodTimingMetersService, String className, String methodName) {
+            this.success = methodTimingMetersService.executionTimer(className, methodName, MethodTimingMetersService.OUTCOME_SUCCESS);
+            this.error = methodTimingMetersService.executionTimer(className, methodName, MethodTimingMetersService.OUTCOME_ERROR);
+            this.cancelled = methodTimingMetersService.executionTimer(className, methodName, MethodTimingMetersService.OUTCOME_CANCELLED);
+        }
+
+        void record(SignalType signal, long start) {
+            Timer timer = signal == SignalType.ON_ERROR ? error : signal == SignalType.CANCEL ? cancelled : success;
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.mycompany.myapp.aop.tracing;
+
+import com.mycompany.myapp.management.tracing.RequestTracer;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.data.elasticsearch.repository.ReactiveElasticsearchRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Aspect opening a span around the MongoDB and Elasticsearch repository calls of the sampled traces.
+ * <p>
+ * The spans are named after the repository interface and the method, including the methods inherited from the Spring
+ * Data interfaces.
+ */
+@Aspect
+public class RepositoryTracingAspect {
+
+    public static final String KIND_MONGODB = "mongodb";
+
+    public static final String KIND_ELASTICSEARCH = "elasticsearch";
+
+    private final RequestTracer requestTracer;
+
+    private final Map<Class<?>, RepositorySpans> repositorySpans = new ConcurrentHashMap<>();
+
+    public RepositoryTracingAspect(RequestTracer requestTracer) {
+        this.requestTracer = requestTracer;
+    }
+
+    @Around("target(org.springframework.data.repository.Repository)")
+    public Object trace(ProceedingJoinPoint joinPoint) throws Throwable {
+        Object result = joinPoint.proceed();
+        if (result instanceof Mono) {
+            RepositorySpans spans = repositorySpans(joinPoint.getTarget());
+            return requestTracer.trace(spans.name(joinPoint), spans.kind, (Mono<?>) result);
+        }
+        if (result instanceof Flux) {
+            RepositorySpans spans = repositorySpans(joinPoint.getTarget());
+            return requestTracer.trace(spans.name(joinPoint), spans.kind, (Flux<?>) result);
+        }
+        return result;
+    }
+
+    private RepositorySpans repositorySpans(Object repository) {
+        RepositorySpans spans = repositorySpans.get(repository.getClass());
+        if (spans == null) {
+            spans = repositorySpans.computeIfAbsent(repository.getClass(), type -> new RepositorySpans(repository));
+        }
+        return spans;
+    }
+
+    /**
+     * The kind and the span names of a repository, computed once per method.
+     */
+    private static final class RepositorySpans {
+
+        private final String repositoryName;
+
+        private final String kind;
+
+        private final Map<Method, String> names = new ConcurrentHashMap<>();
+
+        RepositorySpans(Object repository) {
+            Class<?>[] interfaces = AopProxyUtils.proxiedUserInterfaces(repository);
+            Class<?> repositoryInterface = interfaces.length > 0 ? interfaces[0] : repository.getClass();
+            this.repositoryName = repositoryInterface.getSimpleName();
+            this.kind = ReactiveElasticsearchRepository.class.isAssignableFrom(repositoryInterface) ? KIND_ELASTICSEARCH : KIND_MONGODB;
+        }
+
+        String name(ProceedingJoinPoint joinPoint) {
+            Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+            String name = names.get(method);
+            if (name == null) {
+                name = names.computeIfAbsent(method, m -> repositoryName + '.' + m.getName());
+            }
+            return name;
+        }
+    }
+}
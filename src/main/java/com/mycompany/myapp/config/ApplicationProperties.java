@@ -1,5 +1,8 @@
 package com.mycompany.myapp.config;
 
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -9,4 +12,614 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * See {@link tech.jhipster.config.JHipsterProperties} for a good example.
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
-public class ApplicationProperties {}
+public class ApplicationProperties {
+
+    private final Sse sse = new Sse();
+
+    private final PersonneEvents personneEvents = new PersonneEvents();
+
+    private final Mail mail = new Mail();
+
+    private final VirtualThreads virtualThreads = new VirtualThreads();
+
+    private final UserCleanup userCleanup = new UserCleanup();
+
+    private final MongoIndexes mongoIndexes = new MongoIndexes();
+
+    private final Authorities authorities = new Authorities();
+
+    private final MongoReads mongoReads = new MongoReads();
+
+    private final MethodTiming methodTiming = new MethodTiming();
+
+    private final Tracing tracing = new Tracing();
+
+    private final AsyncLogging asyncLogging = new AsyncLogging();
+
+    private final ReactorDebug reactorDebug = new ReactorDebug();
+
+    private final BlockingDetection blockingDetection = new BlockingDetection();
+
+    private final LoadBalancer loadBalancer = new LoadBalancer();
+
+    public Sse getSse() {
+        return sse;
+    }
+
+    public PersonneEvents getPersonneEvents() {
+        return personneEvents;
+    }
+
+    public Mail getMail() {
+        return mail;
+    }
+
+    public VirtualThreads getVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public UserCleanup getUserCleanup() {
+        return userCleanup;
+    }
+
+    public MongoIndexes getMongoIndexes() {
+        return mongoIndexes;
+    }
+
+    public Authorities getAuthorities() {
+        return authorities;
+    }
+
+    public MongoReads getMongoReads() {
+        return mongoReads;
+    }
+
+    public MethodTiming getMethodTiming() {
+        return methodTiming;
+    }
+
+    public Tracing getTracing() {
+        return tracing;
+    }
+
+    public AsyncLogging getAsyncLogging() {
+        return asyncLogging;
+    }
+
+    public ReactorDebug getReactorDebug() {
+        return reactorDebug;
+    }
+
+    public BlockingDetection getBlockingDetection() {
+        return blockingDetection;
+    }
+
+    public LoadBalancer getLoadBalancer() {
+        return loadBalancer;
+    }
+
+    public static class Sse {
+
+        private int historySize = 1024;
+
+        private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+        private int maxReplaySize = 10000;
+
+        private Duration replayTimeout = Duration.ofSeconds(5);
+
+        public int getHistorySize() {
+            return historySize;
+        }
+
+        public void setHistorySize(int historySize) {
+            this.historySize = historySize;
+        }
+
+        public Duration getHeartbeatInterval() {
+            return heartbeatInterval;
+        }
+
+        public void setHeartbeatInterval(Duration heartbeatInterval) {
+            this.heartbeatInterval = heartbeatInterval;
+        }
+
+        public int getMaxReplaySize() {
+            return maxReplaySize;
+        }
+
+        public void setMaxReplaySize(int maxReplaySize) {
+            this.maxReplaySize = maxReplaySize;
+        }
+
+        public Duration getReplayTimeout() {
+            return replayTimeout;
+        }
+
+        public void setReplayTimeout(Duration replayTimeout) {
+            this.replayTimeout = replayTimeout;
+        }
+    }
+
+    public static class PersonneEvents {
+
+        private boolean useTransactions = true;
+
+        private int batchSize = 500;
+
+        private Duration relayInterval = Duration.ofSeconds(1);
+
+        private Duration ackTimeout = Duration.ofSeconds(30);
+
+        public boolean isUseTransactions() {
+            return useTransactions;
+        }
+
+        public void setUseTransactions(boolean useTransactions) {
+            this.useTransactions = useTransactions;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public Duration getRelayInterval() {
+            return relayInterval;
+        }
+
+        public void setRelayInterval(Duration relayInterval) {
+            this.relayInterval = relayInterval;
+        }
+
+        public Duration getAckTimeout() {
+            return ackTimeout;
+        }
+
+        public void setAckTimeout(Duration ackTimeout) {
+            this.ackTimeout = ackTimeout;
+        }
+    }
+
+    public static class Mail {
+
+        private int batchSize = 100;
+
+        private int messagesPerConnection = 25;
+
+        private int concurrency = 2;
+
+        private int maxAttempts = 5;
+
+        private Duration initialBackoff = Duration.ofSeconds(30);
+
+        private Duration maxBackoff = Duration.ofHours(1);
+
+        private Duration lease = Duration.ofMinutes(5);
+
+        private Duration pollInterval = Duration.ofSeconds(1);
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getMessagesPerConnection() {
+            return messagesPerConnection;
+        }
+
+        public void setMessagesPerConnection(int messagesPerConnection) {
+            this.messagesPerConnection = messagesPerConnection;
+        }
+
+        public int getConcurrency() {
+            return concurrency;
+        }
+
+        public void setConcurrency(int concurrency) {
+            this.concurrency = concurrency;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public Duration getInitialBackoff() {
+            return initialBackoff;
+        }
+
+        public void setInitialBackoff(Duration initialBackoff) {
+            this.initialBackoff = initialBackoff;
+        }
+
+        public Duration getMaxBackoff() {
+            return maxBackoff;
+        }
+
+        public void setMaxBackoff(Duration maxBackoff) {
+            this.maxBackoff = maxBackoff;
+        }
+
+        public Duration getLease() {
+            return lease;
+        }
+
+        public void setLease(Duration lease) {
+            this.lease = lease;
+        }
+
+        public Duration getPollInterval() {
+            return pollInterval;
+        }
+
+        public void setPollInterval(Duration pollInterval) {
+            this.pollInterval = pollInterval;
+        }
+    }
+
+    public static class VirtualThreads {
+
+        private boolean enabled = false;
+
+        private Duration pinnedThreshold = Duration.ofMillis(20);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getPinnedThreshold() {
+            return pinnedThreshold;
+        }
+
+        public void setPinnedThreshold(Duration pinnedThreshold) {
+            this.pinnedThreshold = pinnedThreshold;
+        }
+    }
+
+    public static class UserCleanup {
+
+        private int batchSize = 500;
+
+        private Duration timeBudget = Duration.ofMinutes(10);
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public Duration getTimeBudget() {
+            return timeBudget;
+        }
+
+        public void setTimeBudget(Duration timeBudget) {
+            this.timeBudget = timeBudget;
+        }
+    }
+
+    public static class MongoIndexes {
+
+        private boolean reconcileOnStartup = true;
+
+        private boolean createMissing = false;
+
+        public boolean isReconcileOnStartup() {
+            return reconcileOnStartup;
+        }
+
+        public void setReconcileOnStartup(boolean reconcileOnStartup) {
+            this.reconcileOnStartup = reconcileOnStartup;
+        }
+
+        public boolean isCreateMissing() {
+            return createMissing;
+        }
+
+        public void setCreateMissing(boolean createMissing) {
+            this.createMissing = createMissing;
+        }
+    }
+
+    public static class Authorities {
+
+        private Duration refreshInterval = Duration.ofMinutes(10);
+
+        public Duration getRefreshInterval() {
+            return refreshInterval;
+        }
+
+        public void setRefreshInterval(Duration refreshInterval) {
+            this.refreshInterval = refreshInterval;
+        }
+    }
+
+    public static class MongoReads {
+
+        private Map<String, Route> routes = new LinkedHashMap<>();
+
+        public Map<String, Route> getRoutes() {
+            return routes;
+        }
+
+        public void setRoutes(Map<String, Route> routes) {
+            this.routes = routes;
+        }
+
+        public static class Route {
+
+            private String readPreference = "primary";
+
+            private Duration maxStaleness;
+
+            private String readConcern;
+
+            public String getReadPreference() {
+                return readPreference;
+            }
+
+            public void setReadPreference(String readPreference) {
+                this.readPreference = readPreference;
+            }
+
+            public Duration getMaxStaleness() {
+                return maxStaleness;
+            }
+
+            public void setMaxStaleness(Duration maxStaleness) {
+                this.maxStaleness = maxStaleness;
+            }
+
+            public String getReadConcern() {
+                return readConcern;
+            }
+
+            public void setReadConcern(String readConcern) {
+                this.readConcern = readConcern;
+            }
+        }
+    }
+
+    public static class MethodTiming {
+
+        private boolean enabled = false;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+    }
+
+    public static class Tracing {
+
+        private boolean enabled = false;
+
+        private int tracesPerSecond = 10;
+
+        private int bufferSize = 10000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getTracesPerSecond() {
+            return tracesPerSecond;
+        }
+
+        public void setTracesPerSecond(int tracesPerSecond) {
+            this.tracesPerSecond = tracesPerSecond;
+        }
+
+        public int getBufferSize() {
+            return bufferSize;
+        }
+
+        public void setBufferSize(int bufferSize) {
+            this.bufferSize = bufferSize;
+        }
+    }
+
+    public static class AsyncLogging {
+
+        private boolean enabled = false;
+
+        private int ringBufferSize = 8192;
+
+        private DropPolicy dropPolicy = DropPolicy.DROP;
+
+        private Duration waitTimeout = Duration.ofMillis(10);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getRingBufferSize() {
+            return ringBufferSize;
+        }
+
+        public void setRingBufferSize(int ringBufferSize) {
+            this.ringBufferSize = ringBufferSize;
+        }
+
+        public DropPolicy getDropPolicy() {
+            return dropPolicy;
+        }
+
+        public void setDropPolicy(DropPolicy dropPolicy) {
+            this.dropPolicy = dropPolicy;
+        }
+
+        public Duration getWaitTimeout() {
+            return waitTimeout;
+        }
+
+        public void setWaitTimeout(Duration waitTimeout) {
+            this.waitTimeout = waitTimeout;
+        }
+
+        /**
+         * What the threads logging do when the ring buffer of an appender is full.
+         */
+        public enum DropPolicy {
+            /**
+             * The event is dropped at once.
+             */
+            DROP,
+            /**
+             * The thread waits for some room up to the {@code wait-timeout}, then the event is dropped.
+             */
+            WAIT,
+            /**
+             * The thread waits until there is some room, no event is dropped.
+             */
+            BLOCK,
+        }
+    }
+
+    public static class ReactorDebug {
+
+        private Mode mode = Mode.NONE;
+
+        public Mode getMode() {
+            return mode;
+        }
+
+        public void setMode(Mode mode) {
+            this.mode = mode;
+        }
+
+        /**
+         * How the errors of the reactive pipelines are traced back to where the pipelines were assembled.
+         */
+        public enum Mode {
+            /**
+             * No assembly information.
+             */
+            NONE,
+            /**
+             * Named checkpoints at the boundaries of the services and gateway filters.
+             */
+            CHECKPOINTS,
+            /**
+             * The operators are instrumented at class loading by the {@code ReactorDebugAgent}, from reactor-tools which is only
+             * part of the dev builds: the named checkpoints are used when it is missing.
+             */
+            AGENT,
+            /**
+             * A stack trace is captured when each operator is assembled, the slowest.
+             */
+            OPERATOR_DEBUG,
+        }
+    }
+
+    public static class BlockingDetection {
+
+        private boolean enabled = false;
+
+        private Duration reportInterval = Duration.ofMinutes(1);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getReportInterval() {
+            return reportInterval;
+        }
+
+        public void setReportInterval(Duration reportInterval) {
+            this.reportInterval = reportInterval;
+        }
+    }
+
+    public static class LoadBalancer {
+
+        private boolean latencyAware = false;
+
+        private Duration decayTime = Duration.ofSeconds(10);
+
+        private final Ejection ejection = new Ejection();
+
+        public boolean isLatencyAware() {
+            return latencyAware;
+        }
+
+        public void setLatencyAware(boolean latencyAware) {
+            this.latencyAware = latencyAware;
+        }
+
+        public Duration getDecayTime() {
+            return decayTime;
+        }
+
+        public void setDecayTime(Duration decayTime) {
+            this.decayTime = decayTime;
+        }
+
+        public Ejection getEjection() {
+            return ejection;
+        }
+
+        public static class Ejection {
+
+            private int consecutiveFailures = 5;
+
+            private Duration duration = Duration.ofSeconds(30);
+
+            private int maxEjectedPercent = 50;
+
+            public int getConsecutiveFailures() {
+                return consecutiveFailures;
+            }
+
+            public void setConsecutiveFailures(int consecutiveFailures) {
+                this.consecutiveFailures = consecutiveFailures;
+            }
+
+            public Duration getDuration() {
+                return duration;
+            }
+
+            public void setDuration(Duration duration) {
+                this.duration = duration;
+            }
+
+            public int getMaxEjectedPercent() {
+                return maxEjectedPercent;
+            }
+
+            public void setMaxEjectedPercent(int maxEjectedPercent) {
+                this.maxEjectedPercent = maxEjectedPercent;
+            }
+        }
+    }
+}
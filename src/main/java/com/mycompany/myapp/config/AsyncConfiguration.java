@@ -1,6 +1,8 @@
 package com.mycompany.myapp.config;
 
+import com.mycompany.myapp.management.VirtualThreadMetersService;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
@@ -9,6 +11,9 @@ import org.springframework.boot.autoconfigure.task.TaskExecutionProperties;
 import org.springframework.cloud.stream.annotation.EnableBinding;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.integration.channel.DirectChannel;
+import org.springframework.messaging.SubscribableChannel;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
@@ -18,21 +23,41 @@ import tech.jhipster.async.ExceptionHandlingAsyncTaskExecutor;
 @Configuration
 @EnableAsync
 @EnableScheduling
-@EnableBinding({ KafkaSseConsumer.class, KafkaSseProducer.class })
+@EnableBinding({ KafkaSseConsumer.class, KafkaSseProducer.class, PersonneEventProducer.class })
 public class AsyncConfiguration implements AsyncConfigurer {
 
     private final Logger log = LoggerFactory.getLogger(AsyncConfiguration.class);
 
     private final TaskExecutionProperties taskExecutionProperties;
 
-    public AsyncConfiguration(TaskExecutionProperties taskExecutionProperties) {
+    private final ApplicationProperties applicationProperties;
+
+    private final VirtualThreadMetersService virtualThreadMetersService;
+
+    public AsyncConfiguration(
+        TaskExecutionProperties taskExecutionProperties,
+        ApplicationProperties applicationProperties,
+        VirtualThreadMetersService virtualThreadMetersService
+    ) {
         this.taskExecutionProperties = taskExecutionProperties;
+        this.applicationProperties = applicationProperties;
+        this.virtualThreadMetersService = virtualThreadMetersService;
     }
 
     @Override
     @Bean(name = "taskExecutor")
     public Executor getAsyncExecutor() {
         log.debug("Creating Async Task Executor");
+        if (applicationProperties.getVirtualThreads().isEnabled()) {
+            ThreadFactory threadFactory = VirtualThreadSupport.threadFactory(taskExecutionProperties.getThreadNamePrefix());
+            if (threadFactory != null) {
+                // One new virtual thread per task, instead of a pool of platform threads
+                return new ExceptionHandlingAsyncTaskExecutor(
+                    new SimpleAsyncTaskExecutor(virtualThreadMetersService.instrument("async", threadFactory))
+                );
+            }
+            log.warn("Virtual threads are enabled, but this JVM does not support them: using platform threads");
+        }
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(taskExecutionProperties.getPool().getCoreSize());
         executor.setMaxPoolSize(taskExecutionProperties.getPool().getMaxSize());
@@ -41,6 +66,11 @@ public class AsyncConfiguration implements AsyncConfigurer {
         return new ExceptionHandlingAsyncTaskExecutor(executor);
     }
 
+    @Bean(name = PersonneEventProducer.ACKS_CHANNELNAME)
+    public SubscribableChannel personneEventAcks() {
+        return new DirectChannel();
+    }
+
     @Override
     public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
         return new SimpleAsyncUncaughtExceptionHandler();
@@ -0,0 +1,227 @@
+package com.mycompany.myapp.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggerContextListener;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.ConsoleAppender;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.spi.ContextAwareBase;
+import ch.qos.logback.core.util.Duration;
+import java.net.InetSocketAddress;
+import java.util.Map;
+import net.logstash.logback.appender.LoggingEventAsyncDisruptorAppender;
+import net.logstash.logback.appender.LogstashTcpSocketAppender;
+import net.logstash.logback.appender.listener.TcpAppenderListener;
+import net.logstash.logback.encoder.LogstashEncoder;
+import net.logstash.logback.stacktrace.ShortenedThrowableConverter;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Configures the console and Logstash appenders to log asynchronously, when {@code application.async-logging.enabled}
+ * is set: the events are put in a preallocated lock-free ring buffer, and written by a single thread, the console
+ * being flushed once per batch of events rather than once per event.
+ * <p>
+ * The threads logging, like the Netty event loops, never wait for the writes. When the ring buffer is full, the events
+ * are dropped, or the threads wait for some room, as configured by the {@link ApplicationProperties.AsyncLogging.DropPolicy}.
+ */
+public final class AsyncLoggingAppenders {
+
+    public static final String ASYNC_CONSOLE_APPENDER_NAME = "ASYNC_CONSOLE";
+
+    public static final String ASYNC_LOGSTASH_APPENDER_NAME = "ASYNC_LOGSTASH";
+
+    private static final String CONSOLE_APPENDER_NAME = "CONSOLE";
+
+    private AsyncLoggingAppenders() {}
+
+    /**
+     * Add the asynchronous appenders, and add them again each time the logging context is reset.
+     *
+     * @param context the logging context.
+     * @param customFields the fields added to each JSON event.
+     * @param loggingProperties the JHipster logging properties, selecting the JSON console and Logstash appenders.
+     * @param asyncLoggingProperties the ring buffer and drop policy of the appenders.
+     * @param listener the listener of the appenders, notified of the dropped events.
+     */
+    public static void configure(
+        LoggerContext context,
+        Map<String, String> customFields,
+        JHipsterProperties.Logging loggingProperties,
+        ApplicationProperties.AsyncLogging asyncLoggingProperties,
+        TcpAppenderListener<ILoggingEvent> listener
+    ) {
+        Runnable addAppenders = () -> {
+            addAsyncConsoleAppender(context, customFields, loggingProperties.isUseJsonFormat(), asyncLoggingProperties, listener);
+            if (loggingProperties.getLogstash().isEnabled()) {
+                addAsyncLogstashAppender(context, customFields, loggingProperties.getLogstash(), asyncLoggingProperties, listener);
+            }
+        };
+        addAppenders.run();
+        // A refreshed configuration replaces the appenders the listener adds back after a reset
+        AsyncAppendersContextListener contextListener = context
+            .getCopyOfListenerList()
+            .stream()
+            .filter(AsyncAppendersContextListener.class::isInstance)
+            .map(AsyncAppendersContextListener.class::cast)
+            .findFirst()
+            .orElse(null);
+        if (contextListener == null) {
+            contextListener = new AsyncAppendersContextListener(addAppenders);
+            contextListener.setContext(context);
+            context.addListener(contextListener);
+        } else {
+            contextListener.setAddAppenders(addAppenders);
+        }
+    }
+
+    /**
+     * Put the console appender behind a ring buffer, the JSON one if {@code json} is set, else the one of the logging
+     * configuration.
+     */
+    @SuppressWarnings("unchecked")
+    public static void addAsyncConsoleAppender(
+        LoggerContext context,
+        Map<String, String> customFields,
+        boolean json,
+        ApplicationProperties.AsyncLogging asyncLoggingProperties,
+        TcpAppenderListener<ILoggingEvent> listener
+    ) {
+        Logger rootLogger = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        Appender<ILoggingEvent> configuredConsoleAppender = rootLogger.getAppender(CONSOLE_APPENDER_NAME);
+        OutputStreamAppender<ILoggingEvent> consoleAppender;
+        if (json) {
+            ConsoleAppender<ILoggingEvent> jsonConsoleAppender = new ConsoleAppender<>();
+            jsonConsoleAppender.setContext(context);
+            jsonConsoleAppender.setName(CONSOLE_APPENDER_NAME);
+            LogstashEncoder encoder = logstashEncoder(context, customFields);
+            encoder.start();
+            jsonConsoleAppender.setEncoder(encoder);
+            jsonConsoleAppender.start();
+            consoleAppender = jsonConsoleAppender;
+        } else {
+            if (!(configuredConsoleAppender instanceof OutputStreamAppender)) {
+                return;
+            }
+            consoleAppender = (OutputStreamAppender<ILoggingEvent>) configuredConsoleAppender;
+        }
+        // Flushed by the asynchronous appender at the end of each batch of events
+        consoleAppender.setImmediateFlush(false);
+
+        LoggingEventAsyncDisruptorAppender asyncAppender = new LoggingEventAsyncDisruptorAppender();
+        asyncAppender.setContext(context);
+        asyncAppender.setName(ASYNC_CONSOLE_APPENDER_NAME);
+        asyncAppender.setRingBufferSize(asyncLoggingProperties.getRingBufferSize());
+        asyncAppender.setAppendTimeout(appendTimeout(asyncLoggingProperties));
+        asyncAppender.addListener(listener);
+        asyncAppender.addAppender(consoleAppender);
+        asyncAppender.start();
+
+        rootLogger.detachAppender(CONSOLE_APPENDER_NAME);
+        if (json && configuredConsoleAppender != null) {
+            // Replaced by the JSON console appender, rather than wrapped
+            configuredConsoleAppender.stop();
+        }
+        replaceAppender(rootLogger, asyncAppender);
+    }
+
+    public static void addAsyncLogstashAppender(
+        LoggerContext context,
+        Map<String, String> customFields,
+        JHipsterProperties.Logging.Logstash logstashProperties,
+        ApplicationProperties.AsyncLogging asyncLoggingProperties,
+        TcpAppenderListener<ILoggingEvent> listener
+    ) {
+        LogstashTcpSocketAppender logstashAppender = new LogstashTcpSocketAppender();
+        logstashAppender.setContext(context);
+        logstashAppender.setName(ASYNC_LOGSTASH_APPENDER_NAME);
+        logstashAppender.addDestinations(new InetSocketAddress(logstashProperties.getHost(), logstashProperties.getPort()));
+        logstashAppender.setEncoder(logstashEncoder(context, customFields));
+        logstashAppender.setRingBufferSize(asyncLoggingProperties.getRingBufferSize());
+        logstashAppender.setAppendTimeout(appendTimeout(asyncLoggingProperties));
+        logstashAppender.addListener(listener);
+        logstashAppender.start();
+
+        replaceAppender(context.getLogger(Logger.ROOT_LOGGER_NAME), logstashAppender);
+    }
+
+    /**
+     * @return a JSON encoder writing the custom fields as pre-encoded strings.
+     */
+    public static LogstashEncoder logstashEncoder(LoggerContext context, Map<String, String> customFields) {
+        ShortenedThrowableConverter throwableConverter = new ShortenedThrowableConverter();
+        throwableConverter.setRootCauseFirst(true);
+        LogstashEncoder encoder = new LogstashEncoder();
+        encoder.setContext(context);
+        encoder.setThrowableConverter(throwableConverter);
+        encoder.addProvider(new PreEncodedFieldsJsonProvider(customFields));
+        return encoder;
+    }
+
+    /**
+     * Attach an appender, stopping the one of the same name added before the configuration was refreshed, with its thread.
+     */
+    private static void replaceAppender(Logger rootLogger, Appender<ILoggingEvent> appender) {
+        Appender<ILoggingEvent> previous = rootLogger.getAppender(appender.getName());
+        if (previous != null) {
+            rootLogger.detachAppender(previous);
+            previous.stop();
+        }
+        rootLogger.addAppender(appender);
+    }
+
+    private static Duration appendTimeout(ApplicationProperties.AsyncLogging asyncLoggingProperties) {
+        switch (asyncLoggingProperties.getDropPolicy()) {
+            case BLOCK:
+                return Duration.buildByMilliseconds(-1);
+            case WAIT:
+                return Duration.buildByMilliseconds(asyncLoggingProperties.getWaitTimeout().toMillis());
+            case DROP:
+            default:
+                return Duration.buildByMilliseconds(0);
+        }
+    }
+
+    /**
+     * Adds the asynchronous appenders again after the logging context is reset, as when the configuration is refreshed.
+     */
+    private static final class AsyncAppendersContextListener extends ContextAwareBase implements LoggerContextListener {
+
+        private volatile Runnable addAppenders;
+
+        AsyncAppendersContextListener(Runnable addAppenders) {
+            this.addAppenders = addAppenders;
+        }
+
+        void setAddAppenders(Runnable addAppenders) {
+            this.addAppenders = addAppenders;
+        }
+
+        @Override
+        public boolean isResetResistant() {
+            return true;
+        }
+
+        @Override
+        public void onStart(LoggerContext context) {
+            addAppenders.run();
+        }
+
+        @Override
+        public void onReset(LoggerContext context) {
+            addAppenders.run();
+        }
+
+        @Override
+        public void onStop(LoggerContext context) {
+            // Nothing to do.
+        }
+
+        @Override
+        public void onLevelChange(Logger logger, Level level) {
+            // Nothing to do.
+        }
+    }
+}
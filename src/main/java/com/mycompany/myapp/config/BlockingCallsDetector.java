@@ -0,0 +1,142 @@
+package com.mycompany.myapp.config;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.blockhound.BlockHound;
+import reactor.blockhound.BlockingMethod;
+
+/**
+ * Reports the blocking calls made on the non-blocking threads, like the Netty event loops, detected by BlockHound.
+ * <p>
+ * The calls are not failed as in the tests: each one is counted, and its stack trace logged at most once per report
+ * interval and call site, the call site being the blocking method and the application method which led to it.
+ */
+final class BlockingCallsDetector {
+
+    private static final Logger log = LoggerFactory.getLogger(BlockingCallsDetector.class);
+
+    private static final String APPLICATION_PACKAGE = "com.mycompany.myapp.";
+
+    static final String UNKNOWN_CALLER = "unknown";
+
+    private static final int LOGGED_FRAMES = 30;
+
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private static final AtomicBoolean INSTALLED = new AtomicBoolean();
+
+    private final long reportIntervalNanos;
+
+    private final BiConsumer<String, String> listener;
+
+    private final Map<String, CallSite> callSites = new ConcurrentHashMap<>();
+
+    BlockingCallsDetector(Duration reportInterval, BiConsumer<String, String> listener) {
+        this.reportIntervalNanos = reportInterval.toNanos();
+        this.listener = listener;
+    }
+
+    /**
+     * Install BlockHound, with the integrations found on the classpath, reporting the blocking calls.
+     *
+     * @param reportInterval the minimum interval between two logs of the same call site.
+     * @param listener called with the blocking method and the caller of each blocking call.
+     * @return the detector, or {@code null} if BlockHound could not be installed.
+     */
+    static BlockingCallsDetector install(Duration reportInterval, BiConsumer<String, String> listener) {
+        if (!INSTALLED.compareAndSet(false, true)) {
+            log.warn("The blocking calls detector is already installed");
+            return null;
+        }
+        BlockingCallsDetector detector = new BlockingCallsDetector(reportInterval, listener);
+        try {
+            BlockHound
+                .builder()
+                .loadIntegrations()
+                .allowBlockingCallsInside(BlockingCallsDetector.class.getName(), "report")
+                .allowBlockingCallsInside("org.springframework.validation.beanvalidation.SpringValidatorAdapter", "validate")
+                .blockingMethodCallback(detector::report)
+                .install();
+            log.info("Blocking calls on non-blocking threads are reported");
+            return detector;
+        } catch (RuntimeException e) {
+            // From Java 13, BlockHound requires -XX:+AllowRedefinitionToAddDeleteMethods
+            log.warn("Blocking calls cannot be detected: {}", e.toString());
+            return null;
+        }
+    }
+
+    /**
+     * Count a blocking call, and log it unless its call site was logged during the last report interval.
+     *
+     * @param method the blocking method.
+     * @return {@code true} if the call was logged.
+     */
+    boolean report(BlockingMethod method) {
+        String blockingClass = method.getClassName().replace('/', '.');
+        String blockingMethod = blockingClass + "." + method.getName();
+        List<StackWalker.StackFrame> frames = callerFrames(blockingClass);
+        String caller = frames
+            .stream()
+            .filter(frame -> frame.getClassName().startsWith(APPLICATION_PACKAGE))
+            .findFirst()
+            .map(frame -> frame.getClassName() + "." + frame.getMethodName())
+            .orElse(UNKNOWN_CALLER);
+        listener.accept(blockingMethod, caller);
+
+        CallSite callSite = callSites.computeIfAbsent(blockingMethod + " " + caller, key -> new CallSite(System.nanoTime()));
+        long now = System.nanoTime();
+        long nextReport = callSite.nextReport.get();
+        if (now - nextReport < 0 || !callSite.nextReport.compareAndSet(nextReport, now + reportIntervalNanos)) {
+            callSite.skipped.increment();
+            return false;
+        }
+        long skipped = callSite.skipped.sumThenReset();
+        log.warn(
+            "Blocking call to {} on the non-blocking thread {}{}\n\tat {}",
+            blockingMethod,
+            Thread.currentThread().getName(),
+            skipped == 0 ? "" : " (" + skipped + " more calls since the last report)",
+            frames.stream().map(StackWalker.StackFrame::toString).collect(Collectors.joining("\n\tat "))
+        );
+        return true;
+    }
+
+    /**
+     * @return the frames calling the blocking method, or the whole stack if it is not found.
+     */
+    private static List<StackWalker.StackFrame> callerFrames(String blockingClass) {
+        List<StackWalker.StackFrame> frames = STACK_WALKER.walk(stream ->
+            stream.dropWhile(frame -> !frame.getClassName().equals(blockingClass)).skip(1).limit(LOGGED_FRAMES).collect(Collectors.toList())
+        );
+        if (!frames.isEmpty()) {
+            return frames;
+        }
+        return STACK_WALKER.walk(stream ->
+            stream
+                .filter(frame -> !frame.getClassName().equals(BlockingCallsDetector.class.getName()))
+                .limit(LOGGED_FRAMES)
+                .collect(Collectors.toList())
+        );
+    }
+
+    private static final class CallSite {
+
+        private final AtomicLong nextReport;
+
+        private final LongAdder skipped = new LongAdder();
+
+        private CallSite(long nextReport) {
+            this.nextReport = new AtomicLong(nextReport);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.mycompany.myapp.config;
+
+import com.mycompany.myapp.management.BlockingCallMetersService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Reports the blocking calls made on the non-blocking threads, to the {@code reactor.blocking.calls} meter and the
+ * logs, when {@code application.blocking-detection.enabled} is set. Meant for the staging load tests: the classes of
+ * the JDK and the libraries are instrumented, which costs some CPU on every call of the blocking methods.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.blocking-detection", name = "enabled", havingValue = "true")
+public class BlockingDetectionConfiguration {
+
+    public BlockingDetectionConfiguration(
+        ApplicationProperties applicationProperties,
+        BlockingCallMetersService blockingCallMetersService
+    ) {
+        BlockingCallsDetector.install(
+            applicationProperties.getBlockingDetection().getReportInterval(),
+            blockingCallMetersService::trackBlockingCall
+        );
+    }
+}
@@ -0,0 +1,114 @@
+package com.mycompany.myapp.config;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executor starting a new thread for each task, of which at most a given number run at once.
+ * <p>
+ * The tasks beyond the cap wait for a permit on their own thread, which is cheap for a virtual thread, and the tasks
+ * beyond the queue cap are rejected, as the bounded elastic schedulers do.
+ */
+final class BoundedThreadPerTaskExecutor extends AbstractExecutorService {
+
+    private final ThreadFactory threadFactory;
+
+    private final Semaphore running;
+
+    private final Semaphore admitted;
+
+    private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+    private final CountDownLatch terminated = new CountDownLatch(1);
+
+    private boolean shutdown;
+
+    BoundedThreadPerTaskExecutor(ThreadFactory threadFactory, int threadCap, int queuedTaskCap) {
+        this.threadFactory = threadFactory;
+        this.running = new Semaphore(threadCap, true);
+        this.admitted = new Semaphore(threadCap + queuedTaskCap);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        Objects.requireNonNull(task);
+        Thread thread;
+        synchronized (this) {
+            if (shutdown || !admitted.tryAcquire()) {
+                throw new RejectedExecutionException("Task rejected: the executor is full or shut down");
+            }
+            try {
+                thread = threadFactory.newThread(() -> run(task));
+            } catch (RuntimeException e) {
+                admitted.release();
+                throw new RejectedExecutionException(e);
+            }
+            threads.add(thread);
+        }
+        thread.start();
+    }
+
+    private void run(Runnable task) {
+        try {
+            running.acquire();
+            try {
+                task.run();
+            } finally {
+                running.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            synchronized (this) {
+                threads.remove(Thread.currentThread());
+                admitted.release();
+                if (shutdown && threads.isEmpty()) {
+                    terminated.countDown();
+                }
+            }
+        }
+    }
+
+    @Override
+    public synchronized void shutdown() {
+        shutdown = true;
+        if (threads.isEmpty()) {
+            terminated.countDown();
+        }
+    }
+
+    /**
+     * Interrupt the running tasks, and the tasks waiting for a permit which are then not run.
+     *
+     * @return an empty list, as the waiting tasks are already bound to their thread.
+     */
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown();
+        threads.forEach(Thread::interrupt);
+        return List.of();
+    }
+
+    @Override
+    public synchronized boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return terminated.getCount() == 0;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return terminated.await(timeout, unit);
+    }
+}
@@ -1,9 +1,13 @@
 package com.mycompany.myapp.config;
 
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mycompany.myapp.aop.mongo.ReadFromAspect;
+import com.mycompany.myapp.management.MongoReadMetersService;
 import io.mongock.runner.springboot.EnableMongock;
 import java.util.ArrayList;
 import java.util.List;
 import org.springframework.boot.autoconfigure.mongo.MongoAutoConfiguration;
+import org.springframework.boot.autoconfigure.mongo.MongoProperties;
 import org.springframework.boot.autoconfigure.mongo.MongoReactiveAutoConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan.Filter;
@@ -13,6 +17,8 @@ import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.Profile;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.data.elasticsearch.repository.config.EnableReactiveElasticsearchRepositories;
+import org.springframework.data.mongodb.ReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.ReactiveMongoTransactionManager;
 import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
 import org.springframework.data.mongodb.core.mapping.event.ValidatingMongoEventListener;
 import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
@@ -43,6 +49,39 @@ public class DatabaseConfiguration {
         return new LocalValidatorFactoryBean();
     }
 
+    /**
+     * Database factory replacing the one of Spring Boot, to route the reads of the {@code @ReadFrom} methods.
+     */
+    @Bean
+    public ReadRoutingMongoDatabaseFactory readRoutingMongoDatabaseFactory(
+        MongoClient mongoClient,
+        MongoProperties mongoProperties,
+        ApplicationProperties applicationProperties,
+        MongoReadMetersService mongoReadMetersService
+    ) {
+        return new ReadRoutingMongoDatabaseFactory(
+            mongoClient,
+            mongoProperties.getMongoClientDatabase(),
+            applicationProperties.getMongoReads().getRoutes(),
+            mongoReadMetersService
+        );
+    }
+
+    @Bean
+    public ReadFromAspect readFromAspect() {
+        return new ReadFromAspect();
+    }
+
+    /**
+     * Transaction manager used to write an entity and its outbox events atomically.
+     * <p>
+     * Multi-document transactions require MongoDB to run as a replica set.
+     */
+    @Bean
+    public ReactiveMongoTransactionManager reactiveMongoTransactionManager(ReactiveMongoDatabaseFactory databaseFactory) {
+        return new ReactiveMongoTransactionManager(databaseFactory);
+    }
+
     @Bean
     public MongoCustomConversions customConversions() {
         List<Converter<?, ?>> converters = new ArrayList<>();
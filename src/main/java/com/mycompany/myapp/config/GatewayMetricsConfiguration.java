@@ -0,0 +1,21 @@
+package com.mycompany.myapp.config;
+
+import com.mycompany.myapp.management.GatewayMetersService;
+import com.mycompany.myapp.management.UpstreamConnectionMetricsRecorder;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Records the connect time of the gateway HTTP client to the service instances. The routed requests are measured by
+ * {@link com.mycompany.myapp.web.filter.RouteMetricsFilter}.
+ */
+@Configuration
+public class GatewayMetricsConfiguration {
+
+    @Bean
+    public HttpClientCustomizer upstreamConnectionMetricsCustomizer(GatewayMetersService gatewayMetersService) {
+        UpstreamConnectionMetricsRecorder recorder = new UpstreamConnectionMetricsRecorder(gatewayMetersService);
+        return httpClient -> httpClient.metrics(true, () -> recorder);
+    }
+}
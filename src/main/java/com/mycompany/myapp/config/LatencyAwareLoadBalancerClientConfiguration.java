@@ -0,0 +1,33 @@
+package com.mycompany.myapp.config;
+
+import com.mycompany.myapp.web.loadbalancer.InstanceStatsRegistry;
+import com.mycompany.myapp.web.loadbalancer.LatencyAwareLoadBalancer;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * Configuration of the load balancer of each service, in its own child context.
+ * <p>
+ * Not annotated with {@code @Configuration}, so that it is only read through the {@link LoadBalancerConfiguration},
+ * and not by the component scan of the application context.
+ */
+public class LatencyAwareLoadBalancerClientConfiguration {
+
+    @Bean
+    public ReactorLoadBalancer<ServiceInstance> reactorServiceInstanceLoadBalancer(
+        Environment environment,
+        LoadBalancerClientFactory loadBalancerClientFactory,
+        InstanceStatsRegistry instanceStatsRegistry
+    ) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        return new LatencyAwareLoadBalancer(
+            loadBalancerClientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class),
+            serviceId,
+            instanceStatsRegistry
+        );
+    }
+}
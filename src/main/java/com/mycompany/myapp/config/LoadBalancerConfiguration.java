@@ -0,0 +1,33 @@
+package com.mycompany.myapp.config;
+
+import com.mycompany.myapp.management.LoadBalancerMetersService;
+import com.mycompany.myapp.web.loadbalancer.InstanceStatsFilter;
+import com.mycompany.myapp.web.loadbalancer.InstanceStatsRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Balances the requests to the services, the {@code /services/**} routes included, on the latency and requests in
+ * flight of their instances rather than round-robin, when {@code application.load-balancer.latency-aware} is set.
+ * The score of each instance is published in the {@code gateway.loadbalancer.instance.*} meters.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.load-balancer", name = "latency-aware", havingValue = "true")
+@LoadBalancerClients(defaultConfiguration = LatencyAwareLoadBalancerClientConfiguration.class)
+public class LoadBalancerConfiguration {
+
+    @Bean
+    public InstanceStatsRegistry instanceStatsRegistry(
+        ApplicationProperties applicationProperties,
+        LoadBalancerMetersService loadBalancerMetersService
+    ) {
+        return new InstanceStatsRegistry(applicationProperties.getLoadBalancer(), loadBalancerMetersService);
+    }
+
+    @Bean
+    public InstanceStatsFilter instanceStatsFilter(InstanceStatsRegistry instanceStatsRegistry) {
+        return new InstanceStatsFilter(instanceStatsRegistry);
+    }
+}
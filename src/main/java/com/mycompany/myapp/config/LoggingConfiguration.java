@@ -5,6 +5,7 @@ import static tech.jhipster.config.logging.LoggingUtils.*;
 import ch.qos.logback.classic.LoggerContext;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.myapp.management.LoggingMetersService;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.LoggerFactory;
@@ -16,7 +17,8 @@ import org.springframework.context.annotation.Configuration;
 import tech.jhipster.config.JHipsterProperties;
 
 /*
- * Configures the console and Logstash log appenders from the app properties
+ * Configures the console and Logstash log appenders from the app properties, asynchronous when
+ * application.async-logging.enabled is set
  */
 @Configuration
 @RefreshScope
@@ -27,7 +29,9 @@ public class LoggingConfiguration {
         @Value("${server.port}") String serverPort,
         JHipsterProperties jHipsterProperties,
         ObjectProvider<BuildProperties> buildProperties,
-        ObjectMapper mapper
+        ObjectMapper mapper,
+        ApplicationProperties applicationProperties,
+        LoggingMetersService loggingMetersService
     ) throws JsonProcessingException {
         LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
 
@@ -35,11 +39,24 @@ public class LoggingConfiguration {
         map.put("app_name", appName);
         map.put("app_port", serverPort);
         buildProperties.ifAvailable(it -> map.put("version", it.getVersion()));
-        String customFields = mapper.writeValueAsString(map);
 
         JHipsterProperties.Logging loggingProperties = jHipsterProperties.getLogging();
         JHipsterProperties.Logging.Logstash logstashProperties = loggingProperties.getLogstash();
 
+        ApplicationProperties.AsyncLogging asyncLoggingProperties = applicationProperties.getAsyncLogging();
+        if (asyncLoggingProperties.isEnabled()) {
+            AsyncLoggingAppenders.configure(
+                context,
+                map,
+                loggingProperties,
+                asyncLoggingProperties,
+                loggingMetersService.droppedEventsListener()
+            );
+            return;
+        }
+
+        String customFields = mapper.writeValueAsString(map);
+
         if (loggingProperties.isUseJsonFormat()) {
             addJsonConsoleAppender(context, customFields);
         }
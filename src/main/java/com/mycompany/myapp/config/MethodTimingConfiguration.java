@@ -0,0 +1,23 @@
+package com.mycompany.myapp.config;
+
+import com.mycompany.myapp.aop.timing.MethodTimingAspect;
+import com.mycompany.myapp.management.MethodTimingMetersService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+
+/**
+ * Times the repository, service and REST methods when {@code application.method-timing.enabled} is set. Otherwise the
+ * aspect is not registered, and the methods are not advised.
+ */
+@Configuration
+@EnableAspectJAutoProxy
+@ConditionalOnProperty(prefix = "application.method-timing", name = "enabled", havingValue = "true")
+public class MethodTimingConfiguration {
+
+    @Bean
+    public MethodTimingAspect methodTimingAspect(MethodTimingMetersService methodTimingMetersService) {
+        return new MethodTimingAspect(methodTimingMetersService);
+    }
+}
@@ -0,0 +1,14 @@
+package com.mycompany.myapp.config;
+
+import org.springframework.cloud.stream.annotation.Output;
+import org.springframework.messaging.MessageChannel;
+
+public interface PersonneEventProducer {
+    String CHANNELNAME = "binding-out-personne-event";
+
+    /** The channel receiving the records acknowledged by the broker, with the headers of the sent message. */
+    String ACKS_CHANNELNAME = "personne-event-acks";
+
+    @Output(CHANNELNAME)
+    MessageChannel output();
+}
@@ -0,0 +1,41 @@
+package com.mycompany.myapp.config;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import java.io.IOException;
+import java.util.Map;
+import net.logstash.logback.composite.AbstractJsonProvider;
+
+/**
+ * Writes constant fields, like the application name and port, in every JSON log event.
+ * <p>
+ * The {@code customFields} of the Logstash encoders are a JSON tree, walked and escaped again for each event: the names
+ * and values here are escaped and encoded once, and copied as they are.
+ */
+public class PreEncodedFieldsJsonProvider extends AbstractJsonProvider<ILoggingEvent> {
+
+    private final SerializableString[] names;
+
+    private final SerializableString[] values;
+
+    public PreEncodedFieldsJsonProvider(Map<String, String> fields) {
+        this.names = new SerializableString[fields.size()];
+        this.values = new SerializableString[fields.size()];
+        int i = 0;
+        for (Map.Entry<String, String> field : fields.entrySet()) {
+            names[i] = new SerializedString(field.getKey());
+            values[i] = new SerializedString(field.getValue());
+            i++;
+        }
+    }
+
+    @Override
+    public void writeTo(JsonGenerator generator, ILoggingEvent event) throws IOException {
+        for (int i = 0; i < names.length; i++) {
+            generator.writeFieldName(names[i]);
+            generator.writeString(values[i]);
+        }
+    }
+}
@@ -1,15 +1,58 @@
 package com.mycompany.myapp.config;
 
+import com.mycompany.myapp.management.ReactorCheckpoints;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.context.annotation.Profile;
 import reactor.core.publisher.Hooks;
-import tech.jhipster.config.JHipsterConstants;
 
+/**
+ * Applies the diagnostic mode of the reactive pipelines selected by {@code application.reactor-debug.mode}.
+ */
 @Configuration
-@Profile("!" + JHipsterConstants.SPRING_PROFILE_PRODUCTION)
 public class ReactorConfiguration {
 
-    public ReactorConfiguration() {
-        Hooks.onOperatorDebug();
+    private static final String REACTOR_DEBUG_AGENT = "reactor.tools.agent.ReactorDebugAgent";
+
+    private final Logger log = LoggerFactory.getLogger(ReactorConfiguration.class);
+
+    public ReactorConfiguration(ApplicationProperties applicationProperties) {
+        ApplicationProperties.ReactorDebug.Mode mode = applicationProperties.getReactorDebug().getMode();
+        switch (mode) {
+            case CHECKPOINTS:
+                ReactorCheckpoints.setEnabled(true);
+                break;
+            case AGENT:
+                if (!initDebugAgent()) {
+                    log.warn("The ReactorDebugAgent is not available, using the named checkpoints instead");
+                    mode = ApplicationProperties.ReactorDebug.Mode.CHECKPOINTS;
+                    ReactorCheckpoints.setEnabled(true);
+                }
+                break;
+            case OPERATOR_DEBUG:
+                Hooks.onOperatorDebug();
+                break;
+            case NONE:
+            default:
+                break;
+        }
+        log.debug("Reactor debug mode: {}", mode);
+    }
+
+    /**
+     * reactor-tools is only a dependency of the dev builds, so the agent is reached by reflection.
+     *
+     * @return whether the agent was installed.
+     */
+    private static boolean initDebugAgent() {
+        try {
+            Class<?> agent = Class.forName(REACTOR_DEBUG_AGENT);
+            agent.getMethod("init").invoke(null);
+            // The Reactor classes loaded before the agent was installed
+            agent.getMethod("processExistingClasses").invoke(null);
+            return true;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return false;
+        }
     }
 }
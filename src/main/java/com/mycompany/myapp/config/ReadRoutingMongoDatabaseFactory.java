@@ -0,0 +1,96 @@
+package com.mycompany.myapp.config;
+
+import com.mongodb.ReadConcern;
+import com.mongodb.ReadConcernLevel;
+import com.mongodb.ReadPreference;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoDatabase;
+import com.mycompany.myapp.management.MongoReadMetersService;
+import com.mycompany.myapp.repository.ReadFrom;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.SimpleReactiveMongoDatabaseFactory;
+import reactor.core.publisher.Mono;
+
+/**
+ * Database factory applying the read route found in the Reactor context, put there by {@link ReadFrom}, to the
+ * databases it hands out to {@link org.springframework.data.mongodb.core.ReactiveMongoTemplate}.
+ * <p>
+ * The operations run without a route keep the read preference and read concern of the connection string.
+ */
+public class ReadRoutingMongoDatabaseFactory extends SimpleReactiveMongoDatabaseFactory {
+
+    private final Logger log = LoggerFactory.getLogger(ReadRoutingMongoDatabaseFactory.class);
+
+    private final Map<String, ReadRoute> routes;
+
+    private final MongoReadMetersService mongoReadMetersService;
+
+    public ReadRoutingMongoDatabaseFactory(
+        MongoClient mongoClient,
+        String databaseName,
+        Map<String, ApplicationProperties.MongoReads.Route> routes,
+        MongoReadMetersService mongoReadMetersService
+    ) {
+        super(mongoClient, databaseName);
+        Map<String, ReadRoute> readRoutes = new HashMap<>();
+        routes.forEach((name, route) -> readRoutes.put(name, ReadRoute.of(route)));
+        this.routes = Collections.unmodifiableMap(readRoutes);
+        this.mongoReadMetersService = mongoReadMetersService;
+    }
+
+    @Override
+    public Mono<MongoDatabase> getMongoDatabase(String dbName) {
+        return Mono.deferContextual(context -> {
+            Mono<MongoDatabase> database = super.getMongoDatabase(dbName);
+            String name = context.getOrDefault(ReadFrom.CONTEXT_KEY, null);
+            if (name == null) {
+                return database;
+            }
+            ReadRoute route = routes.get(name);
+            if (route == null) {
+                log.debug("Read route {} is not configured, reading from the primary", name);
+                mongoReadMetersService.trackRead(name, ReadPreference.primary().getName());
+                return database;
+            }
+            mongoReadMetersService.trackRead(name, route.readPreference.getName());
+            return database.map(route::apply);
+        });
+    }
+
+    private static final class ReadRoute {
+
+        private final ReadPreference readPreference;
+
+        private final ReadConcern readConcern;
+
+        private ReadRoute(ReadPreference readPreference, ReadConcern readConcern) {
+            this.readPreference = readPreference;
+            this.readConcern = readConcern;
+        }
+
+        static ReadRoute of(ApplicationProperties.MongoReads.Route route) {
+            ReadPreference readPreference = route.getMaxStaleness() == null
+                ? ReadPreference.valueOf(route.getReadPreference())
+                : ReadPreference.valueOf(
+                    route.getReadPreference(),
+                    Collections.emptyList(),
+                    route.getMaxStaleness().toMillis(),
+                    TimeUnit.MILLISECONDS
+                );
+            ReadConcern readConcern = route.getReadConcern() == null
+                ? null
+                : new ReadConcern(ReadConcernLevel.fromString(route.getReadConcern()));
+            return new ReadRoute(readPreference, readConcern);
+        }
+
+        MongoDatabase apply(MongoDatabase database) {
+            MongoDatabase routed = database.withReadPreference(readPreference);
+            return readConcern == null ? routed : routed.withReadConcern(readConcern);
+        }
+    }
+}
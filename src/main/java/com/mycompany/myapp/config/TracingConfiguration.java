@@ -0,0 +1,59 @@
+package com.mycompany.myapp.config;
+
+import com.mycompany.myapp.aop.tracing.RepositoryTracingAspect;
+import com.mycompany.myapp.management.tracing.RequestTracer;
+import com.mycompany.myapp.management.tracing.SpanRingBuffer;
+import com.mycompany.myapp.management.tracing.TraceSampler;
+import com.mycompany.myapp.management.tracing.TracesEndpoint;
+import com.mycompany.myapp.web.filter.TracingRouteFilter;
+import com.mycompany.myapp.web.filter.TracingWebFilter;
+import java.time.Clock;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+
+/**
+ * Traces the requests in process when {@code application.tracing.enabled} is set, as a lightweight replacement of
+ * Sleuth: the spans of the requests, of their repository calls and of their calls to the services are kept in a ring
+ * buffer, exported by the {@code traces} management endpoint.
+ */
+@Configuration
+@EnableAspectJAutoProxy
+@ConditionalOnProperty(prefix = "application.tracing", name = "enabled", havingValue = "true")
+public class TracingConfiguration {
+
+    @Bean
+    public SpanRingBuffer spanRingBuffer(ApplicationProperties applicationProperties) {
+        return new SpanRingBuffer(applicationProperties.getTracing().getBufferSize());
+    }
+
+    @Bean
+    public RequestTracer requestTracer(ApplicationProperties applicationProperties, SpanRingBuffer spanRingBuffer) {
+        return new RequestTracer(
+            new TraceSampler(applicationProperties.getTracing().getTracesPerSecond()),
+            spanRingBuffer,
+            Clock.systemUTC()
+        );
+    }
+
+    @Bean
+    public TracingWebFilter tracingWebFilter(RequestTracer requestTracer) {
+        return new TracingWebFilter(requestTracer);
+    }
+
+    @Bean
+    public TracingRouteFilter tracingRouteFilter(RequestTracer requestTracer) {
+        return new TracingRouteFilter(requestTracer);
+    }
+
+    @Bean
+    public RepositoryTracingAspect repositoryTracingAspect(RequestTracer requestTracer) {
+        return new RepositoryTracingAspect(requestTracer);
+    }
+
+    @Bean
+    public TracesEndpoint tracesEndpoint(SpanRingBuffer spanRingBuffer) {
+        return new TracesEndpoint(spanRingBuffer);
+    }
+}
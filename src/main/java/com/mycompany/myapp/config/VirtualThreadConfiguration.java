@@ -0,0 +1,89 @@
+package com.mycompany.myapp.config;
+
+import com.mycompany.myapp.management.VirtualThreadMetersService;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Supplier;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Runs the blocking work on virtual threads, when {@code application.virtual-threads.enabled} is set and the JVM
+ * supports them: the Reactor bounded elastic schedulers, used to offload blocking calls. The {@code @Async} executor is
+ * configured in {@link AsyncConfiguration}. The {@code @Scheduled} tasks stay on the pooled platform threads of the
+ * task scheduler, as virtual threads are not meant to be pooled.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.virtual-threads", name = "enabled", havingValue = "true")
+public class VirtualThreadConfiguration {
+
+    private final Logger log = LoggerFactory.getLogger(VirtualThreadConfiguration.class);
+
+    private final ApplicationProperties applicationProperties;
+
+    private final VirtualThreadMetersService virtualThreadMetersService;
+
+    private VirtualThreadPinningMonitor pinningMonitor;
+
+    public VirtualThreadConfiguration(ApplicationProperties applicationProperties, VirtualThreadMetersService virtualThreadMetersService) {
+        this.applicationProperties = applicationProperties;
+        this.virtualThreadMetersService = virtualThreadMetersService;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!VirtualThreadSupport.isSupported()) {
+            log.warn("Virtual threads are enabled, but this JVM does not support them: using platform threads");
+            return;
+        }
+        log.info("Running blocking work on virtual threads");
+        Schedulers.setFactory(
+            new Schedulers.Factory() {
+                @Override
+                public Scheduler newBoundedElastic(int threadCap, int queuedTaskCap, ThreadFactory threadFactory, int ttlSeconds) {
+                    // The caps of each scheduler still apply, as they also protect the resources the blocking calls use,
+                    // but each task gets a new virtual thread: there are no idle threads to expire
+                    String name = schedulerName(threadFactory);
+                    return Schedulers.fromExecutorService(
+                        VirtualThreadSupport.newBoundedExecutor(virtualThreadFactory(name), threadCap, queuedTaskCap),
+                        name
+                    );
+                }
+            }
+        );
+        pinningMonitor =
+            VirtualThreadPinningMonitor.start(
+                applicationProperties.getVirtualThreads().getPinnedThreshold(),
+                virtualThreadMetersService::trackPinned
+            );
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (pinningMonitor != null) {
+            pinningMonitor.close();
+        }
+        Schedulers.resetFactory();
+    }
+
+    private static String schedulerName(ThreadFactory threadFactory) {
+        // The thread factories Reactor passes to the scheduler factory supply the name of their scheduler
+        if (threadFactory instanceof Supplier) {
+            Object name = ((Supplier<?>) threadFactory).get();
+            if (name != null) {
+                return name.toString();
+            }
+        }
+        return "boundedElastic";
+    }
+
+    private ThreadFactory virtualThreadFactory(String name) {
+        ThreadFactory threadFactory = VirtualThreadSupport.threadFactory(name + "-virtual-");
+        return threadFactory == null ? null : virtualThreadMetersService.instrument(name, threadFactory);
+    }
+}
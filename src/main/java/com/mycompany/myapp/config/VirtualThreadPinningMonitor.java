@@ -0,0 +1,139 @@
+package com.mycompany.myapp.config;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reports the virtual threads which stay pinned to their carrier thread while blocked, for instance inside a
+ * {@code synchronized} block, from the {@code jdk.VirtualThreadPinned} JFR event.
+ * <p>
+ * JFR event streaming is only available from Java 14, and the JFR API is not part of every runtime, so both are only
+ * reached by reflection.
+ */
+final class VirtualThreadPinningMonitor implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final int LOGGED_FRAMES = 5;
+
+    private final AutoCloseable recordingStream;
+
+    private VirtualThreadPinningMonitor(AutoCloseable recordingStream) {
+        this.recordingStream = recordingStream;
+    }
+
+    /**
+     * Start reporting pinned virtual threads.
+     *
+     * @param threshold the minimum time a virtual thread must stay pinned to be reported.
+     * @param listener called with the time each reported virtual thread stayed pinned.
+     * @return the monitor, or {@code null} if JFR event streaming is not available.
+     */
+    static VirtualThreadPinningMonitor start(Duration threshold, Consumer<Duration> listener) {
+        try {
+            PinnedEvents pinnedEvents = new PinnedEvents();
+            Class<?> streamType = Class.forName("jdk.jfr.consumer.RecordingStream");
+            Class<?> settingsType = Class.forName("jdk.jfr.EventSettings");
+            AutoCloseable stream = (AutoCloseable) streamType.getConstructor().newInstance();
+            Object settings = streamType.getMethod("enable", String.class).invoke(stream, PINNED_EVENT);
+            settingsType.getMethod("withThreshold", Duration.class).invoke(settings, threshold);
+            settingsType.getMethod("withStackTrace").invoke(settings);
+            Consumer<Object> onPinned = event -> {
+                Duration duration = pinnedEvents.duration(event);
+                log.warn("Virtual thread pinned for {} ms at {}", duration.toMillis(), pinnedEvents.topFrames(event));
+                listener.accept(duration);
+            };
+            streamType.getMethod("onEvent", String.class, Consumer.class).invoke(stream, PINNED_EVENT, onPinned);
+            streamType.getMethod("startAsync").invoke(stream);
+            return new VirtualThreadPinningMonitor(stream);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            log.warn("Pinned virtual threads cannot be reported: {}", e.toString());
+            return null;
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            recordingStream.close();
+        } catch (Exception e) {
+            log.debug("Could not close the JFR recording stream: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * The accessors of the recorded JFR events, looked up once.
+     */
+    private static final class PinnedEvents {
+
+        private final Method getDuration;
+
+        private final Method getStackTrace;
+
+        private final Method getFrames;
+
+        private final Method getMethod;
+
+        private final Method getLineNumber;
+
+        private final Method getType;
+
+        private final Method getMethodName;
+
+        private final Method getClassName;
+
+        PinnedEvents() throws ReflectiveOperationException {
+            Class<?> eventType = Class.forName("jdk.jfr.consumer.RecordedEvent");
+            Class<?> frameType = Class.forName("jdk.jfr.consumer.RecordedFrame");
+            Class<?> methodType = Class.forName("jdk.jfr.consumer.RecordedMethod");
+            getDuration = eventType.getMethod("getDuration");
+            getStackTrace = eventType.getMethod("getStackTrace");
+            getFrames = Class.forName("jdk.jfr.consumer.RecordedStackTrace").getMethod("getFrames");
+            getMethod = frameType.getMethod("getMethod");
+            getLineNumber = frameType.getMethod("getLineNumber");
+            getType = methodType.getMethod("getType");
+            getMethodName = methodType.getMethod("getName");
+            getClassName = Class.forName("jdk.jfr.consumer.RecordedClass").getMethod("getName");
+        }
+
+        Duration duration(Object event) {
+            try {
+                return (Duration) getDuration.invoke(event);
+            } catch (ReflectiveOperationException e) {
+                return Duration.ZERO;
+            }
+        }
+
+        String topFrames(Object event) {
+            try {
+                Object stackTrace = getStackTrace.invoke(event);
+                if (stackTrace == null) {
+                    return "unknown location";
+                }
+                List<?> frames = (List<?>) getFrames.invoke(stackTrace);
+                StringBuilder location = new StringBuilder();
+                for (Object frame : frames.subList(0, Math.min(LOGGED_FRAMES, frames.size()))) {
+                    if (location.length() > 0) {
+                        location.append(" <- ");
+                    }
+                    location.append(format(frame));
+                }
+                return location.toString();
+            } catch (ReflectiveOperationException e) {
+                return "unknown location";
+            }
+        }
+
+        private String format(Object frame) throws ReflectiveOperationException {
+            Object method = getMethod.invoke(frame);
+            Object type = getType.invoke(method);
+            return getClassName.invoke(type) + "." + getMethodName.invoke(method) + ":" + getLineNumber.invoke(frame);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.mycompany.myapp.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Access to virtual threads, which are only available from Java 21 while the application is built for Java 11.
+ * <p>
+ * Every method falls back to {@code null} or {@code false} when the running JVM has no virtual threads.
+ */
+public final class VirtualThreadSupport {
+
+    private VirtualThreadSupport() {}
+
+    /**
+     * @return whether the running JVM can start virtual threads.
+     */
+    public static boolean isSupported() {
+        return threadFactory("virtual-thread-probe-") != null;
+    }
+
+    /**
+     * Create a factory of virtual threads.
+     *
+     * @param prefix the prefix of the names of the threads, which are numbered from 0.
+     * @return the factory, or {@code null} if the running JVM has no virtual threads.
+     */
+    public static ThreadFactory threadFactory(String prefix) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, prefix, 0L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Before Java 19 the method does not exist, in Java 19 and 20 it requires --enable-preview
+            return null;
+        }
+    }
+
+    /**
+     * Create an executor starting a new thread for each task, as virtual threads are not meant to be pooled, and
+     * running at most a given number of tasks at once while queuing the others up to a limit, as the bounded elastic
+     * schedulers do.
+     *
+     * @param threadFactory the factory of the threads.
+     * @param threadCap the maximum number of tasks running at once.
+     * @param queuedTaskCap the maximum number of tasks waiting to run, beyond which the tasks are rejected.
+     * @return the executor.
+     */
+    public static ExecutorService newBoundedExecutor(ThreadFactory threadFactory, int threadCap, int queuedTaskCap) {
+        return new BoundedThreadPerTaskExecutor(threadFactory, threadCap, queuedTaskCap);
+    }
+
+    /**
+     * @param thread a thread.
+     * @return whether the thread is a virtual thread.
+     */
+    public static boolean isVirtual(Thread thread) {
+        try {
+            return (boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return false;
+        }
+    }
+}
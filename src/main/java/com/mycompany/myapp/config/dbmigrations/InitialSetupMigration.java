@@ -69,7 +69,7 @@ public class InitialSetupMigration {
         userUser.setLangKey("fr");
         userUser.setCreatedBy(Constants.SYSTEM);
         userUser.setCreatedDate(Instant.now());
-        userUser.getAuthorities().add(userAuthority);
+        userUser.getAuthorities().add(userAuthority.getName());
         return userUser;
     }
 
@@ -85,8 +85,8 @@ public class InitialSetupMigration {
         adminUser.setLangKey("fr");
         adminUser.setCreatedBy(Constants.SYSTEM);
         adminUser.setCreatedDate(Instant.now());
-        adminUser.getAuthorities().add(adminAuthority);
-        adminUser.getAuthorities().add(userAuthority);
+        adminUser.getAuthorities().add(adminAuthority.getName());
+        adminUser.getAuthorities().add(userAuthority.getName());
         return adminUser;
     }
 }
@@ -0,0 +1,48 @@
+package com.mycompany.myapp.config.dbmigrations;
+
+import com.mycompany.myapp.domain.User;
+import io.mongock.api.annotations.ChangeUnit;
+import io.mongock.api.annotations.Execution;
+import io.mongock.api.annotations.RollbackExecution;
+import java.util.List;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+/**
+ * Replaces the authority documents embedded in the users by the authority names.
+ */
+@ChangeUnit(id = "users-inline-authority-names", order = "005")
+public class InlineAuthorityNamesMigration {
+
+    private final MongoTemplate template;
+
+    public InlineAuthorityNamesMigration(MongoTemplate template) {
+        this.template = template;
+    }
+
+    @Execution
+    public void changeSet() {
+        Document filter = new Document("authorities", new Document("$type", "object"));
+        // Keeps the names already inlined, so that the migration can be run again
+        Document name = new Document(
+            "$ifNull",
+            List.of("$$authority._id", new Document("$ifNull", List.of("$$authority.name", "$$authority")))
+        );
+        Document names = new Document("$map", new Document("input", "$authorities").append("as", "authority").append("in", name));
+        template
+            .getCollection(template.getCollectionName(User.class))
+            .updateMany(filter, List.of(new Document("$set", new Document("authorities", names))));
+    }
+
+    @RollbackExecution
+    public void rollback() {
+        Document filter = new Document("authorities", new Document("$type", "string"));
+        Document authorities = new Document(
+            "$map",
+            new Document("input", "$authorities").append("as", "authority").append("in", new Document("_id", "$$authority"))
+        );
+        template
+            .getCollection(template.getCollectionName(User.class))
+            .updateMany(filter, List.of(new Document("$set", new Document("authorities", authorities))));
+    }
+}
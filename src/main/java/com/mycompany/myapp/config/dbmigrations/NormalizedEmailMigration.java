@@ -0,0 +1,100 @@
+package com.mycompany.myapp.config.dbmigrations;
+
+import com.mycompany.myapp.domain.User;
+import io.mongock.api.annotations.ChangeUnit;
+import io.mongock.api.annotations.Execution;
+import io.mongock.api.annotations.RollbackExecution;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.CloseableIterator;
+
+/**
+ * Backfills the normalized email of the existing users, then creates its unique index.
+ * <p>
+ * The migration fails without creating the index when users have emails only differing by case, listing them so that
+ * they can be merged or given another email before restarting, as Mongock runs the failed change unit again.
+ */
+@ChangeUnit(id = "users-normalized-email", order = "003")
+public class NormalizedEmailMigration {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String EMAIL = "email";
+
+    private static final String NORMALIZED_EMAIL = "email_normalized";
+
+    private final MongoTemplate template;
+
+    public NormalizedEmailMigration(MongoTemplate template) {
+        this.template = template;
+    }
+
+    @Execution
+    public void changeSet() {
+        String collectionName = template.getCollectionName(User.class);
+        Query query = Query.query(Criteria.where(EMAIL).ne(null));
+        query.fields().include(EMAIL);
+        // The normalization is done by User.normalizeEmail rather than $toLower, which only handles ASCII
+        try (CloseableIterator<Document> users = template.stream(query, Document.class, collectionName)) {
+            BulkOperations bulk = template.bulkOps(BulkOperations.BulkMode.UNORDERED, collectionName);
+            int pending = 0;
+            while (users.hasNext()) {
+                Document user = users.next();
+                bulk.updateOne(
+                    Query.query(Criteria.where("_id").is(user.get("_id"))),
+                    Update.update(NORMALIZED_EMAIL, User.normalizeEmail(user.getString(EMAIL)))
+                );
+                if (++pending == BATCH_SIZE) {
+                    bulk.execute();
+                    bulk = template.bulkOps(BulkOperations.BulkMode.UNORDERED, collectionName);
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                bulk.execute();
+            }
+        }
+        checkNoCollision(collectionName);
+        template
+            .indexOps(User.class)
+            .ensureIndex(new Index().on(NORMALIZED_EMAIL, Sort.Direction.ASC).unique().sparse().named(User.NORMALIZED_EMAIL_INDEX));
+    }
+
+    private void checkNoCollision(String collectionName) {
+        Aggregation aggregation = Aggregation.newAggregation(
+            Aggregation.match(Criteria.where(NORMALIZED_EMAIL).ne(null)),
+            Aggregation.group(NORMALIZED_EMAIL).count().as("count").push("login").as("logins").push(EMAIL).as("emails"),
+            Aggregation.match(Criteria.where("count").gt(1))
+        );
+        List<Document> collisions = template.aggregate(aggregation, collectionName, Document.class).getMappedResults();
+        if (!collisions.isEmpty()) {
+            String details = collisions
+                .stream()
+                .map(collision ->
+                    collision.get("_id") + " is used by the logins " + collision.get("logins") + " as " + collision.get("emails")
+                )
+                .collect(Collectors.joining("; "));
+            throw new IllegalStateException(
+                collisions.size() +
+                " emails are used by several users with different cases, merge these users or change their emails, " +
+                "then restart the application: " +
+                details
+            );
+        }
+    }
+
+    @RollbackExecution
+    public void rollback() {
+        template.indexOps(User.class).dropIndex(User.NORMALIZED_EMAIL_INDEX);
+        template.updateMulti(new Query(), new Update().unset(NORMALIZED_EMAIL), User.class);
+    }
+}
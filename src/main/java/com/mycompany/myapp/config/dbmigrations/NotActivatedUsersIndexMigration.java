@@ -0,0 +1,40 @@
+package com.mycompany.myapp.config.dbmigrations;
+
+import com.mycompany.myapp.domain.User;
+import io.mongock.api.annotations.ChangeUnit;
+import io.mongock.api.annotations.Execution;
+import io.mongock.api.annotations.RollbackExecution;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+
+/**
+ * Creates the index used by the cleanup of the not activated users.
+ */
+@ChangeUnit(id = "users-not-activated-index", order = "002")
+public class NotActivatedUsersIndexMigration {
+
+    private final MongoTemplate template;
+
+    public NotActivatedUsersIndexMigration(MongoTemplate template) {
+        this.template = template;
+    }
+
+    @Execution
+    public void changeSet() {
+        template
+            .indexOps(User.class)
+            .ensureIndex(
+                new Index()
+                    .on("activated", Sort.Direction.ASC)
+                    .on("activation_key", Sort.Direction.ASC)
+                    .on("created_date", Sort.Direction.ASC)
+                    .named(User.NOT_ACTIVATED_INDEX)
+            );
+    }
+
+    @RollbackExecution
+    public void rollback() {
+        template.indexOps(User.class).dropIndex(User.NOT_ACTIVATED_INDEX);
+    }
+}
@@ -0,0 +1,40 @@
+package com.mycompany.myapp.config.dbmigrations;
+
+import com.mycompany.myapp.domain.User;
+import io.mongock.api.annotations.ChangeUnit;
+import io.mongock.api.annotations.Execution;
+import io.mongock.api.annotations.RollbackExecution;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+
+/**
+ * Makes the login index unique, so that a user can be inserted without looking its login up first.
+ */
+@ChangeUnit(id = "users-unique-login", order = "004")
+public class UniqueLoginMigration {
+
+    private final MongoTemplate template;
+
+    public UniqueLoginMigration(MongoTemplate template) {
+        this.template = template;
+    }
+
+    @Execution
+    public void changeSet() {
+        IndexOperations indexOperations = template.indexOps(User.class);
+        indexOperations
+            .getIndexInfo()
+            .stream()
+            .filter(index -> User.LOGIN_INDEX.equals(index.getName()) && !index.isUnique())
+            .findFirst()
+            .ifPresent(index -> indexOperations.dropIndex(index.getName()));
+        indexOperations.ensureIndex(new Index().on("login", Sort.Direction.ASC).unique().named(User.LOGIN_INDEX));
+    }
+
+    @RollbackExecution
+    public void rollback() {
+        template.indexOps(User.class).dropIndex(User.LOGIN_INDEX);
+    }
+}
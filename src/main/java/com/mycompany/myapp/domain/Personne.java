@@ -3,6 +3,7 @@ package com.mycompany.myapp.domain;
 import java.io.Serializable;
 import javax.validation.constraints.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 
@@ -10,11 +11,14 @@ import org.springframework.data.mongodb.core.mapping.Field;
  * A Personne.
  */
 @Document(collection = "personne")
+@CompoundIndex(name = "nom_prenom", def = "{'nom': 1, 'prenom': 1}")
 @org.springframework.data.elasticsearch.annotations.Document(indexName = "personne")
 public class Personne implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
+    public static final String VERSION = "version";
+
     @Id
     private String id;
 
@@ -34,6 +38,13 @@ public class Personne implements Serializable {
     @Field("telephone")
     private Integer telephone;
 
+    /**
+     * Incremented by each update. An update carrying the version it was based on only applies if the version is still
+     * the current one.
+     */
+    @Field(VERSION)
+    private Long version;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public String getId() {
@@ -88,6 +99,19 @@ public class Personne implements Serializable {
         this.telephone = telephone;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public Personne version(Long version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -115,6 +139,7 @@ public class Personne implements Serializable {
             ", prenom='" + getPrenom() + "'" +
             ", nom='" + getNom() + "'" +
             ", telephone=" + getTelephone() +
+            ", version=" + getVersion() +
             "}";
     }
 }
@@ -0,0 +1,143 @@
+package com.mycompany.myapp.domain;
+
+import com.mycompany.myapp.domain.enumeration.PersonneEventType;
+import java.io.Serializable;
+import java.time.Instant;
+import javax.validation.constraints.NotNull;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+/**
+ * A change made to a {@link Personne}, waiting in the outbox to be published to Kafka.
+ */
+@Document(collection = "personne_event_outbox")
+public class PersonneEvent implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    private String id;
+
+    @NotNull
+    @Field("personne_id")
+    private String personneId;
+
+    @NotNull
+    @Field("type")
+    private PersonneEventType type;
+
+    @Field("prenom")
+    private String prenom;
+
+    @Field("nom")
+    private String nom;
+
+    @Field("telephone")
+    private Integer telephone;
+
+    @Indexed
+    @Field("created_date")
+    private Instant createdDate = Instant.now();
+
+    public static PersonneEvent of(PersonneEventType type, Personne personne) {
+        PersonneEvent event = new PersonneEvent();
+        event.setType(type);
+        event.setPersonneId(personne.getId());
+        event.setPrenom(personne.getPrenom());
+        event.setNom(personne.getNom());
+        event.setTelephone(personne.getTelephone());
+        return event;
+    }
+
+    public static PersonneEvent deleted(String personneId) {
+        PersonneEvent event = new PersonneEvent();
+        event.setType(PersonneEventType.DELETED);
+        event.setPersonneId(personneId);
+        return event;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getPersonneId() {
+        return personneId;
+    }
+
+    public void setPersonneId(String personneId) {
+        this.personneId = personneId;
+    }
+
+    public PersonneEventType getType() {
+        return type;
+    }
+
+    public void setType(PersonneEventType type) {
+        this.type = type;
+    }
+
+    public String getPrenom() {
+        return prenom;
+    }
+
+    public void setPrenom(String prenom) {
+        this.prenom = prenom;
+    }
+
+    public String getNom() {
+        return nom;
+    }
+
+    public void setNom(String nom) {
+        this.nom = nom;
+    }
+
+    public Integer getTelephone() {
+        return telephone;
+    }
+
+    public void setTelephone(Integer telephone) {
+        this.telephone = telephone;
+    }
+
+    public Instant getCreatedDate() {
+        return createdDate;
+    }
+
+    public void setCreatedDate(Instant createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PersonneEvent)) {
+            return false;
+        }
+        return id != null && id.equals(((PersonneEvent) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "PersonneEvent{" +
+            "id=" + getId() +
+            ", personneId='" + getPersonneId() + "'" +
+            ", type='" + getType() + "'" +
+            ", createdDate='" + getCreatedDate() + "'" +
+            "}";
+    }
+}
@@ -14,6 +14,7 @@ import javax.validation.constraints.Size;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.elasticsearch.annotations.FieldType;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Field;
 
@@ -22,10 +23,22 @@ import org.springframework.data.mongodb.core.mapping.Field;
  */
 @org.springframework.data.mongodb.core.mapping.Document(collection = "jhi_user")
 @org.springframework.data.elasticsearch.annotations.Document(indexName = "user")
+@CompoundIndex(name = User.NOT_ACTIVATED_INDEX, def = "{ 'activated': 1, 'activation_key': 1, 'created_date': 1 }")
 public class User extends AbstractAuditingEntity implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
+    /** Backs the lookup of the not activated users to delete. */
+    public static final String NOT_ACTIVATED_INDEX = "activated_activation_key_created_date";
+
+    /** Keeps the logins unique. */
+    public static final String LOGIN_INDEX = "login";
+
+    /** Backs the case-insensitive lookup of a user by email, and keeps the emails unique whatever their case. */
+    public static final String NORMALIZED_EMAIL_INDEX = "email_normalized";
+
+    public static final String VERSION = "version";
+
     @Id
     @org.springframework.data.elasticsearch.annotations.Field(type = FieldType.Keyword)
     private String id;
@@ -33,7 +46,7 @@ public class User extends AbstractAuditingEntity implements Serializable {
     @NotNull
     @Pattern(regexp = Constants.LOGIN_REGEX)
     @Size(min = 1, max = 50)
-    @Indexed
+    @Indexed(name = LOGIN_INDEX, unique = true)
     private String login;
 
     @JsonIgnore
@@ -54,6 +67,11 @@ public class User extends AbstractAuditingEntity implements Serializable {
     @Indexed
     private String email;
 
+    @Field("email_normalized")
+    @Indexed(name = NORMALIZED_EMAIL_INDEX, unique = true, sparse = true)
+    @JsonIgnore
+    private String normalizedEmail;
+
     private boolean activated = false;
 
     @Size(min = 2, max = 10)
@@ -77,8 +95,17 @@ public class User extends AbstractAuditingEntity implements Serializable {
     @Field("reset_date")
     private Instant resetDate = null;
 
+    /** The names of the authorities, stored inline so that no authority has to be read to authenticate the user. */
     @JsonIgnore
-    private Set<Authority> authorities = new HashSet<>();
+    @org.springframework.data.elasticsearch.annotations.Field(type = FieldType.Keyword)
+    private Set<String> authorities = new HashSet<>();
+
+    /**
+     * Incremented by each update. An update carrying the version it was based on only applies if the version is still
+     * the current one.
+     */
+    @Field(VERSION)
+    private Long version;
 
     public String getId() {
         return id;
@@ -127,6 +154,21 @@ public class User extends AbstractAuditingEntity implements Serializable {
 
     public void setEmail(String email) {
         this.email = email;
+        this.normalizedEmail = normalizeEmail(email);
+    }
+
+    public String getNormalizedEmail() {
+        return normalizedEmail;
+    }
+
+    /**
+     * Normalize an email for the case-insensitive lookups.
+     *
+     * @param email the email.
+     * @return the lowercase email, or {@code null}.
+     */
+    public static String normalizeEmail(String email) {
+        return email == null ? null : email.toLowerCase(Locale.ENGLISH);
     }
 
     public String getImageUrl() {
@@ -177,14 +219,22 @@ public class User extends AbstractAuditingEntity implements Serializable {
         this.langKey = langKey;
     }
 
-    public Set<Authority> getAuthorities() {
+    public Set<String> getAuthorities() {
         return authorities;
     }
 
-    public void setAuthorities(Set<Authority> authorities) {
+    public void setAuthorities(Set<String> authorities) {
         this.authorities = authorities;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -0,0 +1,10 @@
+package com.mycompany.myapp.domain.enumeration;
+
+/**
+ * The PersonneEventType enumeration.
+ */
+public enum PersonneEventType {
+    CREATED,
+    UPDATED,
+    DELETED,
+}
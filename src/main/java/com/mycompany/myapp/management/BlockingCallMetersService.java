@@ -0,0 +1,44 @@
+package com.mycompany.myapp.management;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Service;
+
+@Service
+public class BlockingCallMetersService {
+
+    public static final String BLOCKING_CALLS_METER_NAME = "reactor.blocking.calls";
+    public static final String BLOCKING_CALLS_METER_DESCRIPTION =
+        "Number of blocking calls made on non-blocking threads, like the Netty event loops, by blocking method and caller.";
+    public static final String BLOCKING_CALLS_METER_METHOD_DIMENSION = "method";
+    public static final String BLOCKING_CALLS_METER_CALLER_DIMENSION = "caller";
+
+    private final MeterRegistry registry;
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public BlockingCallMetersService(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * @param method the blocking method, as in {@code java.lang.Thread.sleep}.
+     * @param caller the application method which led to the call, as in {@code com.mycompany.myapp.web.rest.GatewayResource.activeRoutes}.
+     */
+    public void trackBlockingCall(String method, String caller) {
+        counters
+            .computeIfAbsent(
+                method + " " + caller,
+                key ->
+                    Counter
+                        .builder(BLOCKING_CALLS_METER_NAME)
+                        .description(BLOCKING_CALLS_METER_DESCRIPTION)
+                        .tag(BLOCKING_CALLS_METER_METHOD_DIMENSION, method)
+                        .tag(BLOCKING_CALLS_METER_CALLER_DIMENSION, caller)
+                        .register(registry)
+            )
+            .increment();
+    }
+}
@@ -0,0 +1,41 @@
+package com.mycompany.myapp.management;
+
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
+import org.springframework.cloud.client.discovery.event.HeartbeatEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops the meters of {@link GatewayMetersService} of the service instances which left the discovery, after each fetch
+ * of the registry.
+ */
+@Component
+public class GatewayMetersDiscoveryListener {
+
+    private final Logger log = LoggerFactory.getLogger(GatewayMetersDiscoveryListener.class);
+
+    private final ReactiveDiscoveryClient discoveryClient;
+
+    private final GatewayMetersService gatewayMetersService;
+
+    public GatewayMetersDiscoveryListener(ReactiveDiscoveryClient discoveryClient, GatewayMetersService gatewayMetersService) {
+        this.discoveryClient = discoveryClient;
+        this.gatewayMetersService = gatewayMetersService;
+    }
+
+    @EventListener
+    public void onHeartbeat(HeartbeatEvent event) {
+        discoveryClient
+            .getServices()
+            .flatMap(discoveryClient::getInstances)
+            .map(instance -> instance.getHost() + ':' + instance.getPort())
+            .collect(Collectors.toSet())
+            .subscribe(
+                gatewayMetersService::retainInstances,
+                e -> log.debug("Could not list the discovered instances: {}", e.getMessage())
+            );
+    }
+}
@@ -0,0 +1,174 @@
+package com.mycompany.myapp.management;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.stereotype.Service;
+
+@Service
+public class GatewayMetersService {
+
+    public static final String REQUESTS_METER_NAME = "gateway.route.requests";
+    public static final String REQUESTS_METER_DESCRIPTION =
+        "Duration of the requests routed to the services, by route, instance and status class.";
+    public static final String REQUEST_SIZE_METER_NAME = "gateway.route.request.size";
+    public static final String REQUEST_SIZE_METER_DESCRIPTION = "Size of the request bodies routed to the services.";
+    public static final String RESPONSE_SIZE_METER_NAME = "gateway.route.response.size";
+    public static final String RESPONSE_SIZE_METER_DESCRIPTION = "Size of the response bodies returned by the services.";
+    public static final String SIZE_METER_BASE_UNIT = "bytes";
+    public static final String ROUTE_DIMENSION = "route";
+    public static final String INSTANCE_DIMENSION = "instance";
+    public static final String STATUS_DIMENSION = "status";
+    public static final String NONE = "none";
+
+    public static final String CONNECT_METER_NAME = "gateway.upstream.connect";
+    public static final String CONNECT_METER_DESCRIPTION = "Duration of the connections opened to the service instances.";
+    public static final String CONNECT_METER_OUTCOME_DIMENSION = "outcome";
+
+    private static final String[] STATUS_CLASSES = { NONE, "1xx", "2xx", "3xx", "4xx", "5xx" };
+
+    private final MeterRegistry registry;
+
+    private final Map<String, Map<String, RouteMeters>> routeMeters = new ConcurrentHashMap<>();
+
+    private final Map<String, Timer> connectTimers = new ConcurrentHashMap<>();
+
+    private volatile Set<String> discoveredInstances = Set.of();
+
+    public GatewayMetersService(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * @param routeId the id of the route.
+     * @param instance the host and port of the instance the request was routed to.
+     * @return the meters of the route and instance, registered on their first request.
+     */
+    public RouteMeters routeMeters(String routeId, String instance) {
+        Map<String, RouteMeters> instances = routeMeters.get(routeId);
+        if (instances == null) {
+            instances = routeMeters.computeIfAbsent(routeId, id -> new ConcurrentHashMap<>());
+        }
+        RouteMeters meters = instances.get(instance);
+        if (meters == null) {
+            meters = instances.computeIfAbsent(instance, name -> new RouteMeters(registry, routeId, name));
+        }
+        return meters;
+    }
+
+    public void trackConnect(String instance, String outcome, Duration time) {
+        connectTimers
+            .computeIfAbsent(
+                instance + ' ' + outcome,
+                key ->
+                    Timer
+                        .builder(CONNECT_METER_NAME)
+                        .description(CONNECT_METER_DESCRIPTION)
+                        .tag(INSTANCE_DIMENSION, instance)
+                        .tag(CONNECT_METER_OUTCOME_DIMENSION, outcome)
+                        .register(registry)
+            )
+            .record(time);
+    }
+
+    /**
+     * Remove the meters of the instances which left the discovery since the previous call, so that the meters do not
+     * pile up as the instances come and go. The instances of the routes which do not use the discovery are kept.
+     *
+     * @param instances the host and port of the instances currently discovered.
+     */
+    public void retainInstances(Set<String> instances) {
+        Set<String> gone = new HashSet<>(discoveredInstances);
+        gone.removeAll(instances);
+        discoveredInstances = Set.copyOf(instances);
+        if (gone.isEmpty()) {
+            return;
+        }
+        routeMeters
+            .values()
+            .forEach(instanceMeters ->
+                instanceMeters
+                    .entrySet()
+                    .removeIf(entry -> {
+                        if (!gone.contains(entry.getKey())) {
+                            return false;
+                        }
+                        entry.getValue().remove(registry);
+                        return true;
+                    })
+            );
+        connectTimers
+            .entrySet()
+            .removeIf(entry -> {
+                if (!gone.contains(entry.getValue().getId().getTag(INSTANCE_DIMENSION))) {
+                    return false;
+                }
+                registry.remove(entry.getValue());
+                return true;
+            });
+    }
+
+    /**
+     * The meters of a route and instance, with a latency timer per status class.
+     */
+    public static final class RouteMeters {
+
+        private final Timer[] requests = new Timer[STATUS_CLASSES.length];
+
+        private final DistributionSummary requestSize;
+
+        private final DistributionSummary responseSize;
+
+        private RouteMeters(MeterRegistry registry, String routeId, String instance) {
+            for (int i = 0; i < STATUS_CLASSES.length; i++) {
+                requests[i] =
+                    Timer
+                        .builder(REQUESTS_METER_NAME)
+                        .description(REQUESTS_METER_DESCRIPTION)
+                        .tag(ROUTE_DIMENSION, routeId)
+                        .tag(INSTANCE_DIMENSION, instance)
+                        .tag(STATUS_DIMENSION, STATUS_CLASSES[i])
+                        .publishPercentileHistogram()
+                        .register(registry);
+            }
+            requestSize = sizeSummary(REQUEST_SIZE_METER_NAME, REQUEST_SIZE_METER_DESCRIPTION, routeId, instance).register(registry);
+            responseSize = sizeSummary(RESPONSE_SIZE_METER_NAME, RESPONSE_SIZE_METER_DESCRIPTION, routeId, instance).register(registry);
+        }
+
+        private static DistributionSummary.Builder sizeSummary(String name, String description, String routeId, String instance) {
+            return DistributionSummary
+                .builder(name)
+                .description(description)
+                .baseUnit(SIZE_METER_BASE_UNIT)
+                .tag(ROUTE_DIMENSION, routeId)
+                .tag(INSTANCE_DIMENSION, instance);
+        }
+
+        private void remove(MeterRegistry registry) {
+            for (Timer timer : requests) {
+                registry.remove(timer);
+            }
+            registry.remove(requestSize);
+            registry.remove(responseSize);
+        }
+
+        /**
+         * @param status the status code of the response, {@code null} if none was sent.
+         * @param latencyNanos the duration of the request.
+         * @param requestBytes the size of the request body.
+         * @param responseBytes the size of the response body.
+         */
+        public void record(Integer status, long latencyNanos, long requestBytes, long responseBytes) {
+            int statusClass = status == null || status < 100 || status >= 600 ? 0 : status / 100;
+            requests[statusClass].record(latencyNanos, TimeUnit.NANOSECONDS);
+            requestSize.record(requestBytes);
+            responseSize.record(responseBytes);
+        }
+    }
+}
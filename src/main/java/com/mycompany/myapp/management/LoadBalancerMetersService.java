@@ -0,0 +1,112 @@
+package com.mycompany.myapp.management;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import java.util.List;
+import org.springframework.stereotype.Service;
+
+@Service
+public class LoadBalancerMetersService {
+
+    public static final String SCORE_METER_NAME = "gateway.loadbalancer.instance.score";
+    public static final String SCORE_METER_DESCRIPTION =
+        "Score of a service instance for the latency-aware load balancer, its latency times its requests in flight.";
+
+    public static final String LATENCY_METER_NAME = "gateway.loadbalancer.instance.latency";
+    public static final String LATENCY_METER_DESCRIPTION = "Exponentially weighted moving average of the latency of a service instance.";
+
+    public static final String IN_FLIGHT_METER_NAME = "gateway.loadbalancer.instance.in.flight";
+    public static final String IN_FLIGHT_METER_DESCRIPTION = "Number of requests routed to a service instance and not completed yet.";
+
+    public static final String EJECTED_METER_NAME = "gateway.loadbalancer.instance.ejected";
+    public static final String EJECTED_METER_DESCRIPTION = "1 while a service instance is ejected after consecutive failures, else 0.";
+
+    public static final String EJECTIONS_METER_NAME = "gateway.loadbalancer.instance.ejections";
+    public static final String EJECTIONS_METER_DESCRIPTION = "Number of times a service instance was ejected after consecutive failures.";
+
+    public static final String SERVICE_DIMENSION = "service";
+    public static final String INSTANCE_DIMENSION = "instance";
+
+    private final MeterRegistry registry;
+
+    public LoadBalancerMetersService(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Register the meters of a service instance.
+     *
+     * @param serviceId the id of the service.
+     * @param instanceId the id of the instance.
+     * @param score the state of the instance, read by the gauges.
+     * @return the meters, to be removed once the instance is gone.
+     */
+    public InstanceMeters register(String serviceId, String instanceId, InstanceScore score) {
+        Tags tags = Tags.of(SERVICE_DIMENSION, serviceId, INSTANCE_DIMENSION, instanceId);
+        Counter ejections = Counter.builder(EJECTIONS_METER_NAME).description(EJECTIONS_METER_DESCRIPTION).tags(tags).register(registry);
+        List<Meter> meters = List.of(
+            Gauge
+                .builder(SCORE_METER_NAME, score, InstanceScore::getScore)
+                .description(SCORE_METER_DESCRIPTION)
+                .tags(tags)
+                .register(registry),
+            Gauge
+                .builder(LATENCY_METER_NAME, score, InstanceScore::getLatencySeconds)
+                .description(LATENCY_METER_DESCRIPTION)
+                .baseUnit("seconds")
+                .tags(tags)
+                .register(registry),
+            Gauge
+                .builder(IN_FLIGHT_METER_NAME, score, InstanceScore::getInFlight)
+                .description(IN_FLIGHT_METER_DESCRIPTION)
+                .tags(tags)
+                .register(registry),
+            Gauge
+                .builder(EJECTED_METER_NAME, score, instance -> instance.isEjected() ? 1 : 0)
+                .description(EJECTED_METER_DESCRIPTION)
+                .tags(tags)
+                .register(registry),
+            ejections
+        );
+        return new InstanceMeters(registry, meters, ejections);
+    }
+
+    /**
+     * The state of a service instance, as seen by the load balancer.
+     */
+    public interface InstanceScore {
+        double getScore();
+
+        double getLatencySeconds();
+
+        int getInFlight();
+
+        boolean isEjected();
+    }
+
+    public static final class InstanceMeters {
+
+        private final MeterRegistry registry;
+
+        private final List<Meter> meters;
+
+        private final Counter ejections;
+
+        private InstanceMeters(MeterRegistry registry, List<Meter> meters, Counter ejections) {
+            this.registry = registry;
+            this.meters = meters;
+            this.ejections = ejections;
+        }
+
+        public void trackEjection() {
+            ejections.increment();
+        }
+
+        public void remove() {
+            meters.forEach(registry::remove);
+        }
+    }
+}
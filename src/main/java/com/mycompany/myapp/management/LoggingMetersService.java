@@ -0,0 +1,55 @@
+package com.mycompany.myapp.management;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import net.logstash.logback.appender.listener.TcpAppenderListener;
+import org.springframework.stereotype.Service;
+
+@Service
+public class LoggingMetersService {
+
+    public static final String DROPPED_METER_NAME = "logging.events.dropped";
+    public static final String DROPPED_METER_DESCRIPTION =
+        "Number of log events dropped because the ring buffer of their asynchronous appender was full.";
+    public static final String DROPPED_METER_BASE_UNIT = "events";
+    public static final String DROPPED_METER_APPENDER_DIMENSION = "appender";
+
+    private final MeterRegistry registry;
+
+    private final Map<String, Counter> droppedCounters = new ConcurrentHashMap<>();
+
+    public LoggingMetersService(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public void trackDropped(String appender) {
+        droppedCounters
+            .computeIfAbsent(
+                appender,
+                name ->
+                    Counter
+                        .builder(DROPPED_METER_NAME)
+                        .description(DROPPED_METER_DESCRIPTION)
+                        .baseUnit(DROPPED_METER_BASE_UNIT)
+                        .tag(DROPPED_METER_APPENDER_DIMENSION, name)
+                        .register(registry)
+            )
+            .increment();
+    }
+
+    /**
+     * @return a listener of the asynchronous appenders counting their dropped events.
+     */
+    public TcpAppenderListener<ILoggingEvent> droppedEventsListener() {
+        return new TcpAppenderListener<>() {
+            @Override
+            public void eventAppendFailed(Appender<ILoggingEvent> appender, ILoggingEvent event, Throwable reason) {
+                trackDropped(appender.getName());
+            }
+        };
+    }
+}
@@ -0,0 +1,72 @@
+package com.mycompany.myapp.management;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.stereotype.Service;
+
+@Service
+public class MailMetersService {
+
+    public static final String QUEUE_DEPTH_METER_NAME = "mail.outbox.queue-depth";
+    public static final String QUEUE_DEPTH_METER_DESCRIPTION = "Number of emails waiting in the outbox to be sent.";
+
+    public static final String LATENCY_METER_NAME = "mail.outbox.latency";
+    public static final String LATENCY_METER_DESCRIPTION = "Time between an email being queued and being accepted by the SMTP server.";
+
+    public static final String SESSION_METER_NAME = "mail.smtp.session";
+    public static final String SESSION_METER_DESCRIPTION = "Time spent sending a batch of emails over one SMTP connection.";
+
+    public static final String DELIVERIES_METER_NAME = "mail.outbox.deliveries";
+    public static final String DELIVERIES_METER_DESCRIPTION = "Outcome of the attempts to send emails.";
+    public static final String DELIVERIES_METER_BASE_UNIT = "emails";
+    public static final String DELIVERIES_METER_OUTCOME_DIMENSION = "outcome";
+
+    private final AtomicLong queueDepth = new AtomicLong();
+    private final Timer latencyTimer;
+    private final Timer sessionTimer;
+    private final Counter sentCounter;
+    private final Counter retriedCounter;
+    private final Counter failedCounter;
+
+    public MailMetersService(MeterRegistry registry) {
+        Gauge.builder(QUEUE_DEPTH_METER_NAME, queueDepth, AtomicLong::get).description(QUEUE_DEPTH_METER_DESCRIPTION).register(registry);
+        this.latencyTimer = Timer.builder(LATENCY_METER_NAME).description(LATENCY_METER_DESCRIPTION).register(registry);
+        this.sessionTimer = Timer.builder(SESSION_METER_NAME).description(SESSION_METER_DESCRIPTION).register(registry);
+        this.sentCounter = deliveriesCounterForOutcomeBuilder("sent").register(registry);
+        this.retriedCounter = deliveriesCounterForOutcomeBuilder("retried").register(registry);
+        this.failedCounter = deliveriesCounterForOutcomeBuilder("failed").register(registry);
+    }
+
+    private Counter.Builder deliveriesCounterForOutcomeBuilder(String outcome) {
+        return Counter
+            .builder(DELIVERIES_METER_NAME)
+            .baseUnit(DELIVERIES_METER_BASE_UNIT)
+            .description(DELIVERIES_METER_DESCRIPTION)
+            .tag(DELIVERIES_METER_OUTCOME_DIMENSION, outcome);
+    }
+
+    public void trackQueueDepth(long depth) {
+        this.queueDepth.set(depth);
+    }
+
+    public void trackSession(Duration duration) {
+        this.sessionTimer.record(duration);
+    }
+
+    public void trackSent(Duration latency) {
+        this.sentCounter.increment();
+        this.latencyTimer.record(latency);
+    }
+
+    public void trackRetried() {
+        this.retriedCounter.increment();
+    }
+
+    public void trackFailed() {
+        this.failedCounter.increment();
+    }
+}
@@ -0,0 +1,42 @@
+package com.mycompany.myapp.management;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Service;
+
+@Service
+public class MethodTimingMetersService {
+
+    public static final String EXECUTION_METER_NAME = "method.execution";
+    public static final String EXECUTION_METER_DESCRIPTION =
+        "Duration of the repository, service and REST methods, from the subscription to the terminal signal of the publishers they return.";
+    public static final String EXECUTION_METER_CLASS_DIMENSION = "class";
+    public static final String EXECUTION_METER_METHOD_DIMENSION = "method";
+    public static final String EXECUTION_METER_OUTCOME_DIMENSION = "outcome";
+
+    public static final String OUTCOME_SUCCESS = "success";
+    public static final String OUTCOME_ERROR = "error";
+    public static final String OUTCOME_CANCELLED = "cancelled";
+
+    private final MeterRegistry registry;
+
+    public MethodTimingMetersService(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * @param className the simple name of the class declaring the method.
+     * @param methodName the name of the method, shared by its overloads.
+     * @param outcome one of the {@code OUTCOME_*} constants.
+     * @return the timer of the method for the outcome.
+     */
+    public Timer executionTimer(String className, String methodName, String outcome) {
+        return Timer
+            .builder(EXECUTION_METER_NAME)
+            .description(EXECUTION_METER_DESCRIPTION)
+            .tag(EXECUTION_METER_CLASS_DIMENSION, className)
+            .tag(EXECUTION_METER_METHOD_DIMENSION, methodName)
+            .tag(EXECUTION_METER_OUTCOME_DIMENSION, outcome)
+            .register(registry);
+    }
+}
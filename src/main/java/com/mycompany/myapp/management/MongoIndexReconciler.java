@@ -0,0 +1,298 @@
+package com.mycompany.myapp.management;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mongodb.reactivestreams.client.FindPublisher;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Keeps the MongoDB indexes in line with the {@link MongoIndexRequirements} of the application.
+ * <p>
+ * The required indexes are first compared with the existing ones, then the missing ones are built in the background,
+ * either on demand through the {@code mongoindexes} actuator endpoint, or once the application has started when
+ * {@code application.mongo-indexes.create-missing} is set. Otherwise they are only reported, with the query plans.
+ */
+@Component
+public class MongoIndexReconciler {
+
+    public static final String STATE_PRESENT = "present";
+    public static final String STATE_MISSING = "missing";
+    public static final String STATE_CREATED = "created";
+    public static final String STATE_FAILED = "failed";
+
+    private final Logger log = LoggerFactory.getLogger(MongoIndexReconciler.class);
+
+    private final MongoIndexRequirements mongoIndexRequirements;
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    private final ApplicationProperties.MongoIndexes properties;
+
+    public MongoIndexReconciler(
+        MongoIndexRequirements mongoIndexRequirements,
+        ReactiveMongoTemplate mongoTemplate,
+        ApplicationProperties applicationProperties
+    ) {
+        this.mongoIndexRequirements = mongoIndexRequirements;
+        this.mongoTemplate = mongoTemplate;
+        this.properties = applicationProperties.getMongoIndexes();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        if (!properties.isReconcileOnStartup()) {
+            return;
+        }
+        // Building an index on a large collection loads the servers, so it is left to the operators unless enabled
+        Mono<List<IndexStatus>> reconciliation = properties.isCreateMissing() ? reconcile() : status();
+        reconciliation.subscribe(
+            statuses ->
+                statuses
+                    .stream()
+                    .filter(status -> !STATE_PRESENT.equals(status.getState()))
+                    .forEach(status ->
+                        log.warn(
+                            "MongoDB index {} {} on {} for {}",
+                            status.getRequirement().getKeys().toJson(),
+                            status.getState(),
+                            status.getRequirement().getCollection(),
+                            status.getRequirement().getSources()
+                        )
+                    ),
+            e -> log.warn("MongoDB indexes could not be reconciled: {}", e.getMessage())
+        );
+    }
+
+    /**
+     * Compare the required indexes with the existing ones.
+     *
+     * @return the state of each required index, {@link #STATE_PRESENT} or {@link #STATE_MISSING}.
+     */
+    public Mono<List<IndexStatus>> status() {
+        Map<String, List<MongoIndexRequirement>> byCollection = mongoIndexRequirements
+            .getRequirements()
+            .stream()
+            .collect(Collectors.groupingBy(MongoIndexRequirement::getCollection, LinkedHashMap::new, Collectors.toList()));
+        return Flux
+            .fromIterable(byCollection.entrySet())
+            .concatMap(entry -> existingIndexes(entry.getKey()).flatMapIterable(existing -> diff(entry.getValue(), existing)))
+            .collectList();
+    }
+
+    /**
+     * Build the missing indexes, in the background.
+     *
+     * @return the state of each required index.
+     */
+    public Mono<List<IndexStatus>> reconcile() {
+        return status().flatMap(this::apply);
+    }
+
+    /**
+     * Explain the queries of the repositories, to find the ones scanning a whole collection.
+     *
+     * @return the query plan of each derived query.
+     */
+    public Mono<List<QueryPlan>> queryPlans() {
+        return Flux
+            .fromIterable(mongoIndexRequirements.getRequirements())
+            .filter(MongoIndexRequirement::isDerived)
+            .concatMap(requirement ->
+                mongoTemplate
+                    .getCollection(requirement.getCollection())
+                    .flatMap(collection -> {
+                        Document filter = new Document();
+                        requirement.getFilterFields().forEach(field -> filter.append(field, null));
+                        FindPublisher<Document> find = collection.find(filter).sort(requirement.getSort());
+                        if (requirement.isCaseInsensitive()) {
+                            find = find.collation(MongoIndexRequirement.CASE_INSENSITIVE.toMongoCollation());
+                        }
+                        return Mono.from(find.explain());
+                    })
+                    .map(explain -> QueryPlan.of(requirement, explain))
+                    .onErrorResume(e -> Mono.just(QueryPlan.failed(requirement, e.getMessage())))
+            )
+            .collectList();
+    }
+
+    static List<IndexStatus> diff(List<MongoIndexRequirement> requirements, List<Document> existing) {
+        List<IndexStatus> statuses = new ArrayList<>(requirements.size());
+        for (MongoIndexRequirement requirement : requirements) {
+            Optional<String> match = existing
+                .stream()
+                .filter(requirement::isSatisfiedBy)
+                .map(index -> index.getString("name"))
+                .findFirst();
+            statuses.add(
+                match.isPresent()
+                    ? new IndexStatus(requirement, STATE_PRESENT, match.get(), null)
+                    : new IndexStatus(requirement, STATE_MISSING, null, null)
+            );
+        }
+        return statuses;
+    }
+
+    private Mono<List<IndexStatus>> apply(List<IndexStatus> statuses) {
+        // An index built for one requirement may satisfy another one of the same collection
+        Map<String, List<Document>> created = new LinkedHashMap<>();
+        return Flux
+            .fromIterable(statuses)
+            .concatMap(status -> STATE_MISSING.equals(status.getState()) ? create(status.getRequirement(), created) : Mono.just(status))
+            .collectList();
+    }
+
+    private Mono<IndexStatus> create(MongoIndexRequirement requirement, Map<String, List<Document>> created) {
+        List<Document> createdOnCollection = created.computeIfAbsent(requirement.getCollection(), collection -> new ArrayList<>());
+        Optional<String> match = createdOnCollection
+            .stream()
+            .filter(requirement::isSatisfiedBy)
+            .map(index -> index.getString("name"))
+            .findFirst();
+        if (match.isPresent()) {
+            return Mono.just(new IndexStatus(requirement, STATE_CREATED, match.get(), null));
+        }
+        return mongoTemplate
+            .indexOps(requirement.getCollection())
+            .ensureIndex(requirement.toIndexDefinition())
+            .map(name -> {
+                createdOnCollection.add(requirement.toIndexDocument(name));
+                log.info("Created MongoDB index {} on {}", name, requirement.getCollection());
+                return new IndexStatus(requirement, STATE_CREATED, name, null);
+            })
+            .onErrorResume(e -> Mono.just(new IndexStatus(requirement, STATE_FAILED, null, e.getMessage())));
+    }
+
+    private Mono<List<Document>> existingIndexes(String collectionName) {
+        return mongoTemplate
+            .getCollection(collectionName)
+            .flatMapMany(collection -> collection.listIndexes())
+            // The collection does not exist yet
+            .onErrorResume(e -> Flux.empty())
+            .collect(ArrayList::new, List::add);
+    }
+
+    /**
+     * The state of a required index.
+     */
+    public static final class IndexStatus {
+
+        private final MongoIndexRequirement requirement;
+
+        private final String state;
+
+        private final String indexName;
+
+        private final String error;
+
+        IndexStatus(MongoIndexRequirement requirement, String state, String indexName, String error) {
+            this.requirement = requirement;
+            this.state = state;
+            this.indexName = indexName;
+            this.error = error;
+        }
+
+        public MongoIndexRequirement getRequirement() {
+            return requirement;
+        }
+
+        public String getState() {
+            return state;
+        }
+
+        public String getIndexName() {
+            return indexName;
+        }
+
+        public String getError() {
+            return error;
+        }
+    }
+
+    /**
+     * The winning plan of a derived query.
+     */
+    public static final class QueryPlan {
+
+        private final String collection;
+
+        private final Set<String> sources;
+
+        private final List<String> stages;
+
+        private final String error;
+
+        private QueryPlan(String collection, Set<String> sources, List<String> stages, String error) {
+            this.collection = collection;
+            this.sources = sources;
+            this.stages = stages;
+            this.error = error;
+        }
+
+        static QueryPlan of(MongoIndexRequirement requirement, Document explain) {
+            List<String> stages = new ArrayList<>();
+            Document queryPlanner = explain.get("queryPlanner", Document.class);
+            if (queryPlanner != null) {
+                Object winningPlan = queryPlanner.get("winningPlan");
+                if (winningPlan instanceof Document && ((Document) winningPlan).containsKey("queryPlan")) {
+                    // Slot-based execution engine
+                    winningPlan = ((Document) winningPlan).get("queryPlan");
+                }
+                collectStages(winningPlan, stages);
+            }
+            return new QueryPlan(requirement.getCollection(), requirement.getSources(), stages, null);
+        }
+
+        static QueryPlan failed(MongoIndexRequirement requirement, String error) {
+            return new QueryPlan(requirement.getCollection(), requirement.getSources(), List.of(), error);
+        }
+
+        private static void collectStages(Object node, List<String> stages) {
+            if (!(node instanceof Document)) {
+                return;
+            }
+            Document plan = (Document) node;
+            if (plan.get("stage") instanceof String) {
+                stages.add(plan.getString("stage"));
+            }
+            collectStages(plan.get("inputStage"), stages);
+            Object inputStages = plan.get("inputStages");
+            if (inputStages instanceof List) {
+                ((List<?>) inputStages).forEach(stage -> collectStages(stage, stages));
+            }
+        }
+
+        public String getCollection() {
+            return collection;
+        }
+
+        public Set<String> getSources() {
+            return sources;
+        }
+
+        public List<String> getStages() {
+            return stages;
+        }
+
+        public boolean isCollectionScan() {
+            return stages.contains("COLLSCAN");
+        }
+
+        public String getError() {
+            return error;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.mycompany.myapp.management;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.query.Collation;
+
+/**
+ * An index required by an entity declaration or by repository queries.
+ */
+public final class MongoIndexRequirement {
+
+    static final Collation CASE_INSENSITIVE = Collation.of(Locale.ENGLISH).strength(Collation.ComparisonLevel.secondary());
+
+    private final String collection;
+
+    private final Document keys;
+
+    private final Document sort;
+
+    private final List<String> filterFields;
+
+    private final boolean caseInsensitive;
+
+    private final IndexDefinition declaration;
+
+    private final Set<String> sources = new LinkedHashSet<>();
+
+    private MongoIndexRequirement(
+        String collection,
+        Document keys,
+        Document sort,
+        List<String> filterFields,
+        boolean caseInsensitive,
+        IndexDefinition declaration
+    ) {
+        this.collection = collection;
+        this.keys = keys;
+        this.sort = sort;
+        this.filterFields = filterFields;
+        this.caseInsensitive = caseInsensitive;
+        this.declaration = declaration;
+    }
+
+    static MongoIndexRequirement declared(String collection, IndexDefinition declaration) {
+        Object collation = declaration.getIndexOptions().get("collation");
+        boolean caseInsensitive = collation instanceof Document && isCaseInsensitive((Document) collation);
+        MongoIndexRequirement requirement = new MongoIndexRequirement(
+            collection,
+            declaration.getIndexKeys(),
+            new Document(),
+            List.of(),
+            caseInsensitive,
+            declaration
+        );
+        requirement.sources.add("@Indexed " + declaration.getIndexOptions().getOrDefault("name", declaration.getIndexKeys().toJson()));
+        return requirement;
+    }
+
+    static MongoIndexRequirement derived(
+        String collection,
+        Document keys,
+        Document sort,
+        List<String> filterFields,
+        boolean caseInsensitive
+    ) {
+        return new MongoIndexRequirement(collection, keys, sort, filterFields, caseInsensitive, null);
+    }
+
+    private static boolean isCaseInsensitive(Document collation) {
+        Object strength = collation.get("strength");
+        return !"simple".equals(collation.getString("locale")) && strength instanceof Number && ((Number) strength).intValue() <= 2;
+    }
+
+    String getId() {
+        return collection + keys.toJson() + caseInsensitive;
+    }
+
+    MongoIndexRequirement addSource(String source) {
+        sources.add(source);
+        return this;
+    }
+
+    MongoIndexRequirement mergeSources(MongoIndexRequirement other) {
+        sources.addAll(other.sources);
+        return this;
+    }
+
+    boolean covers(MongoIndexRequirement other) {
+        return collection.equals(other.collection) && caseInsensitive == other.caseInsensitive && startsWith(keys, other.keys);
+    }
+
+    boolean isSatisfiedBy(Document index) {
+        Object key = index.get("key");
+        Object collation = index.get("collation");
+        boolean indexCaseInsensitive = collation instanceof Document && isCaseInsensitive((Document) collation);
+        if (!(key instanceof Document) || indexCaseInsensitive != caseInsensitive) {
+            return false;
+        }
+        if (isUnique()) {
+            // A unique constraint only holds on the exact same keys
+            return Boolean.TRUE.equals(index.get("unique")) && startsWith((Document) key, keys) && startsWith(keys, (Document) key);
+        }
+        return startsWith((Document) key, keys);
+    }
+
+    private static boolean startsWith(Document index, Document prefix) {
+        List<String> indexKeys = new ArrayList<>(index.keySet());
+        List<String> prefixKeys = new ArrayList<>(prefix.keySet());
+        return indexKeys.size() >= prefixKeys.size() && indexKeys.subList(0, prefixKeys.size()).equals(prefixKeys);
+    }
+
+    IndexDefinition toIndexDefinition() {
+        if (declaration != null) {
+            return new IndexDefinition() {
+                @Override
+                public Document getIndexKeys() {
+                    return declaration.getIndexKeys();
+                }
+
+                @Override
+                public Document getIndexOptions() {
+                    return new Document(declaration.getIndexOptions()).append("background", true);
+                }
+            };
+        }
+        Index index = new Index().background();
+        keys.forEach((field, direction) ->
+            index.on(field, ((Number) direction).intValue() < 0 ? Sort.Direction.DESC : Sort.Direction.ASC)
+        );
+        if (caseInsensitive) {
+            index.collation(CASE_INSENSITIVE);
+        }
+        return index;
+    }
+
+    Document toIndexDocument(String name) {
+        Document index = new Document("name", name).append("key", keys);
+        if (caseInsensitive) {
+            index.append("collation", CASE_INSENSITIVE.toDocument());
+        }
+        return index;
+    }
+
+    public String getCollection() {
+        return collection;
+    }
+
+    public Document getKeys() {
+        return keys;
+    }
+
+    Document getSort() {
+        return sort;
+    }
+
+    List<String> getFilterFields() {
+        return filterFields;
+    }
+
+    public boolean isCaseInsensitive() {
+        return caseInsensitive;
+    }
+
+    public boolean isUnique() {
+        return declaration != null && Boolean.TRUE.equals(declaration.getIndexOptions().get("unique"));
+    }
+
+    public boolean isDerived() {
+        return declaration == null;
+    }
+
+    public Set<String> getSources() {
+        return sources;
+    }
+}
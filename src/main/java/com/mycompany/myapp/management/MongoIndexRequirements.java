@@ -0,0 +1,178 @@
+package com.mycompany.myapp.management;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.bson.Document;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mapping.PropertyPath;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.support.ReactiveMongoRepositoryFactoryBean;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.stereotype.Component;
+
+/**
+ * Derives the MongoDB indexes the application needs from the way it queries its collections.
+ * <p>
+ * The required indexes are the ones declared with {@code @Indexed} and {@code @CompoundIndex}, plus the ones derived from
+ * the query methods of the repositories: equality fields first, then sort fields, then range fields. {@code IgnoreCase}
+ * queries get a case-insensitive collation index.
+ */
+@Component
+public class MongoIndexRequirements {
+
+    private static final Set<Part.Type> RANGE_TYPES = EnumSet.of(
+        Part.Type.BETWEEN,
+        Part.Type.LESS_THAN,
+        Part.Type.LESS_THAN_EQUAL,
+        Part.Type.GREATER_THAN,
+        Part.Type.GREATER_THAN_EQUAL,
+        Part.Type.BEFORE,
+        Part.Type.AFTER,
+        Part.Type.STARTING_WITH,
+        Part.Type.ENDING_WITH,
+        Part.Type.CONTAINING,
+        Part.Type.NOT_CONTAINING,
+        Part.Type.LIKE,
+        Part.Type.NOT_LIKE,
+        Part.Type.REGEX,
+        Part.Type.NEAR,
+        Part.Type.WITHIN
+    );
+
+    private final ApplicationContext applicationContext;
+
+    private final MongoMappingContext mappingContext;
+
+    private volatile List<MongoIndexRequirement> requirements;
+
+    public MongoIndexRequirements(ApplicationContext applicationContext, MongoMappingContext mappingContext) {
+        this.applicationContext = applicationContext;
+        this.mappingContext = mappingContext;
+    }
+
+    /**
+     * @return the indexes required by the entities and the repositories.
+     */
+    public List<MongoIndexRequirement> getRequirements() {
+        List<MongoIndexRequirement> result = requirements;
+        if (result == null) {
+            result = Collections.unmodifiableList(deriveRequirements());
+            requirements = result;
+        }
+        return result;
+    }
+
+    private List<MongoIndexRequirement> deriveRequirements() {
+        Map<String, MongoIndexRequirement> derived = new LinkedHashMap<>();
+        List<MongoIndexRequirement> declared = new ArrayList<>();
+        MongoPersistentEntityIndexResolver indexResolver = new MongoPersistentEntityIndexResolver(mappingContext);
+        for (MongoPersistentEntity<?> entity : mappingContext.getPersistentEntities()) {
+            if (!entity.isAnnotationPresent(org.springframework.data.mongodb.core.mapping.Document.class)) {
+                continue;
+            }
+            for (IndexDefinition definition : indexResolver.resolveIndexFor(entity.getTypeInformation())) {
+                declared.add(MongoIndexRequirement.declared(entity.getCollection(), definition));
+            }
+        }
+        for (ReactiveMongoRepositoryFactoryBean<?, ?, ?> factory : repositoryFactories()) {
+            RepositoryInformation information = factory.getRepositoryInformation();
+            MongoPersistentEntity<?> entity = mappingContext.getPersistentEntity(information.getDomainType());
+            if (entity == null) {
+                continue;
+            }
+            for (Method method : information.getQueryMethods()) {
+                if (AnnotatedElementUtils.hasAnnotation(method, Query.class)) {
+                    // String queries declare their indexes on the entity
+                    continue;
+                }
+                String source = information.getRepositoryInterface().getSimpleName() + "." + method.getName();
+                for (MongoIndexRequirement requirement : derive(entity, method.getName())) {
+                    derived.merge(requirement.getId(), requirement, MongoIndexRequirement::mergeSources).addSource(source);
+                }
+            }
+        }
+        List<MongoIndexRequirement> result = new ArrayList<>(declared);
+        for (MongoIndexRequirement requirement : derived.values()) {
+            Optional<MongoIndexRequirement> covering = result.stream().filter(other -> other.covers(requirement)).findFirst();
+            if (covering.isPresent()) {
+                covering.get().mergeSources(requirement);
+            } else {
+                result.add(requirement);
+            }
+        }
+        return result;
+    }
+
+    @SuppressWarnings("rawtypes")
+    private List<ReactiveMongoRepositoryFactoryBean<?, ?, ?>> repositoryFactories() {
+        List<ReactiveMongoRepositoryFactoryBean<?, ?, ?>> factories = new ArrayList<>();
+        for (ReactiveMongoRepositoryFactoryBean factory : applicationContext
+            .getBeansOfType(ReactiveMongoRepositoryFactoryBean.class, false, false)
+            .values()) {
+            factories.add(factory);
+        }
+        return factories;
+    }
+
+    private List<MongoIndexRequirement> derive(MongoPersistentEntity<?> entity, String methodName) {
+        PartTree tree;
+        try {
+            tree = new PartTree(methodName, entity.getType());
+        } catch (RuntimeException e) {
+            return Collections.emptyList();
+        }
+        List<MongoIndexRequirement> result = new ArrayList<>();
+        for (PartTree.OrPart orPart : tree) {
+            List<String> equality = new ArrayList<>();
+            List<String> range = new ArrayList<>();
+            boolean caseInsensitive = false;
+            boolean byId = false;
+            for (Part part : orPart) {
+                String field = fieldName(part.getProperty());
+                byId |= "_id".equals(field);
+                caseInsensitive |= part.shouldIgnoreCase() != Part.IgnoreCaseType.NEVER;
+                (RANGE_TYPES.contains(part.getType()) ? range : equality).add(field);
+            }
+            if (byId) {
+                // Served by the _id index
+                continue;
+            }
+            Document keys = new Document();
+            equality.forEach(field -> keys.putIfAbsent(field, 1));
+            Document sort = new Document();
+            for (Sort.Order order : tree.getSort()) {
+                String field = fieldName(PropertyPath.from(order.getProperty(), entity.getType()));
+                int direction = order.isAscending() ? 1 : -1;
+                sort.append(field, direction);
+                keys.putIfAbsent(field, direction);
+            }
+            range.forEach(field -> keys.putIfAbsent(field, 1));
+            if (!keys.isEmpty()) {
+                List<String> filterFields = new ArrayList<>(equality);
+                filterFields.addAll(range);
+                result.add(MongoIndexRequirement.derived(entity.getCollection(), keys, sort, filterFields, caseInsensitive));
+            }
+        }
+        return result;
+    }
+
+    private String fieldName(PropertyPath path) {
+        return mappingContext.getPersistentPropertyPath(path).toDotPath(MongoPersistentProperty::getFieldName);
+    }
+}
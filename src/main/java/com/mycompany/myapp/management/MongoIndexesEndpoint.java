@@ -0,0 +1,48 @@
+package com.mycompany.myapp.management;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Actuator endpoint reporting the missing MongoDB indexes and the queries scanning a whole collection.
+ * <p>
+ * A {@code POST} builds the missing indexes.
+ */
+@Component
+@Endpoint(id = "mongoindexes")
+public class MongoIndexesEndpoint {
+
+    private final MongoIndexReconciler mongoIndexReconciler;
+
+    public MongoIndexesEndpoint(MongoIndexReconciler mongoIndexReconciler) {
+        this.mongoIndexReconciler = mongoIndexReconciler;
+    }
+
+    @ReadOperation
+    public Mono<Map<String, Object>> report() {
+        return Mono
+            .zip(mongoIndexReconciler.status(), mongoIndexReconciler.queryPlans())
+            .map(tuple -> {
+                Map<String, Object> report = new LinkedHashMap<>();
+                report.put(
+                    "missing",
+                    tuple.getT1().stream().filter(status -> !MongoIndexReconciler.STATE_PRESENT.equals(status.getState())).count()
+                );
+                report.put("collectionScans", tuple.getT2().stream().filter(MongoIndexReconciler.QueryPlan::isCollectionScan).count());
+                report.put("indexes", tuple.getT1());
+                report.put("queryPlans", tuple.getT2());
+                return report;
+            });
+    }
+
+    @WriteOperation
+    public Mono<List<MongoIndexReconciler.IndexStatus>> reconcile() {
+        return mongoIndexReconciler.reconcile();
+    }
+}
@@ -0,0 +1,39 @@
+package com.mycompany.myapp.management;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Service;
+
+@Service
+public class MongoReadMetersService {
+
+    public static final String READS_METER_NAME = "mongo.reads";
+    public static final String READS_METER_DESCRIPTION = "Number of MongoDB operations run through a read route.";
+    public static final String READS_METER_ROUTE_DIMENSION = "route";
+    public static final String READS_METER_READ_PREFERENCE_DIMENSION = "read.preference";
+
+    private final MeterRegistry registry;
+
+    private final Map<String, Counter> readsCounters = new ConcurrentHashMap<>();
+
+    public MongoReadMetersService(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public void trackRead(String route, String readPreference) {
+        readsCounters
+            .computeIfAbsent(
+                route,
+                name ->
+                    Counter
+                        .builder(READS_METER_NAME)
+                        .description(READS_METER_DESCRIPTION)
+                        .tag(READS_METER_ROUTE_DIMENSION, name)
+                        .tag(READS_METER_READ_PREFERENCE_DIMENSION, readPreference)
+                        .register(registry)
+            )
+            .increment();
+    }
+}
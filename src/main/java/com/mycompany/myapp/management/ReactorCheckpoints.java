@@ -0,0 +1,45 @@
+package com.mycompany.myapp.management;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Named checkpoints at the boundaries of the services and the gateway filters, applied when
+ * {@code application.reactor-debug.mode} is {@code checkpoints}.
+ * <p>
+ * The checkpoints are light: no stack trace is captured when the publishers are assembled, the errors going through
+ * them only list their descriptions in the traceback. They cost one operator per boundary, rather than one stack trace
+ * per operator as {@link reactor.core.publisher.Hooks#onOperatorDebug()} does, and nothing when they are disabled.
+ */
+public final class ReactorCheckpoints {
+
+    private static volatile boolean enabled;
+
+    private ReactorCheckpoints() {}
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        ReactorCheckpoints.enabled = enabled;
+    }
+
+    /**
+     * @param mono the publisher returned at a boundary.
+     * @param description the name of the boundary, as in {@code PersonneService.findOne}.
+     * @return the publisher, with a checkpoint if they are enabled.
+     */
+    public static <T> Mono<T> checkpoint(Mono<T> mono, String description) {
+        return enabled ? mono.checkpoint(description) : mono;
+    }
+
+    /**
+     * @param flux the publisher returned at a boundary.
+     * @param description the name of the boundary, as in {@code PersonneService.findAll}.
+     * @return the publisher, with a checkpoint if they are enabled.
+     */
+    public static <T> Flux<T> checkpoint(Flux<T> flux, String description) {
+        return enabled ? flux.checkpoint(description) : flux;
+    }
+}
@@ -0,0 +1,57 @@
+package com.mycompany.myapp.management;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.time.Duration;
+import reactor.netty.channel.ChannelMetricsRecorder;
+
+/**
+ * Records the connect time of the gateway HTTP client connections in {@link GatewayMetersService}, by instance. The
+ * other connection metrics are already covered per route.
+ */
+public class UpstreamConnectionMetricsRecorder implements ChannelMetricsRecorder {
+
+    private final GatewayMetersService gatewayMetersService;
+
+    public UpstreamConnectionMetricsRecorder(GatewayMetersService gatewayMetersService) {
+        this.gatewayMetersService = gatewayMetersService;
+    }
+
+    @Override
+    public void recordConnectTime(SocketAddress remoteAddress, Duration time, String status) {
+        gatewayMetersService.trackConnect(instance(remoteAddress), status, time);
+    }
+
+    @Override
+    public void recordDataReceived(SocketAddress remoteAddress, long bytes) {
+        // Measured per route by the RouteMetricsFilter
+    }
+
+    @Override
+    public void recordDataSent(SocketAddress remoteAddress, long bytes) {
+        // Measured per route by the RouteMetricsFilter
+    }
+
+    @Override
+    public void incrementErrorsCount(SocketAddress remoteAddress) {
+        // Measured per route by the RouteMetricsFilter
+    }
+
+    @Override
+    public void recordTlsHandshakeTime(SocketAddress remoteAddress, Duration time, String status) {
+        // Not measured
+    }
+
+    @Override
+    public void recordResolveAddressTime(SocketAddress remoteAddress, Duration time, String status) {
+        // Not measured
+    }
+
+    private static String instance(SocketAddress remoteAddress) {
+        if (remoteAddress instanceof InetSocketAddress) {
+            InetSocketAddress address = (InetSocketAddress) remoteAddress;
+            return address.getHostString() + ':' + address.getPort();
+        }
+        return String.valueOf(remoteAddress);
+    }
+}
@@ -0,0 +1,58 @@
+package com.mycompany.myapp.management;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import org.springframework.stereotype.Service;
+
+@Service
+public class UserCleanupMetersService {
+
+    public static final String DELETED_METER_NAME = "users.cleanup.deleted";
+    public static final String DELETED_METER_DESCRIPTION = "Number of not activated users deleted by the cleanup job.";
+    public static final String DELETED_METER_BASE_UNIT = "users";
+
+    public static final String BATCH_METER_NAME = "users.cleanup.batch";
+    public static final String BATCH_METER_DESCRIPTION = "Time spent deleting one batch of not activated users.";
+
+    public static final String RUNS_METER_NAME = "users.cleanup.runs";
+    public static final String RUNS_METER_DESCRIPTION = "Outcome of the runs of the cleanup job.";
+    public static final String RUNS_METER_OUTCOME_DIMENSION = "outcome";
+
+    private final Counter deletedCounter;
+    private final Timer batchTimer;
+    private final Counter completedRunsCounter;
+    private final Counter budgetExhaustedRunsCounter;
+    private final Counter failedRunsCounter;
+
+    public UserCleanupMetersService(MeterRegistry registry) {
+        this.deletedCounter =
+            Counter.builder(DELETED_METER_NAME).baseUnit(DELETED_METER_BASE_UNIT).description(DELETED_METER_DESCRIPTION).register(registry);
+        this.batchTimer = Timer.builder(BATCH_METER_NAME).description(BATCH_METER_DESCRIPTION).register(registry);
+        this.completedRunsCounter = runsCounterForOutcomeBuilder("completed").register(registry);
+        this.budgetExhaustedRunsCounter = runsCounterForOutcomeBuilder("budget-exhausted").register(registry);
+        this.failedRunsCounter = runsCounterForOutcomeBuilder("failed").register(registry);
+    }
+
+    private Counter.Builder runsCounterForOutcomeBuilder(String outcome) {
+        return Counter.builder(RUNS_METER_NAME).description(RUNS_METER_DESCRIPTION).tag(RUNS_METER_OUTCOME_DIMENSION, outcome);
+    }
+
+    public void trackBatch(long deleted, Duration duration) {
+        this.deletedCounter.increment(deleted);
+        this.batchTimer.record(duration);
+    }
+
+    public void trackCompletedRun() {
+        this.completedRunsCounter.increment();
+    }
+
+    public void trackBudgetExhaustedRun() {
+        this.budgetExhaustedRunsCounter.increment();
+    }
+
+    public void trackFailedRun() {
+        this.failedRunsCounter.increment();
+    }
+}
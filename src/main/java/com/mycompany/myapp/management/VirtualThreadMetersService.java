@@ -0,0 +1,69 @@
+package com.mycompany.myapp.management;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.stereotype.Service;
+
+@Service
+public class VirtualThreadMetersService {
+
+    public static final String STARTED_METER_NAME = "executor.virtual.threads.started";
+    public static final String STARTED_METER_DESCRIPTION = "Number of virtual threads started by an executor.";
+
+    public static final String ACTIVE_METER_NAME = "executor.virtual.threads.active";
+    public static final String ACTIVE_METER_DESCRIPTION = "Number of virtual threads of an executor currently running a task.";
+
+    public static final String PINNED_METER_NAME = "executor.virtual.threads.pinned";
+    public static final String PINNED_METER_DESCRIPTION = "Time virtual threads stayed pinned to their carrier thread while blocked.";
+
+    public static final String EXECUTOR_DIMENSION = "name";
+
+    private final MeterRegistry registry;
+    private final Timer pinnedTimer;
+
+    public VirtualThreadMetersService(MeterRegistry registry) {
+        this.registry = registry;
+        this.pinnedTimer = Timer.builder(PINNED_METER_NAME).description(PINNED_METER_DESCRIPTION).register(registry);
+    }
+
+    /**
+     * Count the threads created by a factory, and the ones which are running.
+     *
+     * @param name the name of the executor using the factory.
+     * @param threadFactory the factory to instrument.
+     * @return the instrumented factory.
+     */
+    public ThreadFactory instrument(String name, ThreadFactory threadFactory) {
+        Counter started = Counter
+            .builder(STARTED_METER_NAME)
+            .description(STARTED_METER_DESCRIPTION)
+            .tag(EXECUTOR_DIMENSION, name)
+            .register(registry);
+        AtomicInteger active = new AtomicInteger();
+        Gauge
+            .builder(ACTIVE_METER_NAME, active, AtomicInteger::get)
+            .description(ACTIVE_METER_DESCRIPTION)
+            .tag(EXECUTOR_DIMENSION, name)
+            .strongReference(true)
+            .register(registry);
+        return runnable ->
+            threadFactory.newThread(() -> {
+                started.increment();
+                active.incrementAndGet();
+                try {
+                    runnable.run();
+                } finally {
+                    active.decrementAndGet();
+                }
+            });
+    }
+
+    public void trackPinned(Duration duration) {
+        this.pinnedTimer.record(duration);
+    }
+}
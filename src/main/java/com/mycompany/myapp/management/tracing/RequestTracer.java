@@ -0,0 +1,113 @@
+package com.mycompany.myapp.management.tracing;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Starts the traces of the requests and records the spans of the sampled ones in a {@link SpanRingBuffer}.
+ * <p>
+ * The current span is carried by the Reactor context under {@link TraceContext#CONTEXT_KEY}: the spans opened around a
+ * {@link Mono} or a {@link Flux} are children of the span found in the context of its subscriber, last from the
+ * subscription to the terminal signal, and are the parent of the spans opened by the publisher itself.
+ */
+public class RequestTracer {
+
+    private final TraceSampler sampler;
+
+    private final SpanRingBuffer spans;
+
+    private final Clock clock;
+
+    public RequestTracer(TraceSampler sampler, SpanRingBuffer spans, Clock clock) {
+        this.sampler = sampler;
+        this.spans = spans;
+        this.clock = clock;
+    }
+
+    /**
+     * @param traceparent the {@code traceparent} header of the request, can be {@code null}.
+     * @return the span of the request, continuing the trace of the header if any, else a new trace. The span is sampled
+     * by the {@link TraceSampler}, and a trace which is not sampled by the caller is never sampled: the header of any
+     * client cannot raise the number of traces recorded beyond the rate of the sampler.
+     */
+    public TraceContext startTrace(String traceparent) {
+        TraceContext remote = TraceContext.parse(traceparent);
+        if (remote == null) {
+            return TraceContext.newTrace(sampler.isSampled());
+        }
+        return remote.child(remote.isSampled() && sampler.isSampled());
+    }
+
+    /**
+     * Start measuring a sampled span.
+     */
+    public ActiveSpan start(TraceContext context, String name, String kind) {
+        return new ActiveSpan(context, name, kind);
+    }
+
+    public <T> Mono<T> trace(String name, String kind, Mono<T> source) {
+        return Mono.deferContextual(context -> {
+            TraceContext parent = context.getOrDefault(TraceContext.CONTEXT_KEY, null);
+            if (parent == null || !parent.isSampled()) {
+                return source;
+            }
+            TraceContext span = parent.child();
+            ActiveSpan activeSpan = start(span, name, kind);
+            return source
+                .doFinally(signal -> activeSpan.end(signal == SignalType.ON_ERROR))
+                .contextWrite(innerContext -> innerContext.put(TraceContext.CONTEXT_KEY, span));
+        });
+    }
+
+    public <T> Flux<T> trace(String name, String kind, Flux<T> source) {
+        return Flux.deferContextual(context -> {
+            TraceContext parent = context.getOrDefault(TraceContext.CONTEXT_KEY, null);
+            if (parent == null || !parent.isSampled()) {
+                return source;
+            }
+            TraceContext span = parent.child();
+            ActiveSpan activeSpan = start(span, name, kind);
+            return source
+                .doFinally(signal -> activeSpan.end(signal == SignalType.ON_ERROR))
+                .contextWrite(innerContext -> innerContext.put(TraceContext.CONTEXT_KEY, span));
+        });
+    }
+
+    public SpanRingBuffer getSpans() {
+        return spans;
+    }
+
+    /**
+     * A span being measured.
+     */
+    public final class ActiveSpan {
+
+        private final TraceContext context;
+
+        private final String name;
+
+        private final String kind;
+
+        private final Instant start;
+
+        private final long startNanos;
+
+        private ActiveSpan(TraceContext context, String name, String kind) {
+            this.context = context;
+            this.name = name;
+            this.kind = kind;
+            this.start = clock.instant();
+            this.startNanos = System.nanoTime();
+        }
+
+        public void end(boolean error) {
+            long startEpochMicros = TimeUnit.SECONDS.toMicros(start.getEpochSecond()) + TimeUnit.NANOSECONDS.toMicros(start.getNano());
+            long durationMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+            spans.add(new SpanRecord(context, name, kind, startEpochMicros, durationMicros, error));
+        }
+    }
+}
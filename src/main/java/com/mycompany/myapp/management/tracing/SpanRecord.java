@@ -0,0 +1,66 @@
+package com.mycompany.myapp.management.tracing;
+
+/**
+ * A finished span.
+ */
+public final class SpanRecord {
+
+    private final String traceId;
+
+    private final String spanId;
+
+    private final String parentSpanId;
+
+    private final String name;
+
+    private final String kind;
+
+    private final long startEpochMicros;
+
+    private final long durationMicros;
+
+    private final boolean error;
+
+    SpanRecord(TraceContext context, String name, String kind, long startEpochMicros, long durationMicros, boolean error) {
+        this.traceId = context.getTraceId();
+        this.spanId = context.getSpanId();
+        this.parentSpanId = context.getParentSpanId();
+        this.name = name;
+        this.kind = kind;
+        this.startEpochMicros = startEpochMicros;
+        this.durationMicros = durationMicros;
+        this.error = error;
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public String getSpanId() {
+        return spanId;
+    }
+
+    public String getParentSpanId() {
+        return parentSpanId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getKind() {
+        return kind;
+    }
+
+    public long getStartEpochMicros() {
+        return startEpochMicros;
+    }
+
+    public long getDurationMicros() {
+        return durationMicros;
+    }
+
+    public boolean isError() {
+        return error;
+    }
+}
@@ -0,0 +1,47 @@
+package com.mycompany.myapp.management.tracing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Keeps the last finished spans, the oldest being overwritten once the buffer is full.
+ */
+public class SpanRingBuffer {
+
+    private final AtomicReferenceArray<SpanRecord> spans;
+
+    private final AtomicLong written = new AtomicLong();
+
+    public SpanRingBuffer(int capacity) {
+        this.spans = new AtomicReferenceArray<>(capacity);
+    }
+
+    public void add(SpanRecord span) {
+        spans.set((int) (written.getAndIncrement() % spans.length()), span);
+    }
+
+    /**
+     * @return the spans in the buffer, from the oldest.
+     */
+    public List<SpanRecord> getSpans() {
+        long end = written.get();
+        long start = Math.max(0, end - spans.length());
+        List<SpanRecord> snapshot = new ArrayList<>((int) (end - start));
+        for (long i = start; i < end; i++) {
+            SpanRecord span = spans.get((int) (i % spans.length()));
+            if (span != null) {
+                snapshot.add(span);
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * @return the number of spans recorded since the start, including the overwritten ones.
+     */
+    public long getWritten() {
+        return written.get();
+    }
+}
@@ -0,0 +1,141 @@
+package com.mycompany.myapp.management.tracing;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The identifiers of a span, propagated in the Reactor context of the request and to the services in the W3C
+ * {@code traceparent} header.
+ * <p>
+ * A trace which is not sampled still propagates its identifiers, so that the services make the same decision, but
+ * records no span.
+ */
+public final class TraceContext {
+
+    public static final String TRACEPARENT_HEADER = "traceparent";
+
+    /**
+     * The key of the current span in the Reactor context.
+     */
+    public static final Class<TraceContext> CONTEXT_KEY = TraceContext.class;
+
+    /**
+     * The exchange attribute holding the span of the gateway call, relayed to the service.
+     */
+    public static final String EXCHANGE_ATTRIBUTE = TraceContext.class.getName();
+
+    private static final String VERSION = "00";
+
+    private static final int TRACEPARENT_LENGTH = 55;
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final String traceId;
+
+    private final String spanId;
+
+    private final String parentSpanId;
+
+    private final boolean sampled;
+
+    private TraceContext(String traceId, String spanId, String parentSpanId, boolean sampled) {
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.parentSpanId = parentSpanId;
+        this.sampled = sampled;
+    }
+
+    /**
+     * @param sampled whether the spans of the trace are recorded.
+     * @return the root span of a new trace.
+     */
+    public static TraceContext newTrace(boolean sampled) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return new TraceContext(hex(random.nextLong()) + hex(random.nextLong()), hex(random.nextLong()), null, sampled);
+    }
+
+    /**
+     * Parse a {@code traceparent} header.
+     *
+     * @param traceparent the header, can be {@code null}.
+     * @return the remote span, or {@code null} if the header is missing or invalid.
+     */
+    public static TraceContext parse(String traceparent) {
+        if (
+            traceparent == null ||
+            traceparent.length() != TRACEPARENT_LENGTH ||
+            !traceparent.startsWith(VERSION) ||
+            traceparent.charAt(2) != '-' ||
+            traceparent.charAt(35) != '-' ||
+            traceparent.charAt(52) != '-' ||
+            !isHex(traceparent, 3, 35) ||
+            !isHex(traceparent, 36, 52) ||
+            !isHex(traceparent, 53, 55)
+        ) {
+            return null;
+        }
+        boolean sampled = (Character.digit(traceparent.charAt(54), 16) & 1) == 1;
+        return new TraceContext(traceparent.substring(3, 35), traceparent.substring(36, 52), null, sampled);
+    }
+
+    /**
+     * @return a new span of the trace, child of this one.
+     */
+    public TraceContext child() {
+        return child(sampled);
+    }
+
+    /**
+     * @param sampled whether the spans of the child are recorded.
+     * @return a new span of the trace, child of this one, with its own sampling decision.
+     */
+    public TraceContext child(boolean sampled) {
+        return new TraceContext(traceId, hex(ThreadLocalRandom.current().nextLong()), spanId, sampled);
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public String getSpanId() {
+        return spanId;
+    }
+
+    public String getParentSpanId() {
+        return parentSpanId;
+    }
+
+    public boolean isSampled() {
+        return sampled;
+    }
+
+    /**
+     * @return the {@code traceparent} header propagating this span.
+     */
+    public String toTraceparent() {
+        return VERSION + '-' + traceId + '-' + spanId + (sampled ? "-01" : "-00");
+    }
+
+    @Override
+    public String toString() {
+        return toTraceparent();
+    }
+
+    private static String hex(long value) {
+        char[] digits = new char[16];
+        for (int i = 15; i >= 0; i--) {
+            digits[i] = HEX_DIGITS[(int) (value & 0xf)];
+            value >>>= 4;
+        }
+        return new String(digits);
+    }
+
+    private static boolean isHex(String value, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
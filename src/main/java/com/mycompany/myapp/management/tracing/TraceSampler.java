@@ -0,0 +1,36 @@
+package com.mycompany.myapp.management.tracing;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Samples at most a given number of new traces per second: every trace is sampled under a light load, and the share of
+ * sampled traces drops as the load grows, so that the tracing overhead stays bounded.
+ */
+public class TraceSampler {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final int tracesPerSecond;
+
+    private final AtomicLong currentSecond = new AtomicLong(System.nanoTime() / SECOND);
+
+    private final AtomicInteger sampledThisSecond = new AtomicInteger();
+
+    public TraceSampler(int tracesPerSecond) {
+        this.tracesPerSecond = tracesPerSecond;
+    }
+
+    public boolean isSampled() {
+        if (tracesPerSecond <= 0) {
+            return false;
+        }
+        long second = System.nanoTime() / SECOND;
+        long current = currentSecond.get();
+        if (second != current && currentSecond.compareAndSet(current, second)) {
+            sampledThisSecond.set(0);
+        }
+        return sampledThisSecond.incrementAndGet() <= tracesPerSecond;
+    }
+}
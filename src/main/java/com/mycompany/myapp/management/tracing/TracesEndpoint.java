@@ -0,0 +1,40 @@
+package com.mycompany.myapp.management.tracing;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+
+/**
+ * Actuator endpoint exporting the spans of the {@link SpanRingBuffer}, for offline analysis.
+ * <p>
+ * {@code GET /management/traces} returns all the spans in the buffer, {@code GET /management/traces/{traceId}} the
+ * spans of a trace.
+ */
+@Endpoint(id = "traces")
+public class TracesEndpoint {
+
+    private final SpanRingBuffer spans;
+
+    public TracesEndpoint(SpanRingBuffer spans) {
+        this.spans = spans;
+    }
+
+    @ReadOperation
+    public Map<String, Object> spans() {
+        List<SpanRecord> buffered = spans.getSpans();
+        Map<String, Object> export = new LinkedHashMap<>();
+        export.put("written", spans.getWritten());
+        export.put("buffered", buffered.size());
+        export.put("spans", buffered);
+        return export;
+    }
+
+    @ReadOperation
+    public List<SpanRecord> trace(@Selector String traceId) {
+        return spans.getSpans().stream().filter(span -> span.getTraceId().equals(traceId)).collect(Collectors.toList());
+    }
+}
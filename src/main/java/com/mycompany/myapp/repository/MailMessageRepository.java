@@ -0,0 +1,14 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.domain.MailMessage;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Spring Data MongoDB reactive repository for the {@link MailMessage} outbox.
+ */
+@Repository
+public interface MailMessageRepository extends ReactiveMongoRepository<MailMessage, String> {
+    Mono<Long> countByNextAttemptDateIsNotNull();
+}
@@ -0,0 +1,15 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.domain.PersonneEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+/**
+ * Spring Data MongoDB reactive repository for the {@link PersonneEvent} outbox.
+ */
+@Repository
+public interface PersonneEventRepository extends ReactiveMongoRepository<PersonneEvent, String> {
+    Flux<PersonneEvent> findAllByOrderByCreatedDateAscIdAsc(Pageable pageable);
+}
@@ -0,0 +1,30 @@
+package com.mycompany.myapp.repository;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Routes the MongoDB reads of a method returning a {@link reactor.core.publisher.Mono} or a
+ * {@link reactor.core.publisher.Flux} through a named read route.
+ * <p>
+ * The routes are configured under {@code application.mongo-reads.routes}, with their read preference, maximum staleness
+ * and read concern: a route which is not configured reads from the primary. Only the reads made while the returned
+ * publisher is subscribed are routed, the writes are never affected.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReadFrom {
+    /**
+     * The key of the route in the Reactor context.
+     */
+    String CONTEXT_KEY = ReadFrom.class.getName();
+
+    /**
+     * @return the name of the read route.
+     */
+    String value();
+}
@@ -3,6 +3,7 @@ package com.mycompany.myapp.repository;
 import com.mycompany.myapp.domain.User;
 import java.time.Instant;
 import org.springframework.data.domain.*;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
@@ -15,13 +16,18 @@ import reactor.core.publisher.Mono;
 public interface UserRepository extends ReactiveMongoRepository<User, String> {
     Mono<User> findOneByActivationKey(String activationKey);
     Flux<User> findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(Instant dateTime);
+
+    @Query(value = "{ 'activated': false, 'activation_key': { $ne: null }, 'created_date': { $lt: ?0 } }", fields = "{ '_id': 1 }")
+    Flux<User> findIdsOfNotActivatedUsersCreatedBefore(Instant dateTime, Pageable pageable);
     Mono<User> findOneByResetKey(String resetKey);
-    Mono<User> findOneByEmailIgnoreCase(String email);
+    Mono<User> findOneByNormalizedEmail(String normalizedEmail);
     Mono<User> findOneByLogin(String login);
 
-    Flux<User> findAllByIdNotNull(Pageable pageable);
+    @Query(value = "{}", fields = "{ 'password': 0, 'activation_key': 0, 'reset_key': 0, 'reset_date': 0, 'email_normalized': 0 }")
+    Flux<User> findAllManaged(Pageable pageable);
 
-    Flux<User> findAllByIdNotNullAndActivatedIsTrue(Pageable pageable);
+    @Query(value = "{ 'activated': true }", fields = "{ 'login': 1 }")
+    Flux<User> findAllPublic(Pageable pageable);
 
     Mono<Long> count();
 }
@@ -3,9 +3,11 @@ package com.mycompany.myapp.repository.search;
 import static org.elasticsearch.index.query.QueryBuilders.queryStringQuery;
 
 import com.mycompany.myapp.domain.Personne;
+import java.util.Collection;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.elasticsearch.core.ReactiveElasticsearchTemplate;
 import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.query.FetchSourceFilter;
 import org.springframework.data.elasticsearch.core.query.NativeSearchQuery;
 import org.springframework.data.elasticsearch.repository.ReactiveElasticsearchRepository;
 import reactor.core.publisher.Flux;
@@ -17,6 +19,8 @@ public interface PersonneSearchRepository extends ReactiveElasticsearchRepositor
 
 interface PersonneSearchRepositoryInternal {
     Flux<Personne> search(String query, Pageable pageable);
+
+    Flux<Personne> search(String query, Pageable pageable, Collection<String> fields);
 }
 
 class PersonneSearchRepositoryInternalImpl implements PersonneSearchRepositoryInternal {
@@ -33,4 +37,12 @@ class PersonneSearchRepositoryInternalImpl implements PersonneSearchRepositoryIn
         nativeSearchQuery.setPageable(pageable);
         return reactiveElasticsearchTemplate.search(nativeSearchQuery, Personne.class).map(SearchHit::getContent);
     }
+
+    @Override
+    public Flux<Personne> search(String query, Pageable pageable, Collection<String> fields) {
+        NativeSearchQuery nativeSearchQuery = new NativeSearchQuery(queryStringQuery(query));
+        nativeSearchQuery.setPageable(pageable);
+        nativeSearchQuery.addSourceFilter(new FetchSourceFilter(fields.toArray(new String[0]), null));
+        return reactiveElasticsearchTemplate.search(nativeSearchQuery, Personne.class).map(SearchHit::getContent);
+    }
 }
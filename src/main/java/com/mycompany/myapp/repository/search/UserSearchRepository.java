@@ -5,6 +5,7 @@ import static org.elasticsearch.index.query.QueryBuilders.queryStringQuery;
 import com.mycompany.myapp.domain.User;
 import org.springframework.data.elasticsearch.core.ReactiveElasticsearchTemplate;
 import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.query.FetchSourceFilter;
 import org.springframework.data.elasticsearch.core.query.NativeSearchQuery;
 import org.springframework.data.elasticsearch.repository.ReactiveElasticsearchRepository;
 import reactor.core.publisher.Flux;
@@ -20,6 +21,9 @@ interface UserSearchRepositoryInternal {
 
 class UserSearchRepositoryInternalImpl implements UserSearchRepositoryInternal {
 
+    /** The search results are only exposed as {@link com.mycompany.myapp.service.dto.UserDTO}. */
+    private static final String[] PUBLIC_FIELDS = { "id", "login" };
+
     private final ReactiveElasticsearchTemplate reactiveElasticsearchTemplate;
 
     UserSearchRepositoryInternalImpl(ReactiveElasticsearchTemplate reactiveElasticsearchTemplate) {
@@ -29,6 +33,7 @@ class UserSearchRepositoryInternalImpl implements UserSearchRepositoryInternal {
     @Override
     public Flux<User> search(String query) {
         NativeSearchQuery nativeSearchQuery = new NativeSearchQuery(queryStringQuery(query));
+        nativeSearchQuery.addSourceFilter(new FetchSourceFilter(PUBLIC_FIELDS, null));
         return reactiveElasticsearchTemplate.search(nativeSearchQuery, User.class).map(SearchHit::getContent);
     }
 }
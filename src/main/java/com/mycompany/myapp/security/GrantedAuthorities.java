@@ -0,0 +1,79 @@
+package com.mycompany.myapp.security;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+/**
+ * Shared {@link GrantedAuthority} instances, one per authority name.
+ * <p>
+ * The authority names come from the users and from signed tokens, so there are only a handful of them, and of their
+ * combinations: the lists built from a token claim are kept too.
+ */
+public final class GrantedAuthorities {
+
+    /** Bounds the claims kept, in case many combinations of authorities are in use. */
+    private static final int MAX_CACHED_CLAIMS = 1024;
+
+    private static final Map<String, GrantedAuthority> AUTHORITIES = new ConcurrentHashMap<>();
+
+    private static final Map<String, List<GrantedAuthority>> CLAIMS = new ConcurrentHashMap<>();
+
+    private GrantedAuthorities() {}
+
+    /**
+     * Get the shared authority of a name.
+     *
+     * @param name the authority name.
+     * @return the authority.
+     */
+    public static GrantedAuthority of(String name) {
+        return AUTHORITIES.computeIfAbsent(name, SimpleGrantedAuthority::new);
+    }
+
+    /**
+     * Get the shared authorities of some names.
+     *
+     * @param names the authority names.
+     * @return the authorities, in an unmodifiable list.
+     */
+    public static List<GrantedAuthority> of(Collection<String> names) {
+        List<GrantedAuthority> authorities = new ArrayList<>(names.size());
+        for (String name : names) {
+            authorities.add(of(name));
+        }
+        return Collections.unmodifiableList(authorities);
+    }
+
+    /**
+     * Get the authorities of a comma-separated token claim.
+     *
+     * @param claim the claim.
+     * @return the authorities, in an unmodifiable list shared by the tokens with the same claim.
+     */
+    public static List<GrantedAuthority> fromClaim(String claim) {
+        List<GrantedAuthority> authorities = CLAIMS.get(claim);
+        if (authorities == null) {
+            authorities = parseClaim(claim);
+            if (CLAIMS.size() < MAX_CACHED_CLAIMS) {
+                CLAIMS.putIfAbsent(claim, authorities);
+            }
+        }
+        return authorities;
+    }
+
+    private static List<GrantedAuthority> parseClaim(String claim) {
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        for (String name : claim.split(",")) {
+            if (!name.trim().isEmpty()) {
+                authorities.add(of(name));
+            }
+        }
+        return Collections.unmodifiableList(authorities);
+    }
+}
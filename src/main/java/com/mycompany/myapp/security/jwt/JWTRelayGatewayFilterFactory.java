@@ -1,7 +1,9 @@
 package com.mycompany.myapp.security.jwt;
 
+import static com.mycompany.myapp.management.ReactorCheckpoints.checkpoint;
 import static com.mycompany.myapp.security.jwt.JWTFilter.AUTHORIZATION_HEADER;
 
+import com.mycompany.myapp.management.tracing.TraceContext;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
 import org.springframework.http.server.reactive.ServerHttpRequest;
@@ -21,12 +23,20 @@ public class JWTRelayGatewayFilterFactory extends AbstractGatewayFilterFactory<O
     public GatewayFilter apply(Object config) {
         return (exchange, chain) -> {
             String token = this.extractJWTToken(exchange.getRequest());
-            if (StringUtils.hasText(token) && this.tokenProvider.validateToken(token)) {
-                ServerHttpRequest request = exchange.getRequest().mutate().header(AUTHORIZATION_HEADER, "Bearer " + token).build();
-
-                return chain.filter(exchange.mutate().request(request).build());
+            boolean relayToken = StringUtils.hasText(token) && this.tokenProvider.validateToken(token);
+            // The span of the call to the service, when the request is traced
+            TraceContext trace = exchange.getAttribute(TraceContext.EXCHANGE_ATTRIBUTE);
+            if (!relayToken && trace == null) {
+                return checkpoint(chain.filter(exchange), "JWTRelayGatewayFilter");
+            }
+            ServerHttpRequest.Builder request = exchange.getRequest().mutate();
+            if (relayToken) {
+                request.header(AUTHORIZATION_HEADER, "Bearer " + token);
+            }
+            if (trace != null) {
+                request.header(TraceContext.TRACEPARENT_HEADER, trace.toTraceparent());
             }
-            return chain.filter(exchange);
+            return checkpoint(chain.filter(exchange.mutate().request(request.build()).build()), "JWTRelayGatewayFilter");
         };
     }
 
@@ -0,0 +1,127 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.Authority;
+import com.mycompany.myapp.repository.AuthorityRepository;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+/**
+ * In-memory registry of the authorities, serving the lookups without querying {@code jhi_authority}.
+ * <p>
+ * The authorities are loaded once the application is ready, in the background and retried until MongoDB answers, then
+ * again whenever an authority is saved or deleted through this instance, and every
+ * {@code application.authorities.refresh-interval} to pick up the changes made by the other instances. Each refresh swaps
+ * in a new immutable map. The authorities which are not in the map, for instance before the first load, are looked up in
+ * the database. A scheduled refresh does not hold the scheduler thread, and is given up once it takes longer than the
+ * interval.
+ */
+@Service
+public class AuthorityRegistry extends AbstractMongoEventListener<Authority> {
+
+    private static final Duration LOAD_MIN_BACKOFF = Duration.ofSeconds(1);
+
+    private static final Duration LOAD_MAX_BACKOFF = Duration.ofMinutes(1);
+
+    private final Logger log = LoggerFactory.getLogger(AuthorityRegistry.class);
+
+    private final AuthorityRepository authorityRepository;
+
+    private final Duration refreshInterval;
+
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    private volatile Map<String, Authority> authorities = Collections.emptyMap();
+
+    public AuthorityRegistry(AuthorityRepository authorityRepository, ApplicationProperties applicationProperties) {
+        this.authorityRepository = authorityRepository;
+        this.refreshInterval = applicationProperties.getAuthorities().getRefreshInterval();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        refresh()
+            .retryWhen(
+                Retry
+                    .backoff(Long.MAX_VALUE, LOAD_MIN_BACKOFF)
+                    .maxBackoff(LOAD_MAX_BACKOFF)
+                    .doBeforeRetry(retry -> log.warn("Authorities could not be loaded, retrying: {}", retry.failure().getMessage()))
+            )
+            .subscribe();
+    }
+
+    @Scheduled(
+        fixedDelayString = "${application.authorities.refresh-interval:PT10M}",
+        initialDelayString = "${application.authorities.refresh-interval:PT10M}"
+    )
+    public void scheduledRefresh() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        refresh()
+            .timeout(refreshInterval)
+            .doFinally(signal -> refreshing.set(false))
+            .subscribe(null, e -> log.warn("Authorities could not be refreshed: {}", e.getMessage()));
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Authority> event) {
+        refresh().subscribe(null, e -> log.warn("Authorities could not be refreshed: {}", e.getMessage()));
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<Authority> event) {
+        refresh().subscribe(null, e -> log.warn("Authorities could not be refreshed: {}", e.getMessage()));
+    }
+
+    /**
+     * Reload the authorities, to be called after they were changed outside of this instance.
+     *
+     * @return a {@link Mono} completing once the new authorities are served.
+     */
+    public Mono<Void> refresh() {
+        return authorityRepository
+            .findAll()
+            .collectSortedList((a, b) -> a.getName().compareTo(b.getName()))
+            .doOnNext(found -> {
+                Map<String, Authority> byName = new LinkedHashMap<>();
+                found.forEach(authority -> byName.put(authority.getName(), authority));
+                authorities = Collections.unmodifiableMap(byName);
+                log.debug("Loaded authorities: {}", byName.keySet());
+            })
+            .then();
+    }
+
+    /**
+     * Find an authority, in the database if it is not loaded.
+     *
+     * @param name the name of the authority.
+     * @return the authority, or an empty {@link Mono} if it does not exist.
+     */
+    public Mono<Authority> findById(String name) {
+        Authority authority = authorities.get(name);
+        return authority != null ? Mono.just(authority) : authorityRepository.findById(name);
+    }
+
+    /**
+     * @return all the authorities, sorted by name.
+     */
+    public Collection<Authority> findAll() {
+        return authorities.values();
+    }
+}
@@ -0,0 +1,132 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.service.dto.GatewayRouteDTO;
+import com.netflix.discovery.EurekaClient;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
+import org.springframework.cloud.client.discovery.event.HeartbeatEvent;
+import org.springframework.cloud.gateway.event.RefreshRoutesEvent;
+import org.springframework.cloud.gateway.route.RouteDefinition;
+import org.springframework.cloud.gateway.route.RouteDefinitionLocator;
+import org.springframework.cloud.gateway.route.RouteRefreshListener;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Snapshot of the routes of the gateway, with the instances of the services they lead to.
+ * <p>
+ * The snapshot is built on the first request, with the reactive discovery client, and served from memory until the
+ * Eureka registry fetched by this instance changes, or the routes are refreshed. A snapshot which could not be built is
+ * not kept.
+ */
+@Service
+public class GatewayRoutesService {
+
+    private static final String LOAD_BALANCED_SCHEME = "lb";
+
+    private static final String PATH_PREDICATE = "Path";
+
+    private static final Duration UNTIL_REFRESHED = Duration.ofMillis(Long.MAX_VALUE);
+
+    private final Logger log = LoggerFactory.getLogger(GatewayRoutesService.class);
+
+    private final RouteDefinitionLocator routeDefinitionLocator;
+
+    private final ReactiveDiscoveryClient discoveryClient;
+
+    private final String appName;
+
+    private volatile String registryHashCode;
+
+    private volatile Mono<List<GatewayRouteDTO>> snapshot;
+
+    public GatewayRoutesService(
+        RouteDefinitionLocator routeDefinitionLocator,
+        ReactiveDiscoveryClient discoveryClient,
+        @Value("${spring.application.name}") String appName
+    ) {
+        this.routeDefinitionLocator = routeDefinitionLocator;
+        this.discoveryClient = discoveryClient;
+        this.appName = appName;
+        this.snapshot = load();
+    }
+
+    /**
+     * @return the routes to the services, the gateway excluded.
+     */
+    public Mono<List<GatewayRouteDTO>> getRoutes() {
+        return snapshot;
+    }
+
+    /**
+     * Sent after each fetch of the registry: the snapshot is only dropped when the Eureka registry changed.
+     */
+    @EventListener
+    public void onHeartbeat(HeartbeatEvent event) {
+        if (event.getSource() instanceof EurekaClient) {
+            String hashCode = ((EurekaClient) event.getSource()).getApplications().getAppsHashCode();
+            if (hashCode.equals(registryHashCode)) {
+                return;
+            }
+            registryHashCode = hashCode;
+        }
+        refresh();
+    }
+
+    /**
+     * The routes refreshed after each heartbeat are covered by {@link #onHeartbeat}, the other refreshes drop the
+     * snapshot.
+     */
+    @EventListener
+    public void onRefreshRoutes(RefreshRoutesEvent event) {
+        if (!(event.getSource() instanceof RouteRefreshListener)) {
+            refresh();
+        }
+    }
+
+    /**
+     * Drop the snapshot, the next request builds a new one.
+     */
+    public void refresh() {
+        log.debug("Gateway routes snapshot dropped");
+        snapshot = load();
+    }
+
+    private Mono<List<GatewayRouteDTO>> load() {
+        return routeDefinitionLocator
+            .getRouteDefinitions()
+            .map(GatewayRoutesService::toRoute)
+            .filter(route -> !route.getServiceId().equalsIgnoreCase(appName))
+            .flatMapSequential(route ->
+                discoveryClient.getInstances(route.getServiceId()).collectList().doOnNext(route::setServiceInstances).thenReturn(route)
+            )
+            .collectList()
+            .doOnNext(routes -> log.debug("Gateway routes snapshot built: {}", routes))
+            .cache(routes -> UNTIL_REFRESHED, e -> Duration.ZERO, () -> Duration.ZERO);
+    }
+
+    private static GatewayRouteDTO toRoute(RouteDefinition definition) {
+        GatewayRouteDTO route = new GatewayRouteDTO();
+        URI uri = definition.getUri();
+        // The discovery routes lead to lb://<service id>
+        String serviceId = LOAD_BALANCED_SCHEME.equals(uri.getScheme()) && uri.getHost() != null ? uri.getHost() : definition.getId();
+        route.setServiceId(serviceId.toLowerCase(Locale.ROOT));
+        route.setPath(
+            definition
+                .getPredicates()
+                .stream()
+                .filter(predicate -> PATH_PREDICATE.equals(predicate.getName()))
+                .flatMap(predicate -> predicate.getArgs().values().stream())
+                .collect(Collectors.joining(","))
+        );
+        return route;
+    }
+}
@@ -0,0 +1,227 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.config.KafkaSseConsumer;
+import com.mycompany.myapp.service.dto.KafkaSseEventDTO;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.stream.binder.kafka.properties.KafkaBinderConfigurationProperties;
+import org.springframework.cloud.stream.config.BindingServiceProperties;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Service keeping the recent history of the SSE Kafka topic, so that reconnecting clients can resume
+ * from the {@code Last-Event-ID} they received last.
+ * <p>
+ * Recent events are served from an in-memory ring buffer. When the client is further behind than the
+ * buffer, the missing range is read back from Kafka with a short-lived consumer seeked to the requested offset.
+ */
+@Service
+public class KafkaSseService {
+
+    private final Logger log = LoggerFactory.getLogger(KafkaSseService.class);
+
+    private final ApplicationProperties.Sse sseProperties;
+
+    private final BindingServiceProperties bindingServiceProperties;
+
+    private final ObjectProvider<KafkaBinderConfigurationProperties> kafkaBinderProperties;
+
+    // Best effort, so that the sink outlives its subscribers and late clients do not get stale events
+    private final Sinks.Many<KafkaSseEventDTO> sink = Sinks.many().multicast().directBestEffort();
+
+    private final Set<Sinks.Many<KafkaSseEventDTO>> resumingClients = ConcurrentHashMap.newKeySet();
+
+    private final KafkaSseEventDTO[] history;
+
+    private final AtomicLong localOffset = new AtomicLong();
+
+    private int historyHead;
+
+    private int historyCount;
+
+    public KafkaSseService(
+        ApplicationProperties applicationProperties,
+        BindingServiceProperties bindingServiceProperties,
+        ObjectProvider<KafkaBinderConfigurationProperties> kafkaBinderProperties
+    ) {
+        this.sseProperties = applicationProperties.getSse();
+        this.bindingServiceProperties = bindingServiceProperties;
+        this.kafkaBinderProperties = kafkaBinderProperties;
+        this.history = new KafkaSseEventDTO[Math.max(1, sseProperties.getHistorySize())];
+    }
+
+    /**
+     * Record a message received from Kafka and push it to the connected clients.
+     *
+     * @param message the message, with its Kafka partition and offset headers when available.
+     */
+    public void onMessage(Message<String> message) {
+        Integer partition = message.getHeaders().get(KafkaHeaders.RECEIVED_PARTITION_ID, Integer.class);
+        Long offset = message.getHeaders().get(KafkaHeaders.OFFSET, Long.class);
+        KafkaSseEventDTO event;
+        if (partition != null && offset != null) {
+            event = new KafkaSseEventDTO(partition, offset, message.getPayload());
+        } else {
+            // Messages which did not go through a Kafka broker get a local, monotonic position
+            event = new KafkaSseEventDTO(0, localOffset.getAndIncrement(), message.getPayload());
+        }
+        synchronized (history) {
+            history[historyHead] = event;
+            historyHead = (historyHead + 1) % history.length;
+            historyCount = Math.min(historyCount + 1, history.length);
+            Sinks.EmitResult result = sink.tryEmitNext(event);
+            if (result.isFailure()) {
+                log.debug("SSE event {} not pushed to live clients: {}", event.getId(), result);
+            }
+            resumingClients.forEach(relay -> relay.tryEmitNext(event));
+        }
+    }
+
+    /**
+     * Stream the events of the SSE topic.
+     *
+     * @param lastEventId the id of the last event received by the client, or {@code null} for live events only.
+     * @return the missed events followed by the live ones, without duplicates.
+     */
+    public Flux<KafkaSseEventDTO> stream(String lastEventId) {
+        long[] position = KafkaSseEventDTO.parseId(lastEventId);
+        if (position == null) {
+            return sink.asFlux();
+        }
+        return Flux.defer(() -> {
+            // Clients resuming from an event id get their own relay, registered atomically with the history snapshot
+            Sinks.Many<KafkaSseEventDTO> relay = Sinks.many().unicast().onBackpressureBuffer();
+            List<KafkaSseEventDTO> buffered;
+            synchronized (history) {
+                resumingClients.add(relay);
+                buffered = snapshot();
+            }
+            Map<Integer, Long> watermarks = new HashMap<>();
+            return Flux
+                .concat(replay((int) position[0], position[1], buffered), relay.asFlux())
+                .filter(event -> {
+                    Long watermark = watermarks.get(event.getPartition());
+                    if (watermark != null && event.getOffset() <= watermark) {
+                        return false;
+                    }
+                    watermarks.put(event.getPartition(), event.getOffset());
+                    return true;
+                })
+                .doFinally(signal -> resumingClients.remove(relay));
+        });
+    }
+
+    private Flux<KafkaSseEventDTO> replay(int partition, long offset, List<KafkaSseEventDTO> buffered) {
+        int lastSeenIndex = -1;
+        long oldestBufferedOffset = -1;
+        for (int i = 0; i < buffered.size(); i++) {
+            KafkaSseEventDTO event = buffered.get(i);
+            if (event.getPartition() == partition) {
+                if (oldestBufferedOffset < 0) {
+                    oldestBufferedOffset = event.getOffset();
+                }
+                if (event.getOffset() == offset) {
+                    lastSeenIndex = i;
+                }
+            }
+        }
+        List<KafkaSseEventDTO> fromBuffer = new ArrayList<>();
+        for (int i = 0; i < buffered.size(); i++) {
+            KafkaSseEventDTO event = buffered.get(i);
+            boolean newer = event.getPartition() == partition ? event.getOffset() > offset : i > lastSeenIndex;
+            if (newer) {
+                fromBuffer.add(event);
+            }
+        }
+        if (oldestBufferedOffset >= 0 && oldestBufferedOffset <= offset + 1) {
+            return Flux.fromIterable(fromBuffer);
+        }
+        log.debug("SSE client is behind the history buffer on partition {}, reading from offset {}", partition, offset + 1);
+        long untilOffset = oldestBufferedOffset;
+        return Mono
+            .fromCallable(() -> readFromKafka(partition, offset + 1, untilOffset))
+            .subscribeOn(Schedulers.boundedElastic())
+            .onErrorResume(e -> {
+                log.warn("Could not replay partition {} from offset {}: {}", partition, offset + 1, e.getMessage());
+                return Mono.just(Collections.emptyList());
+            })
+            .flatMapMany(Flux::fromIterable)
+            .concatWith(Flux.fromIterable(fromBuffer));
+    }
+
+    private List<KafkaSseEventDTO> snapshot() {
+        List<KafkaSseEventDTO> events = new ArrayList<>(historyCount);
+        int start = (historyHead - historyCount + history.length) % history.length;
+        for (int i = 0; i < historyCount; i++) {
+            events.add(history[(start + i) % history.length]);
+        }
+        return events;
+    }
+
+    private List<KafkaSseEventDTO> readFromKafka(int partition, long fromOffset, long untilOffset) {
+        KafkaBinderConfigurationProperties binderProperties = kafkaBinderProperties.getIfAvailable();
+        String topic = bindingServiceProperties.getBindingDestination(KafkaSseConsumer.CHANNELNAME);
+        if (binderProperties == null || topic == null) {
+            return Collections.emptyList();
+        }
+        Map<String, Object> consumerProperties = new HashMap<>(binderProperties.mergedConsumerConfiguration());
+        consumerProperties.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, binderProperties.getKafkaConnectionString());
+        consumerProperties.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        consumerProperties.remove(ConsumerConfig.GROUP_ID_CONFIG);
+
+        List<KafkaSseEventDTO> events = new ArrayList<>();
+        long deadline = System.nanoTime() + sseProperties.getReplayTimeout().toNanos();
+        try (
+            KafkaConsumer<String, String> consumer = new KafkaConsumer<>(
+                consumerProperties,
+                new StringDeserializer(),
+                new StringDeserializer()
+            )
+        ) {
+            TopicPartition topicPartition = new TopicPartition(topic, partition);
+            consumer.assign(Collections.singletonList(topicPartition));
+            long endOffset = untilOffset >= 0
+                ? untilOffset
+                : consumer.endOffsets(Collections.singletonList(topicPartition)).get(topicPartition);
+            long start = Math.max(fromOffset, endOffset - sseProperties.getMaxReplaySize());
+            if (start >= endOffset) {
+                return events;
+            }
+            consumer.seek(topicPartition, start);
+            long position = start;
+            while (position < endOffset && System.nanoTime() < deadline) {
+                for (ConsumerRecord<String, String> record : consumer.poll(Duration.ofMillis(200))) {
+                    if (record.offset() >= endOffset) {
+                        position = record.offset();
+                        break;
+                    }
+                    events.add(new KafkaSseEventDTO(record.partition(), record.offset(), record.value()));
+                    position = record.offset() + 1;
+                }
+            }
+        }
+        return events;
+    }
+}
@@ -0,0 +1,263 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.MailMessage;
+import com.mycompany.myapp.management.MailMetersService;
+import com.mycompany.myapp.repository.MailMessageRepository;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.PreDestroy;
+import javax.mail.MessagingException;
+import javax.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Service sending the emails queued in the {@code jhi_mail_outbox} collection.
+ * <p>
+ * Pending emails are claimed in bulk with a lease, so that several instances can share the outbox, then sent in batches:
+ * each batch goes over a single SMTP connection, and at most {@code application.mail.concurrency} connections are
+ * open at once, on a dedicated scheduler. Failed emails are retried with an exponential backoff until
+ * {@code application.mail.max-attempts} is reached, then kept in the outbox for inspection.
+ */
+@Service
+public class MailDispatchService {
+
+    private final Logger log = LoggerFactory.getLogger(MailDispatchService.class);
+
+    private final MailMessageRepository mailMessageRepository;
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    private final JavaMailSender javaMailSender;
+
+    private final JHipsterProperties jHipsterProperties;
+
+    private final MailMetersService mailMetersService;
+
+    private final ApplicationProperties.Mail properties;
+
+    private final Scheduler smtpScheduler;
+
+    private final AtomicBoolean dispatching = new AtomicBoolean();
+
+    public MailDispatchService(
+        MailMessageRepository mailMessageRepository,
+        ReactiveMongoTemplate mongoTemplate,
+        JavaMailSender javaMailSender,
+        JHipsterProperties jHipsterProperties,
+        MailMetersService mailMetersService,
+        ApplicationProperties applicationProperties
+    ) {
+        this.mailMessageRepository = mailMessageRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.javaMailSender = javaMailSender;
+        this.jHipsterProperties = jHipsterProperties;
+        this.mailMetersService = mailMetersService;
+        this.properties = applicationProperties.getMail();
+        this.smtpScheduler =
+            Schedulers.newBoundedElastic(
+                Math.max(1, properties.getConcurrency()),
+                Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE,
+                "mail-smtp"
+            );
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        smtpScheduler.dispose();
+    }
+
+    /**
+     * Queue an email in the outbox.
+     *
+     * @param message the email to send.
+     * @return the queued email.
+     */
+    public Mono<MailMessage> enqueue(MailMessage message) {
+        return mailMessageRepository.save(message);
+    }
+
+    /**
+     * Sends the pending emails.
+     * <p>
+     * This is scheduled to get fired every second. A run does not hold the scheduler thread while the emails are
+     * sent, and is skipped while the previous one is still in progress.
+     */
+    @Scheduled(fixedDelayString = "${application.mail.poll-interval:PT1S}")
+    public void dispatchPending() {
+        if (!dispatching.compareAndSet(false, true)) {
+            return;
+        }
+        dispatchPendingReactively()
+            .doFinally(signal -> dispatching.set(false))
+            .subscribe(
+                count -> {
+                    if (count > 0) {
+                        log.debug("Sent {} emails", count);
+                    }
+                },
+                e -> log.warn("Emails could not be dispatched: {}", e.getMessage())
+            );
+    }
+
+    /**
+     * Claims one batch of pending emails, oldest first, and sends them.
+     *
+     * @return the number of emails accepted by the SMTP server.
+     */
+    public Mono<Long> dispatchPendingReactively() {
+        return claimBatch()
+            .buffer(Math.max(1, properties.getMessagesPerConnection()))
+            .flatMap(this::deliver, Math.max(1, properties.getConcurrency()))
+            .reduce(0L, Long::sum)
+            .flatMap(sent ->
+                mailMessageRepository.countByNextAttemptDateIsNotNull().doOnNext(mailMetersService::trackQueueDepth).thenReturn(sent)
+            );
+    }
+
+    /**
+     * Claims the oldest pending emails, up to the batch size, by stamping them with a new lease token. An email claimed
+     * meanwhile by another instance is no longer due, so it is left out of the update and of this batch.
+     */
+    private Flux<MailMessage> claimBatch() {
+        Instant now = Instant.now();
+        String leaseToken = UUID.randomUUID().toString();
+        Query due = Query.query(Criteria.where("nextAttemptDate").lte(now));
+        due.with(Sort.by("nextAttemptDate")).limit(Math.max(1, properties.getBatchSize())).fields().include("id");
+        return mongoTemplate
+            .find(due, MailMessage.class)
+            .map(MailMessage::getId)
+            .collectList()
+            .filter(ids -> !ids.isEmpty())
+            .flatMap(ids ->
+                mongoTemplate.updateMulti(
+                    Query.query(Criteria.where("id").in(ids).and("nextAttemptDate").lte(now)),
+                    new Update().set("nextAttemptDate", now.plus(properties.getLease())).set("leaseToken", leaseToken).inc("attempts", 1),
+                    MailMessage.class
+                )
+            )
+            .filter(result -> result.getModifiedCount() > 0)
+            .flatMapMany(result -> {
+                Query claimed = Query.query(Criteria.where("leaseToken").is(leaseToken)).with(Sort.by("createdDate"));
+                return mongoTemplate.find(claimed, MailMessage.class);
+            });
+    }
+
+    private Mono<Long> deliver(List<MailMessage> batch) {
+        return Mono.fromCallable(() -> send(batch)).subscribeOn(smtpScheduler).flatMap(failures -> record(batch, failures));
+    }
+
+    private Map<MailMessage, Exception> send(List<MailMessage> batch) {
+        Map<MailMessage, Exception> failures = new IdentityHashMap<>();
+        Map<MimeMessage, MailMessage> prepared = new LinkedHashMap<>();
+        for (MailMessage message : batch) {
+            try {
+                prepared.put(createMimeMessage(message), message);
+            } catch (MessagingException e) {
+                failures.put(message, e);
+            }
+        }
+        if (prepared.isEmpty()) {
+            return failures;
+        }
+        long start = System.nanoTime();
+        try {
+            // JavaMailSenderImpl sends all the messages of one call over the same connection
+            javaMailSender.send(prepared.keySet().toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                // Only closing the connection failed, after all the messages were accepted
+                log.warn("SMTP connection could not be closed cleanly: {}", e.getMessage());
+            }
+            e
+                .getFailedMessages()
+                .forEach((mimeMessage, cause) -> {
+                    MailMessage message = prepared.get(mimeMessage);
+                    if (message != null) {
+                        failures.put(message, cause);
+                    }
+                });
+        } catch (MailException e) {
+            prepared.values().forEach(message -> failures.put(message, e));
+        } finally {
+            mailMetersService.trackSession(Duration.ofNanos(System.nanoTime() - start));
+        }
+        return failures;
+    }
+
+    MimeMessage createMimeMessage(MailMessage message) throws MessagingException {
+        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, message.isMultipart(), StandardCharsets.UTF_8.name());
+        helper.setTo(message.getTo());
+        helper.setFrom(jHipsterProperties.getMail().getFrom());
+        helper.setSubject(message.getSubject());
+        helper.setText(message.getContent(), message.isHtml());
+        return mimeMessage;
+    }
+
+    private Mono<Long> record(List<MailMessage> batch, Map<MailMessage, Exception> failures) {
+        Instant now = Instant.now();
+        List<String> sent = new ArrayList<>();
+        List<MailMessage> failed = new ArrayList<>();
+        for (MailMessage message : batch) {
+            Exception failure = failures.get(message);
+            if (failure == null) {
+                log.debug("Sent email to User '{}'", message.getTo());
+                mailMetersService.trackSent(Duration.between(message.getCreatedDate(), now));
+                sent.add(message.getId());
+            } else {
+                failed.add(scheduleRetry(message, failure, now));
+            }
+        }
+        Mono<Void> deleteSent = sent.isEmpty() ? Mono.empty() : mailMessageRepository.deleteAllById(sent);
+        return deleteSent.thenMany(mailMessageRepository.saveAll(failed)).then(Mono.just((long) sent.size()));
+    }
+
+    private MailMessage scheduleRetry(MailMessage message, Exception failure, Instant now) {
+        message.setLastError(failure.getMessage());
+        if (message.getAttempts() >= properties.getMaxAttempts()) {
+            log.error("Email could not be sent to user '{}' after {} attempts, giving up", message.getTo(), message.getAttempts(), failure);
+            message.setNextAttemptDate(null);
+            mailMetersService.trackFailed();
+        } else {
+            Duration backoff = backoff(message.getAttempts());
+            log.warn("Email could not be sent to user '{}', retrying in {}: {}", message.getTo(), backoff, failure.getMessage());
+            message.setNextAttemptDate(now.plus(backoff));
+            mailMetersService.trackRetried();
+        }
+        return message;
+    }
+
+    private Duration backoff(int attempts) {
+        Duration backoff = properties.getInitialBackoff();
+        for (int i = 1; i < attempts && backoff.compareTo(properties.getMaxBackoff()) < 0; i++) {
+            backoff = backoff.multipliedBy(2);
+        }
+        return backoff.compareTo(properties.getMaxBackoff()) > 0 ? properties.getMaxBackoff() : backoff;
+    }
+}
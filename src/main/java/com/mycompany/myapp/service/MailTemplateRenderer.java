@@ -0,0 +1,152 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.Constants;
+import com.mycompany.myapp.domain.User;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.thymeleaf.ThymeleafProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.MessageSource;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Service rendering the mail templates.
+ * <p>
+ * When the Thymeleaf cache is enabled, the mail templates are parsed once at startup, and the locale and subject
+ * of each language are resolved once. Each thread renders into its own reusable context and buffer.
+ */
+@Service
+public class MailTemplateRenderer {
+
+    public static final List<String> MAIL_TEMPLATES = List.of("mail/activationEmail", "mail/creationEmail", "mail/passwordResetEmail");
+
+    /** The languages of the application, any other {@code langKey} is rendered in {@link Constants#DEFAULT_LANGUAGE}. */
+    public static final List<String> LANGUAGES = List.of("fr", "ar-ly", "en");
+
+    private static final String USER = "user";
+
+    private static final String BASE_URL = "baseUrl";
+
+    /** Buffers which grew beyond this size are not kept for the next rendering. */
+    private static final int MAX_RETAINED_BUFFER_SIZE = 64 * 1024;
+
+    private static final int INITIAL_BUFFER_SIZE = 4 * 1024;
+
+    private final Logger log = LoggerFactory.getLogger(MailTemplateRenderer.class);
+
+    private final SpringTemplateEngine templateEngine;
+
+    private final MessageSource messageSource;
+
+    private final String baseUrl;
+
+    private final boolean cache;
+
+    private final Map<String, Locale> locales = new ConcurrentHashMap<>();
+
+    private final Map<String, Map<String, String>> subjectsByLangKey = new ConcurrentHashMap<>();
+
+    private final ThreadLocal<Context> contexts = ThreadLocal.withInitial(Context::new);
+
+    private final ThreadLocal<StringWriter> buffers = ThreadLocal.withInitial(() -> new StringWriter(INITIAL_BUFFER_SIZE));
+
+    public MailTemplateRenderer(
+        SpringTemplateEngine templateEngine,
+        MessageSource messageSource,
+        JHipsterProperties jHipsterProperties,
+        ThymeleafProperties thymeleafProperties
+    ) {
+        this.templateEngine = templateEngine;
+        this.messageSource = messageSource;
+        this.baseUrl = jHipsterProperties.getMail().getBaseUrl();
+        this.cache = thymeleafProperties.isCache();
+    }
+
+    /**
+     * Parse the mail templates ahead of the first email, so that it is not slowed down by template loading.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void precompile() {
+        if (!cache) {
+            return;
+        }
+        User user = new User();
+        user.setLangKey(Constants.DEFAULT_LANGUAGE);
+        for (String templateName : MAIL_TEMPLATES) {
+            try {
+                render(templateName, user);
+            } catch (RuntimeException e) {
+                log.warn("Mail template {} could not be precompiled: {}", templateName, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Render a mail template for a user.
+     *
+     * @param templateName the name of the template.
+     * @param user the recipient, available as {@code user} in the template.
+     * @return the rendered content.
+     */
+    public String render(String templateName, User user) {
+        Context context = contexts.get();
+        context.clearVariables();
+        context.setLocale(locale(language(user.getLangKey())));
+        context.setVariable(USER, user);
+        context.setVariable(BASE_URL, baseUrl);
+        StringWriter buffer = buffers.get();
+        buffer.getBuffer().setLength(0);
+        try {
+            templateEngine.process(templateName, context, buffer);
+            return buffer.toString();
+        } finally {
+            // Do not hold the user past the rendering, nor keep oversized buffers around
+            context.clearVariables();
+            if (buffer.getBuffer().capacity() > MAX_RETAINED_BUFFER_SIZE) {
+                buffers.remove();
+            }
+        }
+    }
+
+    /**
+     * Resolve the subject of an email.
+     *
+     * @param titleKey the message key of the subject.
+     * @param langKey the language of the recipient.
+     * @return the subject.
+     */
+    public String subject(String titleKey, String langKey) {
+        String language = language(langKey);
+        if (!cache) {
+            return messageSource.getMessage(titleKey, null, locale(language));
+        }
+        return subjectsByLangKey
+            .computeIfAbsent(language, key -> new ConcurrentHashMap<>())
+            .computeIfAbsent(titleKey, key -> messageSource.getMessage(key, null, locale(language)));
+    }
+
+    /**
+     * The caches are keyed by language rather than by the {@code langKey} stored on the user, so that they cannot grow
+     * past the languages of the application.
+     */
+    static String language(String langKey) {
+        if (langKey == null) {
+            return Constants.DEFAULT_LANGUAGE;
+        }
+        String language = langKey.replace('_', '-').toLowerCase(Locale.ROOT);
+        return LANGUAGES.contains(language) ? language : Constants.DEFAULT_LANGUAGE;
+    }
+
+    private Locale locale(String language) {
+        return locales.computeIfAbsent(language, Locale::forLanguageTag);
+    }
+}
@@ -0,0 +1,265 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.config.PersonneEventProducer;
+import com.mycompany.myapp.domain.Personne;
+import com.mycompany.myapp.domain.PersonneEvent;
+import com.mycompany.myapp.domain.enumeration.PersonneEventType;
+import com.mycompany.myapp.repository.PersonneEventRepository;
+import com.mycompany.myapp.repository.PersonneRepository;
+import com.mycompany.myapp.service.mapper.PersonneEventMapper;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.ReactiveMongoTransactionManager;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.SubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.util.MimeTypeUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Service publishing {@link Personne} changes to Kafka through a transactional outbox.
+ * <p>
+ * Each write stores its event in the {@code personne_event_outbox} collection in the same MongoDB transaction,
+ * and a scheduled relay publishes the pending events in batches, keyed by the personne id so that the events of
+ * one personne stay ordered. Delivery is at-least-once: consumers should deduplicate on the event id.
+ */
+@Service
+public class PersonneEventService {
+
+    /** The header carrying the id of the outbox event, also sent to Kafka so that consumers can deduplicate on it. */
+    public static final String EVENT_ID_HEADER = "personneEventId";
+
+    private final Logger log = LoggerFactory.getLogger(PersonneEventService.class);
+
+    private final PersonneRepository personneRepository;
+
+    private final PersonneEventRepository personneEventRepository;
+
+    private final PersonneEventMapper personneEventMapper;
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    private final MessageChannel output;
+
+    private final TransactionalOperator transactionalOperator;
+
+    private final ApplicationProperties.PersonneEvents properties;
+
+    private final Map<String, Sinks.Empty<Void>> pendingAcks = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean relaying = new AtomicBoolean();
+
+    public PersonneEventService(
+        PersonneRepository personneRepository,
+        PersonneEventRepository personneEventRepository,
+        PersonneEventMapper personneEventMapper,
+        ReactiveMongoTemplate mongoTemplate,
+        @Qualifier(PersonneEventProducer.CHANNELNAME) MessageChannel output,
+        @Qualifier(PersonneEventProducer.ACKS_CHANNELNAME) SubscribableChannel acks,
+        ReactiveMongoTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.personneRepository = personneRepository;
+        this.personneEventRepository = personneEventRepository;
+        this.personneEventMapper = personneEventMapper;
+        this.mongoTemplate = mongoTemplate;
+        this.output = output;
+        this.transactionalOperator = TransactionalOperator.create(transactionManager);
+        this.properties = applicationProperties.getPersonneEvents();
+        acks.subscribe(this::acknowledged);
+    }
+
+    /**
+     * Save a personne and record the corresponding event in the outbox.
+     *
+     * @param personne the entity to save.
+     * @param type {@link PersonneEventType#CREATED} or {@link PersonneEventType#UPDATED}.
+     * @return the persisted entity.
+     */
+    public Mono<Personne> save(Personne personne, PersonneEventType type) {
+        return inTransaction(
+            personneRepository
+                .save(personne)
+                .flatMap(saved -> personneEventRepository.save(PersonneEvent.of(type, saved)).thenReturn(saved))
+        );
+    }
+
+    /**
+     * Update some fields of a personne, increment its version, and record a {@link PersonneEventType#UPDATED} event in
+     * the outbox.
+     *
+     * @param id the id of the entity.
+     * @param version the version the update is based on, or {@code null} to update whatever the current version is.
+     * @param update the fields to set.
+     * @return the updated entity, or an empty {@link Mono} if it does not exist, or an
+     * {@link OptimisticLockingFailureException} if it was updated since the given version.
+     */
+    public Mono<Personne> update(String id, Long version, Update update) {
+        Query query = new Query(Criteria.where("id").is(id));
+        if (version != null) {
+            query.addCriteria(Criteria.where(Personne.VERSION).is(version));
+        }
+        update.inc(Personne.VERSION, 1);
+        return inTransaction(
+            mongoTemplate
+                .findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), Personne.class)
+                // Only a missed update tells a deleted personne from a stale version apart
+                .switchIfEmpty(Mono.defer(() -> version == null ? Mono.empty() : conflictIfExists(id, version)))
+                .flatMap(updated -> personneEventRepository.save(PersonneEvent.of(PersonneEventType.UPDATED, updated)).thenReturn(updated))
+        );
+    }
+
+    private Mono<Personne> conflictIfExists(String id, Long version) {
+        return personneRepository
+            .existsById(id)
+            .flatMap(exists ->
+                Boolean.TRUE.equals(exists)
+                    ? Mono.error(new OptimisticLockingFailureException("Personne " + id + " was updated since version " + version))
+                    : Mono.empty()
+            );
+    }
+
+    /**
+     * Delete a personne and record a {@link PersonneEventType#DELETED} event in the outbox.
+     *
+     * @param id the id of the entity.
+     * @return a Mono to signal the deletion.
+     */
+    public Mono<Void> delete(String id) {
+        return inTransaction(personneRepository.deleteById(id).then(personneEventRepository.save(PersonneEvent.deleted(id)))).then();
+    }
+
+    /**
+     * Publishes the pending outbox events.
+     * <p>
+     * This is scheduled to get fired every second. A run does not hold the scheduler thread while the broker
+     * acknowledges the events, and is skipped while the previous one is still in progress.
+     */
+    @Scheduled(fixedDelayString = "${application.personne-events.relay-interval:PT1S}")
+    public void relayOutbox() {
+        if (!relaying.compareAndSet(false, true)) {
+            return;
+        }
+        relayOutboxReactively()
+            .doFinally(signal -> relaying.set(false))
+            .subscribe(
+                count -> {
+                    if (count > 0) {
+                        log.debug("Published {} Personne events", count);
+                    }
+                },
+                e -> log.warn("Personne events could not be relayed: {}", e.getMessage())
+            );
+    }
+
+    /**
+     * Publishes one batch of pending outbox events, oldest first, and removes from the outbox the ones acknowledged by
+     * the broker.
+     *
+     * @return the number of published events.
+     */
+    public Mono<Long> relayOutboxReactively() {
+        return personneEventRepository
+            .findAllByOrderByCreatedDateAscIdAsc(PageRequest.of(0, properties.getBatchSize()))
+            .collectList()
+            .flatMap(events -> events.isEmpty() ? Mono.just(0L) : publish(events));
+    }
+
+    private Mono<Long> publish(List<PersonneEvent> events) {
+        return Mono
+            .fromCallable(() -> sendAll(events))
+            // The producer blocks while it fetches the metadata of the topic, or while its buffer is full
+            .subscribeOn(Schedulers.boundedElastic())
+            // Keep the events acknowledged before the first one which is not, so that the events of a personne are
+            // never published out of order: the others stay in the outbox for the next run
+            .flatMapMany(acks -> Flux.concat(acks))
+            .take(properties.getAckTimeout())
+            .collectList()
+            .flatMap(ids -> ids.isEmpty() ? Mono.just(0L) : personneEventRepository.deleteAllById(ids).thenReturn((long) ids.size()))
+            .doFinally(signal -> events.forEach(event -> pendingAcks.remove(event.getId())));
+    }
+
+    /**
+     * Sends the events to the producer, which batches them, without waiting for the broker.
+     *
+     * @return for each event handed to the producer, in order, the acknowledgement of the broker, emitting the id of
+     * the event.
+     */
+    private List<Mono<String>> sendAll(List<PersonneEvent> events) {
+        List<Mono<String>> acks = new ArrayList<>(events.size());
+        for (PersonneEvent event : events) {
+            Sinks.Empty<Void> ack = Sinks.empty();
+            pendingAcks.put(event.getId(), ack);
+            if (!send(event)) {
+                // Stop at the first failure, so that the events of a personne are never published out of order
+                pendingAcks.remove(event.getId());
+                break;
+            }
+            acks.add(ack.asMono().thenReturn(event.getId()));
+        }
+        return acks;
+    }
+
+    private boolean send(PersonneEvent event) {
+        boolean sent;
+        try {
+            sent =
+                output.send(
+                    MessageBuilder
+                        .withPayload(personneEventMapper.toDto(event))
+                        .setHeader(KafkaHeaders.MESSAGE_KEY, event.getPersonneId().getBytes(StandardCharsets.UTF_8))
+                        .setHeader(MessageHeaders.CONTENT_TYPE, MimeTypeUtils.APPLICATION_JSON_VALUE)
+                        .setHeader(EVENT_ID_HEADER, event.getId())
+                        .build()
+                );
+        } catch (MessagingException e) {
+            log.warn("Personne event {} was not accepted by the producer: {}", event.getId(), e.getMessage());
+            sent = false;
+        }
+        if (!sent) {
+            log.warn("Personne event {} could not be published, it will be retried", event.getId());
+        }
+        return sent;
+    }
+
+    /**
+     * Completes the acknowledgement of an event, from the record metadata the binder sends once the broker has
+     * stored the record.
+     */
+    private void acknowledged(Message<?> message) {
+        Object id = message.getHeaders().get(EVENT_ID_HEADER);
+        Sinks.Empty<Void> ack = id == null ? null : pendingAcks.remove(id.toString());
+        if (ack != null) {
+            ack.tryEmitEmpty();
+        }
+    }
+
+    private <T> Mono<T> inTransaction(Mono<T> mono) {
+        return properties.isUseTransactions() ? transactionalOperator.transactional(mono) : mono;
+    }
+}
@@ -1,6 +1,8 @@
 package com.mycompany.myapp.service;
 
 import com.mycompany.myapp.service.dto.PersonneDTO;
+import com.mycompany.myapp.service.dto.SparseFieldset;
+import java.util.Set;
 import org.springframework.data.domain.Pageable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -33,6 +35,15 @@ public interface PersonneService {
      */
     Mono<PersonneDTO> partialUpdate(PersonneDTO personneDTO);
 
+    /**
+     * Partially updates a personne with a JSON merge patch, without reading it.
+     *
+     * @param personneDTO the patched values, with the id and optionally the version the patch is based on.
+     * @param fields the fields present in the patch: the ones with a {@code null} value are removed.
+     * @return the persisted entity, or an empty {@link Mono} if it does not exist.
+     */
+    Mono<PersonneDTO> partialUpdate(PersonneDTO personneDTO, Set<String> fields);
+
     /**
      * Get all the personnes.
      *
@@ -41,6 +52,15 @@ public interface PersonneService {
      */
     Flux<PersonneDTO> findAll(Pageable pageable);
 
+    /**
+     * Get all the personnes, reading only some of their properties.
+     *
+     * @param pageable the pagination information.
+     * @param fieldset the properties to read.
+     * @return the list of entities.
+     */
+    Flux<PersonneDTO> findAll(Pageable pageable, SparseFieldset fieldset);
+
     /**
      * Returns the number of personnes available.
      * @return the number of entities in the database.
@@ -79,4 +99,14 @@ public interface PersonneService {
      * @return the list of entities.
      */
     Flux<PersonneDTO> search(String query, Pageable pageable);
+
+    /**
+     * Search for the personne corresponding to the query, reading only some of their properties.
+     *
+     * @param query the query of the search.
+     * @param pageable the pagination information.
+     * @param fieldset the properties to read.
+     * @return the list of entities.
+     */
+    Flux<PersonneDTO> search(String query, Pageable pageable, SparseFieldset fieldset);
 }
@@ -1,21 +1,38 @@
 package com.mycompany.myapp.service;
 
+import static com.mycompany.myapp.management.ReactorCheckpoints.checkpoint;
+
+import com.mycompany.myapp.config.ApplicationProperties;
 import com.mycompany.myapp.config.Constants;
 import com.mycompany.myapp.domain.Authority;
 import com.mycompany.myapp.domain.User;
-import com.mycompany.myapp.repository.AuthorityRepository;
+import com.mycompany.myapp.management.UserCleanupMetersService;
+import com.mycompany.myapp.repository.ReadFrom;
 import com.mycompany.myapp.repository.UserRepository;
 import com.mycompany.myapp.repository.search.UserSearchRepository;
 import com.mycompany.myapp.security.AuthoritiesConstants;
 import com.mycompany.myapp.security.SecurityUtils;
 import com.mycompany.myapp.service.dto.AdminUserDTO;
+import com.mycompany.myapp.service.dto.SparseFieldset;
 import com.mycompany.myapp.service.dto.UserDTO;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -34,22 +51,34 @@ public class UserService {
 
     private final UserRepository userRepository;
 
+    private final ReactiveMongoTemplate mongoTemplate;
+
     private final PasswordEncoder passwordEncoder;
 
     private final UserSearchRepository userSearchRepository;
 
-    private final AuthorityRepository authorityRepository;
+    private final AuthorityRegistry authorityRegistry;
+
+    private final UserCleanupMetersService userCleanupMetersService;
+
+    private final ApplicationProperties.UserCleanup userCleanupProperties;
 
     public UserService(
         UserRepository userRepository,
+        ReactiveMongoTemplate mongoTemplate,
         PasswordEncoder passwordEncoder,
         UserSearchRepository userSearchRepository,
-        AuthorityRepository authorityRepository
+        AuthorityRegistry authorityRegistry,
+        UserCleanupMetersService userCleanupMetersService,
+        ApplicationProperties applicationProperties
     ) {
         this.userRepository = userRepository;
+        this.mongoTemplate = mongoTemplate;
         this.passwordEncoder = passwordEncoder;
         this.userSearchRepository = userSearchRepository;
-        this.authorityRepository = authorityRepository;
+        this.authorityRegistry = authorityRegistry;
+        this.userCleanupMetersService = userCleanupMetersService;
+        this.userCleanupProperties = applicationProperties.getUserCleanup();
     }
 
     public Mono<User> activateRegistration(String key) {
@@ -63,7 +92,8 @@ public class UserService {
                 return saveUser(user);
             })
             .flatMap(user -> userSearchRepository.save(user).thenReturn(user))
-            .doOnNext(user -> log.debug("Activated user: {}", user));
+            .doOnNext(user -> log.debug("Activated user: {}", user))
+            .transform(publisher -> checkpoint(publisher, "UserService.activateRegistration"));
     }
 
     public Mono<User> completePasswordReset(String newPassword, String key) {
@@ -78,12 +108,13 @@ public class UserService {
                 user.setResetDate(null);
                 return user;
             })
-            .flatMap(this::saveUser);
+            .flatMap(this::saveUser)
+            .transform(publisher -> checkpoint(publisher, "UserService.completePasswordReset"));
     }
 
     public Mono<User> requestPasswordReset(String mail) {
         return userRepository
-            .findOneByEmailIgnoreCase(mail)
+            .findOneByNormalizedEmail(User.normalizeEmail(mail))
             .filter(User::isActivated)
             .publishOn(Schedulers.boundedElastic())
             .map(user -> {
@@ -91,60 +122,69 @@ public class UserService {
                 user.setResetDate(Instant.now());
                 return user;
             })
-            .flatMap(this::saveUser);
+            .flatMap(this::saveUser)
+            .transform(publisher -> checkpoint(publisher, "UserService.requestPasswordReset"));
     }
 
     public Mono<User> registerUser(AdminUserDTO userDTO, String password) {
-        return userRepository
-            .findOneByLogin(userDTO.getLogin().toLowerCase())
-            .flatMap(existingUser -> {
-                if (!existingUser.isActivated()) {
-                    return userRepository.delete(existingUser);
-                } else {
-                    return Mono.error(new UsernameAlreadyUsedException());
-                }
-            })
-            .then(userRepository.findOneByEmailIgnoreCase(userDTO.getEmail()))
-            .flatMap(existingUser -> {
-                if (!existingUser.isActivated()) {
-                    return userRepository.delete(existingUser);
-                } else {
-                    return Mono.error(new EmailAlreadyUsedException());
+        return Mono
+            .fromCallable(() -> {
+                User newUser = new User();
+                String encryptedPassword = passwordEncoder.encode(password);
+                newUser.setLogin(userDTO.getLogin().toLowerCase());
+                // new user gets initially a generated password
+                newUser.setPassword(encryptedPassword);
+                newUser.setFirstName(userDTO.getFirstName());
+                newUser.setLastName(userDTO.getLastName());
+                if (userDTO.getEmail() != null) {
+                    newUser.setEmail(userDTO.getEmail().toLowerCase());
                 }
+                newUser.setImageUrl(userDTO.getImageUrl());
+                newUser.setLangKey(userDTO.getLangKey());
+                // new user is not active
+                newUser.setActivated(false);
+                // new user gets registration key
+                newUser.setActivationKey(RandomUtil.generateActivationKey());
+                return newUser;
             })
-            .publishOn(Schedulers.boundedElastic())
-            .then(
-                Mono.fromCallable(() -> {
-                    User newUser = new User();
-                    String encryptedPassword = passwordEncoder.encode(password);
-                    newUser.setLogin(userDTO.getLogin().toLowerCase());
-                    // new user gets initially a generated password
-                    newUser.setPassword(encryptedPassword);
-                    newUser.setFirstName(userDTO.getFirstName());
-                    newUser.setLastName(userDTO.getLastName());
-                    if (userDTO.getEmail() != null) {
-                        newUser.setEmail(userDTO.getEmail().toLowerCase());
-                    }
-                    newUser.setImageUrl(userDTO.getImageUrl());
-                    newUser.setLangKey(userDTO.getLangKey());
-                    // new user is not active
-                    newUser.setActivated(false);
-                    // new user gets registration key
-                    newUser.setActivationKey(RandomUtil.generateActivationKey());
-                    return newUser;
-                })
-            )
-            .flatMap(newUser -> {
-                Set<Authority> authorities = new HashSet<>();
-                return authorityRepository
+            .subscribeOn(Schedulers.boundedElastic())
+            .flatMap(newUser ->
+                authorityRegistry
                     .findById(AuthoritiesConstants.USER)
-                    .map(authorities::add)
+                    .switchIfEmpty(Mono.error(() -> new IllegalStateException("Authority " + AuthoritiesConstants.USER + " not found")))
+                    .map(Authority::getName)
+                    .doOnNext(newUser.getAuthorities()::add)
                     .thenReturn(newUser)
-                    .doOnNext(user -> user.setAuthorities(authorities))
-                    .flatMap(this::saveUser)
-                    .flatMap(user -> userSearchRepository.save(user).thenReturn(user))
-                    .doOnNext(user -> log.debug("Created Information for User: {}", user));
-            });
+            )
+            .flatMap(this::insertReplacingNotActivatedUser)
+            .flatMap(user -> userSearchRepository.save(user).thenReturn(user))
+            .doOnNext(user -> log.debug("Created Information for User: {}", user))
+            .transform(publisher -> checkpoint(publisher, "UserService.registerUser"));
+    }
+
+    /**
+     * Insert a new user, relying on the unique indexes to detect a login or email already in use.
+     * <p>
+     * A not activated user holding the login or email is deleted, and the insert retried.
+     */
+    private Mono<User> insertReplacingNotActivatedUser(User user) {
+        return saveUser(user)
+            .onErrorResume(
+                e -> e instanceof UsernameAlreadyUsedException || e instanceof EmailAlreadyUsedException,
+                e ->
+                    findConflictingUser(user, e)
+                        .filter(existingUser -> !existingUser.isActivated())
+                        .switchIfEmpty(Mono.error(e))
+                        .flatMap(userRepository::delete)
+                        .then(Mono.defer(() -> insertReplacingNotActivatedUser(user)))
+            );
+    }
+
+    private Mono<User> findConflictingUser(User user, Throwable alreadyUsed) {
+        if (alreadyUsed instanceof UsernameAlreadyUsedException) {
+            return userRepository.findOneByLogin(user.getLogin());
+        }
+        return userRepository.findOneByNormalizedEmail(user.getNormalizedEmail());
     }
 
     public Mono<User> createUser(AdminUserDTO userDTO) {
@@ -163,8 +203,8 @@ public class UserService {
         }
         return Flux
             .fromIterable(userDTO.getAuthorities() != null ? userDTO.getAuthorities() : new HashSet<>())
-            .flatMap(authorityRepository::findById)
-            .doOnNext(authority -> user.getAuthorities().add(authority))
+            .flatMap(authorityRegistry::findById)
+            .doOnNext(authority -> user.getAuthorities().add(authority.getName()))
             .then(Mono.just(user))
             .publishOn(Schedulers.boundedElastic())
             .map(newUser -> {
@@ -177,7 +217,8 @@ public class UserService {
             })
             .flatMap(this::saveUser)
             .flatMap(user1 -> userSearchRepository.save(user1).thenReturn(user1))
-            .doOnNext(user1 -> log.debug("Created Information for User: {}", user1));
+            .doOnNext(user1 -> log.debug("Created Information for User: {}", user1))
+            .transform(publisher -> checkpoint(publisher, "UserService.createUser"));
     }
 
     /**
@@ -187,30 +228,68 @@ public class UserService {
      * @return updated user.
      */
     public Mono<AdminUserDTO> updateUser(AdminUserDTO userDTO) {
-        return userRepository
-            .findById(userDTO.getId())
-            .flatMap(user -> {
-                user.setLogin(userDTO.getLogin().toLowerCase());
-                user.setFirstName(userDTO.getFirstName());
-                user.setLastName(userDTO.getLastName());
+        Mono<Set<String>> authorities = Flux
+            .fromIterable(userDTO.getAuthorities())
+            .flatMap(authorityRegistry::findById)
+            .map(Authority::getName)
+            .collect(Collectors.toSet());
+        return SecurityUtils
+            .getCurrentUserLogin()
+            .switchIfEmpty(Mono.just(Constants.SYSTEM))
+            .zipWith(authorities)
+            .flatMap(loginAndAuthorities -> {
+                Update update = new Update()
+                    .set("login", userDTO.getLogin().toLowerCase())
+                    .set("firstName", userDTO.getFirstName())
+                    .set("lastName", userDTO.getLastName())
+                    .set("imageUrl", userDTO.getImageUrl())
+                    .set("activated", userDTO.isActivated())
+                    .set("langKey", userDTO.getLangKey())
+                    .set("authorities", loginAndAuthorities.getT2())
+                    .set("lastModifiedBy", loginAndAuthorities.getT1())
+                    .set("lastModifiedDate", Instant.now())
+                    .inc(User.VERSION, 1);
+                String normalizedEmail = null;
                 if (userDTO.getEmail() != null) {
-                    user.setEmail(userDTO.getEmail().toLowerCase());
+                    String email = userDTO.getEmail().toLowerCase();
+                    normalizedEmail = User.normalizeEmail(email);
+                    update.set("email", email).set("normalizedEmail", normalizedEmail);
                 }
-                user.setImageUrl(userDTO.getImageUrl());
-                user.setActivated(userDTO.isActivated());
-                user.setLangKey(userDTO.getLangKey());
-                Set<Authority> managedAuthorities = user.getAuthorities();
-                managedAuthorities.clear();
-                return Flux
-                    .fromIterable(userDTO.getAuthorities())
-                    .flatMap(authorityRepository::findById)
-                    .map(managedAuthorities::add)
-                    .then(Mono.just(user));
+                return updateVersioned(userDTO.getId(), userDTO.getVersion(), update)
+                    .onErrorResume(
+                        DuplicateKeyException.class,
+                        alreadyUsedException(userDTO.getId(), userDTO.getLogin().toLowerCase(), normalizedEmail)
+                    );
             })
-            .flatMap(this::saveUser)
             .flatMap(user -> userSearchRepository.save(user).thenReturn(user))
             .doOnNext(user -> log.debug("Changed Information for User: {}", user))
-            .map(AdminUserDTO::new);
+            .map(AdminUserDTO::new)
+            .transform(publisher -> checkpoint(publisher, "UserService.updateUser(AdminUserDTO)"));
+    }
+
+    /**
+     * Update a user without reading it first: the login and email in use are detected by the unique indexes, and a
+     * version carried by the update is checked in the same operation.
+     */
+    private Mono<User> updateVersioned(String id, Long version, Update update) {
+        Query query = new Query(Criteria.where("id").is(id));
+        if (version != null) {
+            query.addCriteria(Criteria.where(User.VERSION).is(version));
+        }
+        return mongoTemplate
+            .findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), User.class)
+            // Only a missed update tells a deleted user from a stale version apart
+            .switchIfEmpty(Mono.defer(() -> version == null ? Mono.empty() : conflictIfExists(id, version)));
+    }
+
+    private Mono<User> conflictIfExists(String id, Long version) {
+        return userRepository
+            .existsById(id)
+            .flatMap(exists ->
+                Boolean.TRUE.equals(exists)
+                    ? Mono.error(new OptimisticLockingFailureException("User " + id + " was updated since version " + version))
+                    : Mono.empty()
+            );
     }
 
     public Mono<Void> deleteUser(String login) {
@@ -219,7 +298,8 @@ public class UserService {
             .flatMap(user -> userRepository.delete(user).thenReturn(user))
             .flatMap(user -> userSearchRepository.delete(user).thenReturn(user))
             .doOnNext(user -> log.debug("Deleted User: {}", user))
-            .then();
+            .then()
+            .transform(publisher -> checkpoint(publisher, "UserService.deleteUser"));
     }
 
     /**
@@ -248,7 +328,8 @@ public class UserService {
             })
             .flatMap(user -> userSearchRepository.save(user).thenReturn(user))
             .doOnNext(user -> log.debug("Changed Information for User: {}", user))
-            .then();
+            .then()
+            .transform(publisher -> checkpoint(publisher, "UserService.updateUser(String...)"));
     }
 
     private Mono<User> saveUser(User user) {
@@ -260,8 +341,37 @@ public class UserService {
                     user.setCreatedBy(login);
                 }
                 user.setLastModifiedBy(login);
+                // Not checked, but the concurrent updates based on the previous version are rejected
+                user.setVersion(user.getVersion() == null ? 0L : user.getVersion() + 1);
                 return userRepository.save(user);
-            });
+            })
+            .onErrorResume(DuplicateKeyException.class, alreadyUsedException(user.getId(), user.getLogin(), user.getNormalizedEmail()));
+    }
+
+    /**
+     * Tell which unique index rejected a write, from the user now holding its login or its email: the message of the
+     * duplicate key errors is not a stable contract of the driver.
+     *
+     * @param id the id of the written user, {@code null} for a new user.
+     * @param login the login of the written user.
+     * @param normalizedEmail the normalized email of the written user, can be {@code null}.
+     * @return the mapping of the error to a {@link UsernameAlreadyUsedException} or an {@link EmailAlreadyUsedException},
+     * or to the error itself if no other user holds the login or the email.
+     */
+    private <T> Function<DuplicateKeyException, Mono<T>> alreadyUsedException(String id, String login, String normalizedEmail) {
+        return e -> {
+            Mono<RuntimeException> loginUsed = userRepository
+                .findOneByLogin(login)
+                .filter(other -> !Objects.equals(other.getId(), id))
+                .map(other -> new UsernameAlreadyUsedException());
+            Mono<RuntimeException> emailUsed = normalizedEmail == null
+                ? Mono.empty()
+                : userRepository
+                    .findOneByNormalizedEmail(normalizedEmail)
+                    .filter(other -> !Objects.equals(other.getId(), id))
+                    .map(other -> new EmailAlreadyUsedException());
+            return loginUsed.switchIfEmpty(emailUsed).defaultIfEmpty(e).flatMap(Mono::error);
+        };
     }
 
     public Mono<Void> changePassword(String currentClearTextPassword, String newPassword) {
@@ -280,15 +390,39 @@ public class UserService {
             })
             .flatMap(this::saveUser)
             .doOnNext(user -> log.debug("Changed password for User: {}", user))
-            .then();
+            .then()
+            .transform(publisher -> checkpoint(publisher, "UserService.changePassword"));
     }
 
-    public Flux<AdminUserDTO> getAllManagedUsers(Pageable pageable) {
-        return userRepository.findAllByIdNotNull(pageable).map(AdminUserDTO::new);
+    /**
+     * Get a page of users, without their credentials and keys.
+     *
+     * @param pageable the pagination information.
+     * @param fieldset the properties to read, only those are fetched from the database when it is sparse.
+     * @return the users.
+     */
+    @ReadFrom("listings")
+    public Flux<AdminUserDTO> getAllManagedUsers(Pageable pageable, SparseFieldset fieldset) {
+        if (!fieldset.isSparse()) {
+            return userRepository
+                .findAllManaged(pageable)
+                .map(AdminUserDTO::new)
+                .transform(publisher -> checkpoint(publisher, "UserService.getAllManagedUsers"));
+        }
+        Query query = new Query().with(pageable);
+        fieldset.getProperties().forEach(query.fields()::include);
+        return mongoTemplate
+            .find(query, User.class)
+            .map(AdminUserDTO::new)
+            .transform(publisher -> checkpoint(publisher, "UserService.getAllManagedUsers"));
     }
 
+    @ReadFrom("listings")
     public Flux<UserDTO> getAllPublicUsers(Pageable pageable) {
-        return userRepository.findAllByIdNotNullAndActivatedIsTrue(pageable).map(UserDTO::new);
+        return userRepository
+            .findAllPublic(pageable)
+            .map(UserDTO::new)
+            .transform(publisher -> checkpoint(publisher, "UserService.getAllPublicUsers"));
     }
 
     public Mono<Long> countManagedUsers() {
@@ -296,29 +430,90 @@ public class UserService {
     }
 
     public Mono<User> getUserWithAuthoritiesByLogin(String login) {
-        return userRepository.findOneByLogin(login);
+        return userRepository
+            .findOneByLogin(login)
+            .transform(publisher -> checkpoint(publisher, "UserService.getUserWithAuthoritiesByLogin"));
     }
 
     public Mono<User> getUserWithAuthorities() {
-        return SecurityUtils.getCurrentUserLogin().flatMap(userRepository::findOneByLogin);
+        return SecurityUtils
+            .getCurrentUserLogin()
+            .flatMap(userRepository::findOneByLogin)
+            .transform(publisher -> checkpoint(publisher, "UserService.getUserWithAuthorities"));
     }
 
     /**
      * Not activated users should be automatically deleted after 3 days.
      * <p>
-     * This is scheduled to get fired everyday, at 01:00 (am).
+     * This is scheduled to get fired everyday, at 01:00 (am). The scheduler thread only starts the cleanup, which
+     * runs for at most {@code application.user-cleanup.time-budget}.
      */
     @Scheduled(cron = "0 0 1 * * ?")
     public void removeNotActivatedUsers() {
-        removeNotActivatedUsersReactively().blockLast();
+        removeNotActivatedUsersReactively()
+            .subscribe(
+                deleted -> log.info("Deleted {} not activated users", deleted),
+                e -> log.error("Could not delete the not activated users", e)
+            );
+    }
+
+    /**
+     * Deletes the users not activated within 3 days, in bulk batches, until none is left or the time budget is spent.
+     *
+     * @return the number of deleted users.
+     */
+    public Mono<Long> removeNotActivatedUsersReactively() {
+        return Mono.defer(() -> {
+            Instant createdBefore = Instant.now().minus(3, ChronoUnit.DAYS);
+            int batchSize = Math.max(1, userCleanupProperties.getBatchSize());
+            long deadline = System.nanoTime() + userCleanupProperties.getTimeBudget().toNanos();
+            AtomicBoolean budgetExhausted = new AtomicBoolean();
+            return removeNotActivatedUsersBatch(createdBefore, batchSize)
+                .expand(deleted -> {
+                    if (deleted < batchSize) {
+                        return Mono.empty();
+                    }
+                    if (System.nanoTime() - deadline >= 0) {
+                        budgetExhausted.set(true);
+                        return Mono.empty();
+                    }
+                    return removeNotActivatedUsersBatch(createdBefore, batchSize);
+                })
+                .reduce(0L, Long::sum)
+                .doOnSuccess(deleted -> {
+                    if (budgetExhausted.get()) {
+                        log.warn("Not activated users cleanup stopped after its time budget, {} users deleted", deleted);
+                        userCleanupMetersService.trackBudgetExhaustedRun();
+                    } else {
+                        userCleanupMetersService.trackCompletedRun();
+                    }
+                })
+                .doOnError(e -> userCleanupMetersService.trackFailedRun());
+        });
     }
 
-    public Flux<User> removeNotActivatedUsersReactively() {
+    private Mono<Long> removeNotActivatedUsersBatch(Instant createdBefore, int batchSize) {
+        long start = System.nanoTime();
         return userRepository
-            .findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(Instant.now().minus(3, ChronoUnit.DAYS))
-            .flatMap(user -> userRepository.delete(user).thenReturn(user))
-            .flatMap(user -> userSearchRepository.delete(user).thenReturn(user))
-            .doOnNext(user -> log.debug("Deleted User: {}", user));
+            .findIdsOfNotActivatedUsersCreatedBefore(createdBefore, PageRequest.of(0, batchSize))
+            .map(User::getId)
+            .collectList()
+            .flatMap(ids -> {
+                if (ids.isEmpty()) {
+                    return Mono.just(0L);
+                }
+                // Elasticsearch first: if it fails, the users are still in MongoDB for the next run to find
+                return userSearchRepository
+                    .deleteAllById(ids)
+                    .then(userRepository.deleteAllById(ids))
+                    .then(
+                        Mono.fromCallable(() -> {
+                            userCleanupMetersService.trackBatch(ids.size(), Duration.ofNanos(System.nanoTime() - start));
+                            log.debug("Deleted {} not activated users", ids.size());
+                            return (long) ids.size();
+                        })
+                    );
+            });
     }
 
     /**
@@ -326,6 +521,6 @@ public class UserService {
      * @return a list of all the authorities.
      */
     public Flux<String> getAuthorities() {
-        return authorityRepository.findAll().map(Authority::getName);
+        return Flux.fromIterable(authorityRegistry.findAll()).map(Authority::getName);
     }
 }
@@ -1,11 +1,10 @@
 package com.mycompany.myapp.service.dto;
 
 import com.mycompany.myapp.config.Constants;
-import com.mycompany.myapp.domain.Authority;
 import com.mycompany.myapp.domain.User;
 import java.time.Instant;
+import java.util.HashSet;
 import java.util.Set;
-import java.util.stream.Collectors;
 import javax.validation.constraints.*;
 
 /**
@@ -48,6 +47,8 @@ public class AdminUserDTO {
 
     private Set<String> authorities;
 
+    private Long version;
+
     public AdminUserDTO() {
         // Empty constructor needed for Jackson.
     }
@@ -65,7 +66,8 @@ public class AdminUserDTO {
         this.createdDate = user.getCreatedDate();
         this.lastModifiedBy = user.getLastModifiedBy();
         this.lastModifiedDate = user.getLastModifiedDate();
-        this.authorities = user.getAuthorities().stream().map(Authority::getName).collect(Collectors.toSet());
+        this.authorities = new HashSet<>(user.getAuthorities());
+        this.version = user.getVersion();
     }
 
     public String getId() {
@@ -172,6 +174,14 @@ public class AdminUserDTO {
         this.authorities = authorities;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     // prettier-ignore
     @Override
     public String toString() {
@@ -0,0 +1,46 @@
+package com.mycompany.myapp.service.dto;
+
+import java.util.Collections;
+import java.util.List;
+import org.springframework.cloud.client.ServiceInstance;
+
+/**
+ * A DTO for a route of the gateway, with the instances of the service it leads to.
+ */
+public class GatewayRouteDTO {
+
+    private String path;
+
+    private String serviceId;
+
+    private List<ServiceInstance> serviceInstances = Collections.emptyList();
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public String getServiceId() {
+        return serviceId;
+    }
+
+    public void setServiceId(String serviceId) {
+        this.serviceId = serviceId;
+    }
+
+    public List<ServiceInstance> getServiceInstances() {
+        return serviceInstances;
+    }
+
+    public void setServiceInstances(List<ServiceInstance> serviceInstances) {
+        this.serviceInstances = serviceInstances;
+    }
+
+    @Override
+    public String toString() {
+        return "GatewayRouteDTO{path='" + path + "', serviceId='" + serviceId + "', serviceInstances=" + serviceInstances.size() + "}";
+    }
+}
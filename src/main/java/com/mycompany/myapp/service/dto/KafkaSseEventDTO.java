@@ -0,0 +1,104 @@
+package com.mycompany.myapp.service.dto;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A DTO for a record consumed from the SSE Kafka topic, identified by its partition and offset.
+ */
+public class KafkaSseEventDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final char ID_SEPARATOR = '-';
+
+    private final int partition;
+
+    private final long offset;
+
+    private final String payload;
+
+    public KafkaSseEventDTO(int partition, long offset, String payload) {
+        this.partition = partition;
+        this.offset = offset;
+        this.payload = payload;
+    }
+
+    public int getPartition() {
+        return partition;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    /**
+     * The event id sent to SSE clients, as {@code <partition>-<offset>}.
+     *
+     * @return the event id.
+     */
+    public String getId() {
+        return formatId(partition, offset);
+    }
+
+    public static String formatId(int partition, long offset) {
+        return String.valueOf(partition) + ID_SEPARATOR + offset;
+    }
+
+    /**
+     * Parse an event id previously built by {@link #formatId(int, long)}.
+     *
+     * @param id the event id, usually coming from the {@code Last-Event-ID} header.
+     * @return a {@code {partition, offset}} pair, or {@code null} if the id is not valid.
+     */
+    public static long[] parseId(String id) {
+        if (id == null) {
+            return null;
+        }
+        int separator = id.indexOf(ID_SEPARATOR);
+        if (separator <= 0 || separator == id.length() - 1) {
+            return null;
+        }
+        try {
+            long partition = Integer.parseInt(id.substring(0, separator));
+            long offset = Long.parseLong(id.substring(separator + 1));
+            if (partition < 0 || offset < 0) {
+                return null;
+            }
+            return new long[] { partition, offset };
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof KafkaSseEventDTO)) {
+            return false;
+        }
+        KafkaSseEventDTO that = (KafkaSseEventDTO) o;
+        return partition == that.partition && offset == that.offset;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(partition, offset);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "KafkaSseEventDTO{" +
+            "partition=" + partition +
+            ", offset=" + offset +
+            ", payload='" + payload + "'" +
+            "}";
+    }
+}
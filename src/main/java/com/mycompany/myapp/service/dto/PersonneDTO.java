@@ -24,6 +24,8 @@ public class PersonneDTO implements Serializable {
     @Max(value = 12)
     private Integer telephone;
 
+    private Long version;
+
     public String getId() {
         return id;
     }
@@ -56,6 +58,14 @@ public class PersonneDTO implements Serializable {
         this.telephone = telephone;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -85,6 +95,7 @@ public class PersonneDTO implements Serializable {
             ", prenom='" + getPrenom() + "'" +
             ", nom='" + getNom() + "'" +
             ", telephone=" + getTelephone() +
+            ", version=" + getVersion() +
             "}";
     }
 }
@@ -0,0 +1,122 @@
+package com.mycompany.myapp.service.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.mycompany.myapp.domain.enumeration.PersonneEventType;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * A DTO for the {@link com.mycompany.myapp.domain.PersonneEvent} published to Kafka.
+ * <p>
+ * The {@code eventId} is stable across redeliveries, so that consumers can deduplicate events.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PersonneEventDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String eventId;
+
+    private PersonneEventType type;
+
+    private Instant timestamp;
+
+    private String id;
+
+    private String prenom;
+
+    private String nom;
+
+    private Integer telephone;
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(String eventId) {
+        this.eventId = eventId;
+    }
+
+    public PersonneEventType getType() {
+        return type;
+    }
+
+    public void setType(PersonneEventType type) {
+        this.type = type;
+    }
+
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(Instant timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getPrenom() {
+        return prenom;
+    }
+
+    public void setPrenom(String prenom) {
+        this.prenom = prenom;
+    }
+
+    public String getNom() {
+        return nom;
+    }
+
+    public void setNom(String nom) {
+        this.nom = nom;
+    }
+
+    public Integer getTelephone() {
+        return telephone;
+    }
+
+    public void setTelephone(Integer telephone) {
+        this.telephone = telephone;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PersonneEventDTO)) {
+            return false;
+        }
+        PersonneEventDTO personneEventDTO = (PersonneEventDTO) o;
+        if (this.eventId == null) {
+            return false;
+        }
+        return Objects.equals(this.eventId, personneEventDTO.eventId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.eventId);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "PersonneEventDTO{" +
+            "eventId='" + getEventId() + "'" +
+            ", type='" + getType() + "'" +
+            ", timestamp='" + getTimestamp() + "'" +
+            ", id='" + getId() + "'" +
+            ", prenom='" + getPrenom() + "'" +
+            ", nom='" + getNom() + "'" +
+            ", telephone=" + getTelephone() +
+            "}";
+    }
+}
@@ -0,0 +1,74 @@
+package com.mycompany.myapp.service.dto;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * The properties requested through the {@code fields} parameter of a list endpoint, as in
+ * {@code GET /api/personnes?fields=nom,prenom}.
+ * <p>
+ * The properties are the ones of the DTO returned by the endpoint, which carry the same names as the entity
+ * properties: they are used as is for the MongoDB projections, the Elasticsearch source filters and the serialization of
+ * the DTOs. The {@code id} is always returned.
+ */
+public final class SparseFieldset {
+
+    public static final String ID = "id";
+
+    private static final SparseFieldset ALL = new SparseFieldset(Collections.emptySet());
+
+    private final Set<String> properties;
+
+    private SparseFieldset(Set<String> properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * @return the fieldset of the whole DTOs.
+     */
+    public static SparseFieldset all() {
+        return ALL;
+    }
+
+    /**
+     * Parse a {@code fields} parameter.
+     *
+     * @param fields the comma-separated properties, {@code null} or blank for the whole DTOs.
+     * @param allowedProperties the properties which can be requested.
+     * @return the fieldset, or an empty {@link Optional} if a property is not allowed.
+     */
+    public static Optional<SparseFieldset> parse(String fields, Collection<String> allowedProperties) {
+        if (fields == null || fields.isBlank()) {
+            return Optional.of(ALL);
+        }
+        Set<String> properties = new LinkedHashSet<>();
+        properties.add(ID);
+        for (String field : fields.split(",")) {
+            String property = field.trim();
+            if (!property.isEmpty()) {
+                if (!allowedProperties.contains(property)) {
+                    return Optional.empty();
+                }
+                properties.add(property);
+            }
+        }
+        return Optional.of(new SparseFieldset(Collections.unmodifiableSet(properties)));
+    }
+
+    /**
+     * @return {@code true} if only some properties were requested.
+     */
+    public boolean isSparse() {
+        return !properties.isEmpty();
+    }
+
+    /**
+     * @return the requested properties, including the {@code id}, or an empty set for the whole DTOs.
+     */
+    public Set<String> getProperties() {
+        return properties;
+    }
+}
@@ -1,16 +1,31 @@
 package com.mycompany.myapp.service.impl;
 
+import static com.mycompany.myapp.management.ReactorCheckpoints.checkpoint;
 import static org.elasticsearch.index.query.QueryBuilders.*;
 
 import com.mycompany.myapp.domain.Personne;
+import com.mycompany.myapp.domain.enumeration.PersonneEventType;
 import com.mycompany.myapp.repository.PersonneRepository;
+import com.mycompany.myapp.repository.ReadFrom;
 import com.mycompany.myapp.repository.search.PersonneSearchRepository;
+import com.mycompany.myapp.service.PersonneEventService;
 import com.mycompany.myapp.service.PersonneService;
 import com.mycompany.myapp.service.dto.PersonneDTO;
+import com.mycompany.myapp.service.dto.SparseFieldset;
 import com.mycompany.myapp.service.mapper.PersonneMapper;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import javax.validation.ConstraintViolation;
+import javax.validation.ConstraintViolationException;
+import javax.validation.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -23,64 +38,137 @@ public class PersonneServiceImpl implements PersonneService {
 
     private final Logger log = LoggerFactory.getLogger(PersonneServiceImpl.class);
 
+    private static final Map<String, Function<PersonneDTO, Object>> PATCHABLE_FIELDS = Map.of(
+        "prenom",
+        PersonneDTO::getPrenom,
+        "nom",
+        PersonneDTO::getNom,
+        "telephone",
+        PersonneDTO::getTelephone
+    );
+
     private final PersonneRepository personneRepository;
 
     private final PersonneMapper personneMapper;
 
     private final PersonneSearchRepository personneSearchRepository;
 
+    private final PersonneEventService personneEventService;
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    private final Validator validator;
+
     public PersonneServiceImpl(
         PersonneRepository personneRepository,
         PersonneMapper personneMapper,
-        PersonneSearchRepository personneSearchRepository
+        PersonneSearchRepository personneSearchRepository,
+        PersonneEventService personneEventService,
+        ReactiveMongoTemplate mongoTemplate,
+        Validator validator
     ) {
         this.personneRepository = personneRepository;
         this.personneMapper = personneMapper;
         this.personneSearchRepository = personneSearchRepository;
+        this.personneEventService = personneEventService;
+        this.mongoTemplate = mongoTemplate;
+        this.validator = validator;
     }
 
     @Override
     public Mono<PersonneDTO> save(PersonneDTO personneDTO) {
         log.debug("Request to save Personne : {}", personneDTO);
-        return personneRepository
-            .save(personneMapper.toEntity(personneDTO))
+        return personneEventService
+            .save(personneMapper.toEntity(personneDTO).version(0L), PersonneEventType.CREATED)
             .flatMap(personneSearchRepository::save)
-            .map(personneMapper::toDto);
+            .map(personneMapper::toDto)
+            .transform(publisher -> checkpoint(publisher, "PersonneService.save"));
     }
 
     @Override
     public Mono<PersonneDTO> update(PersonneDTO personneDTO) {
         log.debug("Request to save Personne : {}", personneDTO);
-        return personneRepository
-            .save(personneMapper.toEntity(personneDTO))
+        Update update = new Update()
+            .set("prenom", personneDTO.getPrenom())
+            .set("nom", personneDTO.getNom())
+            .set("telephone", personneDTO.getTelephone());
+        return personneEventService
+            .update(personneDTO.getId(), personneDTO.getVersion(), update)
             .flatMap(personneSearchRepository::save)
-            .map(personneMapper::toDto);
+            .map(personneMapper::toDto)
+            .transform(publisher -> checkpoint(publisher, "PersonneService.update"));
     }
 
     @Override
     public Mono<PersonneDTO> partialUpdate(PersonneDTO personneDTO) {
-        log.debug("Request to partially update Personne : {}", personneDTO);
+        Set<String> fields = new LinkedHashSet<>();
+        PATCHABLE_FIELDS.forEach((field, getter) -> {
+            if (getter.apply(personneDTO) != null) {
+                fields.add(field);
+            }
+        });
+        return partialUpdate(personneDTO, fields);
+    }
 
-        return personneRepository
-            .findById(personneDTO.getId())
-            .map(existingPersonne -> {
-                personneMapper.partialUpdate(existingPersonne, personneDTO);
-
-                return existingPersonne;
-            })
-            .flatMap(personneRepository::save)
-            .flatMap(savedPersonne -> {
-                personneSearchRepository.save(savedPersonne);
-
-                return Mono.just(savedPersonne);
-            })
-            .map(personneMapper::toDto);
+    @Override
+    public Mono<PersonneDTO> partialUpdate(PersonneDTO personneDTO, Set<String> fields) {
+        log.debug("Request to partially update Personne : {}, fields {}", personneDTO, fields);
+        return Mono
+            .fromCallable(() -> toUpdate(personneDTO, fields))
+            .flatMap(update -> personneEventService.update(personneDTO.getId(), personneDTO.getVersion(), update))
+            .flatMap(personneSearchRepository::save)
+            .map(personneMapper::toDto)
+            .transform(publisher -> checkpoint(publisher, "PersonneService.partialUpdate"));
+    }
+
+    /**
+     * Only the patched fields are validated and written: the document is not read before the update, so the entity
+     * constraints are checked on the patched values themselves.
+     */
+    private Update toUpdate(PersonneDTO personneDTO, Set<String> fields) {
+        Update update = new Update();
+        for (String field : fields) {
+            Function<PersonneDTO, Object> getter = PATCHABLE_FIELDS.get(field);
+            if (getter == null) {
+                throw new IllegalArgumentException("Personne field " + field + " cannot be patched");
+            }
+            Object value = getter.apply(personneDTO);
+            Set<ConstraintViolation<Personne>> violations = validator.validateValue(Personne.class, field, value);
+            if (!violations.isEmpty()) {
+                throw new ConstraintViolationException(violations);
+            }
+            if (value == null) {
+                update.unset(field);
+            } else {
+                update.set(field, value);
+            }
+        }
+        return update;
     }
 
     @Override
+    @ReadFrom("listings")
     public Flux<PersonneDTO> findAll(Pageable pageable) {
         log.debug("Request to get all Personnes");
-        return personneRepository.findAllBy(pageable).map(personneMapper::toDto);
+        return personneRepository
+            .findAllBy(pageable)
+            .map(personneMapper::toDto)
+            .transform(publisher -> checkpoint(publisher, "PersonneService.findAll"));
+    }
+
+    @Override
+    @ReadFrom("listings")
+    public Flux<PersonneDTO> findAll(Pageable pageable, SparseFieldset fieldset) {
+        if (!fieldset.isSparse()) {
+            return findAll(pageable);
+        }
+        log.debug("Request to get all Personnes with the fields {}", fieldset.getProperties());
+        Query query = new Query().with(pageable);
+        fieldset.getProperties().forEach(query.fields()::include);
+        return mongoTemplate
+            .find(query, Personne.class)
+            .map(personneMapper::toDto)
+            .transform(publisher -> checkpoint(publisher, "PersonneService.findAll"));
     }
 
     public Mono<Long> countAll() {
@@ -94,18 +182,39 @@ public class PersonneServiceImpl implements PersonneService {
     @Override
     public Mono<PersonneDTO> findOne(String id) {
         log.debug("Request to get Personne : {}", id);
-        return personneRepository.findById(id).map(personneMapper::toDto);
+        return personneRepository
+            .findById(id)
+            .map(personneMapper::toDto)
+            .transform(publisher -> checkpoint(publisher, "PersonneService.findOne"));
     }
 
     @Override
     public Mono<Void> delete(String id) {
         log.debug("Request to delete Personne : {}", id);
-        return personneRepository.deleteById(id).then(personneSearchRepository.deleteById(id));
+        return personneEventService
+            .delete(id)
+            .then(personneSearchRepository.deleteById(id))
+            .transform(publisher -> checkpoint(publisher, "PersonneService.delete"));
     }
 
     @Override
     public Flux<PersonneDTO> search(String query, Pageable pageable) {
         log.debug("Request to search for a page of Personnes for query {}", query);
-        return personneSearchRepository.search(query, pageable).map(personneMapper::toDto);
+        return personneSearchRepository
+            .search(query, pageable)
+            .map(personneMapper::toDto)
+            .transform(publisher -> checkpoint(publisher, "PersonneService.search"));
+    }
+
+    @Override
+    public Flux<PersonneDTO> search(String query, Pageable pageable, SparseFieldset fieldset) {
+        if (!fieldset.isSparse()) {
+            return search(query, pageable);
+        }
+        log.debug("Request to search for a page of Personnes for query {} with the fields {}", query, fieldset.getProperties());
+        return personneSearchRepository
+            .search(query, pageable, fieldset.getProperties())
+            .map(personneMapper::toDto)
+            .transform(publisher -> checkpoint(publisher, "PersonneService.search"));
     }
 }
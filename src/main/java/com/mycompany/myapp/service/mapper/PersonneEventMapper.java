@@ -0,0 +1,16 @@
+package com.mycompany.myapp.service.mapper;
+
+import com.mycompany.myapp.domain.PersonneEvent;
+import com.mycompany.myapp.service.dto.PersonneEventDTO;
+import org.mapstruct.*;
+
+/**
+ * Mapper for the outbox entity {@link PersonneEvent} and the published {@link PersonneEventDTO}.
+ */
+@Mapper(componentModel = "spring")
+public interface PersonneEventMapper {
+    @Mapping(target = "eventId", source = "id")
+    @Mapping(target = "id", source = "personneId")
+    @Mapping(target = "timestamp", source = "createdDate")
+    PersonneEventDTO toDto(PersonneEvent personneEvent);
+}
@@ -0,0 +1,113 @@
+package com.mycompany.myapp.web.filter;
+
+import static com.mycompany.myapp.management.ReactorCheckpoints.checkpoint;
+
+import com.mycompany.myapp.management.GatewayMetersService;
+import java.net.URI;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Records the latency, by status class, and the request and response body sizes of the routed requests, by route and
+ * by the service instance they were sent to.
+ * <p>
+ * It runs first, so that the latency covers the whole routing, and the instance is read once the load balancer has
+ * picked it. The meters are registered on the first request of each route and instance.
+ */
+@Component
+public class RouteMetricsFilter implements GlobalFilter, Ordered {
+
+    public static final int ORDER = Ordered.HIGHEST_PRECEDENCE + 10;
+
+    private final GatewayMetersService gatewayMetersService;
+
+    public RouteMetricsFilter(GatewayMetersService gatewayMetersService) {
+        this.gatewayMetersService = gatewayMetersService;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (route == null) {
+            return chain.filter(exchange);
+        }
+        long start = System.nanoTime();
+        MeteredRequest request = new MeteredRequest(exchange.getRequest());
+        MeteredResponse response = new MeteredResponse(exchange.getResponse());
+        return chain
+            .filter(exchange.mutate().request(request).response(response).build())
+            .doFinally(signal ->
+                gatewayMetersService
+                    .routeMeters(route.getId(), instance(exchange, route))
+                    .record(response.getRawStatusCode(), System.nanoTime() - start, request.bytes, response.bytes)
+            )
+            .transform(publisher -> checkpoint(publisher, "RouteMetricsFilter"));
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    private static String instance(ServerWebExchange exchange, Route route) {
+        URI requestUrl = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
+        URI uri = requestUrl != null ? requestUrl : route.getUri();
+        String authority = uri.getAuthority();
+        return authority != null ? authority : GatewayMetersService.NONE;
+    }
+
+    /**
+     * Counts the request body bytes read by the routing. The body signals are serialized, and the count is read once
+     * the routing is over.
+     */
+    private static final class MeteredRequest extends ServerHttpRequestDecorator {
+
+        private long bytes;
+
+        MeteredRequest(ServerHttpRequest delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public Flux<DataBuffer> getBody() {
+            return super.getBody().doOnNext(buffer -> bytes += buffer.readableByteCount());
+        }
+    }
+
+    /**
+     * Counts the response body bytes written to the client.
+     */
+    private static final class MeteredResponse extends ServerHttpResponseDecorator {
+
+        private long bytes;
+
+        MeteredResponse(ServerHttpResponse delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            return super.writeWith(Flux.from(body).doOnNext(buffer -> bytes += buffer.readableByteCount()));
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            return super.writeAndFlushWith(
+                Flux.from(body).map(chunk -> Flux.from(chunk).doOnNext(buffer -> bytes += buffer.readableByteCount()))
+            );
+        }
+    }
+}
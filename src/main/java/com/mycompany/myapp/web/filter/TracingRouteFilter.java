@@ -0,0 +1,58 @@
+package com.mycompany.myapp.web.filter;
+
+import com.mycompany.myapp.management.tracing.RequestTracer;
+import com.mycompany.myapp.management.tracing.TraceContext;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Opens the span of the call to the service of a routed request. The span is put in the
+ * {@link TraceContext#EXCHANGE_ATTRIBUTE} exchange attribute, from where the {@code JWTRelay} filter sends it to the
+ * service in the {@code traceparent} header.
+ */
+public class TracingRouteFilter implements GlobalFilter, Ordered {
+
+    public static final String KIND_GATEWAY = "gateway";
+
+    private static final String SPAN_NAME_PREFIX = "route ";
+
+    private final RequestTracer requestTracer;
+
+    public TracingRouteFilter(RequestTracer requestTracer) {
+        this.requestTracer = requestTracer;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        return Mono.deferContextual(context -> {
+            TraceContext parent = context.getOrDefault(TraceContext.CONTEXT_KEY, null);
+            Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+            if (parent == null || route == null) {
+                return chain.filter(exchange);
+            }
+            TraceContext span = parent.child();
+            exchange.getAttributes().put(TraceContext.EXCHANGE_ATTRIBUTE, span);
+            if (!span.isSampled()) {
+                return chain.filter(exchange);
+            }
+            RequestTracer.ActiveSpan activeSpan = requestTracer.start(span, SPAN_NAME_PREFIX + route.getId(), KIND_GATEWAY);
+            return chain
+                .filter(exchange)
+                .doFinally(signal -> {
+                    Integer status = exchange.getResponse().getRawStatusCode();
+                    activeSpan.end(signal == SignalType.ON_ERROR || (status != null && status >= 500));
+                });
+        });
+    }
+
+    @Override
+    public int getOrder() {
+        return RouteMetricsFilter.ORDER + 1;
+    }
+}
@@ -0,0 +1,50 @@
+package com.mycompany.myapp.web.filter;
+
+import com.mycompany.myapp.management.tracing.RequestTracer;
+import com.mycompany.myapp.management.tracing.TraceContext;
+import org.springframework.core.Ordered;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Starts the trace of each request, continuing the one of its {@code traceparent} header if any, and puts its span in
+ * the Reactor context of the request handling.
+ * <p>
+ * It runs before the security filters, so that the span of a sampled request covers its whole handling.
+ */
+public class TracingWebFilter implements WebFilter, Ordered {
+
+    public static final String KIND_SERVER = "server";
+
+    private final RequestTracer requestTracer;
+
+    public TracingWebFilter(RequestTracer requestTracer) {
+        this.requestTracer = requestTracer;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        TraceContext trace = requestTracer.startTrace(request.getHeaders().getFirst(TraceContext.TRACEPARENT_HEADER));
+        Mono<Void> handling = chain.filter(exchange);
+        if (trace.isSampled()) {
+            String name = request.getMethodValue() + ' ' + request.getPath().value();
+            RequestTracer.ActiveSpan span = requestTracer.start(trace, name, KIND_SERVER);
+            handling =
+                handling.doFinally(signal -> {
+                    Integer status = exchange.getResponse().getRawStatusCode();
+                    span.end(signal == SignalType.ON_ERROR || (status != null && status >= 500));
+                });
+        }
+        return handling.contextWrite(context -> context.put(TraceContext.CONTEXT_KEY, trace));
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,125 @@
+package com.mycompany.myapp.web.loadbalancer;
+
+import com.mycompany.myapp.management.LoadBalancerMetersService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The latency, requests in flight and consecutive failures of a service instance.
+ * <p>
+ * The latency is a peak-sensitive exponentially weighted moving average: a sample above it replaces it, so a slowing
+ * instance is penalized at once, and the weight of the past samples decays with the time elapsed. The average also
+ * decays towards zero when the instance gets no traffic, so an instance left aside is tried again.
+ */
+public class InstanceStats implements LoadBalancerMetersService.InstanceScore {
+
+    /**
+     * Score of an instance with requests in flight and no latency yet, above any actual one.
+     */
+    private static final double PENALTY = TimeUnit.SECONDS.toNanos(100);
+
+    private final long decayNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+    private double latency;
+
+    private long lastUpdate;
+
+    private volatile boolean ejected;
+
+    private volatile long ejectedUntil;
+
+    private LoadBalancerMetersService.InstanceMeters meters;
+
+    InstanceStats(long decayNanos) {
+        this.decayNanos = decayNanos;
+    }
+
+    void setMeters(LoadBalancerMetersService.InstanceMeters meters) {
+        this.meters = meters;
+    }
+
+    LoadBalancerMetersService.InstanceMeters getMeters() {
+        return meters;
+    }
+
+    void start() {
+        inFlight.incrementAndGet();
+    }
+
+    void end() {
+        inFlight.decrementAndGet();
+    }
+
+    synchronized void observe(long latencyNanos, long now) {
+        double weight = Math.exp(-Math.max(now - lastUpdate, 0) / (double) decayNanos);
+        lastUpdate = now;
+        latency = latencyNanos > latency ? latencyNanos : latency * weight + latencyNanos * (1 - weight);
+    }
+
+    synchronized double latencyAt(long now) {
+        if (latency == 0) {
+            return 0;
+        }
+        return latency * Math.exp(-Math.max(now - lastUpdate, 0) / (double) decayNanos);
+    }
+
+    /**
+     * @return the score of the instance, the lowest is the best.
+     */
+    double scoreAt(long now) {
+        double latencyNow = latencyAt(now);
+        int pending = inFlight.get();
+        if (latencyNow < 1 && pending > 0) {
+            return PENALTY + pending;
+        }
+        return latencyNow * (pending + 1);
+    }
+
+    /**
+     * @return the number of consecutive failures, this one included.
+     */
+    int failed() {
+        return consecutiveFailures.incrementAndGet();
+    }
+
+    void succeeded() {
+        consecutiveFailures.set(0);
+    }
+
+    void eject(long until) {
+        consecutiveFailures.set(0);
+        ejectedUntil = until;
+        ejected = true;
+    }
+
+    boolean isEjectedAt(long now) {
+        if (ejected && now - ejectedUntil >= 0) {
+            ejected = false;
+        }
+        return ejected;
+    }
+
+    @Override
+    public double getScore() {
+        return scoreAt(System.nanoTime());
+    }
+
+    @Override
+    public double getLatencySeconds() {
+        return latencyAt(System.nanoTime()) / TimeUnit.SECONDS.toNanos(1);
+    }
+
+    @Override
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    @Override
+    public boolean isEjected() {
+        return isEjectedAt(System.nanoTime());
+    }
+}
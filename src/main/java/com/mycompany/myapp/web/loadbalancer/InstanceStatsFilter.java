@@ -0,0 +1,59 @@
+package com.mycompany.myapp.web.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Feeds the {@link InstanceStatsRegistry} with the requests routed to the instance picked by the load balancer: it runs
+ * right after the {@link ReactiveLoadBalancerClientFilter}, so the latency covers the connection and the response from
+ * the instance.
+ * <p>
+ * The requests cancelled by their client only leave the requests in flight, their latency tells nothing of the instance.
+ */
+public class InstanceStatsFilter implements GlobalFilter, Ordered {
+
+    public static final int ORDER = ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER + 1;
+
+    private final InstanceStatsRegistry instanceStatsRegistry;
+
+    public InstanceStatsFilter(InstanceStatsRegistry instanceStatsRegistry) {
+        this.instanceStatsRegistry = instanceStatsRegistry;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Response<ServiceInstance> response = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR);
+        if (response == null || !response.hasServer()) {
+            return chain.filter(exchange);
+        }
+        ServiceInstance instance = response.getServer();
+        InstanceStats stats = instanceStatsRegistry.stats(instance);
+        return Mono.defer(() -> {
+            stats.start();
+            long start = System.nanoTime();
+            return chain
+                .filter(exchange)
+                .doFinally(signal -> {
+                    stats.end();
+                    if (signal != SignalType.CANCEL) {
+                        Integer status = exchange.getResponse().getRawStatusCode();
+                        boolean failed = signal == SignalType.ON_ERROR || (status != null && status >= 500);
+                        instanceStatsRegistry.record(instance, stats, System.nanoTime() - start, failed);
+                    }
+                });
+        });
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+}
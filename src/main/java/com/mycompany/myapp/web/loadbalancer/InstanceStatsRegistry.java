@@ -0,0 +1,125 @@
+package com.mycompany.myapp.web.loadbalancer;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.management.LoadBalancerMetersService;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.client.ServiceInstance;
+
+/**
+ * The {@link InstanceStats} of the instances of each service, fed by the {@link InstanceStatsFilter} and read by the
+ * {@link LatencyAwareLoadBalancer}.
+ * <p>
+ * An instance failing, with an error or a 5xx response, {@code ejection.consecutive-failures} times in a row is
+ * ejected for {@code ejection.duration}, unless {@code ejection.max-ejected-percent} of the instances of its service
+ * are already ejected. The stats of the instances gone from the discovery are dropped.
+ */
+public class InstanceStatsRegistry {
+
+    private final Logger log = LoggerFactory.getLogger(InstanceStatsRegistry.class);
+
+    private final LoadBalancerMetersService loadBalancerMetersService;
+
+    private final long decayNanos;
+
+    private final int consecutiveFailures;
+
+    private final long ejectionNanos;
+
+    private final int maxEjectedPercent;
+
+    private final Map<String, Map<String, InstanceStats>> services = new ConcurrentHashMap<>();
+
+    public InstanceStatsRegistry(ApplicationProperties.LoadBalancer properties, LoadBalancerMetersService loadBalancerMetersService) {
+        this.loadBalancerMetersService = loadBalancerMetersService;
+        this.decayNanos = properties.getDecayTime().toNanos();
+        this.consecutiveFailures = properties.getEjection().getConsecutiveFailures();
+        this.ejectionNanos = properties.getEjection().getDuration().toNanos();
+        this.maxEjectedPercent = properties.getEjection().getMaxEjectedPercent();
+    }
+
+    /**
+     * @param instance a service instance.
+     * @return the stats of the instance, created on its first request.
+     */
+    public InstanceStats stats(ServiceInstance instance) {
+        String serviceId = serviceId(instance);
+        return services
+            .computeIfAbsent(serviceId, id -> new ConcurrentHashMap<>())
+            .computeIfAbsent(
+                instanceId(instance),
+                instanceId -> {
+                    InstanceStats stats = new InstanceStats(decayNanos);
+                    stats.setMeters(loadBalancerMetersService.register(serviceId, instanceId, stats));
+                    return stats;
+                }
+            );
+    }
+
+    /**
+     * Record the outcome of a request.
+     *
+     * @param instance the instance the request was sent to.
+     * @param stats the stats of the instance.
+     * @param latencyNanos the latency of the request.
+     * @param failed {@code true} if the request failed, or its response was a 5xx.
+     */
+    public void record(ServiceInstance instance, InstanceStats stats, long latencyNanos, boolean failed) {
+        long now = System.nanoTime();
+        stats.observe(latencyNanos, now);
+        if (!failed) {
+            stats.succeeded();
+            return;
+        }
+        if (stats.failed() < consecutiveFailures || stats.isEjectedAt(now)) {
+            return;
+        }
+        Map<String, InstanceStats> instances = services.getOrDefault(serviceId(instance), Map.of());
+        long ejected = instances.values().stream().filter(other -> other.isEjectedAt(now)).count();
+        if ((ejected + 1) * 100 > (long) instances.size() * maxEjectedPercent) {
+            log.debug("Instance {} of {} not ejected, too many instances are already ejected", instanceId(instance), serviceId(instance));
+            return;
+        }
+        stats.eject(now + ejectionNanos);
+        stats.getMeters().trackEjection();
+        log.warn("Instance {} of {} ejected after {} consecutive failures", instanceId(instance), serviceId(instance), consecutiveFailures);
+    }
+
+    /**
+     * Drop the stats, and the meters, of the instances of a service which are not discovered anymore.
+     *
+     * @param serviceId the id of the service.
+     * @param instances the instances of the service.
+     */
+    void retain(String serviceId, List<ServiceInstance> instances) {
+        Map<String, InstanceStats> known = services.get(serviceId.toLowerCase(Locale.ROOT));
+        if (known == null || known.size() <= instances.size()) {
+            return;
+        }
+        Set<String> instanceIds = new HashSet<>();
+        instances.forEach(instance -> instanceIds.add(instanceId(instance)));
+        known
+            .entrySet()
+            .removeIf(entry -> {
+                if (instanceIds.contains(entry.getKey())) {
+                    return false;
+                }
+                entry.getValue().getMeters().remove();
+                return true;
+            });
+    }
+
+    private static String serviceId(ServiceInstance instance) {
+        return instance.getServiceId().toLowerCase(Locale.ROOT);
+    }
+
+    private static String instanceId(ServiceInstance instance) {
+        return instance.getInstanceId() != null ? instance.getInstanceId() : instance.getHost() + ":" + instance.getPort();
+    }
+}
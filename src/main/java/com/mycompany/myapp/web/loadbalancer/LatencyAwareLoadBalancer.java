@@ -0,0 +1,112 @@
+package com.mycompany.myapp.web.loadbalancer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.SelectedInstanceCallback;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+/**
+ * Load balancer picking, among two instances drawn at random, the one with the lowest latency times requests in
+ * flight, as kept by the {@link InstanceStatsRegistry}.
+ * <p>
+ * Comparing two random instances, rather than taking the best of all, keeps the instances which just got a good score
+ * from being flooded by all the gateways at once. The ejected instances are left aside, unless all of them are.
+ */
+public class LatencyAwareLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+
+    private final ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider;
+
+    private final String serviceId;
+
+    private final InstanceStatsRegistry instanceStatsRegistry;
+
+    public LatencyAwareLoadBalancer(
+        ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider,
+        String serviceId,
+        InstanceStatsRegistry instanceStatsRegistry
+    ) {
+        this.serviceInstanceListSupplierProvider = serviceInstanceListSupplierProvider;
+        this.serviceId = serviceId;
+        this.instanceStatsRegistry = instanceStatsRegistry;
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = serviceInstanceListSupplierProvider.getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return supplier.get(request).next().map(instances -> response(supplier, instances));
+    }
+
+    private Response<ServiceInstance> response(ServiceInstanceListSupplier supplier, List<ServiceInstance> instances) {
+        ServiceInstance instance = choose(instances);
+        if (instance == null) {
+            return new EmptyResponse();
+        }
+        if (supplier instanceof SelectedInstanceCallback) {
+            ((SelectedInstanceCallback) supplier).selectedServiceInstance(instance);
+        }
+        return new DefaultResponse(instance);
+    }
+
+    ServiceInstance choose(List<ServiceInstance> instances) {
+        if (instances.isEmpty()) {
+            return null;
+        }
+        instanceStatsRegistry.retain(serviceId, instances);
+        if (instances.size() == 1) {
+            return instances.get(0);
+        }
+        long now = System.nanoTime();
+        ServiceInstance chosen = powerOfTwoChoices(instances, now);
+        if (chosen != null) {
+            return chosen;
+        }
+        List<ServiceInstance> available = new ArrayList<>(instances.size());
+        for (ServiceInstance instance : instances) {
+            if (!instanceStatsRegistry.stats(instance).isEjectedAt(now)) {
+                available.add(instance);
+            }
+        }
+        if (available.isEmpty()) {
+            available = instances;
+        }
+        if (available.size() == 1) {
+            return available.get(0);
+        }
+        chosen = powerOfTwoChoices(available, now);
+        return chosen != null ? chosen : available.get(ThreadLocalRandom.current().nextInt(available.size()));
+    }
+
+    /**
+     * @return the best of two distinct random instances, or {@code null} if both are ejected.
+     */
+    private ServiceInstance powerOfTwoChoices(List<ServiceInstance> instances, long now) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(instances.size());
+        int second = random.nextInt(instances.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        InstanceStats firstStats = instanceStatsRegistry.stats(instances.get(first));
+        InstanceStats secondStats = instanceStatsRegistry.stats(instances.get(second));
+        boolean firstEjected = firstStats.isEjectedAt(now);
+        boolean secondEjected = secondStats.isEjectedAt(now);
+        if (firstEjected || secondEjected) {
+            if (firstEjected && secondEjected) {
+                return null;
+            }
+            return instances.get(firstEjected ? second : first);
+        }
+        return firstStats.scoreAt(now) <= secondStats.scoreAt(now) ? instances.get(first) : instances.get(second);
+    }
+}
@@ -1,5 +1,6 @@
 package com.mycompany.myapp.web.rest;
 
+import com.mycompany.myapp.domain.User;
 import com.mycompany.myapp.repository.UserRepository;
 import com.mycompany.myapp.security.SecurityUtils;
 import com.mycompany.myapp.service.MailService;
@@ -119,7 +120,7 @@ public class AccountResource {
             .switchIfEmpty(Mono.error(new AccountResourceException("Current user login not found")))
             .flatMap(userLogin ->
                 userRepository
-                    .findOneByEmailIgnoreCase(userDTO.getEmail())
+                    .findOneByNormalizedEmail(User.normalizeEmail(userDTO.getEmail()))
                     .filter(existingUser -> !existingUser.getLogin().equalsIgnoreCase(userLogin))
                     .hasElement()
                     .flatMap(emailExists -> {
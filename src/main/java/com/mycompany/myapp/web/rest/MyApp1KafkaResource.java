@@ -1,7 +1,11 @@
 package com.mycompany.myapp.web.rest;
 
+import com.mycompany.myapp.config.ApplicationProperties;
 import com.mycompany.myapp.config.KafkaSseConsumer;
 import com.mycompany.myapp.config.KafkaSseProducer;
+import com.mycompany.myapp.service.KafkaSseService;
+import com.mycompany.myapp.service.dto.KafkaSseEventDTO;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -9,6 +13,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.cloud.stream.annotation.StreamListener;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
 import org.springframework.messaging.MessageHeaders;
@@ -17,19 +22,31 @@ import org.springframework.util.MimeTypeUtils;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.publisher.Sinks;
 
 @RestController
 @RequestMapping("/api/my-app-1-kafka")
 public class MyApp1KafkaResource {
 
+    private static final String LAST_EVENT_ID_HEADER = "Last-Event-ID";
+
+    private static final String HEARTBEAT_COMMENT = "heartbeat";
+
     private final Logger log = LoggerFactory.getLogger(MyApp1KafkaResource.class);
 
     private final MessageChannel output;
-    private Sinks.Many<Message<String>> sink = Sinks.many().unicast().onBackpressureBuffer();
 
-    public MyApp1KafkaResource(@Qualifier(KafkaSseProducer.CHANNELNAME) MessageChannel output) {
+    private final KafkaSseService kafkaSseService;
+
+    private final Duration heartbeatInterval;
+
+    public MyApp1KafkaResource(
+        @Qualifier(KafkaSseProducer.CHANNELNAME) MessageChannel output,
+        KafkaSseService kafkaSseService,
+        ApplicationProperties applicationProperties
+    ) {
         this.output = output;
+        this.kafkaSseService = kafkaSseService;
+        this.heartbeatInterval = applicationProperties.getSse().getHeartbeatInterval();
     }
 
     @PostMapping("/publish")
@@ -42,15 +59,35 @@ public class MyApp1KafkaResource {
         return Mono.just(ResponseEntity.noContent().build());
     }
 
+    /**
+     * {@code GET  /consume} : stream the records of the Kafka topic as server-sent events.
+     * <p>
+     * Each event id is {@code <partition>-<offset>}: a client reconnecting with a {@code Last-Event-ID} header
+     * first receives the events it missed, then the live ones. Comment-only heartbeats keep idle connections open.
+     *
+     * @param lastEventId the id of the last event received by the client, if any.
+     * @return the stream of events.
+     */
     @GetMapping("/consume")
-    public Flux<String> consume() {
-        log.debug("REST request to consume records from Kafka topics");
-        return sink.asFlux().map(m -> m.getPayload());
+    public Flux<ServerSentEvent<String>> consume(@RequestHeader(value = LAST_EVENT_ID_HEADER, required = false) String lastEventId) {
+        log.debug("REST request to consume records from Kafka topics, resuming after {}", lastEventId);
+        Flux<ServerSentEvent<String>> events = kafkaSseService.stream(lastEventId).map(this::toServerSentEvent);
+        if (heartbeatInterval.isZero() || heartbeatInterval.isNegative()) {
+            return events;
+        }
+        Flux<ServerSentEvent<String>> heartbeats = Flux
+            .interval(heartbeatInterval)
+            .map(tick -> ServerSentEvent.<String>builder().comment(HEARTBEAT_COMMENT).build());
+        return Flux.merge(events, heartbeats);
     }
 
     @StreamListener(value = KafkaSseConsumer.CHANNELNAME, copyHeaders = "false")
     public void consume(Message<String> message) {
         log.debug("Got message from kafka stream: {}", message.getPayload());
-        sink.emitNext(message, Sinks.EmitFailureHandler.FAIL_FAST);
+        kafkaSseService.onMessage(message);
+    }
+
+    private ServerSentEvent<String> toServerSentEvent(KafkaSseEventDTO event) {
+        return ServerSentEvent.<String>builder().id(event.getId()).data(event.getPayload()).build();
     }
 }
@@ -1,15 +1,20 @@
 package com.mycompany.myapp.web.rest;
 
-import com.mycompany.myapp.repository.PersonneRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.mycompany.myapp.service.PersonneService;
 import com.mycompany.myapp.service.dto.PersonneDTO;
+import com.mycompany.myapp.service.dto.SparseFieldset;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
@@ -24,7 +29,6 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -43,16 +47,24 @@ public class PersonneResource {
 
     private static final String ENTITY_NAME = "personne";
 
+    private static final List<String> ALLOWED_FIELDS = List.of("id", "prenom", "nom", "telephone", "version");
+
+    /** The fields of a merge patch which identify the patched version, instead of being patched. */
+    private static final Set<String> PATCH_METADATA_FIELDS = Set.of("id", "version");
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
     private final PersonneService personneService;
 
-    private final PersonneRepository personneRepository;
+    private final ObjectMapper objectMapper;
+
+    private final SparseJsonWriter sparseJsonWriter;
 
-    public PersonneResource(PersonneService personneService, PersonneRepository personneRepository) {
+    public PersonneResource(PersonneService personneService, ObjectMapper objectMapper) {
         this.personneService = personneService;
-        this.personneRepository = personneRepository;
+        this.objectMapper = objectMapper;
+        this.sparseJsonWriter = new SparseJsonWriter(objectMapper);
     }
 
     /**
@@ -89,6 +101,7 @@ public class PersonneResource {
      * @param personneDTO the personneDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated personneDTO,
      * or with status {@code 400 (Bad Request)} if the personneDTO is not valid,
+     * or with status {@code 409 (Conflict)} if the personne was updated since the version of the personneDTO,
      * or with status {@code 500 (Internal Server Error)} if the personneDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -105,23 +118,15 @@ public class PersonneResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        return personneRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                return personneService
-                    .update(personneDTO)
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(result ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId()))
-                            .body(result)
-                    );
-            });
+        return personneService
+            .update(personneDTO)
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId()))
+                    .body(result)
+            );
     }
 
     /**
@@ -132,10 +137,11 @@ public class PersonneResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated personneDTO,
      * or with status {@code 400 (Bad Request)} if the personneDTO is not valid,
      * or with status {@code 404 (Not Found)} if the personneDTO is not found,
+     * or with status {@code 409 (Conflict)} if the personne was updated since the version of the personneDTO,
      * or with status {@code 500 (Internal Server Error)} if the personneDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
-    @PatchMapping(value = "/personnes/{id}", consumes = { "application/json", "application/merge-patch+json" })
+    @PatchMapping(value = "/personnes/{id}", consumes = "application/json")
     public Mono<ResponseEntity<PersonneDTO>> partialUpdatePersonne(
         @PathVariable(value = "id", required = false) final String id,
         @NotNull @RequestBody PersonneDTO personneDTO
@@ -148,24 +154,67 @@ public class PersonneResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        return personneRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                Mono<PersonneDTO> result = personneService.partialUpdate(personneDTO);
+        return personneService
+            .partialUpdate(personneDTO)
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(res ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId()))
+                    .body(res)
+            );
+    }
 
-                return result
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(res ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId()))
-                            .body(res)
-                    );
+    /**
+     * {@code PATCH  /personnes/:id} : Applies a JSON merge patch to an existing personne: the fields set to {@code null}
+     * are removed, the absent ones are left unchanged. The personne is updated without being read, and only the patched
+     * fields are validated.
+     *
+     * @param id the id of the personne to patch.
+     * @param patch the JSON merge patch, with the id of the personne and optionally the version it is based on.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated personneDTO,
+     * or with status {@code 400 (Bad Request)} if the patch is not valid or the personne is not found,
+     * or with status {@code 409 (Conflict)} if the personne was updated since the version of the patch.
+     */
+    @PatchMapping(value = "/personnes/{id}", consumes = "application/merge-patch+json")
+    public Mono<ResponseEntity<PersonneDTO>> mergePatchPersonne(
+        @PathVariable(value = "id", required = false) final String id,
+        @NotNull @RequestBody ObjectNode patch
+    ) {
+        log.debug("REST request to merge patch Personne : {}, {}", id, patch);
+        PersonneDTO personneDTO;
+        try {
+            personneDTO = objectMapper.treeToValue(patch, PersonneDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new BadRequestAlertException("Invalid patch", ENTITY_NAME, "patchinvalid");
+        }
+        if (personneDTO.getId() == null) {
+            throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
+        }
+        if (!Objects.equals(id, personneDTO.getId())) {
+            throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
+        }
+        Set<String> fields = new LinkedHashSet<>();
+        patch
+            .fieldNames()
+            .forEachRemaining(field -> {
+                if (!PATCH_METADATA_FIELDS.contains(field)) {
+                    fields.add(field);
+                }
             });
+        if (!ALLOWED_FIELDS.containsAll(fields)) {
+            throw new BadRequestAlertException("Unknown field", ENTITY_NAME, "fieldunknown");
+        }
+
+        return personneService
+            .partialUpdate(personneDTO, fields)
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(res ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId()))
+                    .body(res)
+            );
     }
 
     /**
@@ -197,6 +246,48 @@ public class PersonneResource {
             );
     }
 
+    /**
+     * {@code GET  /personnes?fields=:fields} : get some properties of all the personnes, read with a projection.
+     *
+     * @param pageable the pagination information.
+     * @param fields the comma-separated properties to return, the id being always returned.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of personnes in body,
+     * or with status {@code 400 (Bad Request)} if a field is unknown.
+     */
+    @GetMapping(value = "/personnes", params = "fields", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<byte[]>> getAllPersonnesFields(
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        @RequestParam String fields,
+        ServerHttpRequest request
+    ) {
+        log.debug("REST request to get the fields {} of a page of Personnes", fields);
+        Optional<SparseFieldset> parsedFields = SparseFieldset.parse(fields, ALLOWED_FIELDS);
+        if (parsedFields.isEmpty()) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        SparseFieldset fieldset = parsedFields.get();
+        return personneService
+            .countAll()
+            .zipWith(personneService.findAll(pageable, fieldset).collectList())
+            .flatMap(countWithEntities ->
+                Mono
+                    .fromCallable(() -> sparseJsonWriter.write(countWithEntities.getT2(), fieldset))
+                    .map(body ->
+                        ResponseEntity
+                            .ok()
+                            .headers(
+                                PaginationUtil.generatePaginationHttpHeaders(
+                                    UriComponentsBuilder.fromHttpRequest(request),
+                                    new PageImpl<>(countWithEntities.getT2(), pageable, countWithEntities.getT1())
+                                )
+                            )
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .body(body)
+                    )
+            );
+    }
+
     /**
      * {@code GET  /personnes/:id} : get the "id" personne.
      *
@@ -249,4 +340,41 @@ public class PersonneResource {
             .map(page -> PaginationUtil.generatePaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), page))
             .map(headers -> ResponseEntity.ok().headers(headers).body(personneService.search(query, pageable)));
     }
+
+    /**
+     * {@code SEARCH  /_search/personnes?query=:query&fields=:fields} : search for the personne corresponding
+     * to the query, and get some of their properties, read from the search index.
+     *
+     * @param query the query of the personne search.
+     * @param pageable the pagination information.
+     * @param fields the comma-separated properties to return, the id being always returned.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the result of the search, or with status {@code 400 (Bad Request)} if a field is unknown.
+     */
+    @GetMapping(value = "/_search/personnes", params = "fields", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<byte[]>> searchPersonnesFields(
+        @RequestParam String query,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        @RequestParam String fields,
+        ServerHttpRequest request
+    ) {
+        log.debug("REST request to search for the fields {} of a page of Personnes for query {}", fields, query);
+        Optional<SparseFieldset> parsedFields = SparseFieldset.parse(fields, ALLOWED_FIELDS);
+        if (parsedFields.isEmpty()) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        SparseFieldset fieldset = parsedFields.get();
+        return personneService
+            .searchCount()
+            .map(total -> new PageImpl<>(new ArrayList<>(), pageable, total))
+            .map(page -> PaginationUtil.generatePaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), page))
+            .zipWith(personneService.search(query, pageable, fieldset).collectList())
+            .flatMap(headersWithEntities ->
+                Mono
+                    .fromCallable(() -> sparseJsonWriter.write(headersWithEntities.getT2(), fieldset))
+                    .map(body ->
+                        ResponseEntity.ok().headers(headersWithEntities.getT1()).contentType(MediaType.APPLICATION_JSON).body(body)
+                    )
+            );
+    }
 }
@@ -1,18 +1,22 @@
 package com.mycompany.myapp.web.rest;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mycompany.myapp.repository.search.UserSearchRepository;
 import com.mycompany.myapp.service.UserService;
+import com.mycompany.myapp.service.dto.SparseFieldset;
 import com.mycompany.myapp.service.dto.UserDTO;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.*;
@@ -30,14 +34,18 @@ public class PublicUserResource {
         Arrays.asList("id", "login", "firstName", "lastName", "email", "activated", "langKey")
     );
 
+    private static final List<String> ALLOWED_FIELDS = List.of("id", "login");
+
     private final Logger log = LoggerFactory.getLogger(PublicUserResource.class);
 
     private final UserService userService;
     private final UserSearchRepository userSearchRepository;
+    private final SparseJsonWriter sparseJsonWriter;
 
-    public PublicUserResource(UserSearchRepository userSearchRepository, UserService userService) {
+    public PublicUserResource(UserSearchRepository userSearchRepository, UserService userService, ObjectMapper objectMapper) {
         this.userService = userService;
         this.userSearchRepository = userSearchRepository;
+        this.sparseJsonWriter = new SparseJsonWriter(objectMapper);
     }
 
     /**
@@ -64,6 +72,41 @@ public class PublicUserResource {
             .map(headers -> ResponseEntity.ok().headers(headers).body(userService.getAllPublicUsers(pageable)));
     }
 
+    /**
+     * {@code GET /users?fields=:fields} : get some of the public informations of all users - calling this are allowed for
+     * anyone.
+     *
+     * @param request a {@link ServerHttpRequest} request.
+     * @param pageable the pagination information.
+     * @param fields the comma-separated properties to return, the id being always returned.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body all users, or with status
+     * {@code 400 (Bad Request)} if a field is unknown.
+     */
+    @GetMapping(value = "/users", params = "fields", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<byte[]>> getAllPublicUsersFields(
+        ServerHttpRequest request,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        @RequestParam String fields
+    ) {
+        log.debug("REST request to get the fields {} of all public User names", fields);
+        Optional<SparseFieldset> parsedFields = SparseFieldset.parse(fields, ALLOWED_FIELDS);
+        if (!onlyContainsAllowedProperties(pageable) || parsedFields.isEmpty()) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        SparseFieldset fieldset = parsedFields.get();
+
+        return userService
+            .countManagedUsers()
+            .map(total -> new PageImpl<>(new ArrayList<>(), pageable, total))
+            .map(page -> PaginationUtil.generatePaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), page))
+            .zipWith(userService.getAllPublicUsers(pageable).collectList())
+            .flatMap(headersWithUsers ->
+                Mono
+                    .fromCallable(() -> sparseJsonWriter.write(headersWithUsers.getT2(), fieldset))
+                    .map(body -> ResponseEntity.ok().headers(headersWithUsers.getT1()).contentType(MediaType.APPLICATION_JSON).body(body))
+            );
+    }
+
     private boolean onlyContainsAllowedProperties(Pageable pageable) {
         return pageable.getSort().stream().map(Sort.Order::getProperty).allMatch(ALLOWED_ORDERED_PROPERTIES::contains);
     }
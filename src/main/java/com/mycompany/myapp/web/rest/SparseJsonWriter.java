@@ -0,0 +1,40 @@
+package com.mycompany.myapp.web.rest;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.mycompany.myapp.service.dto.SparseFieldset;
+import java.util.List;
+
+/**
+ * Writes the DTOs of a list endpoint restricted to a {@link SparseFieldset}, in a single serialization: the properties
+ * which were not requested are skipped by a Jackson filter, and the DTOs are not converted.
+ */
+final class SparseJsonWriter {
+
+    private static final String FILTER_ID = "sparseFieldset";
+
+    private final ObjectMapper objectMapper;
+
+    SparseJsonWriter(ObjectMapper objectMapper) {
+        // A copy, so that the filter only applies to the sparse responses
+        this.objectMapper = objectMapper.copy().addMixIn(Object.class, SparseFieldsetMixin.class);
+    }
+
+    /**
+     * @param dtos the DTOs, read with the projection of the fieldset.
+     * @param fieldset the requested properties.
+     * @return the JSON array of the DTOs, with only the requested properties.
+     */
+    byte[] write(List<?> dtos, SparseFieldset fieldset) throws JsonProcessingException {
+        SimpleBeanPropertyFilter filter = fieldset.isSparse()
+            ? SimpleBeanPropertyFilter.filterOutAllExcept(fieldset.getProperties())
+            : SimpleBeanPropertyFilter.serializeAll();
+        return objectMapper.writer(new SimpleFilterProvider().addFilter(FILTER_ID, filter)).writeValueAsBytes(dtos);
+    }
+
+    @JsonFilter(FILTER_ID)
+    private interface SparseFieldsetMixin {}
+}
@@ -1,21 +1,21 @@
 package com.mycompany.myapp.web.rest;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mycompany.myapp.config.Constants;
 import com.mycompany.myapp.domain.User;
-import com.mycompany.myapp.repository.UserRepository;
 import com.mycompany.myapp.security.AuthoritiesConstants;
 import com.mycompany.myapp.service.MailService;
 import com.mycompany.myapp.service.UserService;
 import com.mycompany.myapp.service.dto.AdminUserDTO;
+import com.mycompany.myapp.service.dto.SparseFieldset;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
-import com.mycompany.myapp.web.rest.errors.EmailAlreadyUsedException;
-import com.mycompany.myapp.web.rest.errors.LoginAlreadyUsedException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import javax.validation.Valid;
 import javax.validation.constraints.Pattern;
 import org.slf4j.Logger;
@@ -25,6 +25,7 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -80,6 +81,23 @@ public class UserResource {
         )
     );
 
+    private static final List<String> ALLOWED_FIELDS = List.of(
+        "id",
+        "login",
+        "firstName",
+        "lastName",
+        "email",
+        "imageUrl",
+        "activated",
+        "langKey",
+        "createdBy",
+        "createdDate",
+        "lastModifiedBy",
+        "lastModifiedDate",
+        "authorities",
+        "version"
+    );
+
     private final Logger log = LoggerFactory.getLogger(UserResource.class);
 
     @Value("${jhipster.clientApp.name}")
@@ -87,14 +105,14 @@ public class UserResource {
 
     private final UserService userService;
 
-    private final UserRepository userRepository;
-
     private final MailService mailService;
 
-    public UserResource(UserService userService, UserRepository userRepository, MailService mailService) {
+    private final SparseJsonWriter sparseJsonWriter;
+
+    public UserResource(UserService userService, MailService mailService, ObjectMapper objectMapper) {
         this.userService = userService;
-        this.userRepository = userRepository;
         this.mailService = mailService;
+        this.sparseJsonWriter = new SparseJsonWriter(objectMapper);
     }
 
     /**
@@ -117,22 +135,9 @@ public class UserResource {
             throw new BadRequestAlertException("A new user cannot already have an ID", "userManagement", "idexists");
             // Lowercase the user login before comparing with database
         }
-        return userRepository
-            .findOneByLogin(userDTO.getLogin().toLowerCase())
-            .hasElement()
-            .flatMap(loginExists -> {
-                if (Boolean.TRUE.equals(loginExists)) {
-                    return Mono.error(new LoginAlreadyUsedException());
-                }
-                return userRepository.findOneByEmailIgnoreCase(userDTO.getEmail());
-            })
-            .hasElement()
-            .flatMap(emailExists -> {
-                if (Boolean.TRUE.equals(emailExists)) {
-                    return Mono.error(new EmailAlreadyUsedException());
-                }
-                return userService.createUser(userDTO);
-            })
+        // The unique indexes reject a login or email already in use
+        return userService
+            .createUser(userDTO)
             .doOnSuccess(mailService::sendCreationEmail)
             .map(user -> {
                 try {
@@ -151,31 +156,15 @@ public class UserResource {
      *
      * @param userDTO the user to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated user.
-     * @throws EmailAlreadyUsedException {@code 400 (Bad Request)} if the email is already in use.
-     * @throws LoginAlreadyUsedException {@code 400 (Bad Request)} if the login is already in use.
+     * The status is {@code 400 (Bad Request)} if the email or the login is already in use, and {@code 409 (Conflict)} if
+     * the user was updated since the version of the userDTO.
      */
     @PutMapping("/users")
     @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
     public Mono<ResponseEntity<AdminUserDTO>> updateUser(@Valid @RequestBody AdminUserDTO userDTO) {
         log.debug("REST request to update User : {}", userDTO);
-        return userRepository
-            .findOneByEmailIgnoreCase(userDTO.getEmail())
-            .filter(user -> !user.getId().equals(userDTO.getId()))
-            .hasElement()
-            .flatMap(emailExists -> {
-                if (Boolean.TRUE.equals(emailExists)) {
-                    return Mono.error(new EmailAlreadyUsedException());
-                }
-                return userRepository.findOneByLogin(userDTO.getLogin().toLowerCase());
-            })
-            .filter(user -> !user.getId().equals(userDTO.getId()))
-            .hasElement()
-            .flatMap(loginExists -> {
-                if (Boolean.TRUE.equals(loginExists)) {
-                    return Mono.error(new LoginAlreadyUsedException());
-                }
-                return userService.updateUser(userDTO);
-            })
+        return userService
+            .updateUser(userDTO)
             .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
             .map(user ->
                 ResponseEntity
@@ -207,7 +196,43 @@ public class UserResource {
             .countManagedUsers()
             .map(total -> new PageImpl<>(new ArrayList<>(), pageable, total))
             .map(page -> PaginationUtil.generatePaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), page))
-            .map(headers -> ResponseEntity.ok().headers(headers).body(userService.getAllManagedUsers(pageable)));
+            .map(headers -> ResponseEntity.ok().headers(headers).body(userService.getAllManagedUsers(pageable, SparseFieldset.all())));
+    }
+
+    /**
+     * {@code GET /admin/users?fields=:fields} : get some properties of all users, read with a projection - calling this are
+     * only allowed for the administrators.
+     *
+     * @param request a {@link ServerHttpRequest} request.
+     * @param pageable the pagination information.
+     * @param fields the comma-separated properties to return, the id being always returned.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body all users, or with status
+     * {@code 400 (Bad Request)} if a field is unknown.
+     */
+    @GetMapping(value = "/users", params = "fields", produces = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public Mono<ResponseEntity<byte[]>> getAllUsersFields(
+        @org.springdoc.api.annotations.ParameterObject ServerHttpRequest request,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        @RequestParam String fields
+    ) {
+        log.debug("REST request to get the fields {} of all User for an admin", fields);
+        Optional<SparseFieldset> parsedFields = SparseFieldset.parse(fields, ALLOWED_FIELDS);
+        if (!onlyContainsAllowedProperties(pageable) || parsedFields.isEmpty()) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        SparseFieldset fieldset = parsedFields.get();
+
+        return userService
+            .countManagedUsers()
+            .map(total -> new PageImpl<>(new ArrayList<>(), pageable, total))
+            .map(page -> PaginationUtil.generatePaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), page))
+            .zipWith(userService.getAllManagedUsers(pageable, fieldset).collectList())
+            .flatMap(headersWithUsers ->
+                Mono
+                    .fromCallable(() -> sparseJsonWriter.write(headersWithUsers.getT2(), fieldset))
+                    .map(body -> ResponseEntity.ok().headers(headersWithUsers.getT1()).contentType(MediaType.APPLICATION_JSON).body(body))
+            );
     }
 
     private boolean onlyContainsAllowedProperties(Pageable pageable) {
@@ -1,5 +1,6 @@
 package com.mycompany.myapp.web.rest.vm;
 
+import com.mycompany.myapp.service.dto.GatewayRouteDTO;
 import java.util.List;
 import org.springframework.cloud.client.ServiceInstance;
 
@@ -14,6 +15,16 @@ public class RouteVM {
 
     private List<ServiceInstance> serviceInstances;
 
+    public RouteVM() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public RouteVM(GatewayRouteDTO route) {
+        this.path = route.getPath();
+        this.serviceId = route.getServiceId();
+        this.serviceInstances = route.getServiceInstances();
+    }
+
     public String getPath() {
         return path;
     }
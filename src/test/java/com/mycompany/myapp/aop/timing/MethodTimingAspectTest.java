@@ -0,0 +1,166 @@
+package com.mycompany.myapp.aop.timing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.myapp.management.MethodTimingMetersService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Test class for the {@link MethodTimingAspect}.
+ */
+class MethodTimingAspectTest {
+
+    private MeterRegistry meterRegistry;
+
+    private MethodTimingAspect methodTimingAspect;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        methodTimingAspect = new MethodTimingAspect(new MethodTimingMetersService(meterRegistry));
+    }
+
+    @Test
+    void testMonoIsTimedFromSubscription() throws Throwable {
+        Mono<?> result = (Mono<?>) methodTimingAspect.time(joinPoint("find", Mono.delay(Duration.ofMillis(50))));
+
+        Timer timer = timer("find", MethodTimingMetersService.OUTCOME_SUCCESS);
+        assertThat(timer.count()).isZero();
+
+        result.block();
+
+        assertThat(timer.count()).isEqualTo(1);
+        assertThat(timer.totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(50);
+    }
+
+    @Test
+    void testFluxIsTimedPerSubscription() throws Throwable {
+        Flux<?> result = (Flux<?>) methodTimingAspect.time(joinPoint("findAll", Flux.just(1, 2, 3)));
+
+        assertThat(result.collectList().block()).hasSize(3);
+        assertThat(result.take(1).collectList().block()).hasSize(1);
+
+        assertThat(timer("findAll", MethodTimingMetersService.OUTCOME_SUCCESS).count()).isEqualTo(1);
+        assertThat(timer("findAll", MethodTimingMetersService.OUTCOME_CANCELLED).count()).isEqualTo(1);
+    }
+
+    @Test
+    void testErrorsAreTimedAsErrors() throws Throwable {
+        Mono<?> result = (Mono<?>) methodTimingAspect.time(joinPoint("save", Mono.error(new IllegalStateException())));
+
+        assertThatThrownBy(result::block).isInstanceOf(IllegalStateException.class);
+
+        ProceedingJoinPoint throwing = joinPoint("delete", null);
+        when(throwing.proceed()).thenThrow(new IllegalArgumentException());
+        assertThatThrownBy(() -> methodTimingAspect.time(throwing)).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(timer("save", MethodTimingMetersService.OUTCOME_ERROR).count()).isEqualTo(1);
+        assertThat(timer("delete", MethodTimingMetersService.OUTCOME_ERROR).count()).isEqualTo(1);
+    }
+
+    @Test
+    void testInheritedMethodsAreTimedPerRepository() throws Throwable {
+        Method count = TimedRepository.class.getMethod("count");
+        ((Mono<?>) methodTimingAspect.time(joinPoint(proxy(FirstRepository.class), count, Mono.just(1L)))).block();
+        ((Mono<?>) methodTimingAspect.time(joinPoint(proxy(SecondRepository.class), count, Mono.just(2L)))).block();
+        ((Mono<?>) methodTimingAspect.time(joinPoint(proxy(SecondRepository.class), count, Mono.just(2L)))).block();
+
+        assertThat(timer("FirstRepository", "count", MethodTimingMetersService.OUTCOME_SUCCESS).count()).isEqualTo(1);
+        assertThat(timer("SecondRepository", "count", MethodTimingMetersService.OUTCOME_SUCCESS).count()).isEqualTo(2);
+    }
+
+    @Test
+    void testClassesAreTaggedWithTheirUserClass() throws Throwable {
+        Method find = TimedService.class.getMethod("find");
+        ((Mono<?>) methodTimingAspect.time(joinPoint(new DefaultTimedService(), find, Mono.just(1L)))).block();
+
+        assertThat(timer("DefaultTimedService", "find", MethodTimingMetersService.OUTCOME_SUCCESS).count()).isEqualTo(1);
+    }
+
+    private Timer timer(String method, String outcome) {
+        return timer("TimedService", method, outcome);
+    }
+
+    private Timer timer(String className, String method, String outcome) {
+        return meterRegistry
+            .get(MethodTimingMetersService.EXECUTION_METER_NAME)
+            .tag(MethodTimingMetersService.EXECUTION_METER_CLASS_DIMENSION, className)
+            .tag(MethodTimingMetersService.EXECUTION_METER_METHOD_DIMENSION, method)
+            .tag(MethodTimingMetersService.EXECUTION_METER_OUTCOME_DIMENSION, outcome)
+            .timer();
+    }
+
+    private static ProceedingJoinPoint joinPoint(String method, Object result) throws Throwable {
+        return joinPoint(proxy(TimedService.class), TimedService.class.getMethod(method), result);
+    }
+
+    private static ProceedingJoinPoint joinPoint(Object target, Method method, Object result) throws Throwable {
+        MethodSignature signature = mock(MethodSignature.class);
+        when(signature.getMethod()).thenReturn(method);
+        when(signature.getDeclaringType()).thenReturn(method.getDeclaringClass());
+        ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(joinPoint.getTarget()).thenReturn(target);
+        when(joinPoint.proceed()).thenReturn(result);
+        return joinPoint;
+    }
+
+    private static <T> T proxy(Class<T> type) {
+        return ProxyFactory.getProxy(type, (MethodInterceptor) invocation -> null);
+    }
+
+    public interface TimedService {
+        Mono<Long> find();
+
+        Flux<Integer> findAll();
+
+        Mono<Void> save();
+
+        void delete();
+    }
+
+    public static class DefaultTimedService implements TimedService {
+
+        @Override
+        public Mono<Long> find() {
+            return Mono.empty();
+        }
+
+        @Override
+        public Flux<Integer> findAll() {
+            return Flux.empty();
+        }
+
+        @Override
+        public Mono<Void> save() {
+            return Mono.empty();
+        }
+
+        @Override
+        public void delete() {}
+    }
+
+    public interface TimedRepository {
+        Mono<Long> count();
+    }
+
+    public interface FirstRepository extends TimedRepository {}
+
+    public interface SecondRepository extends TimedRepository {}
+}
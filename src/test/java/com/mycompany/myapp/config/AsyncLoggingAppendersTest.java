@@ -0,0 +1,160 @@
+package com.mycompany.myapp.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.myapp.management.LoggingMetersService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import net.logstash.logback.appender.LoggingEventAsyncDisruptorAppender;
+import net.logstash.logback.appender.listener.TcpAppenderListener;
+import net.logstash.logback.encoder.LogstashEncoder;
+import org.junit.jupiter.api.Test;
+import tech.jhipster.config.JHipsterProperties;
+
+class AsyncLoggingAppendersTest {
+
+    private static final Map<String, String> CUSTOM_FIELDS = Map.of("app_name", "gateway", "app_port", "8080");
+
+    @Test
+    void testEncoderWritesThePreEncodedFields() throws Exception {
+        LoggerContext context = new LoggerContext();
+        LogstashEncoder encoder = AsyncLoggingAppenders.logstashEncoder(context, CUSTOM_FIELDS);
+        encoder.start();
+        Logger logger = context.getLogger(AsyncLoggingAppendersTest.class);
+
+        byte[] encoded = encoder.encode(
+            new LoggingEvent(Logger.class.getName(), logger, Level.INFO, "Hello \"{}\"", null, new Object[] { "gateway" })
+        );
+
+        JsonNode json = new ObjectMapper().readTree(encoded);
+        assertThat(json.get("message").asText()).isEqualTo("Hello \"gateway\"");
+        assertThat(json.get("app_name").asText()).isEqualTo("gateway");
+        assertThat(json.get("app_port").asText()).isEqualTo("8080");
+    }
+
+    @Test
+    void testEventsAreDroppedAndCountedWhenTheRingBufferIsFull() {
+        LoggerContext context = new LoggerContext();
+        context.start();
+        CountDownLatch released = new CountDownLatch(1);
+        OutputStreamAppender<ILoggingEvent> console = new OutputStreamAppender<>();
+        console.setContext(context);
+        console.setName("CONSOLE");
+        LogstashEncoder encoder = AsyncLoggingAppenders.logstashEncoder(context, CUSTOM_FIELDS);
+        encoder.start();
+        console.setEncoder(encoder);
+        console.setOutputStream(new BlockingOutputStream(released));
+        console.start();
+        Logger rootLogger = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        rootLogger.addAppender(console);
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ApplicationProperties.AsyncLogging properties = new ApplicationProperties.AsyncLogging();
+        properties.setRingBufferSize(16);
+        AsyncLoggingAppenders.addAsyncConsoleAppender(
+            context,
+            CUSTOM_FIELDS,
+            false,
+            properties,
+            new LoggingMetersService(meterRegistry).droppedEventsListener()
+        );
+        assertThat(rootLogger.getAppender("CONSOLE")).isNull();
+        assertThat(rootLogger.getAppender(AsyncLoggingAppenders.ASYNC_CONSOLE_APPENDER_NAME)).isNotNull();
+
+        try {
+            Logger logger = context.getLogger(AsyncLoggingAppendersTest.class);
+            for (int i = 0; i < 100; i++) {
+                logger.info("Event {}", i);
+            }
+
+            Counter dropped = meterRegistry
+                .get(LoggingMetersService.DROPPED_METER_NAME)
+                .tag(LoggingMetersService.DROPPED_METER_APPENDER_DIMENSION, AsyncLoggingAppenders.ASYNC_CONSOLE_APPENDER_NAME)
+                .counter();
+            // The writing thread is blocked on the first event, at most the size of the ring buffer is kept
+            assertThat(dropped.count()).isGreaterThanOrEqualTo(100 - 1 - 16);
+        } finally {
+            released.countDown();
+            context.stop();
+        }
+    }
+
+    @Test
+    void testContextResetAddsTheAppendersOfTheLatestConfiguration() {
+        LoggerContext context = new LoggerContext();
+        context.start();
+        OutputStreamAppender<ILoggingEvent> console = new OutputStreamAppender<>();
+        console.setContext(context);
+        console.setName("CONSOLE");
+        LogstashEncoder encoder = AsyncLoggingAppenders.logstashEncoder(context, CUSTOM_FIELDS);
+        encoder.start();
+        console.setEncoder(encoder);
+        console.setOutputStream(OutputStream.nullOutputStream());
+        console.start();
+        Logger rootLogger = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        rootLogger.addAppender(console);
+
+        JHipsterProperties.Logging loggingProperties = new JHipsterProperties().getLogging();
+        loggingProperties.setUseJsonFormat(true);
+        ApplicationProperties.AsyncLogging initial = new ApplicationProperties.AsyncLogging();
+        initial.setRingBufferSize(1024);
+        ApplicationProperties.AsyncLogging refreshed = new ApplicationProperties.AsyncLogging();
+        refreshed.setRingBufferSize(2048);
+        TcpAppenderListener<ILoggingEvent> listener = new LoggingMetersService(new SimpleMeterRegistry()).droppedEventsListener();
+        try {
+            AsyncLoggingAppenders.configure(context, CUSTOM_FIELDS, loggingProperties, initial, listener);
+            // Replaced by the JSON console appender
+            assertThat(console.isStarted()).isFalse();
+
+            AsyncLoggingAppenders.configure(context, CUSTOM_FIELDS, loggingProperties, refreshed, listener);
+            context.reset();
+
+            Appender<ILoggingEvent> asyncConsole = rootLogger.getAppender(AsyncLoggingAppenders.ASYNC_CONSOLE_APPENDER_NAME);
+            assertThat(asyncConsole).isInstanceOf(LoggingEventAsyncDisruptorAppender.class);
+            assertThat(((LoggingEventAsyncDisruptorAppender) asyncConsole).getRingBufferSize()).isEqualTo(2048);
+        } finally {
+            context.stop();
+        }
+    }
+
+    private static final class BlockingOutputStream extends OutputStream {
+
+        private final CountDownLatch released;
+
+        BlockingOutputStream(CountDownLatch released) {
+            this.released = released;
+        }
+
+        @Override
+        public void write(int b) {
+            await();
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            if (len > 0) {
+                await();
+            }
+        }
+
+        private void await() {
+            try {
+                released.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.mycompany.myapp.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Modifier;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import reactor.blockhound.BlockingMethod;
+
+class BlockingCallsDetectorTest {
+
+    private static final BlockingMethod SLEEP = new BlockingMethod("java/lang/Thread", "sleep", Modifier.PUBLIC | Modifier.STATIC);
+
+    private final List<String> calls = new ArrayList<>();
+
+    @Test
+    void testCallsAreCountedAndLoggedOncePerInterval() {
+        BlockingCallsDetector detector = new BlockingCallsDetector(
+            Duration.ofHours(1),
+            (method, caller) -> calls.add(method + " " + caller)
+        );
+
+        assertThat(detector.report(SLEEP)).isTrue();
+        assertThat(detector.report(SLEEP)).isFalse();
+
+        String caller = BlockingCallsDetectorTest.class.getName() + ".testCallsAreCountedAndLoggedOncePerInterval";
+        assertThat(calls).containsExactly("java.lang.Thread.sleep " + caller, "java.lang.Thread.sleep " + caller);
+    }
+
+    @Test
+    void testCallSitesAreLoggedSeparately() {
+        BlockingCallsDetector detector = new BlockingCallsDetector(Duration.ofHours(1), (method, caller) -> calls.add(caller));
+
+        assertThat(detector.report(SLEEP)).isTrue();
+        assertThat(reportFromAnotherCaller(detector)).isTrue();
+
+        assertThat(calls)
+            .containsExactly(
+                BlockingCallsDetectorTest.class.getName() + ".testCallSitesAreLoggedSeparately",
+                BlockingCallsDetectorTest.class.getName() + ".reportFromAnotherCaller"
+            );
+    }
+
+    @Test
+    void testCallsAreLoggedAgainAfterTheInterval() {
+        BlockingCallsDetector detector = new BlockingCallsDetector(Duration.ZERO, (method, caller) -> calls.add(caller));
+
+        assertThat(detector.report(SLEEP)).isTrue();
+        assertThat(detector.report(SLEEP)).isTrue();
+    }
+
+    private boolean reportFromAnotherCaller(BlockingCallsDetector detector) {
+        return detector.report(SLEEP);
+    }
+}
@@ -0,0 +1,82 @@
+package com.mycompany.myapp.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mongodb.ReadConcern;
+import com.mongodb.ReadPreference;
+import com.mongodb.reactivestreams.client.MongoDatabase;
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.management.MongoReadMetersService;
+import com.mycompany.myapp.repository.ReadFrom;
+import com.mycompany.myapp.service.UserService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.ReactiveMongoDatabaseFactory;
+import reactor.util.context.Context;
+
+/**
+ * Integration tests for {@link ReadRoutingMongoDatabaseFactory}, run against the single node replica set of the tests.
+ */
+@IntegrationTest
+class ReadRoutingMongoDatabaseFactoryIT {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @Autowired
+    private ReactiveMongoDatabaseFactory databaseFactory;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testRouteIsAppliedFromTheContext() {
+        MongoDatabase routed = databaseFactory
+            .getMongoDatabase()
+            .contextWrite(Context.of(ReadFrom.CONTEXT_KEY, "listings"))
+            .block(TIMEOUT);
+
+        assertThat(routed.getReadPreference()).isEqualTo(ReadPreference.secondaryPreferred(90, TimeUnit.SECONDS));
+        assertThat(routed.getReadConcern()).isEqualTo(ReadConcern.LOCAL);
+    }
+
+    @Test
+    void testReadsWithoutRouteUseThePrimary() {
+        MongoDatabase database = databaseFactory.getMongoDatabase().block(TIMEOUT);
+
+        assertThat(database.getReadPreference()).isEqualTo(ReadPreference.primary());
+    }
+
+    @Test
+    void testAnnotatedReadsAreRoutedAndCounted() {
+        double before = readsCount();
+
+        userService.getAllPublicUsers(PageRequest.of(0, 1)).collectList().block(TIMEOUT);
+
+        assertThat(readsCount()).isGreaterThan(before);
+        assertThat(
+            meterRegistry
+                .get(MongoReadMetersService.READS_METER_NAME)
+                .tag(MongoReadMetersService.READS_METER_ROUTE_DIMENSION, "listings")
+                .counter()
+                .getId()
+                .getTag(MongoReadMetersService.READS_METER_READ_PREFERENCE_DIMENSION)
+        )
+            .isEqualTo("secondaryPreferred");
+    }
+
+    private double readsCount() {
+        Counter counter = meterRegistry
+            .find(MongoReadMetersService.READS_METER_NAME)
+            .tag(MongoReadMetersService.READS_METER_ROUTE_DIMENSION, "listings")
+            .counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
@@ -0,0 +1,100 @@
+package com.mycompany.myapp.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mycompany.myapp.management.VirtualThreadMetersService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+
+class VirtualThreadSupportTest {
+
+    @Test
+    void testThreadFactoryMatchesJvmSupport() {
+        ThreadFactory threadFactory = VirtualThreadSupport.threadFactory("test-virtual-");
+        assertThat(threadFactory != null).isEqualTo(VirtualThreadSupport.isSupported());
+        if (threadFactory != null) {
+            Thread thread = threadFactory.newThread(() -> {});
+            assertThat(VirtualThreadSupport.isVirtual(thread)).isTrue();
+            assertThat(thread.getName()).isEqualTo("test-virtual-0");
+        }
+        assertThat(VirtualThreadSupport.isVirtual(Thread.currentThread())).isFalse();
+    }
+
+    @Test
+    void testBoundedExecutorHonoursItsCaps() throws Exception {
+        ThreadFactory threadFactory = VirtualThreadSupport.threadFactory("test-virtual-");
+        if (threadFactory == null) {
+            threadFactory = Thread::new;
+        }
+        ExecutorService executor = VirtualThreadSupport.newBoundedExecutor(threadFactory, 1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            Future<?> running = executor.submit(() -> {
+                release.await();
+                return null;
+            });
+            Future<String> queued = executor.submit(() -> "done");
+
+            assertThatThrownBy(() -> executor.submit(() -> "rejected")).isInstanceOf(RejectedExecutionException.class);
+            assertThat(queued.isDone()).isFalse();
+
+            release.countDown();
+            running.get(5, TimeUnit.SECONDS);
+            assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("done");
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testBoundedExecutorStartsAThreadPerTask() throws Exception {
+        ExecutorService executor = VirtualThreadSupport.newBoundedExecutor(Thread::new, 1, 1);
+        try {
+            Thread first = executor.submit(Thread::currentThread).get(5, TimeUnit.SECONDS);
+            Thread second = executor.submit(Thread::currentThread).get(5, TimeUnit.SECONDS);
+            assertThat(second).isNotSameAs(first);
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void testInstrumentedThreadFactoryPublishesMetrics() throws Exception {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        VirtualThreadMetersService metersService = new VirtualThreadMetersService(meterRegistry);
+        ThreadFactory threadFactory = metersService.instrument("test", Thread::new);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean ran = new AtomicBoolean();
+
+        Thread thread = threadFactory.newThread(() -> {
+            running.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            ran.set(true);
+        });
+        thread.start();
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(meterRegistry.get(VirtualThreadMetersService.ACTIVE_METER_NAME).tag("name", "test").gauge().value()).isEqualTo(1);
+
+        release.countDown();
+        thread.join(5000);
+        assertThat(ran).isTrue();
+        assertThat(meterRegistry.get(VirtualThreadMetersService.STARTED_METER_NAME).tag("name", "test").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(VirtualThreadMetersService.ACTIVE_METER_NAME).tag("name", "test").gauge().value()).isZero();
+    }
+}
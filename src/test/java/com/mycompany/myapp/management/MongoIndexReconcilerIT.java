@@ -0,0 +1,93 @@
+package com.mycompany.myapp.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.IntegrationTest;
+import java.time.Duration;
+import java.util.List;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Mono;
+
+/**
+ * Integration tests for {@link MongoIndexRequirements} and {@link MongoIndexReconciler}.
+ */
+@IntegrationTest
+class MongoIndexReconcilerIT {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    @Autowired
+    private MongoIndexReconciler mongoIndexReconciler;
+
+    @Autowired
+    private MongoIndexRequirements mongoIndexRequirements;
+
+    @Autowired
+    private ReactiveMongoTemplate mongoTemplate;
+
+    @Test
+    void testIndexesAreDerivedFromRepositoryQueries() {
+        assertThat(mongoIndexRequirements.getRequirements())
+            .anySatisfy(requirement -> {
+                assertThat(requirement.getCollection()).isEqualTo("jhi_user");
+                assertThat(requirement.getKeys()).isEqualTo(new Document("activation_key", 1));
+                assertThat(requirement.getSources()).containsExactly("UserRepository.findOneByActivationKey");
+            })
+            .anySatisfy(requirement -> {
+                assertThat(requirement.getKeys()).isEqualTo(new Document("email_normalized", 1));
+                assertThat(requirement.isDerived()).isFalse();
+                assertThat(requirement.getSources()).contains("UserRepository.findOneByNormalizedEmail");
+            })
+            .anySatisfy(requirement -> {
+                assertThat(requirement.getCollection()).isEqualTo("personne");
+                assertThat(requirement.getKeys()).isEqualTo(new Document("nom", 1).append("prenom", 1));
+            })
+            // Served by the _id index
+            .noneSatisfy(requirement -> assertThat(requirement.getSources()).contains("UserRepository.findAllByIdNotNull"));
+    }
+
+    @Test
+    void testQueryCoveredByCompoundIndexIsNotDerivedTwice() {
+        assertThat(mongoIndexRequirements.getRequirements())
+            .filteredOn(requirement ->
+                requirement.getSources().contains("UserRepository.findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore")
+            )
+            .singleElement()
+            .satisfies(requirement -> assertThat(requirement.isDerived()).isFalse());
+    }
+
+    @Test
+    void testMissingIndexesAreReportedThenCreated() {
+        mongoTemplate.indexOps("jhi_user").dropIndex("reset_key_1").onErrorResume(e -> Mono.empty()).block(TIMEOUT);
+
+        List<MongoIndexReconciler.IndexStatus> before = mongoIndexReconciler.status().block(TIMEOUT);
+        assertThat(before)
+            .filteredOn(status -> status.getRequirement().getKeys().equals(new Document("reset_key", 1)))
+            .singleElement()
+            .satisfies(status -> assertThat(status.getState()).isEqualTo(MongoIndexReconciler.STATE_MISSING));
+
+        List<MongoIndexReconciler.IndexStatus> reconciled = mongoIndexReconciler.reconcile().block(TIMEOUT);
+        assertThat(reconciled)
+            .extracting(MongoIndexReconciler.IndexStatus::getState)
+            .doesNotContain(MongoIndexReconciler.STATE_MISSING, MongoIndexReconciler.STATE_FAILED);
+
+        assertThat(mongoIndexReconciler.status().block(TIMEOUT))
+            .extracting(MongoIndexReconciler.IndexStatus::getState)
+            .containsOnly(MongoIndexReconciler.STATE_PRESENT);
+    }
+
+    @Test
+    void testQueryPlansUseTheIndexes() {
+        mongoIndexReconciler.reconcile().block(TIMEOUT);
+
+        assertThat(mongoIndexReconciler.queryPlans().block(TIMEOUT))
+            .isNotEmpty()
+            .allSatisfy(plan -> {
+                assertThat(plan.getError()).isNull();
+                assertThat(plan.isCollectionScan()).as("%s", plan.getSources()).isFalse();
+            });
+    }
+}
@@ -0,0 +1,37 @@
+package com.mycompany.myapp.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Arrays;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class ReactorCheckpointsTest {
+
+    @AfterEach
+    void disableCheckpoints() {
+        ReactorCheckpoints.setEnabled(false);
+    }
+
+    @Test
+    void testPublishersAreUnchangedWhenDisabled() {
+        Mono<String> mono = Mono.just("value");
+        Flux<String> flux = Flux.just("value");
+
+        assertThat(ReactorCheckpoints.checkpoint(mono, "PersonneService.findOne")).isSameAs(mono);
+        assertThat(ReactorCheckpoints.checkpoint(flux, "PersonneService.findAll")).isSameAs(flux);
+    }
+
+    @Test
+    void testErrorsListTheCheckpointsWhenEnabled() {
+        ReactorCheckpoints.setEnabled(true);
+        Mono<String> mono = ReactorCheckpoints.checkpoint(Mono.error(new IllegalStateException("boom")), "PersonneService.findOne");
+
+        assertThatThrownBy(mono::block)
+            .isInstanceOf(IllegalStateException.class)
+            .satisfies(e -> assertThat(Arrays.toString(e.getSuppressed())).contains("PersonneService.findOne"));
+    }
+}
@@ -0,0 +1,105 @@
+package com.mycompany.myapp.management.tracing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+/**
+ * Test class for the {@link RequestTracer}.
+ */
+class RequestTracerTest {
+
+    private SpanRingBuffer spans;
+
+    private RequestTracer requestTracer;
+
+    @BeforeEach
+    public void setup() {
+        spans = new SpanRingBuffer(4);
+        requestTracer = new RequestTracer(new TraceSampler(1), spans, Clock.systemUTC());
+    }
+
+    @Test
+    void testSpansAreNestedThroughTheContext() {
+        TraceContext trace = TraceContext.newTrace(true);
+
+        Mono<Long> inner = requestTracer.trace("PersonneRepository.count", "mongodb", Mono.just(3L));
+        requestTracer
+            .trace("PersonneService.count", "service", Mono.defer(() -> inner))
+            .contextWrite(Context.of(TraceContext.CONTEXT_KEY, trace))
+            .block();
+
+        List<SpanRecord> recorded = spans.getSpans();
+        assertThat(recorded).extracting(SpanRecord::getName).containsExactly("PersonneRepository.count", "PersonneService.count");
+        assertThat(recorded).extracting(SpanRecord::getTraceId).containsOnly(trace.getTraceId());
+        assertThat(recorded.get(1).getParentSpanId()).isEqualTo(trace.getSpanId());
+        assertThat(recorded.get(0).getParentSpanId()).isEqualTo(recorded.get(1).getSpanId());
+    }
+
+    @Test
+    void testErrorsAreRecorded() {
+        Flux<Object> error = Flux.error(new IllegalStateException());
+        Flux<Object> failing = requestTracer.trace("PersonneSearchRepository.search", "elasticsearch", error);
+
+        failing
+            .contextWrite(Context.of(TraceContext.CONTEXT_KEY, TraceContext.newTrace(true)))
+            .onErrorResume(e -> Flux.empty())
+            .blockLast();
+
+        assertThat(spans.getSpans()).singleElement().matches(SpanRecord::isError);
+    }
+
+    @Test
+    void testUnsampledOrUntracedCallsRecordNothing() {
+        requestTracer.trace("PersonneRepository.count", "mongodb", Mono.just(3L)).block();
+        requestTracer
+            .trace("PersonneRepository.count", "mongodb", Mono.just(3L))
+            .contextWrite(Context.of(TraceContext.CONTEXT_KEY, TraceContext.newTrace(false)))
+            .block();
+
+        assertThat(spans.getSpans()).isEmpty();
+    }
+
+    @Test
+    void testNewTracesAreSampledUpToTheRate() {
+        int sampled = 0;
+        for (int i = 0; i < 10; i++) {
+            sampled += requestTracer.startTrace(null).isSampled() ? 1 : 0;
+        }
+
+        // One trace per second, the calls spanning two seconds at worst
+        assertThat(sampled).isBetween(1, 2);
+    }
+
+    @Test
+    void testRemoteSampledFlagDoesNotBypassTheRate() {
+        String traceparent = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+        int sampled = 0;
+        for (int i = 0; i < 10; i++) {
+            TraceContext trace = requestTracer.startTrace(traceparent);
+            assertThat(trace.getTraceId()).isEqualTo("4bf92f3577b34da6a3ce929d0e0e4736");
+            assertThat(trace.getParentSpanId()).isEqualTo("00f067aa0ba902b7");
+            sampled += trace.isSampled() ? 1 : 0;
+        }
+
+        assertThat(sampled).isBetween(1, 2);
+        assertThat(requestTracer.startTrace("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-00").isSampled()).isFalse();
+    }
+
+    @Test
+    void testRingBufferKeepsTheLastSpans() {
+        TraceContext trace = TraceContext.newTrace(true);
+        for (int i = 0; i < 6; i++) {
+            requestTracer.start(trace.child(), "span" + i, "test").end(false);
+        }
+
+        assertThat(spans.getSpans()).extracting(SpanRecord::getName).containsExactly("span2", "span3", "span4", "span5");
+        assertThat(spans.getWritten()).isEqualTo(6);
+    }
+}
@@ -0,0 +1,56 @@
+package com.mycompany.myapp.management.tracing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link TraceContext}.
+ */
+class TraceContextTest {
+
+    private static final String TRACEPARENT = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+
+    @Test
+    void testTraceparentIsContinued() {
+        TraceContext remote = TraceContext.parse(TRACEPARENT);
+
+        assertThat(remote.getTraceId()).isEqualTo("4bf92f3577b34da6a3ce929d0e0e4736");
+        assertThat(remote.getSpanId()).isEqualTo("00f067aa0ba902b7");
+        assertThat(remote.isSampled()).isTrue();
+        assertThat(remote.toTraceparent()).isEqualTo(TRACEPARENT);
+
+        TraceContext child = remote.child();
+        assertThat(child.getTraceId()).isEqualTo(remote.getTraceId());
+        assertThat(child.getParentSpanId()).isEqualTo(remote.getSpanId());
+        assertThat(child.getSpanId()).hasSize(16).isNotEqualTo(remote.getSpanId());
+        assertThat(TraceContext.parse(child.toTraceparent()).getSpanId()).isEqualTo(child.getSpanId());
+    }
+
+    @Test
+    void testSamplingDecisionIsPropagated() {
+        TraceContext notSampled = TraceContext.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-00");
+
+        assertThat(notSampled.isSampled()).isFalse();
+        assertThat(notSampled.child().isSampled()).isFalse();
+        assertThat(TraceContext.newTrace(false).toTraceparent()).endsWith("-00");
+    }
+
+    @Test
+    void testInvalidTraceparentIsIgnored() {
+        assertThat(TraceContext.parse(null)).isNull();
+        assertThat(TraceContext.parse("")).isNull();
+        assertThat(TraceContext.parse("01-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01")).isNull();
+        assertThat(TraceContext.parse("00-4BF92F3577B34DA6A3CE929D0E0E4736-00f067aa0ba902b7-01")).isNull();
+        assertThat(TraceContext.parse("00-4bf92f3577b34da6a3ce929d0e0e4736_00f067aa0ba902b7-01")).isNull();
+    }
+
+    @Test
+    void testNewTraceHasValidIdentifiers() {
+        TraceContext trace = TraceContext.newTrace(true);
+
+        assertThat(trace.getTraceId()).hasSize(32).matches("[0-9a-f]+");
+        assertThat(trace.getParentSpanId()).isNull();
+        assertThat(TraceContext.parse(trace.toTraceparent()).getTraceId()).isEqualTo(trace.getTraceId());
+    }
+}
@@ -96,6 +96,17 @@ class DomainUserDetailsServiceIT {
         assertThat(userDetails.getUsername()).isEqualTo(USER_TWO_LOGIN);
     }
 
+    @Test
+    void assertThatUserWithMixedCaseEmailCanBeFoundByEmail() {
+        User user = userRepository.findOneByLogin(USER_TWO_LOGIN).block();
+        user.setEmail("Test-User-Two@LocalHost");
+        userRepository.save(user).block();
+
+        UserDetails userDetails = domainUserDetailsService.findByUsername(USER_TWO_EMAIL).block();
+        assertThat(userDetails).isNotNull();
+        assertThat(userDetails.getUsername()).isEqualTo(USER_TWO_LOGIN);
+    }
+
     @Test
     void assertThatEmailIsPrioritizedOverLogin() {
         UserDetails userDetails = domainUserDetailsService.findByUsername(USER_ONE_EMAIL).block();
@@ -0,0 +1,35 @@
+package com.mycompany.myapp.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+
+/**
+ * Test class for the {@link GrantedAuthorities} utility class.
+ */
+class GrantedAuthoritiesUnitTest {
+
+    @Test
+    void testAuthorityIsSharedPerName() {
+        GrantedAuthority authority = GrantedAuthorities.of(AuthoritiesConstants.ADMIN);
+
+        assertThat(authority.getAuthority()).isEqualTo(AuthoritiesConstants.ADMIN);
+        assertThat(GrantedAuthorities.of(AuthoritiesConstants.ADMIN)).isSameAs(authority);
+        assertThat(GrantedAuthorities.of(List.of(AuthoritiesConstants.ADMIN, AuthoritiesConstants.USER)))
+            .containsExactly(authority, GrantedAuthorities.of(AuthoritiesConstants.USER));
+    }
+
+    @Test
+    void testClaimIsParsedOnce() {
+        List<GrantedAuthority> authorities = GrantedAuthorities.fromClaim("ROLE_ADMIN,,ROLE_USER");
+
+        assertThat(authorities)
+            .extracting(GrantedAuthority::getAuthority)
+            .containsExactly(AuthoritiesConstants.ADMIN, AuthoritiesConstants.USER);
+        assertThat(authorities.get(0)).isSameAs(GrantedAuthorities.of(AuthoritiesConstants.ADMIN));
+        assertThat(GrantedAuthorities.fromClaim("ROLE_ADMIN,,ROLE_USER")).isSameAs(authorities);
+        assertThat(GrantedAuthorities.fromClaim("")).isEmpty();
+    }
+}
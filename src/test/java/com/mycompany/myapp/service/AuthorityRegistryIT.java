@@ -0,0 +1,92 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.Authority;
+import com.mycompany.myapp.repository.AuthorityRepository;
+import com.mycompany.myapp.security.AuthoritiesConstants;
+import java.time.Duration;
+import java.util.Collection;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import reactor.core.publisher.Mono;
+
+/**
+ * Integration tests for {@link AuthorityRegistry}.
+ */
+@IntegrationTest
+class AuthorityRegistryIT {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private static final String TEST_AUTHORITY = "ROLE_TEST";
+
+    @Autowired
+    private AuthorityRegistry authorityRegistry;
+
+    @Autowired
+    private AuthorityRepository authorityRepository;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @AfterEach
+    public void cleanup() {
+        authorityRepository.deleteById(TEST_AUTHORITY).block(TIMEOUT);
+        authorityRegistry.refresh().block(TIMEOUT);
+    }
+
+    @Test
+    void testAuthoritiesAreLoadedAtStartup() {
+        // The authorities are loaded in the background once the application is ready
+        Collection<Authority> loaded = Mono
+            .fromCallable(authorityRegistry::findAll)
+            .filter(authorities -> !authorities.isEmpty())
+            .repeatWhenEmpty(repeat -> repeat.delayElements(Duration.ofMillis(50)).take(100))
+            .block(TIMEOUT);
+        assertThat(loaded)
+            .extracting(Authority::getName)
+            .containsExactly(AuthoritiesConstants.ADMIN, AuthoritiesConstants.USER);
+        assertThat(authorityRegistry.findById(AuthoritiesConstants.USER).block()).isNotNull();
+        assertThat(authorityRegistry.findById(TEST_AUTHORITY).blockOptional()).isEmpty();
+    }
+
+    @Test
+    void testAuthoritiesNotLoadedYetAreReadFromTheDatabase() {
+        AuthorityRegistry notLoaded = new AuthorityRegistry(authorityRepository, applicationProperties);
+
+        assertThat(notLoaded.findAll()).isEmpty();
+        assertThat(notLoaded.findById(AuthoritiesConstants.USER).block(TIMEOUT)).isNotNull();
+        assertThat(notLoaded.findById(TEST_AUTHORITY).blockOptional(TIMEOUT)).isEmpty();
+    }
+
+    @Test
+    void testSavedAuthorityIsServedAfterTheRefresh() {
+        Authority authority = new Authority();
+        authority.setName(TEST_AUTHORITY);
+        authorityRepository.save(authority).block(TIMEOUT);
+
+        // The save triggers a refresh in the background
+        Authority found = Mono
+            .defer(() -> authorityRegistry.findById(TEST_AUTHORITY))
+            .repeatWhenEmpty(repeat -> repeat.delayElements(Duration.ofMillis(50)).take(100))
+            .block(TIMEOUT);
+        assertThat(found).isEqualTo(authority);
+    }
+
+    @Test
+    void testRefreshDropsDeletedAuthority() {
+        Authority authority = new Authority();
+        authority.setName(TEST_AUTHORITY);
+        authorityRepository.save(authority).block(TIMEOUT);
+        authorityRegistry.refresh().block(TIMEOUT);
+
+        authorityRepository.deleteById(TEST_AUTHORITY).block(TIMEOUT);
+        authorityRegistry.refresh().block(TIMEOUT);
+
+        assertThat(authorityRegistry.findById(TEST_AUTHORITY).blockOptional()).isEmpty();
+    }
+}
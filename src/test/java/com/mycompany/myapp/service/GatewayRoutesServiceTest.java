@@ -0,0 +1,82 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.myapp.service.dto.GatewayRouteDTO;
+import java.net.URI;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
+import org.springframework.cloud.client.discovery.event.HeartbeatEvent;
+import org.springframework.cloud.gateway.event.RefreshRoutesEvent;
+import org.springframework.cloud.gateway.handler.predicate.PredicateDefinition;
+import org.springframework.cloud.gateway.route.RouteDefinition;
+import org.springframework.cloud.gateway.route.RouteDefinitionLocator;
+import org.springframework.cloud.gateway.route.RouteRefreshListener;
+import reactor.core.publisher.Flux;
+
+class GatewayRoutesServiceTest {
+
+    private ReactiveDiscoveryClient discoveryClient;
+
+    private GatewayRoutesService gatewayRoutesService;
+
+    @BeforeEach
+    public void setup() {
+        RouteDefinitionLocator routeDefinitionLocator = mock(RouteDefinitionLocator.class);
+        when(routeDefinitionLocator.getRouteDefinitions()).thenReturn(Flux.just(routeDefinition("myservice"), routeDefinition("gateway")));
+        discoveryClient = mock(ReactiveDiscoveryClient.class);
+        when(discoveryClient.getInstances("myservice"))
+            .thenReturn(Flux.just(new DefaultServiceInstance("myservice-1", "myservice", "localhost", 8081, false)));
+        gatewayRoutesService = new GatewayRoutesService(routeDefinitionLocator, discoveryClient, "gateway");
+    }
+
+    @Test
+    void testRoutesAreBuiltOnceFromTheReactiveDiscoveryClient() {
+        List<GatewayRouteDTO> routes = gatewayRoutesService.getRoutes().block();
+        gatewayRoutesService.getRoutes().block();
+
+        assertThat(routes).hasSize(1);
+        assertThat(routes.get(0).getServiceId()).isEqualTo("myservice");
+        assertThat(routes.get(0).getPath()).isEqualTo("/services/myservice/**");
+        assertThat(routes.get(0).getServiceInstances()).extracting("instanceId").containsExactly("myservice-1");
+        verify(discoveryClient, times(1)).getInstances("myservice");
+    }
+
+    @Test
+    void testRoutesAreBuiltAgainAfterARegistryChange() {
+        gatewayRoutesService.getRoutes().block();
+
+        gatewayRoutesService.onHeartbeat(new HeartbeatEvent(this, 1L));
+        gatewayRoutesService.getRoutes().block();
+
+        verify(discoveryClient, times(2)).getInstances("myservice");
+    }
+
+    @Test
+    void testRoutesRefreshedAfterAHeartbeatAreNotBuiltAgain() {
+        gatewayRoutesService.getRoutes().block();
+
+        gatewayRoutesService.onRefreshRoutes(new RefreshRoutesEvent(mock(RouteRefreshListener.class)));
+        gatewayRoutesService.getRoutes().block();
+        verify(discoveryClient, times(1)).getInstances("myservice");
+
+        gatewayRoutesService.onRefreshRoutes(new RefreshRoutesEvent(this));
+        gatewayRoutesService.getRoutes().block();
+        verify(discoveryClient, times(2)).getInstances("myservice");
+    }
+
+    private static RouteDefinition routeDefinition(String serviceId) {
+        RouteDefinition definition = new RouteDefinition();
+        definition.setId("ReactiveCompositeDiscoveryClient_" + serviceId.toUpperCase());
+        definition.setUri(URI.create("lb://" + serviceId));
+        definition.setPredicates(List.of(new PredicateDefinition("Path=/services/" + serviceId + "/**")));
+        return definition;
+    }
+}
@@ -0,0 +1,102 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.service.dto.KafkaSseEventDTO;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.stream.binder.kafka.properties.KafkaBinderConfigurationProperties;
+import org.springframework.cloud.stream.config.BindingServiceProperties;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.support.GenericMessage;
+import reactor.test.StepVerifier;
+
+class KafkaSseServiceTest {
+
+    private KafkaSseService kafkaSseService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getSse().setHistorySize(4);
+        kafkaSseService =
+            new KafkaSseService(
+                applicationProperties,
+                mock(BindingServiceProperties.class),
+                (ObjectProvider<KafkaBinderConfigurationProperties>) mock(ObjectProvider.class)
+            );
+    }
+
+    @Test
+    void testEventIdRoundTrip() {
+        KafkaSseEventDTO event = new KafkaSseEventDTO(3, 42L, "value");
+        assertThat(event.getId()).isEqualTo("3-42");
+        assertThat(KafkaSseEventDTO.parseId(event.getId())).containsExactly(3L, 42L);
+        assertThat(KafkaSseEventDTO.parseId("not-an-id")).isNull();
+        assertThat(KafkaSseEventDTO.parseId("-1")).isNull();
+        assertThat(KafkaSseEventDTO.parseId(null)).isNull();
+    }
+
+    @Test
+    void testLiveStreamOutlivesItsSubscribers() {
+        StepVerifier
+            .create(kafkaSseService.stream(null).map(KafkaSseEventDTO::getId))
+            .then(() -> kafkaSseService.onMessage(message(0, 0)))
+            .expectNext("0-0")
+            .thenCancel()
+            .verify(Duration.ofSeconds(5));
+
+        // Events pushed while nobody listens are not replayed to the next live client
+        kafkaSseService.onMessage(message(0, 1));
+
+        StepVerifier
+            .create(kafkaSseService.stream(null).map(KafkaSseEventDTO::getId))
+            .then(() -> kafkaSseService.onMessage(message(0, 2)))
+            .expectNext("0-2")
+            .thenCancel()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void testResumeFromHistoryThenLive() {
+        for (long offset = 0; offset < 5; offset++) {
+            kafkaSseService.onMessage(message(0, offset));
+        }
+
+        StepVerifier
+            .create(kafkaSseService.stream("0-2").map(KafkaSseEventDTO::getId))
+            .expectNext("0-3", "0-4")
+            .then(() -> kafkaSseService.onMessage(message(0, 5)))
+            .expectNext("0-5")
+            .thenCancel()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void testResumeBeyondHistoryWithoutBrokerOnlyServesHistory() {
+        for (long offset = 0; offset < 10; offset++) {
+            kafkaSseService.onMessage(message(0, offset));
+        }
+
+        // Only the last 4 events are kept, and there is no broker to read the older ones back from
+        List<String> ids = kafkaSseService.stream("0-1").map(KafkaSseEventDTO::getId).take(4).collectList().block(Duration.ofSeconds(5));
+        assertThat(ids).containsExactly("0-6", "0-7", "0-8", "0-9");
+    }
+
+    private Message<String> message(int partition, long offset) {
+        Map<String, Object> headers = new HashMap<>();
+        headers.put(KafkaHeaders.RECEIVED_PARTITION_ID, partition);
+        headers.put(KafkaHeaders.OFFSET, offset);
+        return new GenericMessage<>("value-" + offset, new MessageHeaders(headers));
+    }
+}
@@ -0,0 +1,304 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.MailMessage;
+import com.mycompany.myapp.management.MailMetersService;
+import com.mycompany.myapp.repository.MailMessageRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Properties;
+import javax.mail.Multipart;
+import javax.mail.Session;
+import javax.mail.internet.MimeBodyPart;
+import javax.mail.internet.MimeMessage;
+import javax.mail.internet.MimeMultipart;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Integration tests for {@link MailDispatchService}, against a local SMTP server.
+ */
+@IntegrationTest
+class MailDispatchServiceIT {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    @Autowired
+    private MailMessageRepository mailMessageRepository;
+
+    @Autowired
+    private ReactiveMongoTemplate mongoTemplate;
+
+    @Autowired
+    private JHipsterProperties jHipsterProperties;
+
+    private LocalSmtpServer smtpServer;
+
+    private ApplicationProperties applicationProperties;
+
+    private MeterRegistry meterRegistry;
+
+    private MailDispatchService mailDispatchService;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        mailMessageRepository.deleteAll().block();
+        smtpServer = new LocalSmtpServer();
+        applicationProperties = new ApplicationProperties();
+        applicationProperties.getMail().setConcurrency(1);
+        meterRegistry = new SimpleMeterRegistry();
+        JavaMailSenderImpl javaMailSender = new JavaMailSenderImpl();
+        javaMailSender.setHost("127.0.0.1");
+        javaMailSender.setPort(smtpServer.getPort());
+        mailDispatchService =
+            new MailDispatchService(
+                mailMessageRepository,
+                mongoTemplate,
+                javaMailSender,
+                jHipsterProperties,
+                new MailMetersService(meterRegistry),
+                applicationProperties
+            );
+    }
+
+    @AfterEach
+    public void cleanup() throws IOException {
+        mailDispatchService.shutdown();
+        smtpServer.close();
+        mailMessageRepository.deleteAll().block();
+    }
+
+    @Test
+    void testSendEmail() throws Exception {
+        enqueue(MailMessage.of("john.doe@example.com", "testSubject", "testContent", false, false));
+
+        assertThat(mailDispatchService.dispatchPendingReactively().block(TIMEOUT)).isEqualTo(1L);
+
+        MimeMessage message = receivedMessage(0);
+        assertThat(message.getSubject()).isEqualTo("testSubject");
+        assertThat(message.getAllRecipients()[0]).hasToString("john.doe@example.com");
+        assertThat(message.getFrom()[0]).hasToString(jHipsterProperties.getMail().getFrom());
+        assertThat(message.getContent()).isInstanceOf(String.class);
+        assertThat(message.getContent().toString().trim()).isEqualTo("testContent");
+        assertThat(message.getContentType()).startsWith("text/plain").containsIgnoringCase("charset=UTF-8");
+        assertThat(mailMessageRepository.count().block()).isZero();
+    }
+
+    @Test
+    void testSendHtmlEmail() throws Exception {
+        enqueue(MailMessage.of("john.doe@example.com", "testSubject", "testContent", false, true));
+
+        mailDispatchService.dispatchPendingReactively().block(TIMEOUT);
+
+        MimeMessage message = receivedMessage(0);
+        assertThat(message.getSubject()).isEqualTo("testSubject");
+        assertThat(message.getContent().toString().trim()).isEqualTo("testContent");
+        assertThat(message.getContentType()).startsWith("text/html").containsIgnoringCase("charset=UTF-8");
+    }
+
+    @Test
+    void testSendMultipartEmail() throws Exception {
+        enqueue(MailMessage.of("john.doe@example.com", "testSubject", "testContent", true, false));
+
+        mailDispatchService.dispatchPendingReactively().block(TIMEOUT);
+
+        MimeMessage message = receivedMessage(0);
+        assertThat(message.getContent()).isInstanceOf(Multipart.class);
+        MimeMultipart mp = (MimeMultipart) message.getContent();
+        MimeBodyPart part = (MimeBodyPart) ((MimeMultipart) mp.getBodyPart(0).getContent()).getBodyPart(0);
+        ByteArrayOutputStream aos = new ByteArrayOutputStream();
+        part.writeTo(aos);
+        assertThat(message.getSubject()).isEqualTo("testSubject");
+        assertThat(aos.toString(StandardCharsets.UTF_8)).endsWith("\r\ntestContent");
+        assertThat(part.getContentType()).startsWith("text/plain").containsIgnoringCase("charset=UTF-8");
+    }
+
+    @Test
+    void testBuildEmail() throws Exception {
+        MimeMessage message = mailDispatchService.createMimeMessage(
+            MailMessage.of("john.doe@example.com", "testSubject", "testContent", false, false)
+        );
+        assertThat(message.getSubject()).isEqualTo("testSubject");
+        assertThat(message.getAllRecipients()[0]).hasToString("john.doe@example.com");
+        assertThat(message.getFrom()[0]).hasToString(jHipsterProperties.getMail().getFrom());
+        assertThat(message.getContent()).isInstanceOf(String.class);
+        assertThat(message.getContent()).hasToString("testContent");
+        assertThat(message.getDataHandler().getContentType()).isEqualTo("text/plain; charset=UTF-8");
+    }
+
+    @Test
+    void testBuildHtmlEmail() throws Exception {
+        MimeMessage message = mailDispatchService.createMimeMessage(
+            MailMessage.of("john.doe@example.com", "testSubject", "testContent", false, true)
+        );
+        assertThat(message.getSubject()).isEqualTo("testSubject");
+        assertThat(message.getAllRecipients()[0]).hasToString("john.doe@example.com");
+        assertThat(message.getFrom()[0]).hasToString(jHipsterProperties.getMail().getFrom());
+        assertThat(message.getContent()).isInstanceOf(String.class);
+        assertThat(message.getContent()).hasToString("testContent");
+        assertThat(message.getDataHandler().getContentType()).isEqualTo("text/html;charset=UTF-8");
+    }
+
+    @Test
+    void testBuildMultipartEmail() throws Exception {
+        MimeMessage message = mailDispatchService.createMimeMessage(
+            MailMessage.of("john.doe@example.com", "testSubject", "testContent", true, false)
+        );
+        MimeMultipart mp = (MimeMultipart) message.getContent();
+        MimeBodyPart part = (MimeBodyPart) ((MimeMultipart) mp.getBodyPart(0).getContent()).getBodyPart(0);
+        ByteArrayOutputStream aos = new ByteArrayOutputStream();
+        part.writeTo(aos);
+        assertThat(message.getSubject()).isEqualTo("testSubject");
+        assertThat(message.getAllRecipients()[0]).hasToString("john.doe@example.com");
+        assertThat(message.getFrom()[0]).hasToString(jHipsterProperties.getMail().getFrom());
+        assertThat(message.getContent()).isInstanceOf(Multipart.class);
+        assertThat(aos).hasToString("\r\ntestContent");
+        assertThat(part.getDataHandler().getContentType()).isEqualTo("text/plain; charset=UTF-8");
+    }
+
+    @Test
+    void testBuildMultipartHtmlEmail() throws Exception {
+        MimeMessage message = mailDispatchService.createMimeMessage(
+            MailMessage.of("john.doe@example.com", "testSubject", "testContent", true, true)
+        );
+        MimeMultipart mp = (MimeMultipart) message.getContent();
+        MimeBodyPart part = (MimeBodyPart) ((MimeMultipart) mp.getBodyPart(0).getContent()).getBodyPart(0);
+        ByteArrayOutputStream aos = new ByteArrayOutputStream();
+        part.writeTo(aos);
+        assertThat(message.getSubject()).isEqualTo("testSubject");
+        assertThat(message.getAllRecipients()[0]).hasToString("john.doe@example.com");
+        assertThat(message.getFrom()[0]).hasToString(jHipsterProperties.getMail().getFrom());
+        assertThat(message.getContent()).isInstanceOf(Multipart.class);
+        assertThat(aos).hasToString("\r\ntestContent");
+        assertThat(part.getDataHandler().getContentType()).isEqualTo("text/html;charset=UTF-8");
+    }
+
+    @Test
+    void testClaimedBatchIsStampedWithOneLease() {
+        applicationProperties.getMail().setBatchSize(2);
+        for (int i = 0; i < 3; i++) {
+            enqueue(MailMessage.of("user" + i + "@example.com", "testSubject", "testContent", false, false));
+        }
+
+        assertThat(mailDispatchService.dispatchPendingReactively().block(TIMEOUT)).isEqualTo(2L);
+        assertThat(mailMessageRepository.findAll().collectList().block())
+            .singleElement()
+            .satisfies(message -> {
+                assertThat(message.getAttempts()).isZero();
+                assertThat(message.getLeaseToken()).isNull();
+            });
+
+        assertThat(mailDispatchService.dispatchPendingReactively().block(TIMEOUT)).isEqualTo(1L);
+        assertThat(smtpServer.getMessages()).hasSize(3);
+    }
+
+    @Test
+    void testBatchIsSentOverOneConnection() {
+        applicationProperties.getMail().setMessagesPerConnection(10);
+        for (int i = 0; i < 5; i++) {
+            enqueue(MailMessage.of("user" + i + "@example.com", "testSubject", "testContent", false, false));
+        }
+
+        assertThat(mailDispatchService.dispatchPendingReactively().block(TIMEOUT)).isEqualTo(5L);
+
+        assertThat(smtpServer.getMessages()).hasSize(5);
+        assertThat(smtpServer.getConnectionCount()).isEqualTo(1);
+        assertThat(mailMessageRepository.count().block()).isZero();
+        assertThat(meterRegistry.get(MailMetersService.DELIVERIES_METER_NAME).tag("outcome", "sent").counter().count()).isEqualTo(5);
+        assertThat(meterRegistry.get(MailMetersService.LATENCY_METER_NAME).timer().count()).isEqualTo(5);
+        assertThat(meterRegistry.get(MailMetersService.QUEUE_DEPTH_METER_NAME).gauge().value()).isZero();
+    }
+
+    @Test
+    void testBatchIsSplitAcrossConnections() {
+        applicationProperties.getMail().setMessagesPerConnection(2);
+        for (int i = 0; i < 5; i++) {
+            enqueue(MailMessage.of("user" + i + "@example.com", "testSubject", "testContent", false, false));
+        }
+
+        assertThat(mailDispatchService.dispatchPendingReactively().block(TIMEOUT)).isEqualTo(5L);
+
+        assertThat(smtpServer.getMessages()).hasSize(5);
+        assertThat(smtpServer.getConnectionCount()).isEqualTo(3);
+    }
+
+    @Test
+    void testRejectedEmailIsRetriedWithBackoff() {
+        smtpServer.rejectRecipient("unknown@example.com");
+        enqueue(MailMessage.of("john.doe@example.com", "testSubject", "testContent", false, false));
+        MailMessage rejected = enqueue(MailMessage.of("unknown@example.com", "testSubject", "testContent", false, false));
+        Instant start = Instant.now();
+
+        assertThat(mailDispatchService.dispatchPendingReactively().block(TIMEOUT)).isEqualTo(1L);
+
+        assertThat(smtpServer.getMessages()).hasSize(1);
+        List<MailMessage> pending = mailMessageRepository.findAll().collectList().block();
+        assertThat(pending).containsExactly(rejected);
+        MailMessage retried = pending.get(0);
+        assertThat(retried.getAttempts()).isEqualTo(1);
+        assertThat(retried.getLastError()).isNotNull();
+        assertThat(retried.getNextAttemptDate()).isAfter(start.plus(applicationProperties.getMail().getInitialBackoff()).minusSeconds(1));
+        assertThat(meterRegistry.get(MailMetersService.DELIVERIES_METER_NAME).tag("outcome", "retried").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(MailMetersService.QUEUE_DEPTH_METER_NAME).gauge().value()).isEqualTo(1);
+
+        // The retry is not due yet
+        assertThat(mailDispatchService.dispatchPendingReactively().block(TIMEOUT)).isZero();
+        assertThat(mailMessageRepository.findById(rejected.getId()).block().getAttempts()).isEqualTo(1);
+    }
+
+    @Test
+    void testEmailIsKeptAfterMaxAttempts() {
+        applicationProperties.getMail().setMaxAttempts(1);
+        smtpServer.rejectRecipient("unknown@example.com");
+        MailMessage rejected = enqueue(MailMessage.of("unknown@example.com", "testSubject", "testContent", false, false));
+
+        assertThat(mailDispatchService.dispatchPendingReactively().block(TIMEOUT)).isZero();
+
+        MailMessage failed = mailMessageRepository.findById(rejected.getId()).block();
+        assertThat(failed.getAttempts()).isEqualTo(1);
+        assertThat(failed.getNextAttemptDate()).isNull();
+        assertThat(failed.getLastError()).isNotNull();
+        assertThat(meterRegistry.get(MailMetersService.DELIVERIES_METER_NAME).tag("outcome", "failed").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(MailMetersService.QUEUE_DEPTH_METER_NAME).gauge().value()).isZero();
+    }
+
+    @Test
+    void testUnreachableServerRetriesWholeBatch() throws IOException {
+        smtpServer.close();
+        enqueue(MailMessage.of("john.doe@example.com", "testSubject", "testContent", false, false));
+        enqueue(MailMessage.of("jane.doe@example.com", "testSubject", "testContent", false, false));
+
+        assertThat(mailDispatchService.dispatchPendingReactively().block(TIMEOUT)).isZero();
+
+        assertThat(mailMessageRepository.findAll().collectList().block())
+            .hasSize(2)
+            .allSatisfy(message -> {
+                assertThat(message.getAttempts()).isEqualTo(1);
+                assertThat(message.getNextAttemptDate()).isAfter(Instant.now());
+            });
+    }
+
+    private MailMessage enqueue(MailMessage message) {
+        return mailDispatchService.enqueue(message).block(TIMEOUT);
+    }
+
+    private MimeMessage receivedMessage(int index) throws Exception {
+        byte[] raw = smtpServer.getMessages().get(index).getBytes(StandardCharsets.ISO_8859_1);
+        return new MimeMessage(Session.getInstance(new Properties()), new ByteArrayInputStream(raw));
+    }
+}
@@ -0,0 +1,60 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.config.Constants;
+import com.mycompany.myapp.domain.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Integration tests for {@link MailTemplateRenderer}.
+ */
+@IntegrationTest
+class MailTemplateRendererIT {
+
+    @Autowired
+    private MailTemplateRenderer mailTemplateRenderer;
+
+    @Test
+    void testRenderingReusesNothingFromThePreviousUser() {
+        String john = mailTemplateRenderer.render("mail/testEmail", user("john", "en"));
+        String jane = mailTemplateRenderer.render("mail/testEmail", user("jane", "fr"));
+
+        assertThat(john).isEqualToNormalizingNewlines("<html>test title, http://127.0.0.1:8080, john</html>\n");
+        assertThat(jane).contains("jane").doesNotContain("john");
+        assertThat(mailTemplateRenderer.render("mail/testEmail", user("john", "en"))).isEqualTo(john);
+    }
+
+    @Test
+    void testAllMailTemplatesRender() {
+        for (String templateName : MailTemplateRenderer.MAIL_TEMPLATES) {
+            assertThat(mailTemplateRenderer.render(templateName, user("john", "en"))).contains("http://127.0.0.1:8080");
+        }
+    }
+
+    @Test
+    void testSubjectIsResolvedPerLangKey() {
+        assertThat(mailTemplateRenderer.subject("email.test.title", "en")).isEqualTo("test title");
+        assertThat(mailTemplateRenderer.subject("email.test.title", "en")).isEqualTo("test title");
+        assertThat(mailTemplateRenderer.subject("email.test.title", "fr")).isNotEmpty();
+    }
+
+    @Test
+    void testUnknownLangKeyFallsBackToTheDefaultLanguage() {
+        assertThat(MailTemplateRenderer.language("AR_LY")).isEqualTo("ar-ly");
+        assertThat(MailTemplateRenderer.language("xx-unknown")).isEqualTo(Constants.DEFAULT_LANGUAGE);
+        assertThat(MailTemplateRenderer.language(null)).isEqualTo(Constants.DEFAULT_LANGUAGE);
+        assertThat(mailTemplateRenderer.subject("email.test.title", "xx-unknown"))
+            .isEqualTo(mailTemplateRenderer.subject("email.test.title", Constants.DEFAULT_LANGUAGE));
+    }
+
+    private User user(String login, String langKey) {
+        User user = new User();
+        user.setLogin(login);
+        user.setLangKey(langKey);
+        user.setEmail(login + "@example.com");
+        return user;
+    }
+}
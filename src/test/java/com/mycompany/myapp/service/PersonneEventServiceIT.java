@@ -0,0 +1,187 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.config.PersonneEventProducer;
+import com.mycompany.myapp.domain.Personne;
+import com.mycompany.myapp.domain.PersonneEvent;
+import com.mycompany.myapp.domain.enumeration.PersonneEventType;
+import com.mycompany.myapp.repository.PersonneEventRepository;
+import com.mycompany.myapp.repository.PersonneRepository;
+import com.mycompany.myapp.service.dto.PersonneEventDTO;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cloud.stream.test.binder.MessageCollector;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.InterceptableChannel;
+
+/**
+ * Integration tests for {@link PersonneEventService}.
+ */
+@IntegrationTest
+class PersonneEventServiceIT {
+
+    @Autowired
+    private PersonneEventService personneEventService;
+
+    @Autowired
+    private PersonneRepository personneRepository;
+
+    @Autowired
+    private PersonneEventRepository personneEventRepository;
+
+    @Autowired
+    @Qualifier(PersonneEventProducer.CHANNELNAME)
+    private MessageChannel output;
+
+    @Autowired
+    private MessageCollector collector;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    @Qualifier(PersonneEventProducer.ACKS_CHANNELNAME)
+    private MessageChannel acks;
+
+    private BlockingQueue<Message<?>> messages;
+
+    private final Set<Integer> unacknowledgedSends = new HashSet<>();
+
+    private final AtomicInteger sends = new AtomicInteger();
+
+    /** The test binder has no broker: acknowledge the sent records as the Kafka binder does, through the acks channel. */
+    private final ChannelInterceptor acknowledgeSends = new ChannelInterceptor() {
+        @Override
+        public void postSend(Message<?> message, MessageChannel channel, boolean sent) {
+            if (sent && !unacknowledgedSends.contains(sends.incrementAndGet())) {
+                acks.send(message);
+            }
+        }
+    };
+
+    @BeforeEach
+    public void init() {
+        personneRepository.deleteAll().block();
+        personneEventRepository.deleteAll().block();
+        messages = collector.forChannel(output);
+        messages.clear();
+        unacknowledgedSends.clear();
+        sends.set(0);
+        ((InterceptableChannel) output).addInterceptor(acknowledgeSends);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        ((InterceptableChannel) output).removeInterceptor(acknowledgeSends);
+    }
+
+    @Test
+    void assertThatWritesAreRecordedInTheOutbox() {
+        Personne personne = new Personne().prenom("AAAAAAAAAA").nom("AAAAAAAAAA").telephone(12);
+        Personne saved = personneEventService.save(personne, PersonneEventType.CREATED).block();
+        personneEventService.delete(saved.getId()).block();
+
+        List<PersonneEvent> events = personneEventRepository.findAll().collectList().block();
+        assertThat(events)
+            .extracting(PersonneEvent::getType)
+            .containsExactlyInAnyOrder(PersonneEventType.CREATED, PersonneEventType.DELETED);
+        assertThat(events).extracting(PersonneEvent::getPersonneId).containsOnly(saved.getId());
+        assertThat(personneRepository.count().block()).isZero();
+    }
+
+    @Test
+    void assertThatOutboxIsRelayedInOrderAndKeyedById() throws Exception {
+        Personne saved = personneEventService
+            .save(new Personne().prenom("AAAAAAAAAA").nom("AAAAAAAAAA").telephone(12), PersonneEventType.CREATED)
+            .block();
+        personneEventService.save(saved.nom("BBBBBBBBBB"), PersonneEventType.UPDATED).block();
+
+        assertThat(personneEventService.relayOutboxReactively().block()).isEqualTo(2);
+        assertThat(personneEventRepository.count().block()).isZero();
+
+        Message<?> created = messages.poll(5, TimeUnit.SECONDS);
+        Message<?> updated = messages.poll(5, TimeUnit.SECONDS);
+        assertThat(created).isNotNull();
+        assertThat(updated).isNotNull();
+        assertThat((byte[]) created.getHeaders().get(KafkaHeaders.MESSAGE_KEY)).isEqualTo(saved.getId().getBytes(StandardCharsets.UTF_8));
+        assertThat(payload(created).getType()).isEqualTo(PersonneEventType.CREATED);
+        assertThat(payload(updated).getType()).isEqualTo(PersonneEventType.UPDATED);
+        assertThat(payload(updated).getNom()).isEqualTo("BBBBBBBBBB");
+
+        assertThat(personneEventService.relayOutboxReactively().block()).isZero();
+    }
+
+    @Test
+    void assertThatUnacknowledgedEventsStayInTheOutbox() {
+        Personne saved = personneEventService
+            .save(new Personne().prenom("AAAAAAAAAA").nom("AAAAAAAAAA").telephone(12), PersonneEventType.CREATED)
+            .block();
+        personneEventService.save(saved.nom("BBBBBBBBBB"), PersonneEventType.UPDATED).block();
+
+        AtomicInteger attempts = new AtomicInteger();
+        ChannelInterceptor failSecondSend = new ChannelInterceptor() {
+            @Override
+            public Message<?> preSend(Message<?> message, MessageChannel channel) {
+                if (attempts.incrementAndGet() == 2) {
+                    throw new MessageDeliveryException(message, "Broker unavailable");
+                }
+                return message;
+            }
+        };
+        InterceptableChannel interceptableOutput = (InterceptableChannel) output;
+        interceptableOutput.addInterceptor(failSecondSend);
+        try {
+            assertThat(personneEventService.relayOutboxReactively().block()).isEqualTo(1);
+        } finally {
+            interceptableOutput.removeInterceptor(failSecondSend);
+        }
+
+        List<PersonneEvent> pending = personneEventRepository.findAll().collectList().block();
+        assertThat(pending).extracting(PersonneEvent::getType).containsExactly(PersonneEventType.UPDATED);
+        assertThat(personneEventService.relayOutboxReactively().block()).isEqualTo(1);
+        assertThat(personneEventRepository.count().block()).isZero();
+    }
+
+    @Test
+    void assertThatEventsAfterAMissingAcknowledgementStayInTheOutbox() {
+        Personne saved = personneEventService
+            .save(new Personne().prenom("AAAAAAAAAA").nom("AAAAAAAAAA").telephone(12), PersonneEventType.CREATED)
+            .block();
+        personneEventService.save(saved.nom("BBBBBBBBBB"), PersonneEventType.UPDATED).block();
+        personneEventService.save(saved.nom("CCCCCCCCCC"), PersonneEventType.UPDATED).block();
+        unacknowledgedSends.add(2);
+
+        // The third event is acknowledged, but the relay waits for the second one until the ack timeout
+        assertThat(personneEventService.relayOutboxReactively().block()).isEqualTo(1);
+
+        List<PersonneEvent> pending = personneEventRepository.findAll().collectList().block();
+        assertThat(pending).extracting(PersonneEvent::getType).containsExactly(PersonneEventType.UPDATED, PersonneEventType.UPDATED);
+        assertThat(personneEventService.relayOutboxReactively().block()).isEqualTo(2);
+        assertThat(personneEventRepository.count().block()).isZero();
+    }
+
+    private PersonneEventDTO payload(Message<?> message) throws IOException {
+        if (message.getPayload() instanceof PersonneEventDTO) {
+            return (PersonneEventDTO) message.getPayload();
+        }
+        return objectMapper.readValue((byte[]) message.getPayload(), PersonneEventDTO.class);
+    }
+}
@@ -1,6 +1,7 @@
 package com.mycompany.myapp.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -8,10 +9,12 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.config.ApplicationProperties;
 import com.mycompany.myapp.config.Constants;
 import com.mycompany.myapp.domain.User;
 import com.mycompany.myapp.repository.UserRepository;
 import com.mycompany.myapp.repository.search.UserSearchRepository;
+import com.mycompany.myapp.security.AuthoritiesConstants;
 import com.mycompany.myapp.service.dto.AdminUserDTO;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
@@ -49,6 +52,9 @@ class UserServiceIT {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
     /**
      * This repository is mocked in the com.mycompany.myapp.repository.search test package.
      *
@@ -147,7 +153,7 @@ class UserServiceIT {
         Instant now = Instant.now();
         // Configure the mock search repository
         when(mockUserSearchRepository.save(any())).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
-        when(mockUserSearchRepository.delete(any())).thenReturn(Mono.empty());
+        when(mockUserSearchRepository.deleteAllById(any())).thenReturn(Mono.empty());
         user.setActivated(false);
         user.setActivationKey(RandomStringUtils.random(20));
         User dbUser = userRepository.save(user).block();
@@ -159,12 +165,39 @@ class UserServiceIT {
             .collectList()
             .block();
         assertThat(users).isNotEmpty();
-        userService.removeNotActivatedUsers();
+        assertThat(userService.removeNotActivatedUsersReactively().block()).isEqualTo(1L);
         users = userRepository.findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(threeDaysAgo).collectList().block();
         assertThat(users).isEmpty();
 
         // Verify Elasticsearch mock
-        verify(mockUserSearchRepository, times(1)).delete(user);
+        verify(mockUserSearchRepository, times(1)).deleteAllById(List.of(dbUser.getId()));
+    }
+
+    @Test
+    void assertThatNotActivatedUsersAreDeletedInBatches() {
+        when(mockUserSearchRepository.deleteAllById(any())).thenReturn(Mono.empty());
+        for (int i = 0; i < 5; i++) {
+            User staleUser = new User();
+            staleUser.setLogin("stale" + i);
+            staleUser.setPassword(RandomStringUtils.random(60));
+            staleUser.setEmail("stale" + i + "@localhost");
+            staleUser.setActivated(false);
+            staleUser.setActivationKey(RandomUtil.generateActivationKey());
+            staleUser = userRepository.save(staleUser).block();
+            // The creation date is set by auditing on insert
+            staleUser.setCreatedDate(Instant.now().minus(4, ChronoUnit.DAYS));
+            userRepository.save(staleUser).block();
+        }
+        int batchSize = applicationProperties.getUserCleanup().getBatchSize();
+        applicationProperties.getUserCleanup().setBatchSize(2);
+        try {
+            assertThat(userService.removeNotActivatedUsersReactively().block()).isEqualTo(5L);
+        } finally {
+            applicationProperties.getUserCleanup().setBatchSize(batchSize);
+        }
+
+        assertThat(userRepository.count().block()).isZero();
+        verify(mockUserSearchRepository, times(3)).deleteAllById(any());
     }
 
     @Test
@@ -180,11 +213,62 @@ class UserServiceIT {
             .collectList()
             .block();
         assertThat(users).isEmpty();
-        userService.removeNotActivatedUsers();
+        assertThat(userService.removeNotActivatedUsersReactively().block()).isZero();
         Optional<User> maybeDbUser = userRepository.findById(dbUser.getId()).blockOptional();
         assertThat(maybeDbUser).contains(dbUser);
 
         // Verify Elasticsearch mock
-        verify(mockUserSearchRepository, never()).delete(user);
+        verify(mockUserSearchRepository, never()).deleteAllById(any());
+    }
+
+    @Test
+    void assertThatCreatingUserWithExistingLoginOrEmailIsRejectedByTheUniqueIndexes() {
+        userRepository.save(user).block();
+
+        AdminUserDTO sameLogin = new AdminUserDTO();
+        sameLogin.setLogin(DEFAULT_LOGIN.toUpperCase());
+        sameLogin.setEmail("other@localhost");
+        assertThatExceptionOfType(UsernameAlreadyUsedException.class).isThrownBy(() -> userService.createUser(sameLogin).block());
+
+        AdminUserDTO sameEmail = new AdminUserDTO();
+        sameEmail.setLogin("other");
+        sameEmail.setEmail(DEFAULT_EMAIL.toUpperCase());
+        assertThatExceptionOfType(EmailAlreadyUsedException.class).isThrownBy(() -> userService.createUser(sameEmail).block());
+
+        assertThat(userRepository.count().block()).isEqualTo(1L);
+    }
+
+    @Test
+    void assertThatRegisteringReplacesNotActivatedUserHoldingTheLoginAndEmail() {
+        when(mockUserSearchRepository.save(any())).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        user.setActivated(false);
+        userRepository.save(user).block();
+        User other = new User();
+        other.setLogin("other");
+        other.setPassword(RandomStringUtils.random(60));
+        other.setEmail("other@localhost");
+        userRepository.save(other).block();
+
+        AdminUserDTO userDTO = new AdminUserDTO();
+        userDTO.setLogin(DEFAULT_LOGIN);
+        userDTO.setEmail("other@localhost");
+        User registered = userService.registerUser(userDTO, "password").block();
+
+        assertThat(registered.getId()).isNotEqualTo(user.getId()).isNotEqualTo(other.getId());
+        assertThat(userRepository.findAll().collectList().block()).containsExactly(registered);
+        assertThat(registered.getAuthorities()).containsExactly(AuthoritiesConstants.USER);
+    }
+
+    @Test
+    void assertThatRegisteringWithLoginOfActivatedUserIsRejected() {
+        userRepository.save(user).block();
+
+        AdminUserDTO userDTO = new AdminUserDTO();
+        userDTO.setLogin(DEFAULT_LOGIN);
+        userDTO.setEmail("other@localhost");
+        assertThatExceptionOfType(UsernameAlreadyUsedException.class)
+            .isThrownBy(() -> userService.registerUser(userDTO, "password").block());
+
+        assertThat(userRepository.findAll().collectList().block()).containsExactly(user);
     }
 }
@@ -0,0 +1,140 @@
+package com.mycompany.myapp.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.management.GatewayMetersService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+class RouteMetricsFilterTest {
+
+    private MeterRegistry meterRegistry;
+
+    private GatewayMetersService gatewayMetersService;
+
+    private RouteMetricsFilter routeMetricsFilter;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        gatewayMetersService = new GatewayMetersService(meterRegistry);
+        routeMetricsFilter = new RouteMetricsFilter(gatewayMetersService);
+    }
+
+    @Test
+    void shouldRecordRoutedRequestsByRouteAndInstance() {
+        ServerWebExchange exchange = routedExchange(MockServerHttpRequest.post("/services/stub/api/items").body("{\"name\":\"item\"}"));
+
+        routeMetricsFilter
+            .filter(
+                exchange,
+                routed ->
+                    DataBufferUtils
+                        .join(routed.getRequest().getBody())
+                        .doOnNext(DataBufferUtils::release)
+                        .then(
+                            Mono.defer(() -> {
+                                URI instanceUrl = URI.create("http://10.0.0.5:8081/api/items");
+                                routed.getAttributes().put(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR, instanceUrl);
+                                routed.getResponse().setStatusCode(HttpStatus.CREATED);
+                                byte[] body = "{\"id\":\"1\"}".getBytes(StandardCharsets.UTF_8);
+                                return routed.getResponse().writeWith(Mono.just(routed.getResponse().bufferFactory().wrap(body)));
+                            })
+                        )
+            )
+            .block();
+
+        Timer timer = meterRegistry
+            .get(GatewayMetersService.REQUESTS_METER_NAME)
+            .tag(GatewayMetersService.ROUTE_DIMENSION, "stub")
+            .tag(GatewayMetersService.INSTANCE_DIMENSION, "10.0.0.5:8081")
+            .tag(GatewayMetersService.STATUS_DIMENSION, "2xx")
+            .timer();
+        assertThat(timer.count()).isEqualTo(1);
+        assertThat(meterRegistry.get(GatewayMetersService.REQUEST_SIZE_METER_NAME).summary().totalAmount()).isEqualTo(15);
+        assertThat(meterRegistry.get(GatewayMetersService.RESPONSE_SIZE_METER_NAME).summary().totalAmount()).isEqualTo(10);
+    }
+
+    @Test
+    void shouldRecordFailedRequestsWithoutStatus() {
+        ServerWebExchange exchange = routedExchange(MockServerHttpRequest.get("/services/stub/api/items").build());
+
+        routeMetricsFilter.filter(exchange, routed -> Mono.error(new IllegalStateException())).onErrorResume(e -> Mono.empty()).block();
+
+        assertThat(
+            meterRegistry
+                .get(GatewayMetersService.REQUESTS_METER_NAME)
+                .tag(GatewayMetersService.INSTANCE_DIMENSION, "stub")
+                .tag(GatewayMetersService.STATUS_DIMENSION, GatewayMetersService.NONE)
+                .timer()
+                .count()
+        )
+            .isEqualTo(1);
+    }
+
+    @Test
+    void shouldReuseTheMetersOfARoute() {
+        GatewayMetersService.RouteMeters routeMeters = gatewayMetersService.routeMeters("stub", "10.0.0.5:8081");
+
+        assertThat(gatewayMetersService.routeMeters("stub", "10.0.0.5:8081")).isSameAs(routeMeters);
+    }
+
+    @Test
+    void shouldRemoveTheMetersOfInstancesGoneFromTheDiscovery() {
+        gatewayMetersService.retainInstances(Set.of("10.0.0.5:8081", "10.0.0.6:8081"));
+        GatewayMetersService.RouteMeters kept = gatewayMetersService.routeMeters("stub", "10.0.0.5:8081");
+        GatewayMetersService.RouteMeters gone = gatewayMetersService.routeMeters("stub", "10.0.0.6:8081");
+        gatewayMetersService.routeMeters("static", "example.com");
+        gatewayMetersService.trackConnect("10.0.0.6:8081", "SUCCESS", Duration.ofMillis(1));
+
+        gatewayMetersService.retainInstances(Set.of("10.0.0.5:8081"));
+
+        assertThat(instancesWithMeters(GatewayMetersService.REQUESTS_METER_NAME)).containsOnly("10.0.0.5:8081", "example.com");
+        assertThat(instancesWithMeters(GatewayMetersService.REQUEST_SIZE_METER_NAME)).containsOnly("10.0.0.5:8081", "example.com");
+        assertThat(instancesWithMeters(GatewayMetersService.RESPONSE_SIZE_METER_NAME)).containsOnly("10.0.0.5:8081", "example.com");
+        assertThat(meterRegistry.find(GatewayMetersService.CONNECT_METER_NAME).meters()).isEmpty();
+        assertThat(gatewayMetersService.routeMeters("stub", "10.0.0.5:8081")).isSameAs(kept);
+        assertThat(gatewayMetersService.routeMeters("stub", "10.0.0.6:8081")).isNotSameAs(gone);
+    }
+
+    @Test
+    void shouldIgnoreRequestsWithoutRoute() {
+        ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/account"));
+
+        routeMetricsFilter.filter(exchange, routed -> Mono.empty()).block();
+
+        assertThat(meterRegistry.find(GatewayMetersService.REQUESTS_METER_NAME).timers()).isEmpty();
+    }
+
+    private Set<String> instancesWithMeters(String name) {
+        return meterRegistry
+            .find(name)
+            .meters()
+            .stream()
+            .map(meter -> meter.getId().getTag(GatewayMetersService.INSTANCE_DIMENSION))
+            .collect(Collectors.toSet());
+    }
+
+    private static ServerWebExchange routedExchange(MockServerHttpRequest request) {
+        ServerWebExchange exchange = MockServerWebExchange.from(request);
+        Route route = Route.async().id("stub").uri(URI.create("lb://stub")).predicate(routed -> true).build();
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+        return exchange;
+    }
+}
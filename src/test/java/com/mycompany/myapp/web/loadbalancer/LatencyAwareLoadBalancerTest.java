@@ -0,0 +1,127 @@
+package com.mycompany.myapp.web.loadbalancer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.management.LoadBalancerMetersService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+
+class LatencyAwareLoadBalancerTest {
+
+    private static final ServiceInstance FIRST = new DefaultServiceInstance("myservice-1", "myservice", "host-1", 8081, false);
+
+    private static final ServiceInstance SECOND = new DefaultServiceInstance("myservice-2", "myservice", "host-2", 8081, false);
+
+    private static final List<ServiceInstance> INSTANCES = List.of(FIRST, SECOND);
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private InstanceStatsRegistry instanceStatsRegistry;
+
+    private LatencyAwareLoadBalancer loadBalancer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        instanceStatsRegistry =
+            new InstanceStatsRegistry(new ApplicationProperties.LoadBalancer(), new LoadBalancerMetersService(meterRegistry));
+        loadBalancer =
+            new LatencyAwareLoadBalancer(
+                (ObjectProvider<ServiceInstanceListSupplier>) mock(ObjectProvider.class),
+                "myservice",
+                instanceStatsRegistry
+            );
+    }
+
+    @Test
+    void testSlowInstanceIsAvoided() {
+        record(FIRST, 2, false);
+        record(SECOND, 500, false);
+
+        for (int i = 0; i < 20; i++) {
+            assertThat(loadBalancer.choose(INSTANCES)).isEqualTo(FIRST);
+        }
+        assertThat(
+            meterRegistry
+                .get(LoadBalancerMetersService.LATENCY_METER_NAME)
+                .tag(LoadBalancerMetersService.INSTANCE_DIMENSION, "myservice-2")
+                .gauge()
+                .value()
+        )
+            .isBetween(0.4, 0.5);
+    }
+
+    @Test
+    void testBusyInstanceIsAvoided() {
+        record(FIRST, 10, false);
+        record(SECOND, 20, false);
+        InstanceStats firstStats = instanceStatsRegistry.stats(FIRST);
+        for (int i = 0; i < 10; i++) {
+            firstStats.start();
+        }
+
+        assertThat(loadBalancer.choose(INSTANCES)).isEqualTo(SECOND);
+    }
+
+    @Test
+    void testFailingInstanceIsEjected() {
+        record(SECOND, 10, false);
+        for (int i = 0; i < 5; i++) {
+            record(FIRST, 1, true);
+        }
+
+        for (int i = 0; i < 20; i++) {
+            assertThat(loadBalancer.choose(INSTANCES)).isEqualTo(SECOND);
+        }
+        assertThat(
+            meterRegistry
+                .get(LoadBalancerMetersService.EJECTIONS_METER_NAME)
+                .tag(LoadBalancerMetersService.INSTANCE_DIMENSION, "myservice-1")
+                .counter()
+                .count()
+        )
+            .isEqualTo(1);
+
+        // Half of the instances are ejected already
+        for (int i = 0; i < 5; i++) {
+            record(SECOND, 1, true);
+        }
+        assertThat(instanceStatsRegistry.stats(SECOND).isEjected()).isFalse();
+    }
+
+    @Test
+    void testStatsOfInstancesGoneAreDropped() {
+        record(FIRST, 10, false);
+        record(SECOND, 10, false);
+
+        assertThat(loadBalancer.choose(List.of(SECOND))).isEqualTo(SECOND);
+
+        assertThat(scoreGauge("myservice-1")).isNull();
+        assertThat(scoreGauge("myservice-2")).isNotNull();
+    }
+
+    private Gauge scoreGauge(String instanceId) {
+        return meterRegistry
+            .find(LoadBalancerMetersService.SCORE_METER_NAME)
+            .tag(LoadBalancerMetersService.INSTANCE_DIMENSION, instanceId)
+            .gauge();
+    }
+
+    private void record(ServiceInstance instance, long latencyMillis, boolean failed) {
+        InstanceStats stats = instanceStatsRegistry.stats(instance);
+        stats.start();
+        stats.end();
+        instanceStatsRegistry.record(instance, stats, TimeUnit.MILLISECONDS.toNanos(latencyMillis), failed);
+    }
+}
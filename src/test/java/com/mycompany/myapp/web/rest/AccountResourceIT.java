@@ -7,7 +7,6 @@ import static org.mockito.Mockito.*;
 import com.mycompany.myapp.IntegrationTest;
 import com.mycompany.myapp.config.Constants;
 import com.mycompany.myapp.domain.User;
-import com.mycompany.myapp.repository.AuthorityRepository;
 import com.mycompany.myapp.repository.UserRepository;
 import com.mycompany.myapp.repository.search.UserSearchRepository;
 import com.mycompany.myapp.security.AuthoritiesConstants;
@@ -44,9 +43,6 @@ class AccountResourceIT {
     @Autowired
     private UserRepository userRepository;
 
-    @Autowired
-    private AuthorityRepository authorityRepository;
-
     @Autowired
     private UserService userService;
 
@@ -196,7 +192,7 @@ class AccountResourceIT {
             .expectStatus()
             .isBadRequest();
 
-        Optional<User> user = userRepository.findOneByEmailIgnoreCase("funky@example.com").blockOptional();
+        Optional<User> user = userRepository.findOneByNormalizedEmail("funky@example.com").blockOptional();
         assertThat(user).isEmpty();
     }
 
@@ -329,7 +325,7 @@ class AccountResourceIT {
             .expectStatus()
             .isCreated();
 
-        Optional<User> testUser = userRepository.findOneByEmailIgnoreCase("alice2@example.com").blockOptional();
+        Optional<User> testUser = userRepository.findOneByNormalizedEmail("alice2@example.com").blockOptional();
         assertThat(testUser).isPresent();
         testUser.get().setActivated(true);
         userRepository.save(testUser.get()).block();
@@ -470,7 +466,7 @@ class AccountResourceIT {
         assertThat(userDup).isPresent();
         assertThat(userDup.get().getAuthorities())
             .hasSize(1)
-            .containsExactly(authorityRepository.findById(AuthoritiesConstants.USER).block());
+            .containsExactly(AuthoritiesConstants.USER);
     }
 
     @Test
@@ -577,7 +573,7 @@ class AccountResourceIT {
             .expectStatus()
             .isBadRequest();
 
-        assertThat(userRepository.findOneByEmailIgnoreCase("invalid email").blockOptional()).isNotPresent();
+        assertThat(userRepository.findOneByNormalizedEmail("invalid email").blockOptional()).isNotPresent();
     }
 
     @Test
@@ -23,6 +23,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.reactive.server.WebTestClient;
@@ -244,6 +245,41 @@ class PersonneResourceIT {
             .value(hasItem(DEFAULT_TELEPHONE));
     }
 
+    @Test
+    void getAllPersonnesWithFields() {
+        // Initialize the database
+        personneRepository.save(personne).block();
+
+        // Get only the names of the personneList
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?sort=id,desc&fields=nom")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.[*].id")
+            .value(hasItem(personne.getId()))
+            .jsonPath("$.[*].nom")
+            .value(hasItem(DEFAULT_NOM))
+            .jsonPath("$.[0].prenom")
+            .doesNotExist()
+            .jsonPath("$.[0].telephone")
+            .doesNotExist();
+    }
+
+    @Test
+    void getAllPersonnesWithUnknownField() {
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?fields=nom,password")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isBadRequest();
+    }
+
     @Test
     void getPersonne() {
         // Initialize the database
@@ -317,6 +353,32 @@ class PersonneResourceIT {
         verify(mockPersonneSearchRepository).save(testPersonne);
     }
 
+    @Test
+    void putPersonneWithStaleVersion() throws Exception {
+        // Initialize the database
+        personneRepository.save(personne.version(3L)).block();
+
+        // Update the personne from an outdated read
+        PersonneDTO personneDTO = personneMapper.toDto(personne);
+        personneDTO.setNom(UPDATED_NOM);
+        personneDTO.setVersion(2L);
+
+        webTestClient
+            .put()
+            .uri(ENTITY_API_URL_ID, personneDTO.getId())
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(personneDTO))
+            .exchange()
+            .expectStatus()
+            .isEqualTo(HttpStatus.CONFLICT);
+
+        // Validate the Personne is unchanged in the database
+        Personne testPersonne = personneRepository.findById(personne.getId()).block();
+        assertThat(testPersonne.getNom()).isEqualTo(DEFAULT_NOM);
+        assertThat(testPersonne.getVersion()).isEqualTo(3L);
+        verify(mockPersonneSearchRepository, times(0)).save(any());
+    }
+
     @Test
     void putNonExistingPersonne() throws Exception {
         int databaseSizeBeforeUpdate = personneRepository.findAll().collectList().block().size();
@@ -397,6 +459,8 @@ class PersonneResourceIT {
 
     @Test
     void partialUpdatePersonneWithPatch() throws Exception {
+        // Configure the mock search repository
+        when(mockPersonneSearchRepository.save(any())).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
         // Initialize the database
         personneRepository.save(personne).block();
 
@@ -426,8 +490,50 @@ class PersonneResourceIT {
         assertThat(testPersonne.getTelephone()).isEqualTo(DEFAULT_TELEPHONE);
     }
 
+    @Test
+    void mergePatchPersonneWithInvalidFields() throws Exception {
+        // Initialize the database
+        personneRepository.save(personne).block();
+
+        // Removing a required field is rejected
+        webTestClient
+            .patch()
+            .uri(ENTITY_API_URL_ID, personne.getId())
+            .contentType(MediaType.valueOf("application/merge-patch+json"))
+            .bodyValue("{\"id\":\"" + personne.getId() + "\",\"nom\":null}")
+            .exchange()
+            .expectStatus()
+            .isBadRequest();
+
+        // The patched values are validated
+        webTestClient
+            .patch()
+            .uri(ENTITY_API_URL_ID, personne.getId())
+            .contentType(MediaType.valueOf("application/merge-patch+json"))
+            .bodyValue("{\"id\":\"" + personne.getId() + "\",\"telephone\":13}")
+            .exchange()
+            .expectStatus()
+            .isBadRequest();
+
+        // Unknown fields are rejected
+        webTestClient
+            .patch()
+            .uri(ENTITY_API_URL_ID, personne.getId())
+            .contentType(MediaType.valueOf("application/merge-patch+json"))
+            .bodyValue("{\"id\":\"" + personne.getId() + "\",\"age\":30}")
+            .exchange()
+            .expectStatus()
+            .isBadRequest();
+
+        Personne testPersonne = personneRepository.findById(personne.getId()).block();
+        assertThat(testPersonne.getNom()).isEqualTo(DEFAULT_NOM);
+        assertThat(testPersonne.getTelephone()).isEqualTo(DEFAULT_TELEPHONE);
+    }
+
     @Test
     void fullUpdatePersonneWithPatch() throws Exception {
+        // Configure the mock search repository
+        when(mockPersonneSearchRepository.save(any())).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
         // Initialize the database
         personneRepository.save(personne).block();
 
@@ -71,6 +71,17 @@ class PublicUserResourceIT {
         assertThat(foundUser.getLogin()).isEqualTo(DEFAULT_LOGIN);
     }
 
+    @Test
+    void getAllPublicUsersWithUnknownField() {
+        webTestClient
+            .get()
+            .uri("/api/users?fields=login,email")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isBadRequest();
+    }
+
     @Test
     void getAllAuthorities() {
         webTestClient
@@ -0,0 +1,54 @@
+package com.mycompany.myapp.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.myapp.service.dto.PersonneDTO;
+import com.mycompany.myapp.service.dto.SparseFieldset;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link SparseJsonWriter}.
+ */
+class SparseJsonWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final SparseJsonWriter sparseJsonWriter = new SparseJsonWriter(objectMapper);
+
+    @Test
+    void testOnlyTheRequestedPropertiesAreWritten() throws Exception {
+        SparseFieldset fieldset = SparseFieldset.parse("nom", List.of("id", "prenom", "nom", "telephone")).orElseThrow();
+
+        JsonNode written = objectMapper.readTree(sparseJsonWriter.write(List.of(personne()), fieldset));
+
+        assertThat(written.get(0).fieldNames()).toIterable().containsExactlyInAnyOrder("id", "nom");
+        assertThat(written.get(0).get("nom").asText()).isEqualTo("Martin");
+    }
+
+    @Test
+    void testWholeDtosAreWrittenWithoutFields() throws Exception {
+        JsonNode written = objectMapper.readTree(sparseJsonWriter.write(List.of(personne()), SparseFieldset.all()));
+
+        assertThat(written.get(0).get("prenom").asText()).isEqualTo("Jeanne");
+        assertThat(written.get(0).get("telephone").asInt()).isEqualTo(12);
+    }
+
+    @Test
+    void testTheSharedMapperIsNotFiltered() throws Exception {
+        sparseJsonWriter.write(List.of(personne()), SparseFieldset.parse("nom", List.of("nom")).orElseThrow());
+
+        assertThat(objectMapper.readTree(objectMapper.writeValueAsString(personne())).has("prenom")).isTrue();
+    }
+
+    private static PersonneDTO personne() {
+        PersonneDTO personne = new PersonneDTO();
+        personne.setId("1");
+        personne.setPrenom("Jeanne");
+        personne.setNom("Martin");
+        personne.setTelephone(12);
+        return personne;
+    }
+}
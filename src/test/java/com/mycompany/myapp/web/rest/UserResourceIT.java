@@ -21,6 +21,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.reactive.server.WebTestClient;
@@ -270,6 +271,30 @@ class UserResourceIT {
         assertThat(foundUser.getLangKey()).isEqualTo(DEFAULT_LANGKEY);
     }
 
+    @Test
+    void getAllUsersWithFields() {
+        // Initialize the database
+        userRepository.save(user).block();
+
+        // Get only the logins and emails of the users
+        AdminUserDTO foundUser = webTestClient
+            .get()
+            .uri("/api/admin/users?sort=id,desc&fields=login,email")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .returnResult(AdminUserDTO.class)
+            .getResponseBody()
+            .blockFirst();
+
+        assertThat(foundUser.getId()).isEqualTo(user.getId());
+        assertThat(foundUser.getLogin()).isEqualTo(DEFAULT_LOGIN);
+        assertThat(foundUser.getEmail()).isEqualTo(DEFAULT_EMAIL);
+        assertThat(foundUser.getFirstName()).isNull();
+        assertThat(foundUser.getLangKey()).isNull();
+    }
+
     @Test
     void getUser() {
         // Initialize the database
@@ -354,6 +379,31 @@ class UserResourceIT {
         });
     }
 
+    @Test
+    void updateUserWithStaleVersion() throws Exception {
+        // Initialize the database
+        user.setVersion(3L);
+        userRepository.save(user).block();
+
+        // Update the user from an outdated read
+        AdminUserDTO userDTO = new AdminUserDTO(user);
+        userDTO.setFirstName(UPDATED_FIRSTNAME);
+        userDTO.setVersion(2L);
+
+        webTestClient
+            .put()
+            .uri("/api/admin/users")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(userDTO))
+            .exchange()
+            .expectStatus()
+            .isEqualTo(HttpStatus.CONFLICT);
+
+        User testUser = userRepository.findById(user.getId()).block();
+        assertThat(testUser.getFirstName()).isEqualTo(DEFAULT_FIRSTNAME);
+        assertThat(testUser.getVersion()).isEqualTo(3L);
+    }
+
     @Test
     void updateUserLogin() throws Exception {
         // Initialize the database
@@ -560,7 +610,7 @@ class UserResourceIT {
         assertThat(user.getCreatedDate()).isNotNull();
         assertThat(user.getLastModifiedBy()).isNull();
         assertThat(user.getLastModifiedDate()).isNotNull();
-        assertThat(user.getAuthorities()).extracting("name").containsExactly(AuthoritiesConstants.USER);
+        assertThat(user.getAuthorities()).containsExactly(AuthoritiesConstants.USER);
     }
 
     @Test
@@ -570,10 +620,8 @@ class UserResourceIT {
         user.setCreatedDate(Instant.now());
         user.setLastModifiedBy(DEFAULT_LOGIN);
         user.setLastModifiedDate(Instant.now());
-        Set<Authority> authorities = new HashSet<>();
-        Authority authority = new Authority();
-        authority.setName(AuthoritiesConstants.USER);
-        authorities.add(authority);
+        Set<String> authorities = new HashSet<>();
+        authorities.add(AuthoritiesConstants.USER);
         user.setAuthorities(authorities);
 
         AdminUserDTO userDTO = userMapper.userToAdminUserDTO(user);